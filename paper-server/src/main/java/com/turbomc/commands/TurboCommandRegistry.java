@@ -95,7 +95,13 @@ public final class TurboCommandRegistry {
                 
                 switch (subCommand) {
                     case "stats":
-                         TurboStatsCommand.execute(sender);
+                         if (args.length > 1 && args[1].equalsIgnoreCase("dump")) {
+                             TurboStatsCommand.dumpProfile(sender);
+                         } else if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+                             TurboStatsCommand.resetProfile(sender);
+                         } else {
+                             TurboStatsCommand.execute(sender);
+                         }
                          return true;
                          
                     case "test":
@@ -189,7 +195,11 @@ public final class TurboCommandRegistry {
                 
                 String subCommand = args[0].toLowerCase();
                 
-                if (subCommand.equals("test")) {
+                if (subCommand.equals("stats")) {
+                    if (args.length == 2) {
+                        return Arrays.asList("dump", "reset");
+                    }
+                } else if (subCommand.equals("test")) {
                     if (args.length == 2) {
                         return Arrays.asList("chunks", "gen", "flight", "cache", "mobs", "redstone", "physics");
                     }
@@ -249,6 +259,7 @@ public final class TurboCommandRegistry {
     private static void sendUsage(CommandSender sender) {
         sender.sendMessage("§6=== TurboMC Commands ===");
         sender.sendMessage("§e/turbo stats §7- Show server performance & dashboard");
+        sender.sendMessage("§e/turbo stats dump|reset §7- Write or clear the tick profile");
         sender.sendMessage("§e/turbo test ... §7- Run mass tests & simulations");
         sender.sendMessage("§e/turbo gen ... §7- Manage parallel chunk generation");
         sender.sendMessage("§e/turbo storage ... §7- Storage management commands");
@@ -2,6 +2,13 @@ package com.turbomc.commands;
 
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import com.turbomc.performance.insight.TickProfiler;
+import com.turbomc.performance.insight.TurboInsight;
+import com.turbomc.performance.tick.LevelBudget;
+import com.turbomc.performance.tick.TurboBudgetManager;
+import com.turbomc.performance.tick.TurboModuleRuntime;
+import com.turbomc.storage.optimization.ChunkIORequestQueue;
+import com.turbomc.storage.optimization.RegionHandleCache;
 import com.turbomc.storage.optimization.TurboStorageManager;
 import com.turbomc.world.TurboWorldManager;
 import net.minecraft.server.MinecraftServer;
@@ -32,6 +39,18 @@ public class TurboStatsCommand {
         showStorageStats(sender);
         sender.sendMessage("§6╟───────────────────────────────────────────╢");
         
+        // Optimizer Modules
+        showModuleStats(sender);
+        sender.sendMessage("§6╟───────────────────────────────────────────╢");
+        
+        // Tick Budget Stats
+        showBudgetStats(sender);
+        sender.sendMessage("§6╟───────────────────────────────────────────╢");
+        
+        // Tick Profiler
+        showProfilerStats(sender);
+        sender.sendMessage("§6╟───────────────────────────────────────────╢");
+        
         // Parallel Generation Stats (v2.2.0)
         showGenerationStats(sender);
         sender.sendMessage("§6╟───────────────────────────────────────────╢");
@@ -66,7 +85,13 @@ public class TurboStatsCommand {
             TurboStorageManager mgr = TurboStorageManager.getInstance();
             if (mgr != null) {
                 // Get basic stats
-                sender.sendMessage("§6║   §7Active Regions: §a" + mgr.getActiveRegionCount());
+                RegionHandleCache.HandleStats handleStats = mgr.getRegionHandleStats();
+                sender.sendMessage("§6║   §7Active Regions: §a" + handleStats.getOpenRegions() + "§7/§a" + handleStats.getMaxOpenRegions() +
+                    " §7(" + String.format("%.0f", handleStats.getMappedBytes() / (1024.0 * 1024.0)) + "MB mapped, " +
+                    handleStats.getEvictions() + " evicted)");
+                ChunkIORequestQueue.QueueStats loadStats = mgr.getIORequestStats();
+                sender.sendMessage("§6║   §7Queued Loads: §a" + loadStats.getWaiting() +
+                    " §7(" + loadStats.getRaised() + " raised, " + loadStats.getCancelled() + " cancelled)");
                 sender.sendMessage("§6║   §7Batch Loaders: §a" + mgr.getBatchLoaderCount());
                 sender.sendMessage("§6║   §7Batch Savers: §a" + mgr.getBatchSaverCount());
                 
@@ -89,6 +114,97 @@ public class TurboStatsCommand {
         }
     }
     
+    private static void showProfilerStats(CommandSender sender) {
+        sender.sendMessage("§6║ §eTick Profiler:");
+        
+        TickProfiler profiler = TickProfiler.getInstance();
+        if (profiler == null) {
+            sender.sendMessage("§6║   §7Status: §eDisabled");
+            return;
+        }
+        double seconds = Math.max(1, (System.currentTimeMillis() - profiler.getStartedAt()) / 1000.0);
+        for (TickProfiler.Source source : profiler.getTopSources(5)) {
+            double msPerSecond = source.getTotalNs() / 1_000_000.0 / seconds;
+            String color = msPerSecond < 5 ? "§a" : msPerSecond < 50 ? "§e" : "§c";
+            sender.sendMessage("§6║   §7" + source.getCategory().getDisplayName() + " §f" + source.getName() + ": " + color +
+                String.format("%.2f", msPerSecond) + "ms/s §7(p99 " + String.format("%.2f", source.getTimes().getPercentileNs(99) / 1_000_000.0) + "ms)");
+        }
+        for (TickProfiler.ChunkTimes chunk : profiler.getTopChunks(3)) {
+            sender.sendMessage("§6║   §7Chunk §f" + chunk.getWorld() + " " + chunk.getChunkX() + "," + chunk.getChunkZ() + "§7: §e" +
+                String.format("%.2f", chunk.getTotalNs() / 1_000_000.0 / seconds) + "ms/s");
+        }
+        sender.sendMessage("§6║   §7Full report: §f/turbo stats dump");
+    }
+    
+    /**
+     * Write the full tick profile to a file.
+     */
+    public static void dumpProfile(CommandSender sender) {
+        try {
+            sender.sendMessage("§aTick profile written to §f" + TurboInsight.dump());
+        } catch (Exception e) {
+            sender.sendMessage("§cCould not write tick profile: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Clear the tick profile and start recording again.
+     */
+    public static void resetProfile(CommandSender sender) {
+        TurboInsight.reset();
+        sender.sendMessage("§aTick profile reset.");
+    }
+    
+    private static void showBudgetStats(CommandSender sender) {
+        sender.sendMessage("§6║ §eTick Budget:");
+        
+        try {
+            TurboBudgetManager budgets = TurboBudgetManager.getInstance();
+            sender.sendMessage("§6║   §7Per Level: §a" + String.format("%.1f", budgets.getLevelBudgetNs() / 1_000_000.0) + "ms");
+            for (LevelBudget level : budgets.getLevels()) {
+                for (TurboBudgetManager.Subsystem subsystem : TurboBudgetManager.Subsystem.values()) {
+                    LevelBudget.SubsystemStats stats = level.getStats(subsystem);
+                    if (stats.getOverruns() == 0 && stats.getDeferred() == 0) {
+                        continue;
+                    }
+                    sender.sendMessage("§6║   §7" + level.getName() + " " + subsystem + ": §c" + stats.getOverruns() +
+                        " §7overruns (worst +" + String.format("%.2f", stats.getMaxOverrunNs() / 1_000_000.0) + "ms), " +
+                        stats.getDeferred() + " deferred");
+                }
+            }
+        } catch (Exception e) {
+            sender.sendMessage("§6║   §cError: " + e.getMessage());
+        }
+    }
+    
+    private static void showModuleStats(CommandSender sender) {
+        sender.sendMessage("§6║ §eOptimizer Modules:");
+        
+        try {
+            TurboModuleRuntime runtime = TurboModuleRuntime.getInstance();
+            if (!runtime.isEnabled()) {
+                sender.sendMessage("§6║   §7Status: §eDisabled");
+                return;
+            }
+            for (TurboModuleRuntime.Phase phase : TurboModuleRuntime.Phase.values()) {
+                if (phase != TurboModuleRuntime.Phase.ASYNC && runtime.getPhaseOverruns(phase) > 0) {
+                    sender.sendMessage("§6║   §7" + phase.getConfigKey() + ": §c" + runtime.getPhaseOverruns(phase) + " §7over budget");
+                }
+            }
+            for (TurboModuleRuntime.ModuleStats stats : runtime.getModuleStats()) {
+                if (stats.getRuns() == 0) {
+                    continue;
+                }
+                double p99 = stats.getTimes().getPercentileNs(99) / 1_000_000.0;
+                String timeColor = p99 < 1 ? "§a" : p99 < 5 ? "§e" : "§c";
+                sender.sendMessage("§6║   §7" + stats.getModuleName() + ": " + timeColor + String.format("%.2f", p99) +
+                    "ms §7p99 (" + stats.getRuns() + " runs, " + stats.getDeferrals() + " deferred)");
+            }
+        } catch (Exception e) {
+            sender.sendMessage("§6║   §cError: " + e.getMessage());
+        }
+    }
+    
     private static void showGenerationStats(CommandSender sender) {
         sender.sendMessage("§6║ §eParallel Generation (v2.2.0):");
         
@@ -8,6 +8,8 @@ import com.turbomc.storage.batch.ChunkBatchLoader;
 import com.turbomc.storage.batch.ChunkBatchSaver;
 import com.turbomc.storage.optimization.TurboRegionFileStorage;
 import com.turbomc.storage.converter.RegionConverter;
+import com.turbomc.storage.compression.ZstdDictionaryTrainer;
+import com.turbomc.compression.AdaptiveCodecSelector;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.List;
@@ -41,6 +43,7 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
  * /turbo storage cleanup - Cleanup unused resources
  * /turbo storage reload - Reload storage configuration
  * /turbo storage convert <world> <to-lrf|to-mca> - Convert region format
+ * /turbo storage dictionary <world> train [--per-biome] - Train ZSTD dictionaries from stored chunks
  * 
  * @author TurboMC
  * @version 1.0.0
@@ -71,6 +74,14 @@ public class TurboStorageCommand {
                             .executes(ctx -> convertWorld(ctx, RegionConverter.FormatType.MCA)))
                     )
                 )
+                .then(Commands.literal("dictionary")
+                    .then(Commands.argument("world", net.minecraft.commands.arguments.DimensionArgument.dimension())
+                        .then(Commands.literal("train")
+                            .executes(ctx -> trainDictionary(ctx, false))
+                            .then(Commands.literal("--per-biome")
+                                .executes(ctx -> trainDictionary(ctx, true))))
+                    )
+                )
                 .then(Commands.literal("compress")
                     .then(Commands.argument("file", StringArgumentType.string())
                         .then(Commands.literal("--zlib-to-lz4")
@@ -139,6 +150,16 @@ public class TurboStorageCommand {
             source.sendSuccess(() -> Component.literal("  §7Cache Hit Rate: §a" + String.format("%.1f%%", stats.getCacheHitRate())), false);
             source.sendSuccess(() -> Component.literal("  §7Avg Load Time: §a" + String.format("%.2fms", stats.getAvgLoadTime())), false);
             
+            // Adaptive compression
+            if (AdaptiveCodecSelector.isEnabled()) {
+                AdaptiveCodecSelector selector = AdaptiveCodecSelector.getInstance();
+                source.sendSuccess(() -> Component.literal("§eAdaptive Compression: §7load " +
+                    String.format("%.0f%%", selector.currentLoad() * 100)), false);
+                for (AdaptiveCodecSelector.ChunkClass chunkClass : AdaptiveCodecSelector.ChunkClass.values()) {
+                    source.sendSuccess(() -> Component.literal("  §7" + chunkClass + ": §a" + selector.preferredCodec(chunkClass)), false);
+                }
+            }
+            
             // Integrity Metrics
             if (stats.isIntegrityEnabled()) {
                 source.sendSuccess(() -> Component.literal("§eIntegrity Validation:"), false);
@@ -348,6 +369,22 @@ public class TurboStorageCommand {
         }
     }
     
+    private static Path getRegionFolder(RegionFileStorage storage) throws ReflectiveOperationException {
+        // RegionFileStorage has 'private final Path folder;'
+        // We need to access it from RegionFileStorage class (parent of TurboRegionFileStorage/LRFRegionFileAdapter?)
+        // Actually RegionFileStorage.java (line 296) 'this.folder = folder;'
+        Class<?> clazz = storage.getClass();
+        // Walk up to find RegionFileStorage if it's a wrapper
+        while (clazz != null && clazz != RegionFileStorage.class) {
+            clazz = clazz.getSuperclass();
+        }
+        if (clazz == null) clazz = RegionFileStorage.class; // fallback
+
+        Field folderField = clazz.getDeclaredField("folder");
+        folderField.setAccessible(true);
+        return (Path) folderField.get(storage);
+    }
+    
     // New Helper for World Conversion
     private static int convertWorld(CommandContext<CommandSourceStack> context, RegionConverter.FormatType targetFormat) throws CommandSyntaxException {
         CommandSourceStack source = context.getSource();
@@ -367,19 +404,7 @@ public class TurboStorageCommand {
 
                 Path regionDir = null;
                 try {
-                    // RegionFileStorage has 'private final Path folder;'
-                    // We need to access it from RegionFileStorage class (parent of TurboRegionFileStorage/LRFRegionFileAdapter?)
-                    // Actually RegionFileStorage.java (line 296) 'this.folder = folder;'
-                    Class<?> clazz = storage.getClass();
-                    // Walk up to find RegionFileStorage if it's a wrapper
-                    while (clazz != null && clazz != RegionFileStorage.class) {
-                        clazz = clazz.getSuperclass();
-                    }
-                    if (clazz == null) clazz = RegionFileStorage.class; // fallback
-
-                    Field folderField = clazz.getDeclaredField("folder");
-                    folderField.setAccessible(true);
-                    regionDir = (Path) folderField.get(storage);
+                    regionDir = getRegionFolder(storage);
                 } catch (Exception e) {
                     source.sendFailure(Component.literal("§cReflection error getting folder: " + e.getMessage()));
                     return;
@@ -405,6 +430,40 @@ public class TurboStorageCommand {
         return 1;
     }
     
+    private static int trainDictionary(CommandContext<CommandSourceStack> context, boolean perBiome) throws CommandSyntaxException {
+        CommandSourceStack source = context.getSource();
+        ServerLevel level = net.minecraft.commands.arguments.DimensionArgument.getDimension(context, "world");
+        
+        source.sendSuccess(() -> Component.literal("§e[TurboMC] Training ZSTD dictionary for " + level.dimension().location() +
+            (perBiome ? " (per biome cluster)" : "") + "..."), true);
+        
+        // Sampling reads many chunks; keep it off the main thread
+        CompletableFuture.runAsync(() -> {
+            try {
+                RegionFileStorage storage = getRegionStorage(level);
+                if (storage == null) {
+                    source.sendFailure(Component.literal("§cCould not access storage to determine path."));
+                    return;
+                }
+                Path regionDir = getRegionFolder(storage);
+                
+                List<ZstdDictionaryTrainer.TrainingResult> results = new ZstdDictionaryTrainer().trainDimension(regionDir, perBiome);
+                if (results.isEmpty()) {
+                    source.sendFailure(Component.literal("§c[TurboMC] Not enough LRF chunks to train a dictionary."));
+                    return;
+                }
+                for (ZstdDictionaryTrainer.TrainingResult result : results) {
+                    source.sendSuccess(() -> Component.literal("§a[TurboMC] Dictionary " + result), true);
+                }
+                source.sendSuccess(() -> Component.literal("§e[TurboMC] New chunk writes use the dictionary; existing chunks are recompressed as they are saved."), true);
+            } catch (Exception e) {
+                source.sendFailure(Component.literal("§c[TurboMC] Dictionary training failed: " + e.getMessage()));
+            }
+        });
+        
+        return 1;
+    }
+    
     // New command methods for CLI functionality
     
     private static int compressZlibToLz4(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
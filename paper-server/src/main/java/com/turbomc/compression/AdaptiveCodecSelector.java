@@ -0,0 +1,295 @@
+package com.turbomc.compression;
+
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.compression.BiomeClusters;
+import com.turbomc.storage.lrf.LRFConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Picks a codec per chunk instead of applying one global algorithm and level.
+ *
+ * Chunks are put in a class (sparse, built-up, heavy) and every class keeps a running
+ * estimate of the ratio and CPU cost (ns per input byte) of each candidate codec.
+ * Every Nth chunk of a class is compressed with all candidates to refresh the estimates.
+ * Otherwise the codec with the best ratio that fits the current CPU budget is used.
+ * The budget shrinks as MSPT approaches the target, so peak hours fall back to cheap
+ * codecs (LZ4, or none when it does not pay off) while quiet periods get zstd.
+ *
+ * Chunks rewritten by recompress-on-load are archive writes: while the server is
+ * mostly idle they are compressed with a high zstd level.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public class AdaptiveCodecSelector {
+
+    private static volatile AdaptiveCodecSelector instance;
+
+    /** Weight of a new measurement in the running estimates. */
+    private static final double EWMA_ALPHA = 0.2;
+    /** Measurements needed before a codec's estimate is trusted. */
+    private static final int MIN_TRIALS = 3;
+    private static final long MSPT_REFRESH_NANOS = 1_000_000_000L;
+
+    private final Codec[] codecs;
+    private final Codec archiveCodec;
+    private final ClassStats[] stats;
+    private final int sampleInterval;
+    private final int sparseBytes;
+    private final int heavyBytes;
+    private final double targetMspt;
+    private final double idleNsPerByte;
+    private final double peakNsPerByte;
+    private final double archiveMaxLoad;
+    private volatile DoubleSupplier msptSource = AdaptiveCodecSelector::serverMspt;
+    private volatile double cachedLoad;
+    private volatile long loadSampledAt;
+
+    public enum ChunkClass {
+        /** Empty, ocean and other low-detail terrain. */
+        SPARSE,
+        /** Regular terrain and light building. */
+        BUILT,
+        /** Large chunks, usually from many block entities or entities. */
+        HEAVY
+    }
+
+    /**
+     * A candidate codec and the compression byte stored in the chunk frame for it.
+     */
+    public record Codec(String name, int compressionType, Compressor compressor) {
+        byte[] encode(byte[] data) throws CompressionException {
+            return compressor != null ? compressor.compress(data) : data;
+        }
+    }
+
+    /**
+     * Result of compressing a chunk.
+     */
+    public record Selection(byte[] data, int compressionType, String codec) {
+    }
+
+    private AdaptiveCodecSelector() {
+        TurboConfig config = TurboConfig.getInstance();
+        List<Codec> candidates = new ArrayList<>();
+        candidates.add(new Codec("none", LRFConstants.COMPRESSION_NONE, null));
+        candidates.add(new Codec("lz4", LRFConstants.COMPRESSION_LZ4, new LZ4CompressorImpl(1)));
+        for (int level : new int[] {1, 3, 6, 9}) {
+            candidates.add(new Codec("zstd-" + level, LRFConstants.COMPRESSION_ZSTD, new ZstdCompressor(level)));
+        }
+        this.codecs = candidates.toArray(new Codec[0]);
+
+        int archiveLevel = config.getInt("compression.adaptive.archive-level", 19);
+        this.archiveCodec = new Codec("zstd-" + archiveLevel, LRFConstants.COMPRESSION_ZSTD, new ZstdCompressor(archiveLevel));
+
+        this.sampleInterval = Math.max(1, config.getInt("compression.adaptive.sample-interval", 64));
+        this.sparseBytes = config.getInt("compression.adaptive.sparse-bytes", 8 * 1024);
+        this.heavyBytes = config.getInt("compression.adaptive.heavy-bytes", 64 * 1024);
+        this.targetMspt = config.getDouble("compression.adaptive.target-mspt", 50.0);
+        this.idleNsPerByte = config.getDouble("compression.adaptive.idle-ns-per-byte", 40.0);
+        this.peakNsPerByte = config.getDouble("compression.adaptive.peak-ns-per-byte", 2.0);
+        this.archiveMaxLoad = config.getDouble("compression.adaptive.archive-max-load", 0.5);
+
+        this.stats = new ClassStats[ChunkClass.values().length];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new ClassStats(codecs.length);
+        }
+    }
+
+    public static AdaptiveCodecSelector getInstance() {
+        if (instance == null) {
+            synchronized (AdaptiveCodecSelector.class) {
+                if (instance == null) {
+                    instance = new AdaptiveCodecSelector();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Resets the singleton instance for testing purposes.
+     */
+    public static synchronized void resetInstance() {
+        instance = null;
+    }
+
+    /**
+     * Whether {@code compression.adaptive.enabled} is set.
+     */
+    public static boolean isEnabled() {
+        return TurboConfig.getInstance().getBoolean("compression.adaptive.enabled", false);
+    }
+
+    /**
+     * Compress a chunk with the codec that suits its class and the current server load.
+     *
+     * @param data Uncompressed chunk data
+     * @param archive Chunk is being rewritten to improve its compression (recompress-on-load)
+     * @return Compressed payload and the frame compression type to store with it
+     * @throws CompressionException if the chosen codec fails
+     */
+    public Selection compress(byte[] data, boolean archive) throws CompressionException {
+        double load = currentLoad();
+        if (archive && load <= archiveMaxLoad) {
+            return new Selection(archiveCodec.encode(data), archiveCodec.compressionType(), archiveCodec.name());
+        }
+
+        ClassStats classStats = stats[classify(data).ordinal()];
+        if (classStats.nextIsSample(sampleInterval)) {
+            return sampleAll(classStats, data, load);
+        }
+
+        int index = classStats.choose(budget(load));
+        return new Selection(measure(classStats, index, data), codecs[index].compressionType(), codecs[index].name());
+    }
+
+    /**
+     * Class of a serialized chunk, from its size and dominant biome.
+     */
+    public ChunkClass classify(byte[] data) {
+        if (data.length <= sparseBytes) {
+            return ChunkClass.SPARSE;
+        }
+        if (data.length >= heavyBytes) {
+            return ChunkClass.HEAVY;
+        }
+        return "ocean".equals(BiomeClusters.classify(data)) ? ChunkClass.SPARSE : ChunkClass.BUILT;
+    }
+
+    /**
+     * Codec currently preferred for a chunk class at the current load.
+     */
+    public String preferredCodec(ChunkClass chunkClass) {
+        return codecs[stats[chunkClass.ordinal()].choose(budget(currentLoad()))].name();
+    }
+
+    /**
+     * Server load in [0, 1]: average MSPT relative to the target.
+     */
+    public double currentLoad() {
+        long now = System.nanoTime();
+        if (now - loadSampledAt > MSPT_REFRESH_NANOS) {
+            double mspt = msptSource.getAsDouble();
+            cachedLoad = targetMspt > 0 ? Math.max(0.0, Math.min(1.0, mspt / targetMspt)) : 0.0;
+            loadSampledAt = now;
+        }
+        return cachedLoad;
+    }
+
+    /**
+     * Replace the MSPT source (tests and embedders without a running server).
+     */
+    public void setMsptSource(DoubleSupplier source) {
+        this.msptSource = source;
+        this.loadSampledAt = 0;
+        this.cachedLoad = 0;
+    }
+
+    /**
+     * Compression CPU allowed per input byte at the given load.
+     */
+    double budget(double load) {
+        return idleNsPerByte - (idleNsPerByte - peakNsPerByte) * load;
+    }
+
+    private Selection sampleAll(ClassStats classStats, byte[] data, double load) throws CompressionException {
+        byte[][] outputs = new byte[codecs.length][];
+        for (int i = 0; i < codecs.length; i++) {
+            try {
+                outputs[i] = measure(classStats, i, data);
+            } catch (CompressionException e) {
+                // A failing candidate just loses this round
+            }
+        }
+        int index = classStats.choose(budget(load));
+        if (outputs[index] == null) {
+            index = 0;
+            outputs[0] = data;
+        }
+        return new Selection(outputs[index], codecs[index].compressionType(), codecs[index].name());
+    }
+
+    private byte[] measure(ClassStats classStats, int index, byte[] data) throws CompressionException {
+        long start = System.nanoTime();
+        byte[] output = codecs[index].encode(data);
+        long elapsed = System.nanoTime() - start;
+        if (data.length > 0) {
+            classStats.record(index, (double) output.length / data.length, (double) elapsed / data.length);
+        }
+        return output;
+    }
+
+    private static double serverMspt() {
+        try {
+            return org.bukkit.Bukkit.getAverageTickTime();
+        } catch (Throwable t) {
+            // No server (tests, offline tools): treat as idle
+            return 0.0;
+        }
+    }
+
+    /**
+     * Running estimates for one chunk class.
+     */
+    private static final class ClassStats {
+        private final double[] ratio;
+        private final double[] nsPerByte;
+        private final int[] trials;
+        private long chunks;
+
+        ClassStats(int codecCount) {
+            this.ratio = new double[codecCount];
+            this.nsPerByte = new double[codecCount];
+            this.trials = new int[codecCount];
+        }
+
+        synchronized boolean nextIsSample(int interval) {
+            long n = chunks++;
+            if (n % interval == 0) {
+                return true;
+            }
+            for (int t : trials) {
+                if (t < MIN_TRIALS) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void record(int index, double newRatio, double newNsPerByte) {
+            if (trials[index] == 0) {
+                ratio[index] = newRatio;
+                nsPerByte[index] = newNsPerByte;
+            } else {
+                ratio[index] += EWMA_ALPHA * (newRatio - ratio[index]);
+                nsPerByte[index] += EWMA_ALPHA * (newNsPerByte - nsPerByte[index]);
+            }
+            trials[index]++;
+        }
+
+        /**
+         * Best ratio within the budget; the cheapest codec if none fits.
+         * Codec 0 (none) until anything has been measured.
+         */
+        synchronized int choose(double budget) {
+            int best = -1;
+            int cheapest = 0;
+            for (int i = 0; i < ratio.length; i++) {
+                if (trials[i] == 0) {
+                    continue;
+                }
+                if (trials[cheapest] == 0 || nsPerByte[i] < nsPerByte[cheapest]) {
+                    cheapest = i;
+                }
+                if (nsPerByte[i] <= budget && (best < 0 || ratio[i] < ratio[best])) {
+                    best = i;
+                }
+            }
+            return best >= 0 ? best : cheapest;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.turbomc.compression;
 
+import java.nio.ByteBuffer;
+
 /**
  * Interface for compression algorithms used in TurboMC.
  * Implementations should be thread-safe.
@@ -24,6 +26,33 @@ public interface Compressor {
      */
     byte[] decompress(byte[] compressed) throws CompressionException;
     
+    /**
+     * Get the decompressed size recorded in a compressed buffer.
+     * Reads from the buffer's position (the magic byte) without moving it.
+     *
+     * @param compressed Compressed bytes between position and limit
+     * @return Decompressed size, or -1 if the format does not record it
+     * @throws CompressionException if the header is invalid
+     */
+    default int decompressedLength(ByteBuffer compressed) throws CompressionException {
+        return -1;
+    }
+    
+    /**
+     * Decompress buffer to buffer, e.g. from an mmap slice into a pooled direct buffer,
+     * without intermediate arrays. Consumes all remaining input and writes at the
+     * output's position, advancing it.
+     *
+     * @param compressed Compressed bytes between position and limit
+     * @param output Destination with at least {@link #decompressedLength} bytes remaining
+     * @throws CompressionException if decompression fails
+     */
+    default void decompress(ByteBuffer compressed, ByteBuffer output) throws CompressionException {
+        byte[] input = new byte[compressed.remaining()];
+        compressed.get(input);
+        output.put(decompress(input));
+    }
+    
     /**
      * Get the name of this compression algorithm.
      *
@@ -0,0 +1,145 @@
+package com.turbomc.compression;
+
+import com.turbomc.config.TurboConfig;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of direct ByteBuffers for decompressed chunk data.
+ *
+ * Buffers come in power-of-two size classes from 16KB to 2MB; each class keeps a bounded
+ * free list. Requests above the largest class are served with a fresh, unpooled buffer.
+ * Allocating direct memory is expensive, so the read path borrows from here instead of
+ * creating a byte[] per chunk.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class DirectBufferPool {
+
+    private static final int MIN_SHIFT = 14; // 16KB
+    private static final int MAX_SHIFT = 21; // 2MB
+
+    private static volatile DirectBufferPool shared;
+
+    private final ConcurrentLinkedQueue<ByteBuffer>[] freeLists;
+    private final AtomicInteger[] freeCounts;
+    private final int maxPerClass;
+
+    private final AtomicLong acquired = new AtomicLong(0);
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong unpooled = new AtomicLong(0);
+
+    /**
+     * @param maxPerClass Maximum idle buffers kept per size class
+     */
+    @SuppressWarnings("unchecked")
+    public DirectBufferPool(int maxPerClass) {
+        int classes = MAX_SHIFT - MIN_SHIFT + 1;
+        this.freeLists = new ConcurrentLinkedQueue[classes];
+        this.freeCounts = new AtomicInteger[classes];
+        for (int i = 0; i < classes; i++) {
+            freeLists[i] = new ConcurrentLinkedQueue<>();
+            freeCounts[i] = new AtomicInteger(0);
+        }
+        this.maxPerClass = Math.max(0, maxPerClass);
+    }
+
+    /**
+     * Get the process-wide pool used by the chunk read path.
+     */
+    public static DirectBufferPool shared() {
+        DirectBufferPool pool = shared;
+        if (pool == null) {
+            synchronized (DirectBufferPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    int perClass = 32;
+                    try {
+                        perClass = TurboConfig.getInstance().getInt("storage.lrf.direct-buffers-per-size", 32);
+                    } catch (Exception ignored) {
+                        // Config not initialized (tools, tests) - keep default
+                    }
+                    pool = shared = new DirectBufferPool(perClass);
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Borrow a cleared direct buffer with at least the requested capacity.
+     * Its limit is set to the requested capacity.
+     *
+     * @param capacity Bytes needed
+     * @return Direct buffer, to be handed back with {@link #release}
+     */
+    public ByteBuffer acquire(int capacity) {
+        acquired.incrementAndGet();
+        int sizeClass = sizeClass(capacity);
+        if (sizeClass < 0) {
+            unpooled.incrementAndGet();
+            return ByteBuffer.allocateDirect(capacity);
+        }
+
+        ByteBuffer buffer = freeLists[sizeClass].poll();
+        if (buffer != null) {
+            freeCounts[sizeClass].decrementAndGet();
+            hits.incrementAndGet();
+            buffer.clear();
+        } else {
+            buffer = ByteBuffer.allocateDirect(1 << (sizeClass + MIN_SHIFT));
+        }
+        buffer.limit(capacity);
+        return buffer;
+    }
+
+    /**
+     * Return a buffer obtained from {@link #acquire}. Buffers that do not match a size
+     * class, or whose class is full, are left to the garbage collector.
+     *
+     * @param buffer Buffer to return, may be null
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.isReadOnly()) {
+            return;
+        }
+        int capacity = buffer.capacity();
+        if (Integer.bitCount(capacity) != 1) {
+            return;
+        }
+        int sizeClass = Integer.numberOfTrailingZeros(capacity) - MIN_SHIFT;
+        if (sizeClass < 0 || sizeClass >= freeLists.length) {
+            return;
+        }
+        if (freeCounts[sizeClass].incrementAndGet() > maxPerClass) {
+            freeCounts[sizeClass].decrementAndGet();
+            return;
+        }
+        freeLists[sizeClass].offer(buffer);
+    }
+
+    private int sizeClass(int capacity) {
+        if (capacity > (1 << MAX_SHIFT)) {
+            return -1;
+        }
+        int shift = capacity <= (1 << MIN_SHIFT) ? MIN_SHIFT : 32 - Integer.numberOfLeadingZeros(capacity - 1);
+        return shift - MIN_SHIFT;
+    }
+
+    /**
+     * Get pool statistics.
+     */
+    public String getStats() {
+        long total = acquired.get();
+        int idle = 0;
+        for (AtomicInteger count : freeCounts) {
+            idle += count.get();
+        }
+        return String.format("DirectBufferPool{acquired=%d, reused=%.1f%%, unpooled=%d, idle=%d}",
+                total, total > 0 ? hits.get() * 100.0 / total : 0.0, unpooled.get(), idle);
+    }
+}
@@ -90,6 +90,28 @@ public class LZ4CompressorImpl implements Compressor {
         }
     }
     
+    @Override
+    public int decompressedLength(ByteBuffer compressed) throws CompressionException {
+        if (compressed.remaining() < 5 || compressed.get(compressed.position()) != MAGIC_BYTE) {
+            throw new CompressionException("Invalid LZ4 header");
+        }
+        return compressed.getInt(compressed.position() + 1);
+    }
+    
+    @Override
+    public void decompress(ByteBuffer compressed, ByteBuffer output) throws CompressionException {
+        int originalSize = decompressedLength(compressed);
+        try {
+            if (originalSize > 0) {
+                decompressor.decompress(compressed, compressed.position() + 5, output, output.position(), originalSize);
+                output.position(output.position() + originalSize);
+            }
+            compressed.position(compressed.limit());
+        } catch (Exception e) {
+            throw new CompressionException("LZ4 decompression failed", e);
+        }
+    }
+    
     @Override
     public String getName() {
         return "LZ4";
@@ -1,6 +1,7 @@
 package com.turbomc.compression;
 
 import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.compression.ZstdDictionaryManager;
 
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -14,6 +15,7 @@ public class TurboCompressionService {
     
     private final Compressor primaryCompressor;
     private final Compressor fallbackCompressor;
+    private final ZstdDictionaryCompressor dictionaryCompressor;
     private final boolean fallbackEnabled;
     
     // Statistics
@@ -39,6 +41,8 @@ public class TurboCompressionService {
             this.primaryCompressor = new ZlibCompressor(level);
             this.fallbackCompressor = new ZstdCompressor(Math.min(3, level)); // Try Zstd as fallback if available
         }
+        // Dictionaries only pay off with zstd as the primary codec
+        this.dictionaryCompressor = primaryCompressor instanceof ZstdCompressor ? new ZstdDictionaryCompressor(level) : null;
         
         System.out.println("[TurboMC] Compression initialized: " + primaryCompressor.getName() + 
                          " (level " + level + "), fallback " + (fallbackEnabled ? "enabled" : "disabled"));
@@ -104,6 +108,31 @@ public class TurboCompressionService {
         }
     }
     
+    /**
+     * Compress data with a zstd dictionary when one is given and zstd is the primary algorithm.
+     * Otherwise (or if dictionary compression fails) this is {@link #compress(byte[])}.
+     *
+     * @param data Raw data to compress
+     * @param dictionary Dictionary to use, or null
+     * @return Compressed data with format header (and dictionary ID if one was used)
+     * @throws CompressionException if compression fails and fallback is disabled
+     */
+    public byte[] compress(byte[] data, ZstdDictionaryManager.Dictionary dictionary) throws CompressionException {
+        if (dictionary == null || dictionaryCompressor == null || data == null || data.length == 0) {
+            return compress(data);
+        }
+        
+        try {
+            byte[] compressed = dictionaryCompressor.compress(data, dictionary);
+            compressionCount.incrementAndGet();
+            compressedBytes.addAndGet(compressed.length);
+            return compressed;
+        } catch (CompressionException e) {
+            System.err.println("[TurboMC] Dictionary compression failed, compressing without: " + e.getMessage());
+            return compress(data);
+        }
+    }
+    
     /**
      * Decompress data with automatic format detection.
      * Falls back to alternative algorithm if primary fails and fallback is enabled.
@@ -147,6 +176,121 @@ public class TurboCompressionService {
         }
     }
     
+    /**
+     * Decompress straight from a buffer (typically an mmap slice) into a pooled direct buffer.
+     * Same format detection and fallback as {@link #decompress(byte[])}.
+     *
+     * @param compressed Compressed data between position and limit; consumed on success
+     * @param pool Pool to borrow the output buffer from
+     * @return Flipped buffer holding the decompressed data; the caller releases it to the pool
+     */
+    public java.nio.ByteBuffer decompress(java.nio.ByteBuffer compressed, DirectBufferPool pool) throws java.io.IOException {
+        if (compressed == null || !compressed.hasRemaining()) {
+            return pool.acquire(0);
+        }
+
+        byte magicByte = compressed.get(compressed.position());
+        try {
+            return decompressInto(detectCompressor(magicByte), compressed, pool);
+        } catch (CompressionException e) {
+            if (fallbackEnabled) {
+                try {
+                    System.out.println("[TurboMC] Primary decompression failed, trying fallback...");
+                    java.nio.ByteBuffer decompressed = decompressInto(fallbackCompressor, compressed, pool);
+                    fallbackCount.incrementAndGet();
+                    return decompressed;
+                } catch (CompressionException fallbackEx) {
+                    System.err.println("[TurboMC] Fallback decompression also failed: " + fallbackEx.getMessage());
+                }
+            }
+
+            throw new java.io.IOException("Failed to decompress data (Magic: " +
+                String.format("0x%02X", magicByte) + ")", e);
+        }
+    }
+
+    /**
+     * Decompress into a caller-provided buffer, for formats that record the size up front
+     * (e.g. straight into an off-heap segment).
+     *
+     * @param compressed Compressed data between position and limit; consumed on success
+     * @param output Destination, written from its position
+     * @return Number of bytes written
+     */
+    public int decompress(java.nio.ByteBuffer compressed, java.nio.ByteBuffer output) throws java.io.IOException {
+        if (compressed == null || !compressed.hasRemaining()) {
+            return 0;
+        }
+
+        byte magicByte = compressed.get(compressed.position());
+        int start = output.position();
+        try {
+            detectCompressor(magicByte).decompress(compressed.duplicate(), output);
+        } catch (CompressionException | RuntimeException e) {
+            output.position(start);
+            boolean recovered = false;
+            if (fallbackEnabled) {
+                try {
+                    System.out.println("[TurboMC] Primary decompression failed, trying fallback...");
+                    fallbackCompressor.decompress(compressed.duplicate(), output);
+                    fallbackCount.incrementAndGet();
+                    recovered = true;
+                } catch (CompressionException | RuntimeException fallbackEx) {
+                    System.err.println("[TurboMC] Fallback decompression also failed: " + fallbackEx.getMessage());
+                }
+            }
+            if (!recovered) {
+                throw new java.io.IOException("Failed to decompress data (Magic: " +
+                    String.format("0x%02X", magicByte) + ")", e);
+            }
+        }
+
+        int written = output.position() - start;
+        compressed.position(compressed.limit());
+        decompressionCount.incrementAndGet();
+        decompressedBytes.addAndGet(written);
+        return written;
+    }
+
+    private java.nio.ByteBuffer decompressInto(Compressor compressor, java.nio.ByteBuffer compressed,
+                                               DirectBufferPool pool) throws CompressionException {
+        java.nio.ByteBuffer input = compressed.duplicate();
+        int length = compressor.decompressedLength(input);
+        if (length < 0) {
+            // Size not recorded in the format - go through the array path
+            byte[] decompressed = compressor.decompress(toArray(input));
+            java.nio.ByteBuffer output = pool.acquire(decompressed.length);
+            output.put(decompressed).flip();
+            compressed.position(compressed.limit());
+            decompressionCount.incrementAndGet();
+            decompressedBytes.addAndGet(decompressed.length);
+            return output;
+        }
+
+        java.nio.ByteBuffer output = pool.acquire(length);
+        try {
+            compressor.decompress(input, output);
+            if (output.position() != length) {
+                throw new CompressionException("Decompressed size mismatch: expected " + length +
+                                               ", got " + output.position());
+            }
+        } catch (CompressionException | RuntimeException e) {
+            pool.release(output);
+            throw e instanceof CompressionException ce ? ce : new CompressionException("Decompression failed", e);
+        }
+        output.flip();
+        compressed.position(compressed.limit());
+        decompressionCount.incrementAndGet();
+        decompressedBytes.addAndGet(length);
+        return output;
+    }
+
+    private static byte[] toArray(java.nio.ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
     // Static cache for compressor instances to avoid recreation
     private static final java.util.Map<Byte, Compressor> MAGIC_BYTE_CACHE = new java.util.concurrent.ConcurrentHashMap<>();
     
@@ -156,6 +300,7 @@ public class TurboCompressionService {
             MAGIC_BYTE_CACHE.put((byte)0x54, new ZstdCompressor(3));
             MAGIC_BYTE_CACHE.put((byte)0x4C, new LZ4CompressorImpl(3));
             MAGIC_BYTE_CACHE.put((byte)0x78, new ZlibCompressor(3));
+            MAGIC_BYTE_CACHE.put(ZstdDictionaryCompressor.MAGIC, new ZstdDictionaryCompressor(3));
         } catch (Exception e) {
             // If compressor initialization fails, they won't be in cache
             System.err.println("[TurboMC] Warning: Some compressors failed to initialize for cache");
@@ -126,6 +126,43 @@ public class ZlibCompressor implements Compressor {
         }
     }
     
+    @Override
+    public int decompressedLength(ByteBuffer compressed) throws CompressionException {
+        if (compressed.remaining() < 5 || compressed.get(compressed.position()) != MAGIC_BYTE) {
+            throw new CompressionException("Invalid Zlib header");
+        }
+        return compressed.getInt(compressed.position() + 1);
+    }
+    
+    @Override
+    public void decompress(ByteBuffer compressed, ByteBuffer output) throws CompressionException {
+        int originalSize = decompressedLength(compressed);
+        try {
+            if (originalSize > 0) {
+                Inflater inflater = inflaterCache.get();
+                inflater.reset();
+                inflater.setInput(compressed.slice(compressed.position() + 5, compressed.remaining() - 5));
+                
+                ByteBuffer target = output.slice(output.position(), originalSize);
+                while (target.hasRemaining() && !inflater.finished()) {
+                    if (inflater.inflate(target) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                }
+                if (target.hasRemaining()) {
+                    throw new CompressionException("Decompressed size mismatch: expected " + originalSize + 
+                                                   ", got " + target.position());
+                }
+                output.position(output.position() + originalSize);
+            }
+            compressed.position(compressed.limit());
+        } catch (CompressionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompressionException("Zlib decompression failed", e);
+        }
+    }
+    
     @Override
     public String getName() {
         return "Zlib (Optimized)";
@@ -84,6 +84,46 @@ public class ZstdCompressor implements Compressor {
         }
     }
 
+    @Override
+    public int decompressedLength(ByteBuffer compressed) throws CompressionException {
+        int position = compressed.position();
+        int length = compressed.remaining();
+        if (length < 1 || compressed.get(position) != getMagicByte()) {
+            throw new CompressionException("Invalid magic byte for Zstd");
+        }
+        if (length == 1) {
+            return 0;
+        }
+        
+        long originalSize = compressed.isDirect()
+            ? Zstd.decompressedDirectByteBufferSize(compressed, position + 1, length - 1)
+            : Zstd.decompressedSize(compressed.array(), compressed.arrayOffset() + position + 1, length - 1);
+        if (originalSize <= 0 || originalSize > Integer.MAX_VALUE) {
+            throw new CompressionException("Zstd frame size unknown - not supported for chunk data");
+        }
+        return (int) originalSize;
+    }
+    
+    @Override
+    public void decompress(ByteBuffer compressed, ByteBuffer output) throws CompressionException {
+        if (!compressed.isDirect() || !output.isDirect()) {
+            // zstd-jni only does buffer-to-buffer on direct memory
+            Compressor.super.decompress(compressed, output);
+            return;
+        }
+        
+        int originalSize = decompressedLength(compressed);
+        if (originalSize > 0) {
+            long size = Zstd.decompressDirectByteBuffer(output, output.position(), originalSize,
+                compressed, compressed.position() + 1, compressed.remaining() - 1);
+            if (Zstd.isError(size)) {
+                throw new CompressionException("Zstd decompression error: " + Zstd.getErrorName(size));
+            }
+            output.position(output.position() + (int) size);
+        }
+        compressed.position(compressed.limit());
+    }
+    
     @Override
     public byte getMagicByte() {
         return 0x54; // 'T' for Turbo (Zstd slot) - Check LRFConstants collision
@@ -0,0 +1,163 @@
+package com.turbomc.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.turbomc.storage.compression.ZstdDictionaryManager;
+import java.nio.ByteBuffer;
+
+/**
+ * Zstandard with a trained dictionary.
+ * Format: magic byte, 4-byte dictionary ID (big-endian), zstd frame. The ID selects the
+ * dictionary on decompression, so readers never need to know which one a writer chose.
+ */
+public class ZstdDictionaryCompressor implements Compressor {
+
+    public static final byte MAGIC = 0x44; // 'D' for Dictionary
+    public static final int HEADER_SIZE = 5;
+
+    private final int level;
+
+    public ZstdDictionaryCompressor(int level) {
+        this.level = Math.max(1, Math.min(22, level));
+    }
+
+    @Override
+    public byte[] compress(byte[] data) throws CompressionException {
+        throw new CompressionException("Zstd dictionary compression needs a dictionary");
+    }
+
+    /**
+     * Compress with the given dictionary.
+     */
+    public byte[] compress(byte[] data, ZstdDictionaryManager.Dictionary dictionary) throws CompressionException {
+        try {
+            long maxCompressedSize = Zstd.compressBound(data.length);
+            if (maxCompressedSize > Integer.MAX_VALUE - HEADER_SIZE) {
+                throw new CompressionException("Data too large for single array compression");
+            }
+
+            byte[] output = new byte[(int) maxCompressedSize + HEADER_SIZE];
+            output[0] = MAGIC;
+            writeDictionaryId(output, dictionary.getId());
+
+            long compressedSize = Zstd.compressFastDict(output, HEADER_SIZE, data, 0, data.length,
+                                                        dictionary.compressor(level));
+            if (Zstd.isError(compressedSize)) {
+                throw new CompressionException("Zstd compression error: " + Zstd.getErrorName(compressedSize));
+            }
+
+            byte[] exact = new byte[(int) compressedSize + HEADER_SIZE];
+            System.arraycopy(output, 0, exact, 0, exact.length);
+            return exact;
+        } catch (CompressionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompressionException("Zstd dictionary compression failed", e);
+        }
+    }
+
+    @Override
+    public byte[] decompress(byte[] compressed) throws CompressionException {
+        try {
+            if (compressed.length < HEADER_SIZE || compressed[0] != MAGIC) {
+                throw new CompressionException("Invalid magic byte for Zstd dictionary");
+            }
+            ZstdDictionaryManager.Dictionary dictionary = dictionaryFor(readDictionaryId(compressed));
+
+            long originalSize = Zstd.decompressedSize(compressed, HEADER_SIZE, compressed.length - HEADER_SIZE);
+            if (originalSize <= 0 || originalSize > Integer.MAX_VALUE) {
+                throw new CompressionException("Zstd frame size unknown - not supported for chunk data");
+            }
+
+            byte[] output = new byte[(int) originalSize];
+            long size = Zstd.decompressFastDict(output, 0, compressed, HEADER_SIZE, compressed.length - HEADER_SIZE,
+                                                dictionary.decompressor());
+            if (Zstd.isError(size)) {
+                throw new CompressionException("Zstd decompression error: " + Zstd.getErrorName(size));
+            }
+            return output;
+        } catch (CompressionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompressionException("Zstd dictionary decompression failed", e);
+        }
+    }
+
+    @Override
+    public int decompressedLength(ByteBuffer compressed) throws CompressionException {
+        int position = compressed.position();
+        int length = compressed.remaining();
+        if (length < HEADER_SIZE || compressed.get(position) != MAGIC) {
+            throw new CompressionException("Invalid magic byte for Zstd dictionary");
+        }
+
+        long originalSize = compressed.isDirect()
+            ? Zstd.decompressedDirectByteBufferSize(compressed, position + HEADER_SIZE, length - HEADER_SIZE)
+            : Zstd.decompressedSize(compressed.array(), compressed.arrayOffset() + position + HEADER_SIZE, length - HEADER_SIZE);
+        if (originalSize <= 0 || originalSize > Integer.MAX_VALUE) {
+            throw new CompressionException("Zstd frame size unknown - not supported for chunk data");
+        }
+        return (int) originalSize;
+    }
+
+    @Override
+    public void decompress(ByteBuffer compressed, ByteBuffer output) throws CompressionException {
+        if (!compressed.isDirect() || !output.isDirect()) {
+            // zstd-jni only does buffer-to-buffer on direct memory
+            Compressor.super.decompress(compressed, output);
+            return;
+        }
+
+        int originalSize = decompressedLength(compressed);
+        ZstdDictionaryManager.Dictionary dictionary = dictionaryFor(compressed.getInt(compressed.position() + 1));
+        long size = Zstd.decompressDirectByteBufferFastDict(output, output.position(), originalSize,
+            compressed, compressed.position() + HEADER_SIZE, compressed.remaining() - HEADER_SIZE,
+            dictionary.decompressor());
+        if (Zstd.isError(size)) {
+            throw new CompressionException("Zstd decompression error: " + Zstd.getErrorName(size));
+        }
+        output.position(output.position() + (int) size);
+        compressed.position(compressed.limit());
+    }
+
+    /**
+     * Dictionary ID of a compressed payload, or 0 if it was not compressed with a dictionary.
+     */
+    public static int dictionaryIdOf(byte[] compressed) {
+        return compressed.length >= HEADER_SIZE && compressed[0] == MAGIC ? readDictionaryId(compressed) : 0;
+    }
+
+    private static ZstdDictionaryManager.Dictionary dictionaryFor(int dictId) throws CompressionException {
+        ZstdDictionaryManager.Dictionary dictionary = ZstdDictionaryManager.getInstance().getById(dictId);
+        if (dictionary == null) {
+            throw new CompressionException("Zstd dictionary #" + Integer.toUnsignedString(dictId) + " is not available");
+        }
+        return dictionary;
+    }
+
+    private static void writeDictionaryId(byte[] output, int dictId) {
+        output[1] = (byte) (dictId >>> 24);
+        output[2] = (byte) (dictId >>> 16);
+        output[3] = (byte) (dictId >>> 8);
+        output[4] = (byte) dictId;
+    }
+
+    private static int readDictionaryId(byte[] compressed) {
+        return ((compressed[1] & 0xFF) << 24) | ((compressed[2] & 0xFF) << 16)
+             | ((compressed[3] & 0xFF) << 8) | (compressed[4] & 0xFF);
+    }
+
+    @Override
+    public byte getMagicByte() {
+        return MAGIC;
+    }
+
+    @Override
+    public int getCompressionLevel() {
+        return level;
+    }
+
+    @Override
+    public String getName() {
+        return "ZSTD+Dict";
+    }
+}
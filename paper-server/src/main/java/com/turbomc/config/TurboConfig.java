@@ -91,6 +91,13 @@ public class TurboConfig {
         return getInstance();
     }
     
+    /**
+     * Directory holding turbo.toml; relative data paths in the config resolve against it.
+     */
+    public File getServerDirectory() {
+        return serverDirectory;
+    }
+    
     public static boolean isInitialized() {
         return instance != null;
     }
@@ -121,6 +128,27 @@ fallback-enabled = true
 # Warning: Increases disk I/O as chunks are rewritten with new settings.
 recompress-on-load = false
 
+# Adaptive per-chunk codec selection for chunk saves
+[compression.adaptive]
+# Choose none/LZ4/zstd per chunk from measured ratio and CPU cost instead of one global codec
+enabled = false
+
+# Try every codec on one chunk out of this many (per chunk class) to keep estimates fresh
+sample-interval = 64
+
+# Chunks up to this size are "sparse", from this size "heavy" (bytes)
+sparse-bytes = 8192
+heavy-bytes = 65536
+
+# CPU budget per chunk byte (ns) when idle and at the target MSPT
+target-mspt = 50.0
+idle-ns-per-byte = 40.0
+peak-ns-per-byte = 2.0
+
+# Zstd level for chunks rewritten by recompress-on-load, used while load stays below archive-max-load
+archive-level = 19
+archive-max-load = 0.5
+
 [storage]
 # Region file format: "auto" (detect), "lrf" (optimized), or "mca" (vanilla)
 format = "lrf"
@@ -134,6 +162,64 @@ conversion-mode = "on-demand"
 # Backup original MCA files before deletion
 backup-original-mca = false
 
+# Whole-world MCA to LRF conversion (full-lrf mode and /turbo storage convert)
+[storage.conversion]
+# Convert through a staged read/decompress/compress/write pipeline instead of one file at a time
+pipeline-enabled = true
+
+# Threads reading raw chunks from .mca files
+read-threads = 2
+
+# Threads inflating zlib/gzip chunk data (0 = half the CPU cores)
+decompress-threads = 0
+
+# Threads compressing chunks for LRF (0 = half the CPU cores)
+compress-threads = 0
+
+# Threads writing chunks into .lrf files
+write-threads = 2
+
+# Chunks buffered between two stages; a full queue pauses the stage feeding it
+queue-size = 512
+
+# Region files converted at the same time
+max-open-regions = 16
+
+# Zstd dictionaries trained from stored chunks (/turbo storage dictionary <world> train)
+[storage.dictionary]
+# Compress new chunks with the dimension's dictionary when one has been trained (zstd only)
+enabled = true
+
+# Folder holding the trained .dict files
+folder = "turbo_data/dictionaries"
+
+# Prefer per-biome-cluster dictionaries (ocean, arid, cold, forest, ...) when trained
+biome-clusters = false
+
+# Target dictionary size in KB
+size-kb = 112
+
+# Maximum chunks sampled per dimension, and memory they may use
+max-samples = 4000
+sample-memory-mb = 64
+
+# Shared NBT key dictionary: strings common to most chunks ("sections", "minecraft:stone", ...)
+# are stored once per dimension (nbt_keys.v<N>.tkd next to the region files) instead of in every chunk
+[storage.nbt-dictionary]
+enabled = true
+
+# Add strings that keep showing up in chunk overflow pools to a new dictionary version
+learn = true
+
+# Chunks written between dictionary updates
+update-interval = 4096
+
+# Share of those chunks a string must appear in to be added
+min-frequency = 0.05
+
+# Maximum strings per dictionary
+max-entries = 16384
+
 # Batch operations configuration
 [storage.batch]
 # Enable batch chunk loading/saving
@@ -151,6 +237,77 @@ batch-size = 64
 # Maximum concurrent loading operations
 max-concurrent-loads = 64
 
+# Multi-chunk loads merge neighbouring chunks into one read when the gap between
+# them is at most coalesce-gap-kb, up to max-read-kb per read
+coalesce-gap-kb = 32
+max-read-kb = 1024
+
+# Shared storage scheduler: one set of lane workers for all regions
+# Player-blocking loads go ahead of prefetch, prefetch ahead of background work
+[storage.scheduler]
+# Worker threads per lane (0 = auto from CPU cores)
+read-threads = 0
+decompress-threads = 0
+compress-threads = 0
+write-threads = 0
+fsync-threads = 0
+maintenance-threads = 0
+
+# Maximum queued non-urgent tasks per lane; beyond it prefetches are dropped
+# and background tasks run on the submitting thread
+queue-capacity = 4096
+
+# Run the blocking I/O lanes (read, write, fsync) on virtual threads
+virtual-io-threads = false
+
+# Open region files (least recently used unpinned regions are closed beyond the limits)
+[storage.regions]
+# Maximum open regions; each holds its .lrf file open, plus journal and checksum sidecar
+max-open = 512
+
+# Maximum bytes of region files mapped into memory (in MB)
+max-mapped-mb = 4096
+
+# LRF region file space management
+[storage.lrf]
+# Reuse space freed by re-saved chunks instead of always appending
+free-space-reuse = true
+
+# How long freed space is held back before reuse (in milliseconds)
+# Must exceed the header cache lifetime so readers never see overwritten data
+free-space-reuse-delay-ms = 10000
+
+# Periodically move chunks into holes and shrink fragmented region files
+compaction-enabled = true
+
+# Seconds between compaction passes
+compaction-interval-seconds = 300
+
+# Minimum fraction of dead space in a region before it is compacted (0.25 = 25%)
+compaction-min-fragmentation = 0.25
+
+# Maximum chunks moved per region per pass
+compaction-max-moves = 256
+
+# Write-ahead journal (<region>.lrf.wal) for crash-consistent headers
+# Saves fsync a small journal instead of the full header; recovery replays it on open
+journal-enabled = true
+
+# Journal records between full header checkpoints
+journal-checkpoint-records = 1024
+
+# Group commit: pending journal records are fsynced together once the oldest has waited
+# this long, or once this many are pending, however often writers flush
+journal-commit-interval-ms = 1000
+journal-commit-records = 256
+
+# Per-chunk metadata table (status, DataVersion, last save, inhabited time, size, CRC32C)
+# Lets existence/status checks and integrity validation skip decompressing chunks
+chunk-metadata = true
+
+# Idle pooled direct buffers kept per size class (16KB-2MB) for zero-copy chunk reads
+direct-buffers-per-size = 32
+
 # Memory-mapped read-ahead engine
 [storage.mmap]
 # Enable memory-mapped read-ahead for SSD/NVMe optimization
@@ -177,19 +334,41 @@ prediction-scale = 12
 # Maximum memory usage for caching (in MB)
 max-memory-usage = 128
 
+# Shared read-ahead scheduler (one for all regions)
+# Maximum prefetch tasks running at once on the scheduler's read lane
+prefetch-threads = 2
+
+# Maximum queued prefetch requests (farthest are dropped first)
+prefetch-queue-size = 4096
+
+# Maximum bytes paged in by read-ahead and not yet read (in MB)
+prefetch-memory-mb = 256
+
+# Seconds an unread prefetch counts against the budget
+prefetch-ttl-seconds = 30
+
 # Use Java 22+ Foreign Memory API if available
 use-foreign-memory-api = true
 
+# Shared cache of decompressed chunks used by all region readers
+[storage.cache]
+# Total cache size in MB
+size-mb = 256
+
+# Independently locked shards (0 = 2x CPU cores, max 64)
+shards = 0
+
+# Maximum age of a cached chunk in minutes (0 = no expiry)
+ttl-minutes = 10
+
 # Integrity validation system
 [storage.integrity]
 # Enable chunk integrity validation with checksums
 enabled = true
 
-# Primary checksum algorithm: "crc32", "crc32c", "sha256"
-primary-algorithm = "crc32c"
-
-# Backup checksum algorithm for verification (null to disable)
-backup-algorithm = "sha256"
+# Keep CRC32C + XXH64 checksums in a memory-mapped sidecar (r.x.z.lrf.crc)
+# so they survive restarts; false keeps them in memory only
+persistent-checksums = true
 
 # Enable automatic repair from backups
 auto-repair = true
@@ -200,6 +379,19 @@ validation-threads = 2
 # Validation interval in milliseconds (5 minutes)
 validation-interval = 300000
 
+# Background scrubbing: re-read every stored chunk and check it against its checksums
+scrub-enabled = true
+
+# Scrub read budget in MB per second and chunk reads per second
+scrub-mb-per-second = 2
+scrub-iops = 20
+
+# Pause scrubbing while the server's average tick time is above this (ms)
+scrub-pause-mspt = 40.0
+
+# Minutes to wait after a full pass over a world folder before starting the next
+scrub-pass-interval-minutes = 360
+
 [ovf]
 # Optimized Voxel Format (OVF) Configuration
 # New high-performance structure format for <100ms load times
@@ -257,6 +449,10 @@ mob_throttling_enabled = true
 # Global Tick Budgeting (in milliseconds)
 global_budget_enabled = true
 tick_budget_ms = 45.0
+# The budget is split between the levels that ticked last tick, then between subsystems.
+# Block entities cut short by the budget resume next tick; after this many ticks in a row
+# they are ticked in full regardless of budget
+budget_max_deferred_ticks = 20
 
 # Mob spawning optimization
 mob_spawning_optimization_enabled = true
@@ -267,6 +463,27 @@ chunk_ticking_optimization_enabled = true
 # Default optimization mode: CONSERVATIVE, BALANCED, PERFORMANCE, EXTREME, ADAPTIVE
 default-mode = "BALANCED"
 
+[performance.modules]
+# Run the optimizer modules from the server tick
+enabled = true
+# Ticks between runs of each module
+interval-ticks = 20
+# Time budget per phase (ms); modules over budget wait for the next tick
+pre-tick-budget-ms = 1.0
+post-entity-budget-ms = 1.0
+post-block-entity-budget-ms = 1.0
+# Between ticks, off the main thread; only reported against
+async-budget-ms = 20.0
+
+[performance.profiler]
+# Always-on tick profiler: time per entity type, block entity type, storage task,
+# scheduler task and plugin listener. See /turbo stats, /turbo stats dump
+enabled = true
+# Also total entity and block entity time per chunk
+per-chunk = true
+# Chunks tracked per world; time in further chunks still counts towards the world
+max-chunks-per-world = 4096
+
 [chunk]
 # Chunk loading optimization settings
 # Enable intelligent chunk preloading
@@ -471,11 +688,15 @@ highlight-corrupted = true
                     // Add default integrity section if missing
                 Map<String, Object> defaultIntegrity = new HashMap<>();
                 defaultIntegrity.put("enabled", true);
-                defaultIntegrity.put("primary-algorithm", "crc32c");
-                defaultIntegrity.put("backup-algorithm", "sha256");
+                defaultIntegrity.put("persistent-checksums", true);
                 defaultIntegrity.put("auto-repair", true);
                 defaultIntegrity.put("validation-threads", 2);
                 defaultIntegrity.put("validation-interval", 300000);
+                defaultIntegrity.put("scrub-enabled", true);
+                defaultIntegrity.put("scrub-mb-per-second", 2);
+                defaultIntegrity.put("scrub-iops", 20);
+                defaultIntegrity.put("scrub-pause-mspt", 40.0);
+                defaultIntegrity.put("scrub-pass-interval-minutes", 360);
                 storageFull.put("integrity", defaultIntegrity);
             }
             
@@ -609,12 +830,8 @@ highlight-corrupted = true
         return toml.getBoolean("storage.integrity.enabled", true);
     }
     
-    public String getPrimaryAlgorithm() {
-        return toml.getString("storage.integrity.primary-algorithm", "crc32c");
-    }
-    
-    public String getBackupAlgorithm() {
-        return toml.getString("storage.integrity.backup-algorithm", "sha256");
+    public boolean isPersistentChecksumsEnabled() {
+        return toml.getBoolean("storage.integrity.persistent-checksums", true);
     }
     
     public boolean isAutoRepairEnabled() {
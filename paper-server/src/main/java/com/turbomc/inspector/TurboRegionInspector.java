@@ -2,6 +2,7 @@ package com.turbomc.inspector;
 
 import com.turbomc.storage.lrf.LRFRegionFileAdapter;
 import com.turbomc.storage.lrf.LRFChunkEntry;
+import com.turbomc.storage.lrf.LRFChunkMetadata;
 import com.turbomc.storage.lrf.LRFHeader;
 import com.turbomc.inspector.TurboCompressionStats.CompressionStatistics;
 import net.minecraft.server.level.ServerLevel;
@@ -111,8 +112,7 @@ public class TurboRegionInspector {
                     inspectRegion(filePath).get();
                 }
                 
-                // Implementation would get chunk from adapter
-                LRFChunkEntry chunk = null; // Placeholder
+                LRFChunkEntry chunk = currentRegion.getChunk(chunkX, chunkZ);
                 if (chunk == null) {
                     throw new IOException("Chunk not found: " + chunkX + "," + chunkZ);
                 }
@@ -123,7 +123,10 @@ public class TurboRegionInspector {
                 result.chunkData = chunk;
                 result.blockCount = chunk.getBlockCount();
                 result.compressionType = chunk.getCompressionType();
-                result.uncompressedSize = chunk.getUncompressedSize();
+                // Metadata table has the exact size and status; older regions fall back to estimates
+                result.metadata = currentRegion.getMetadata(chunkX, chunkZ);
+                result.uncompressedSize = result.metadata != null
+                    ? result.metadata.getUncompressedSize() : chunk.getUncompressedSize();
                 result.compressedSize = chunk.getCompressedSize();
                 result.blockPalette = paletteVisualizer.analyzeChunkBlockPalette(chunk);
                 result.hexDump = hexViewer.generateChunkHexDump(chunk);
@@ -227,6 +230,7 @@ public class TurboRegionInspector {
         public int chunkX;
         public int chunkZ;
         public LRFChunkEntry chunkData;
+        public LRFChunkMetadata metadata;
         public int blockCount;
         public String compressionType;
         public int uncompressedSize;
@@ -240,10 +244,18 @@ public class TurboRegionInspector {
         }
         
         public String getSummary() {
-            return String.format(
+            String summary = String.format(
                 "Chunk [%d,%d]\nBlocks: %d\nCompression: %s\nRatio: %.2f%%\n",
                 chunkX, chunkZ, blockCount, compressionType, getCompressionRatio() * 100
             );
+            if (metadata != null) {
+                summary += String.format(
+                    "Status: %s\nDataVersion: %d\nLast save tick: %d\nInhabited: %d ticks\nCRC32C: %08x\n",
+                    metadata.getStatus(), metadata.getDataVersion(), metadata.getLastSaveTick(),
+                    metadata.getInhabitedTime(), metadata.getCrc32c()
+                );
+            }
+            return summary;
         }
     }
     
@@ -0,0 +1,230 @@
+package com.turbomc.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.zip.CRC32;
+
+/**
+ * Shared, versioned string table for PackedBinaryNBT records.
+ * <p>
+ * Keys such as "sections" or "block_states" and values such as "minecraft:stone" appear in
+ * nearly every chunk. A record written with a dictionary stores only the dictionary's ID and
+ * a small overflow pool for strings the dictionary does not know. String IDs below
+ * {@link #size()} refer to the dictionary, higher IDs to the overflow pool.
+ * <p>
+ * Dictionaries are immutable. A newer version always starts with all strings of the
+ * version it extends. Strings are interned, so decoding hands out the same instances
+ * for every chunk.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class NBTKeyDictionary {
+
+    private static final byte[] MAGIC = "TKEY".getBytes(StandardCharsets.US_ASCII);
+
+    /** Keys and values found in practically every chunk. */
+    private static final String[] BUILT_IN_STRINGS = {
+        // Chunk structure
+        "DataVersion", "xPos", "yPos", "zPos", "Status", "LastUpdate", "InhabitedTime", "isLightOn",
+        "sections", "Y", "block_states", "palette", "data", "biomes", "BlockLight", "SkyLight",
+        "Name", "Properties", "Heightmaps", "MOTION_BLOCKING", "MOTION_BLOCKING_NO_LEAVES",
+        "OCEAN_FLOOR", "OCEAN_FLOOR_WG", "WORLD_SURFACE", "WORLD_SURFACE_WG",
+        "block_entities", "block_ticks", "fluid_ticks", "PostProcessing", "structures", "starts",
+        "References", "blending_data", "UpgradeData", "CarvingMasks", "Lights", "entities",
+        "id", "x", "y", "z", "i", "t", "p", "keepPacked", "components", "Count", "Slot", "Items",
+        // Chunk status
+        "minecraft:full", "minecraft:empty", "minecraft:structure_starts", "minecraft:noise",
+        "minecraft:surface", "minecraft:carvers", "minecraft:features", "minecraft:light",
+        "minecraft:spawn", "minecraft:initialize_light", "minecraft:biomes",
+        // Block state properties
+        "axis", "facing", "half", "shape", "waterlogged", "snowy", "age", "level", "lit", "open",
+        "powered", "type", "north", "south", "east", "west", "up", "down", "true", "false",
+        "bottom", "top", "straight", "persistent", "distance", "stage", "moisture", "hinge", "left", "right",
+        // Blocks
+        "minecraft:air", "minecraft:cave_air", "minecraft:void_air", "minecraft:stone", "minecraft:deepslate",
+        "minecraft:dirt", "minecraft:grass_block", "minecraft:coarse_dirt", "minecraft:podzol", "minecraft:mud",
+        "minecraft:sand", "minecraft:red_sand", "minecraft:sandstone", "minecraft:gravel", "minecraft:clay",
+        "minecraft:water", "minecraft:lava", "minecraft:bedrock", "minecraft:granite", "minecraft:diorite",
+        "minecraft:andesite", "minecraft:tuff", "minecraft:calcite", "minecraft:dripstone_block",
+        "minecraft:coal_ore", "minecraft:iron_ore", "minecraft:copper_ore", "minecraft:gold_ore",
+        "minecraft:redstone_ore", "minecraft:lapis_ore", "minecraft:diamond_ore", "minecraft:emerald_ore",
+        "minecraft:deepslate_coal_ore", "minecraft:deepslate_iron_ore", "minecraft:deepslate_copper_ore",
+        "minecraft:deepslate_gold_ore", "minecraft:deepslate_redstone_ore", "minecraft:deepslate_lapis_ore",
+        "minecraft:deepslate_diamond_ore", "minecraft:deepslate_emerald_ore", "minecraft:raw_iron_block",
+        "minecraft:short_grass", "minecraft:tall_grass", "minecraft:fern", "minecraft:large_fern",
+        "minecraft:snow", "minecraft:snow_block", "minecraft:ice", "minecraft:packed_ice", "minecraft:seagrass",
+        "minecraft:tall_seagrass", "minecraft:kelp", "minecraft:kelp_plant", "minecraft:oak_log",
+        "minecraft:oak_leaves", "minecraft:birch_log", "minecraft:birch_leaves", "minecraft:spruce_log",
+        "minecraft:spruce_leaves", "minecraft:dark_oak_log", "minecraft:dark_oak_leaves", "minecraft:jungle_log",
+        "minecraft:jungle_leaves", "minecraft:acacia_log", "minecraft:acacia_leaves", "minecraft:vine",
+        "minecraft:glow_lichen", "minecraft:moss_block", "minecraft:moss_carpet", "minecraft:netherrack",
+        "minecraft:soul_sand", "minecraft:soul_soil", "minecraft:basalt", "minecraft:blackstone",
+        "minecraft:magma_block", "minecraft:end_stone", "minecraft:obsidian", "minecraft:terracotta",
+        "minecraft:smooth_basalt", "minecraft:amethyst_block", "minecraft:budding_amethyst",
+        // Biomes
+        "minecraft:plains", "minecraft:forest", "minecraft:birch_forest", "minecraft:dark_forest",
+        "minecraft:taiga", "minecraft:snowy_plains", "minecraft:snowy_taiga", "minecraft:desert",
+        "minecraft:savanna", "minecraft:jungle", "minecraft:swamp", "minecraft:mangrove_swamp",
+        "minecraft:badlands", "minecraft:meadow", "minecraft:grove", "minecraft:snowy_slopes",
+        "minecraft:jagged_peaks", "minecraft:frozen_peaks", "minecraft:stony_peaks", "minecraft:river",
+        "minecraft:frozen_river", "minecraft:beach", "minecraft:ocean", "minecraft:deep_ocean",
+        "minecraft:cold_ocean", "minecraft:deep_cold_ocean", "minecraft:lukewarm_ocean",
+        "minecraft:deep_lukewarm_ocean", "minecraft:warm_ocean", "minecraft:frozen_ocean",
+        "minecraft:deep_frozen_ocean", "minecraft:dripstone_caves", "minecraft:lush_caves",
+        "minecraft:deep_dark", "minecraft:nether_wastes", "minecraft:crimson_forest",
+        "minecraft:warped_forest", "minecraft:soul_sand_valley", "minecraft:basalt_deltas",
+        "minecraft:the_end", "minecraft:end_highlands", "minecraft:end_midlands", "minecraft:small_end_islands",
+        "minecraft:end_barrens", "minecraft:the_void"
+    };
+
+    private static final NBTKeyDictionary BUILT_IN = new NBTKeyDictionary(0, Arrays.asList(BUILT_IN_STRINGS));
+
+    private final int version;
+    private final int id;
+    private final String[] strings;
+    private final Map<String, Integer> index;
+
+    private NBTKeyDictionary(int version, List<String> values) {
+        this.version = version;
+        LinkedHashSet<String> unique = new LinkedHashSet<>(values);
+        this.strings = new String[unique.size()];
+        this.index = new HashMap<>(unique.size() * 2);
+        int i = 0;
+        for (String value : unique) {
+            strings[i] = value.intern();
+            index.put(strings[i], i);
+            i++;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(toBytes());
+        // Never 0, so a stored ID always names a dictionary
+        this.id = (int) crc.getValue() | 1;
+    }
+
+    /**
+     * Dictionary compiled into the server: version 0, always available.
+     */
+    public static NBTKeyDictionary builtIn() {
+        return BUILT_IN;
+    }
+
+    /**
+     * New version holding all strings of this one followed by {@code additions}.
+     */
+    public NBTKeyDictionary extend(Collection<String> additions) {
+        List<String> values = new ArrayList<>(strings.length + additions.size());
+        values.addAll(Arrays.asList(strings));
+        values.addAll(additions);
+        return new NBTKeyDictionary(version + 1, values);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return strings.length;
+    }
+
+    public String get(int stringId) {
+        return strings[stringId];
+    }
+
+    /**
+     * @return ID of a string, or -1 if the dictionary does not contain it
+     */
+    public int indexOf(String value) {
+        Integer stringId = index.get(value);
+        return stringId != null ? stringId : -1;
+    }
+
+    /**
+     * Whether both dictionaries map every string ID to the same string, so records
+     * written with one decode identically with the other.
+     */
+    public boolean sameStrings(NBTKeyDictionary other) {
+        return Arrays.equals(strings, other.strings);
+    }
+
+    /**
+     * String pool view of a record: dictionary strings followed by its overflow pool.
+     */
+    public List<String> withOverflow(List<String> overflow) {
+        return new Pool(overflow);
+    }
+
+    /**
+     * Serialized form: {@code "TKEY" [int version] [int count] [UTF string]...}.
+     */
+    public byte[] toBytes() {
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+             DataOutputStream dos = new DataOutputStream(bos)) {
+            dos.write(MAGIC);
+            dos.writeInt(version);
+            dos.writeInt(strings.length);
+            for (String value : strings) {
+                dos.writeUTF(value);
+            }
+            dos.flush();
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Dictionary serialization failure", e);
+        }
+    }
+
+    public static NBTKeyDictionary fromBytes(byte[] bytes) throws IOException {
+        try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] magic = new byte[MAGIC.length];
+            dis.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not an NBT key dictionary");
+            }
+            int version = dis.readInt();
+            int count = dis.readInt();
+            if (count < 0 || count > bytes.length) {
+                throw new IOException("Corrupt NBT key dictionary: " + count + " entries");
+            }
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(dis.readUTF());
+            }
+            return new NBTKeyDictionary(version, values);
+        }
+    }
+
+    private final class Pool extends AbstractList<String> implements RandomAccess {
+        private final List<String> overflow;
+
+        Pool(List<String> overflow) {
+            this.overflow = overflow;
+        }
+
+        @Override
+        public String get(int stringId) {
+            return stringId < strings.length ? strings[stringId] : overflow.get(stringId - strings.length);
+        }
+
+        @Override
+        public int size() {
+            return strings.length + overflow.size();
+        }
+    }
+}
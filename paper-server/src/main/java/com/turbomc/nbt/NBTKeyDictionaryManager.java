@@ -0,0 +1,301 @@
+package com.turbomc.nbt;
+
+import com.turbomc.config.TurboConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Loads, learns and persists NBT key dictionaries.
+ * <p>
+ * Every region folder (one per dimension) has its own dictionary versions, stored next to
+ * the LRF files as {@code nbt_keys.v<N>.tkd} so they travel with the world. Writes use the
+ * newest version of the folder; reads find the dictionary by the ID stored in each record,
+ * looked up in the folder the record came from. IDs are 32-bit checksums, so two different
+ * dictionaries can share one: such an ID is marked ambiguous and records naming it fail to
+ * decode instead of being read with the wrong strings.
+ * Strings that keep landing in the overflow pool of many chunks are added to a new version.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public class NBTKeyDictionaryManager {
+
+    public static final String FILE_PREFIX = "nbt_keys.v";
+    public static final String FILE_EXTENSION = ".tkd";
+
+    /** Distinct overflow strings counted between two updates. */
+    private static final int MAX_TRACKED_STRINGS = 65536;
+
+    private static volatile NBTKeyDictionaryManager instance;
+
+    private final IdTable dictById = new IdTable();
+    private final Map<Path, Folder> folders = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final boolean learn;
+    private final int updateInterval;
+    private final double minFrequency;
+    private final int maxEntries;
+
+    private NBTKeyDictionaryManager() {
+        TurboConfig config = TurboConfig.getInstance();
+        this.enabled = config.getBoolean("storage.nbt-dictionary.enabled", true);
+        this.learn = config.getBoolean("storage.nbt-dictionary.learn", true);
+        this.updateInterval = Math.max(1, config.getInt("storage.nbt-dictionary.update-interval", 4096));
+        this.minFrequency = config.getDouble("storage.nbt-dictionary.min-frequency", 0.05);
+        this.maxEntries = config.getInt("storage.nbt-dictionary.max-entries", 16384);
+        dictById.add(NBTKeyDictionary.builtIn());
+    }
+
+    public static NBTKeyDictionaryManager getInstance() {
+        if (instance == null) {
+            synchronized (NBTKeyDictionaryManager.class) {
+                if (instance == null) {
+                    instance = new NBTKeyDictionaryManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Resets the singleton instance for testing purposes.
+     */
+    public static synchronized void resetInstance() {
+        instance = null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Dictionaries of a region folder, loading its dictionary files on first use.
+     */
+    public Folder folder(Path regionFolder) {
+        return folders.computeIfAbsent(regionFolder.toAbsolutePath().normalize(), Folder::new);
+    }
+
+    /**
+     * Look up a dictionary by the ID stored in a record, in any loaded folder.
+     *
+     * @return Dictionary, or null if no loaded folder has it
+     * @throws IllegalStateException if different loaded dictionaries share the ID
+     */
+    public NBTKeyDictionary getById(int dictId) {
+        return dictById.get(dictId);
+    }
+
+    /**
+     * Look up a dictionary by the ID stored in a record, among the dictionaries of the
+     * folder the record was read from.
+     *
+     * @param regionFolder Folder of the record's region file; null to search all loaded folders
+     * @return Dictionary, or null if the folder has none with this ID
+     * @throws IllegalStateException if different dictionaries share the ID
+     */
+    public NBTKeyDictionary getById(int dictId, Path regionFolder) {
+        return regionFolder != null ? folder(regionFolder).ids.get(dictId) : dictById.get(dictId);
+    }
+
+    /**
+     * Dictionaries by ID. An ID claimed by two dictionaries with different strings is
+     * remembered as ambiguous for good, whichever of them was loaded first.
+     */
+    private static final class IdTable {
+        private final Map<Integer, NBTKeyDictionary> byId = new ConcurrentHashMap<>();
+        private final Set<Integer> ambiguous = ConcurrentHashMap.newKeySet();
+
+        /**
+         * @return false if a different dictionary already has this ID
+         */
+        boolean add(NBTKeyDictionary dictionary) {
+            int dictId = dictionary.getId();
+            NBTKeyDictionary sameId = byId.putIfAbsent(dictId, dictionary);
+            if (sameId == null || sameId.sameStrings(dictionary)) {
+                return !ambiguous.contains(dictId);
+            }
+            if (ambiguous.add(dictId)) {
+                System.err.println("[TurboMC][NBT] Key dictionary ID collision #" + Integer.toUnsignedString(dictId) +
+                                   "; records using it can't be decoded");
+            }
+            return false;
+        }
+
+        /**
+         * Whether adding the dictionary would make its ID ambiguous.
+         */
+        boolean conflicts(NBTKeyDictionary dictionary) {
+            NBTKeyDictionary sameId = byId.get(dictionary.getId());
+            return ambiguous.contains(dictionary.getId()) || (sameId != null && !sameId.sameStrings(dictionary));
+        }
+
+        NBTKeyDictionary get(int dictId) {
+            if (ambiguous.contains(dictId)) {
+                throw new IllegalStateException("Ambiguous NBT key dictionary #" + Integer.toUnsignedString(dictId) +
+                                                ": different dictionaries share this ID");
+            }
+            return byId.get(dictId);
+        }
+    }
+
+    /**
+     * Dictionary versions of one region folder and the overflow statistics used to extend them.
+     */
+    public final class Folder {
+        private final Path path;
+        private final IdTable ids = new IdTable();
+        private final Map<String, AtomicInteger> overflowCounts = new ConcurrentHashMap<>();
+        private final AtomicInteger chunksSinceUpdate = new AtomicInteger();
+        private volatile NBTKeyDictionary current;
+
+        private Folder(Path path) {
+            this.path = path;
+            this.current = NBTKeyDictionary.builtIn();
+            ids.add(current);
+            load();
+        }
+
+        /**
+         * Dictionary new records in this folder are written with.
+         */
+        public NBTKeyDictionary current() {
+            return current;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Count the overflow strings of a record just written; every {@code update-interval}
+         * records, frequent ones are promoted into a new dictionary version.
+         */
+        public void recordOverflow(List<String> overflow) {
+            if (!learn) {
+                return;
+            }
+            for (String value : overflow) {
+                AtomicInteger count = overflowCounts.get(value);
+                if (count == null) {
+                    if (overflowCounts.size() >= MAX_TRACKED_STRINGS) {
+                        continue;
+                    }
+                    count = overflowCounts.computeIfAbsent(value, k -> new AtomicInteger());
+                }
+                count.incrementAndGet();
+            }
+            if (chunksSinceUpdate.incrementAndGet() >= updateInterval) {
+                update();
+            }
+        }
+
+        /**
+         * Promote overflow strings seen in at least {@code min-frequency} of the recent records.
+         */
+        synchronized void update() {
+            int chunks = chunksSinceUpdate.getAndSet(0);
+            if (chunks == 0) {
+                return;
+            }
+            int threshold = Math.max(2, (int) Math.ceil(chunks * minFrequency));
+            int room = maxEntries - current.size();
+            List<String> promoted = new ArrayList<>();
+            overflowCounts.entrySet().stream()
+                .filter(e -> e.getValue().get() >= threshold && current.indexOf(e.getKey()) < 0)
+                .sorted((a, b) -> Integer.compare(b.getValue().get(), a.getValue().get()))
+                .limit(Math.max(0, room))
+                .forEach(e -> promoted.add(e.getKey()));
+            overflowCounts.clear();
+            if (promoted.isEmpty()) {
+                return;
+            }
+
+            NBTKeyDictionary next = current.extend(promoted);
+            if (ids.conflicts(next) || dictById.conflicts(next)) {
+                // Records naming an ambiguous ID can't be decoded; keep the current version
+                System.err.println("[TurboMC][NBT] Key dictionary v" + next.getVersion() + " for " + path.getFileName() +
+                                   " collides with a loaded dictionary ID; not published");
+                return;
+            }
+            try {
+                save(next);
+                ids.add(next);
+                dictById.add(next);
+                current = next;
+                System.out.println("[TurboMC][NBT] Key dictionary v" + next.getVersion() + " for " + path.getFileName() +
+                                   ": +" + promoted.size() + " strings (" + next.size() + " total)");
+            } catch (IOException e) {
+                System.err.println("[TurboMC][NBT] Failed to save key dictionary in " + path + ": " + e.getMessage());
+            }
+        }
+
+        private void save(NBTKeyDictionary dictionary) throws IOException {
+            Files.createDirectories(path);
+            Path target = path.resolve(FILE_PREFIX + dictionary.getVersion() + FILE_EXTENSION);
+            Path temp = path.resolve(target.getFileName() + ".tmp");
+            // Chunks encoded with this version are written right after it is published, so it
+            // must be durable first: flush the file, rename it, then flush the directory entry
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(dictionary.toBytes());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(path);
+        }
+
+        private static void syncDirectory(Path directory) throws IOException {
+            try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                // Some platforms (Windows) can't open directories; the rename is as durable as they allow
+                if (!System.getProperty("os.name", "").toLowerCase().contains("win")) {
+                    throw e;
+                }
+            }
+        }
+
+        private void load() {
+            if (!Files.isDirectory(path)) {
+                return;
+            }
+            try (Stream<Path> files = Files.list(path)) {
+                for (Path file : files.filter(NBTKeyDictionaryManager::isDictionaryFile).toList()) {
+                    try {
+                        NBTKeyDictionary dictionary = NBTKeyDictionary.fromBytes(Files.readAllBytes(file));
+                        boolean unique = ids.add(dictionary);
+                        dictById.add(dictionary);
+                        if (unique && dictionary.getVersion() > current.getVersion()) {
+                            current = dictionary;
+                        }
+                    } catch (IOException e) {
+                        System.err.println("[TurboMC][NBT] Failed to load key dictionary " + file.getFileName() + ": " + e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("[TurboMC][NBT] Failed to scan " + path + " for key dictionaries: " + e.getMessage());
+            }
+        }
+    }
+
+    static boolean isDictionaryFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_EXTENSION);
+    }
+}
@@ -9,7 +9,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -23,11 +25,18 @@ import java.util.Map;
  * 2. LZ4 Compression: Fast compression of the payload.
  * 3. Off-Heap Storage: Uses Project Panama MemorySegment to reduce GC pressure.
  * 4. Structure: Magic Header + String Pool + Compressed Payload.
+ * <p>
+ * Version 1 compresses the payload itself. Version 2 stores it as-is, for containers
+ * such as LRF chunk frames that compress the whole record once anyway. Version 3 is
+ * version 2 with most strings taken from a shared {@link NBTKeyDictionary}, whose ID
+ * precedes the record's own (overflow) pool.
  */
 public class PackedBinaryNBT {
 
-    private static final byte[] MAGIC_HEADER = "TNBT".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] MAGIC_HEADER = "TNBT".getBytes(StandardCharsets.US_ASCII);
     private static final byte VERSION = 1;
+    static final byte VERSION_RAW = 2;
+    static final byte VERSION_SHARED = 3;
 
     private final List<String> stringPool;
     private final MemorySegment payload;
@@ -49,14 +58,68 @@ public class PackedBinaryNBT {
     }
 
     /**
-     * Serializes this PackedBinaryNBT to a byte array.
+     * Key dictionary referenced by a version 3 record.
+     *
+     * @throws IllegalStateException if the dictionary has not been loaded or its ID is ambiguous
+     */
+    static NBTKeyDictionary keyDictionary(int dictId) {
+        return keyDictionary(dictId, null);
+    }
+
+    /**
+     * Like {@link #keyDictionary(int)}, looking only at the dictionaries of the record's region folder.
+     *
+     * @param regionFolder Folder holding the record's region file, or null to search all loaded folders
+     */
+    static NBTKeyDictionary keyDictionary(int dictId, Path regionFolder) {
+        NBTKeyDictionary dictionary = NBTKeyDictionaryManager.getInstance().getById(dictId, regionFolder);
+        if (dictionary == null) {
+            throw new IllegalStateException("Unknown NBT key dictionary #" + Integer.toUnsignedString(dictId));
+        }
+        return dictionary;
+    }
+
+    /**
+     * Copies an encoded payload (position to limit) straight into a new off-heap segment.
+     */
+    static PackedBinaryNBT ofPayload(List<String> stringPool, ByteBuffer payloadData) {
+        int size = payloadData.remaining();
+        MemorySegment segment = Arena.ofAuto().allocate(size);
+        MemorySegment.copy(MemorySegment.ofBuffer(payloadData), 0, segment, 0, size);
+        return new PackedBinaryNBT(stringPool, segment, size);
+    }
+
+    /**
+     * Serializes this PackedBinaryNBT to a byte array, compressing the payload.
      */
     public byte[] toBytes() {
+        return toBytes(true);
+    }
+
+    /**
+     * Serializes this PackedBinaryNBT without compressing the payload.
+     * Use this when the result is compressed as a whole afterwards (LRF chunk storage),
+     * so the payload is compressed exactly once.
+     */
+    public byte[] toUncompressedBytes() {
+        return toBytes(false);
+    }
+
+    /**
+     * Whether serialized data is a PackedBinaryNBT that already compresses its payload
+     * (version 1), i.e. compressing it again only costs CPU.
+     */
+    public static boolean hasCompressedPayload(byte[] data) {
+        return data != null && data.length > 4 && data[0] == 'T' && data[1] == 'N' && data[2] == 'B' && data[3] == 'T'
+            && data[4] == VERSION;
+    }
+
+    private byte[] toBytes(boolean compressPayload) {
         try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
              DataOutputStream dos = new DataOutputStream(bos)) {
 
             dos.write(MAGIC_HEADER);
-            dos.writeByte(VERSION);
+            dos.writeByte(compressPayload ? VERSION : VERSION_RAW);
 
             dos.writeShort(stringPool.size());
             for (String str : stringPool) {
@@ -65,15 +128,19 @@ public class PackedBinaryNBT {
 
             // Copy back to heap only for compression/serialization
             byte[] rawPayload = payload.toArray(ValueLayout.JAVA_BYTE);
-            byte[] compressedPayload;
-            try {
-                compressedPayload = TurboCompressionService.getInstance().compress(rawPayload);
-            } catch (com.turbomc.compression.CompressionException e) {
-                throw new IOException("Compression failed", e);
-            }
             dos.writeInt(rawPayload.length);
-            dos.writeInt(compressedPayload.length);
-            dos.write(compressedPayload);
+            if (compressPayload) {
+                byte[] compressedPayload;
+                try {
+                    compressedPayload = TurboCompressionService.getInstance().compress(rawPayload);
+                } catch (com.turbomc.compression.CompressionException e) {
+                    throw new IOException("Compression failed", e);
+                }
+                dos.writeInt(compressedPayload.length);
+                dos.write(compressedPayload);
+            } else {
+                dos.write(rawPayload);
+            }
 
             return bos.toByteArray();
 
@@ -91,13 +158,20 @@ public class PackedBinaryNBT {
             }
 
             byte version = dis.readByte();
-            if (version != VERSION) throw new UnsupportedOperationException("Version mismatch");
+            if (version != VERSION && version != VERSION_RAW && version != VERSION_SHARED) throw new UnsupportedOperationException("Version mismatch");
+            NBTKeyDictionary dictionary = version == VERSION_SHARED ? keyDictionary(dis.readInt()) : null;
 
             int poolSize = dis.readUnsignedShort();
             List<String> pool = new ArrayList<>(poolSize);
             for (int i = 0; i < poolSize; i++) pool.add(dis.readUTF());
+            if (dictionary != null) pool = dictionary.withOverflow(pool);
 
             int uncompressedSize = dis.readInt();
+            if (version != VERSION) {
+                byte[] rawPayload = new byte[uncompressedSize];
+                dis.readFully(rawPayload);
+                return new PackedBinaryNBT(pool, rawPayload);
+            }
             int compressedSize = dis.readInt();
             byte[] compressedPayload = new byte[compressedSize];
             dis.readFully(compressedPayload);
@@ -110,6 +184,60 @@ public class PackedBinaryNBT {
         }
     }
 
+    /**
+     * Deserializes from a buffer (e.g. a pooled chunk buffer or mmap slice), decompressing
+     * the payload straight into its off-heap segment. The buffer's position is not moved.
+     */
+    public static PackedBinaryNBT fromBuffer(ByteBuffer data) {
+        try {
+            ByteBufferInputStream in = new ByteBufferInputStream(data);
+            DataInputStream dis = new DataInputStream(in);
+            byte[] magic = new byte[4];
+            dis.readFully(magic);
+            if (!new String(magic, StandardCharsets.US_ASCII).equals("TNBT")) {
+                throw new IllegalArgumentException("Invalid TNBT header");
+            }
+
+            byte version = dis.readByte();
+            if (version != VERSION && version != VERSION_RAW && version != VERSION_SHARED) throw new UnsupportedOperationException("Version mismatch");
+            NBTKeyDictionary dictionary = version == VERSION_SHARED ? keyDictionary(dis.readInt()) : null;
+
+            int poolSize = dis.readUnsignedShort();
+            List<String> pool = new ArrayList<>(poolSize);
+            for (int i = 0; i < poolSize; i++) pool.add(dis.readUTF());
+            if (dictionary != null) pool = dictionary.withOverflow(pool);
+
+            int uncompressedSize = dis.readInt();
+            if (version != VERSION) {
+                // Already decompressed by the container: one copy into the segment
+                if (uncompressedSize < 0 || uncompressedSize > in.available()) {
+                    throw new IOException("Truncated TNBT payload");
+                }
+                int payloadStart = data.position() + data.remaining() - in.available();
+                MemorySegment segment = Arena.ofAuto().allocate(uncompressedSize);
+                MemorySegment.copy(MemorySegment.ofBuffer(data.slice(payloadStart, uncompressedSize)), 0,
+                                   segment, 0, uncompressedSize);
+                return new PackedBinaryNBT(pool, segment, uncompressedSize);
+            }
+            int compressedSize = dis.readInt();
+            if (uncompressedSize < 0 || compressedSize < 0 || compressedSize > in.available()) {
+                throw new IOException("Truncated TNBT payload");
+            }
+            int payloadStart = data.position() + data.remaining() - in.available();
+
+            MemorySegment segment = Arena.ofAuto().allocate(uncompressedSize);
+            ByteBuffer output = segment.asByteBuffer();
+            int written = TurboCompressionService.getInstance().decompress(data.slice(payloadStart, compressedSize), output);
+            if (written != uncompressedSize) {
+                throw new IOException("Payload size mismatch: expected " + uncompressedSize + ", got " + written);
+            }
+            return new PackedBinaryNBT(pool, segment, uncompressedSize);
+
+        } catch (IOException e) {
+            throw new RuntimeException("Deserialization failure", e);
+        }
+    }
+
     public List<String> getStringPool() { return stringPool; }
     public MemorySegment getPayload() { return payload; }
     public long getPayloadSize() { return payloadSize; }
@@ -0,0 +1,739 @@
+package com.turbomc.nbt;
+
+import net.minecraft.nbt.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Direct encoder/decoder for the PackedBinary payload.
+ * <p>
+ * Encoding writes into a reusable per-thread buffer with a switch on the tag ID and
+ * bulk copies for primitive arrays (block states, heightmaps), then produces the final
+ * framed TNBT bytes with a single allocation. Decoding reads straight from a buffer,
+ * so an uncompressed (version 2) record is parsed where it lies.
+ * <p>
+ * With a {@link NBTKeyDictionary} (version 3) strings the dictionary knows are written as
+ * dictionary IDs and only the rest go into the record's own pool.
+ * <p>
+ * Records written by {@link #encode} end with a subtree index: the payload offsets where each
+ * large compound or list starts and ends. {@link #scan} uses it to jump over subtrees a
+ * {@link StreamTagVisitor} is not interested in (block sections when only DataVersion is
+ * wanted). The index follows the payload, so readers that do not know it never see it.
+ * <p>
+ * The payload layout is the one NBTConverter has always written, so existing data stays readable.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class PackedNBTCodec {
+
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    /** Scratch buffers that grew beyond this are dropped after use. */
+    private static final int MAX_RETAINED_CAPACITY = 4 * 1024 * 1024;
+    /** Smallest compound/list (in payload bytes) worth an entry in the subtree index. */
+    private static final int INDEX_MIN_BYTES = 512;
+
+    private static final ThreadLocal<Encoder> ENCODER = ThreadLocal.withInitial(Encoder::new);
+
+    private PackedNBTCodec() {
+    }
+
+    /**
+     * Encode a tag to uncompressed (version 2) TNBT bytes in one pass.
+     */
+    public static byte[] encode(CompoundTag root) {
+        return encode(root, null);
+    }
+
+    /**
+     * Encode a tag to uncompressed TNBT bytes, referencing the folder's key dictionary
+     * (version 3). The record's overflow strings are reported back to the folder.
+     *
+     * @param dictionaries Key dictionaries of the region folder, or null for a self-contained record
+     */
+    public static byte[] encode(CompoundTag root, NBTKeyDictionaryManager.Folder dictionaries) {
+        Encoder encoder = ENCODER.get();
+        try {
+            encoder.dictionary = dictionaries != null ? dictionaries.current() : null;
+            encoder.writeTag(root);
+            byte[] framed = encoder.frame();
+            if (dictionaries != null) {
+                dictionaries.recordOverflow(encoder.pool);
+            }
+            return framed;
+        } finally {
+            encoder.reset();
+        }
+    }
+
+    /**
+     * Encode a tag into a PackedBinaryNBT, copying the payload once into its off-heap segment.
+     */
+    public static PackedBinaryNBT toPackedBinary(CompoundTag root) {
+        Encoder encoder = ENCODER.get();
+        try {
+            encoder.writeTag(root);
+            return PackedBinaryNBT.ofPayload(new ArrayList<>(encoder.pool), encoder.buffer.flip());
+        } finally {
+            encoder.reset();
+        }
+    }
+
+    /**
+     * Decode a TNBT record of either version. Version 2 payloads are decoded in place;
+     * version 1 payloads are decompressed first. The buffer's position is not moved.
+     */
+    public static CompoundTag decode(ByteBuffer data) {
+        return decode(data, null);
+    }
+
+    /**
+     * Decode a TNBT record of any version, resolving its key dictionary among
+     * those of {@code regionFolder} (loaded on first use).
+     */
+    public static CompoundTag decode(ByteBuffer data, Path regionFolder) {
+        Parsed record = open(data, regionFolder);
+        return readRoot(record.payload(), record.pool());
+    }
+
+    /**
+     * Stream a TNBT record of any version into a visitor without building the tag tree.
+     * Subtrees the visitor skips are jumped over using the record's subtree index when
+     * it has one, and walked otherwise. Follows the same visiting protocol as vanilla
+     * {@code NbtIo.parse}. The buffer's position is not moved.
+     *
+     * @param regionFolder Folder to resolve key dictionaries in, or null to search all loaded folders
+     */
+    public static void scan(ByteBuffer data, StreamTagVisitor visitor, Path regionFolder) {
+        Parsed record = open(data, regionFolder);
+        new Scanner(record, visitor).scanRoot();
+    }
+
+    /**
+     * A parsed record header: string pool, payload (position 0 = payload start) and subtree index.
+     */
+    private record Parsed(List<String> pool, ByteBuffer payload, int[] subtreeStarts, int[] subtreeEnds) {
+    }
+
+    private static Parsed open(ByteBuffer data, Path regionFolder) {
+        ByteBuffer in = data.slice().order(ByteOrder.BIG_ENDIAN);
+        if (in.remaining() < 5 || in.get(0) != 'T' || in.get(1) != 'N' || in.get(2) != 'B' || in.get(3) != 'T') {
+            throw new IllegalArgumentException("Invalid TNBT header");
+        }
+        byte version = in.get(4);
+        if (version != PackedBinaryNBT.VERSION_RAW && version != PackedBinaryNBT.VERSION_SHARED) {
+            PackedBinaryNBT packed = PackedBinaryNBT.fromBuffer(data);
+            return new Parsed(packed.getStringPool(), packed.getPayload().asByteBuffer().order(ByteOrder.BIG_ENDIAN), null, null);
+        }
+
+        in.position(5);
+        NBTKeyDictionary dictionary = null;
+        if (version == PackedBinaryNBT.VERSION_SHARED) {
+            dictionary = PackedBinaryNBT.keyDictionary(in.getInt(), regionFolder);
+        }
+        int poolSize = in.getShort() & 0xFFFF;
+        List<String> pool = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            pool.add(readUTF(in));
+        }
+        if (dictionary != null) {
+            pool = dictionary.withOverflow(pool);
+        }
+        int payloadSize = in.getInt();
+        if (payloadSize < 0 || payloadSize > in.remaining()) {
+            throw new IllegalArgumentException("Truncated TNBT payload");
+        }
+        ByteBuffer payload = in.slice(in.position(), payloadSize).order(ByteOrder.BIG_ENDIAN);
+
+        // Optional subtree index after the payload: [int count] [count x (int start, int end)]
+        int[] starts = null;
+        int[] ends = null;
+        in.position(in.position() + payloadSize);
+        if (in.remaining() >= 4) {
+            int count = in.getInt();
+            if (count >= 0 && (long) count * 8 == in.remaining()) {
+                starts = new int[count];
+                ends = new int[count];
+                for (int i = 0; i < count; i++) {
+                    starts[i] = in.getInt();
+                    ends[i] = in.getInt();
+                }
+            }
+        }
+        return new Parsed(pool, payload, starts, ends);
+    }
+
+    /**
+     * Decode the payload of an already parsed PackedBinaryNBT.
+     */
+    public static CompoundTag decodePayload(PackedBinaryNBT packed) {
+        ByteBuffer in = packed.getPayload().asByteBuffer().order(ByteOrder.BIG_ENDIAN);
+        return readRoot(in, packed.getStringPool());
+    }
+
+    // === Encoding ===
+
+    private static final class Encoder {
+        private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+        private final List<String> pool = new ArrayList<>();
+        private final Map<String, Integer> poolIndex = new HashMap<>();
+        private NBTKeyDictionary dictionary;
+        /** Indexed subtrees, (start << 32 | end), in the order they were completed. */
+        private long[] subtrees = new long[64];
+        private int subtreeCount;
+
+        void reset() {
+            dictionary = null;
+            subtreeCount = 0;
+            if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+                buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+            } else {
+                buffer.clear();
+            }
+            pool.clear();
+            poolIndex.clear();
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                long required = (long) buffer.position() + bytes;
+                if (required > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("NBT payload too large: " + required + " bytes");
+                }
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) buffer.capacity() * 2, required));
+                ByteBuffer grown = ByteBuffer.allocate(capacity);
+                grown.put(buffer.flip());
+                buffer = grown;
+            }
+        }
+
+        private int stringId(String value) {
+            int base = 0;
+            if (dictionary != null) {
+                int shared = dictionary.indexOf(value);
+                if (shared >= 0) {
+                    return shared;
+                }
+                base = dictionary.size();
+            }
+            Integer id = poolIndex.get(value);
+            if (id == null) {
+                id = pool.size();
+                pool.add(value);
+                poolIndex.put(value, id);
+            }
+            return base + id;
+        }
+
+        private void recordSubtree(int start) {
+            int end = buffer.position();
+            if (end - start < INDEX_MIN_BYTES) {
+                return;
+            }
+            if (subtreeCount == subtrees.length) {
+                subtrees = Arrays.copyOf(subtrees, subtreeCount * 2);
+            }
+            subtrees[subtreeCount++] = ((long) start << 32) | end;
+        }
+
+        void writeTag(Tag tag) {
+            int start = buffer.position();
+            byte id = tag.getId();
+            ensure(1);
+            buffer.put(id);
+
+            switch (id) {
+                case Tag.TAG_COMPOUND -> {
+                    CompoundTag compound = (CompoundTag) tag;
+                    ensure(4);
+                    buffer.putInt(compound.size());
+                    for (String key : compound.keySet()) {
+                        int keyId = stringId(key);
+                        ensure(4);
+                        buffer.putInt(keyId);
+                        writeTag(compound.get(key));
+                    }
+                    recordSubtree(start);
+                }
+                case Tag.TAG_LIST -> {
+                    ListTag list = (ListTag) tag;
+                    ensure(5);
+                    buffer.put(list.identifyRawElementType());
+                    buffer.putInt(list.size());
+                    for (int i = 0; i < list.size(); i++) {
+                        writeTag(list.get(i));
+                    }
+                    recordSubtree(start);
+                }
+                case Tag.TAG_STRING -> {
+                    int stringId = stringId(((StringTag) tag).value());
+                    ensure(4);
+                    buffer.putInt(stringId);
+                }
+                case Tag.TAG_INT -> {
+                    ensure(4);
+                    buffer.putInt(((IntTag) tag).value());
+                }
+                case Tag.TAG_BYTE -> {
+                    ensure(1);
+                    buffer.put(((ByteTag) tag).value());
+                }
+                case Tag.TAG_SHORT -> {
+                    ensure(2);
+                    buffer.putShort(((ShortTag) tag).value());
+                }
+                case Tag.TAG_LONG -> {
+                    ensure(8);
+                    buffer.putLong(((LongTag) tag).value());
+                }
+                case Tag.TAG_FLOAT -> {
+                    ensure(4);
+                    buffer.putFloat(((FloatTag) tag).value());
+                }
+                case Tag.TAG_DOUBLE -> {
+                    ensure(8);
+                    buffer.putDouble(((DoubleTag) tag).value());
+                }
+                case Tag.TAG_BYTE_ARRAY -> {
+                    byte[] bytes = ((ByteArrayTag) tag).getAsByteArray();
+                    ensure(4 + bytes.length);
+                    buffer.putInt(bytes.length);
+                    buffer.put(bytes);
+                }
+                case Tag.TAG_INT_ARRAY -> {
+                    int[] ints = ((IntArrayTag) tag).getAsIntArray();
+                    ensure(4 + ints.length * 4);
+                    buffer.putInt(ints.length);
+                    buffer.asIntBuffer().put(ints);
+                    buffer.position(buffer.position() + ints.length * 4);
+                }
+                case Tag.TAG_LONG_ARRAY -> {
+                    long[] longs = ((LongArrayTag) tag).getAsLongArray();
+                    ensure(4 + longs.length * 8);
+                    buffer.putInt(longs.length);
+                    buffer.asLongBuffer().put(longs);
+                    buffer.position(buffer.position() + longs.length * 8);
+                }
+                default -> {
+                    // EndTag has no payload
+                }
+            }
+        }
+
+        /**
+         * Header, string pool, payload and subtree index in one exactly sized array.
+         */
+        byte[] frame() {
+            if (pool.size() > 0xFFFF) {
+                throw new IllegalStateException("TNBT string pool too large: " + pool.size());
+            }
+            int payloadSize = buffer.position();
+            long headerSize = PackedBinaryNBT.MAGIC_HEADER.length + 1 + (dictionary != null ? 4 : 0) + 2 + 4;
+            for (String value : pool) {
+                headerSize += 2 + utfLength(value);
+            }
+            long indexSize = 4 + (long) subtreeCount * 8;
+            if (headerSize + payloadSize + indexSize > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("TNBT record too large");
+            }
+
+            byte[] out = new byte[(int) (headerSize + payloadSize + indexSize)];
+            ByteBuffer target = ByteBuffer.wrap(out);
+            target.put(PackedBinaryNBT.MAGIC_HEADER);
+            if (dictionary != null) {
+                target.put(PackedBinaryNBT.VERSION_SHARED);
+                target.putInt(dictionary.getId());
+            } else {
+                target.put(PackedBinaryNBT.VERSION_RAW);
+            }
+            target.putShort((short) pool.size());
+            for (String value : pool) {
+                writeUTF(target, value);
+            }
+            target.putInt(payloadSize);
+            target.put(buffer.array(), 0, payloadSize);
+
+            // Subtrees complete children first; the scanner looks them up by start offset
+            Arrays.sort(subtrees, 0, subtreeCount);
+            target.putInt(subtreeCount);
+            for (int i = 0; i < subtreeCount; i++) {
+                target.putLong(subtrees[i]);
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Length of a string in modified UTF-8, as written by DataOutputStream.writeUTF.
+     */
+    private static int utfLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            length += (c >= 0x0001 && c <= 0x007F) ? 1 : (c <= 0x07FF ? 2 : 3);
+        }
+        if (length > 0xFFFF) {
+            throw new IllegalStateException(new UTFDataFormatException("String too long for TNBT pool: " + length + " bytes"));
+        }
+        return length;
+    }
+
+    private static void writeUTF(ByteBuffer target, String value) {
+        target.putShort((short) utfLength(value));
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                target.put((byte) c);
+            } else if (c <= 0x07FF) {
+                target.put((byte) (0xC0 | ((c >> 6) & 0x1F)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            } else {
+                target.put((byte) (0xE0 | ((c >> 12) & 0x0F)));
+                target.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    // === Decoding ===
+
+    private static String readUTF(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] encoded = new byte[length];
+        in.get(encoded);
+        for (byte b : encoded) {
+            if (b <= 0) {
+                // Rare: non-ASCII key or value, let DataInputStream handle modified UTF-8
+                byte[] prefixed = new byte[length + 2];
+                prefixed[0] = (byte) (length >> 8);
+                prefixed[1] = (byte) length;
+                System.arraycopy(encoded, 0, prefixed, 2, length);
+                try {
+                    return new DataInputStream(new ByteArrayInputStream(prefixed)).readUTF();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Malformed TNBT string pool", e);
+                }
+            }
+        }
+        return new String(encoded, StandardCharsets.ISO_8859_1);
+    }
+
+    private static CompoundTag readRoot(ByteBuffer in, List<String> pool) {
+        Tag tag = readTag(in, pool);
+        if (tag instanceof CompoundTag compound) {
+            return compound;
+        }
+        throw new IllegalStateException("Root tag must be CompoundTag, got: " + tag.getClass().getSimpleName());
+    }
+
+    private static Tag readTag(ByteBuffer in, List<String> pool) {
+        byte typeId = in.get();
+        switch (typeId) {
+            case Tag.TAG_COMPOUND: {
+                CompoundTag compound = new CompoundTag();
+                int size = in.getInt();
+                for (int i = 0; i < size; i++) {
+                    String key = pool.get(in.getInt());
+                    compound.put(key, readTag(in, pool));
+                }
+                return compound;
+            }
+            case Tag.TAG_LIST: {
+                ListTag list = new ListTag();
+                in.get(); // Element type; every element carries its own ID
+                int size = in.getInt();
+                for (int i = 0; i < size; i++) {
+                    list.add(readTag(in, pool));
+                }
+                return list;
+            }
+            case Tag.TAG_STRING:
+                return StringTag.valueOf(pool.get(in.getInt()));
+            case Tag.TAG_INT:
+                return IntTag.valueOf(in.getInt());
+            case Tag.TAG_BYTE:
+                return ByteTag.valueOf(in.get());
+            case Tag.TAG_SHORT:
+                return ShortTag.valueOf(in.getShort());
+            case Tag.TAG_LONG:
+                return LongTag.valueOf(in.getLong());
+            case Tag.TAG_FLOAT:
+                return FloatTag.valueOf(in.getFloat());
+            case Tag.TAG_DOUBLE:
+                return DoubleTag.valueOf(in.getDouble());
+            case Tag.TAG_BYTE_ARRAY: {
+                byte[] bytes = new byte[checkedLength(in, 1)];
+                in.get(bytes);
+                return new ByteArrayTag(bytes);
+            }
+            case Tag.TAG_INT_ARRAY: {
+                int[] ints = new int[checkedLength(in, 4)];
+                in.asIntBuffer().get(ints);
+                in.position(in.position() + ints.length * 4);
+                return new IntArrayTag(ints);
+            }
+            case Tag.TAG_LONG_ARRAY: {
+                long[] longs = new long[checkedLength(in, 8)];
+                in.asLongBuffer().get(longs);
+                in.position(in.position() + longs.length * 8);
+                return new LongArrayTag(longs);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown Tag ID in PackedBinary: " + typeId);
+        }
+    }
+
+    // === Scanning ===
+
+    /**
+     * Streams a payload into a StreamTagVisitor, mirroring vanilla TagType.parse/skip.
+     */
+    private static final class Scanner {
+        private final ByteBuffer in;
+        private final List<String> pool;
+        private final int[] subtreeStarts;
+        private final int[] subtreeEnds;
+        private final StreamTagVisitor visitor;
+
+        Scanner(Parsed record, StreamTagVisitor visitor) {
+            this.in = record.payload();
+            this.pool = record.pool();
+            this.subtreeStarts = record.subtreeStarts();
+            this.subtreeEnds = record.subtreeEnds();
+            this.visitor = visitor;
+        }
+
+        void scanRoot() {
+            int start = in.position();
+            byte id = in.get();
+            TagType<?> type = TagTypes.getType(id);
+            if (id == Tag.TAG_END) {
+                if (visitor.visitRootEntry(type) == StreamTagVisitor.ValueResult.CONTINUE) {
+                    visitor.visitEnd();
+                }
+            } else if (visitor.visitRootEntry(type) == StreamTagVisitor.ValueResult.CONTINUE) {
+                parse(id, start);
+            }
+        }
+
+        /**
+         * Visit a value whose ID byte (at {@code start}) has been consumed.
+         */
+        private StreamTagVisitor.ValueResult parse(byte id, int start) {
+            switch (id) {
+                case Tag.TAG_COMPOUND:
+                    return parseCompound(start);
+                case Tag.TAG_LIST:
+                    return parseList(start);
+                case Tag.TAG_STRING:
+                    return visitor.visit(pool.get(in.getInt()));
+                case Tag.TAG_INT:
+                    return visitor.visit(in.getInt());
+                case Tag.TAG_BYTE:
+                    return visitor.visit(in.get());
+                case Tag.TAG_SHORT:
+                    return visitor.visit(in.getShort());
+                case Tag.TAG_LONG:
+                    return visitor.visit(in.getLong());
+                case Tag.TAG_FLOAT:
+                    return visitor.visit(in.getFloat());
+                case Tag.TAG_DOUBLE:
+                    return visitor.visit(in.getDouble());
+                case Tag.TAG_BYTE_ARRAY: {
+                    byte[] bytes = new byte[checkedLength(in, 1)];
+                    in.get(bytes);
+                    return visitor.visit(bytes);
+                }
+                case Tag.TAG_INT_ARRAY: {
+                    int[] ints = new int[checkedLength(in, 4)];
+                    in.asIntBuffer().get(ints);
+                    in.position(in.position() + ints.length * 4);
+                    return visitor.visit(ints);
+                }
+                case Tag.TAG_LONG_ARRAY: {
+                    long[] longs = new long[checkedLength(in, 8)];
+                    in.asLongBuffer().get(longs);
+                    in.position(in.position() + longs.length * 8);
+                    return visitor.visit(longs);
+                }
+                case Tag.TAG_END:
+                    return visitor.visitEnd();
+                default:
+                    throw new IllegalArgumentException("Unknown Tag ID in PackedBinary: " + id);
+            }
+        }
+
+        private StreamTagVisitor.ValueResult parseCompound(int start) {
+            int size = in.getInt();
+            int visited = 0;
+            entries:
+            while (visited < size) {
+                String key = pool.get(in.getInt());
+                int valueStart = in.position();
+                byte id = in.get(valueStart);
+                TagType<?> type = TagTypes.getType(id);
+                visited++;
+
+                StreamTagVisitor.EntryResult entry = visitor.visitEntry(type);
+                if (entry == StreamTagVisitor.EntryResult.ENTER) {
+                    entry = visitor.visitEntry(type, key);
+                }
+                switch (entry) {
+                    case HALT:
+                        return StreamTagVisitor.ValueResult.HALT;
+                    case BREAK:
+                        skipTag();
+                        break entries;
+                    case SKIP:
+                        skipTag();
+                        break;
+                    default:
+                        in.get();
+                        switch (parse(id, valueStart)) {
+                            case HALT:
+                                return StreamTagVisitor.ValueResult.HALT;
+                            case BREAK:
+                                break entries;
+                            default:
+                                break;
+                        }
+                }
+            }
+            skipRemaining(start, size - visited, true);
+            return visitor.visitContainerEnd();
+        }
+
+        private StreamTagVisitor.ValueResult parseList(int start) {
+            byte elementId = in.get();
+            int size = in.getInt();
+            switch (visitor.visitList(TagTypes.getType(elementId), size)) {
+                case HALT:
+                    return StreamTagVisitor.ValueResult.HALT;
+                case BREAK:
+                    skipRemaining(start, size, false);
+                    return visitor.visitContainerEnd();
+                default:
+                    break;
+            }
+
+            int visited = 0;
+            elements:
+            while (visited < size) {
+                int valueStart = in.position();
+                byte id = in.get(valueStart);
+                switch (visitor.visitElement(TagTypes.getType(id), visited++)) {
+                    case HALT:
+                        return StreamTagVisitor.ValueResult.HALT;
+                    case BREAK:
+                        skipTag();
+                        break elements;
+                    case SKIP:
+                        skipTag();
+                        break;
+                    default:
+                        in.get();
+                        switch (parse(id, valueStart)) {
+                            case HALT:
+                                return StreamTagVisitor.ValueResult.HALT;
+                            case BREAK:
+                                break elements;
+                            default:
+                                break;
+                        }
+                }
+            }
+            skipRemaining(start, size - visited, false);
+            return visitor.visitContainerEnd();
+        }
+
+        /**
+         * Move past the rest of a container: straight to its end when indexed,
+         * else entry by entry.
+         */
+        private void skipRemaining(int containerStart, int remaining, boolean compound) {
+            if (remaining <= 0) {
+                return;
+            }
+            int indexed = indexOf(containerStart);
+            if (indexed >= 0) {
+                in.position(subtreeEnds[indexed]);
+                return;
+            }
+            for (int i = 0; i < remaining; i++) {
+                if (compound) {
+                    in.getInt();
+                }
+                skipTag();
+            }
+        }
+
+        /**
+         * Move past one tag, ID byte included.
+         */
+        private void skipTag() {
+            int start = in.position();
+            byte id = in.get();
+            switch (id) {
+                case Tag.TAG_COMPOUND -> {
+                    int indexed = indexOf(start);
+                    if (indexed >= 0) {
+                        in.position(subtreeEnds[indexed]);
+                    } else {
+                        int size = in.getInt();
+                        for (int i = 0; i < size; i++) {
+                            in.getInt();
+                            skipTag();
+                        }
+                    }
+                }
+                case Tag.TAG_LIST -> {
+                    int indexed = indexOf(start);
+                    if (indexed >= 0) {
+                        in.position(subtreeEnds[indexed]);
+                    } else {
+                        in.get();
+                        int size = in.getInt();
+                        for (int i = 0; i < size; i++) {
+                            skipTag();
+                        }
+                    }
+                }
+                case Tag.TAG_BYTE -> in.position(in.position() + 1);
+                case Tag.TAG_SHORT -> in.position(in.position() + 2);
+                case Tag.TAG_INT, Tag.TAG_FLOAT, Tag.TAG_STRING -> in.position(in.position() + 4);
+                case Tag.TAG_LONG, Tag.TAG_DOUBLE -> in.position(in.position() + 8);
+                case Tag.TAG_BYTE_ARRAY -> in.position(in.position() + checkedLength(in, 1));
+                case Tag.TAG_INT_ARRAY -> in.position(in.position() + checkedLength(in, 4) * 4);
+                case Tag.TAG_LONG_ARRAY -> in.position(in.position() + checkedLength(in, 8) * 8);
+                case Tag.TAG_END -> {
+                    // No payload
+                }
+                default -> throw new IllegalArgumentException("Unknown Tag ID in PackedBinary: " + id);
+            }
+        }
+
+        private int indexOf(int start) {
+            return subtreeStarts != null ? Arrays.binarySearch(subtreeStarts, start) : -1;
+        }
+    }
+
+    private static int checkedLength(ByteBuffer in, int elementSize) {
+        int length = in.getInt();
+        if (length < 0 || (long) length * elementSize > in.remaining()) {
+            throw new IllegalArgumentException("Truncated TNBT array: " + length + " elements");
+        }
+        return length;
+    }
+}
@@ -201,9 +201,7 @@ public class TurboFPSOptimizer implements TurboOptimizerModule {
         // Monitor TPS every second
         scheduler.scheduleAtFixedRate(this::monitorTPS, 1, 1, TimeUnit.SECONDS);
         
-        // Run optimization at configured interval
-        long intervalSeconds = optimizationIntervalTicks / 20L; // Convert ticks to seconds
-        scheduler.scheduleAtFixedRate(this::performOptimization, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        // Optimization itself runs from the server tick (TurboModuleRuntime), every optimizationIntervalTicks
         
         // Cleanup metrics every minute
         scheduler.scheduleAtFixedRate(this::cleanupMetrics, 60, 60, TimeUnit.SECONDS);
@@ -230,6 +228,13 @@ public class TurboFPSOptimizer implements TurboOptimizerModule {
         System.out.println("[TurboMC][FPS] FPS Optimizer shutdown complete");
     }
     
+    /**
+     * Ticks between optimization runs.
+     */
+    public int getOptimizationIntervalTicks() {
+        return optimizationIntervalTicks;
+    }
+    
     @Override
     public boolean isEnabled() {
         return enabled;
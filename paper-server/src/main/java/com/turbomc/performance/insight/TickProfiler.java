@@ -0,0 +1,386 @@
+package com.turbomc.performance.insight;
+
+import com.turbomc.config.TurboConfig;
+import com.turbomc.performance.tick.TimingHistogram;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Always-on profiler of what the tick spends its time on.
+ *
+ * Durations are recorded per source (an entity type, a block entity type, a plugin's
+ * listener...) into a {@link TimingHistogram}, and totalled per world and per chunk with
+ * striped counters. Sources are keyed by identity and named only when first seen, and
+ * chunks are looked up by their primitive key, so recording does not allocate.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class TickProfiler {
+
+    /**
+     * Kinds of work that are profiled.
+     */
+    public enum Category {
+        ENTITY("Entity"),
+        BLOCK_ENTITY("Block Entity"),
+        CHUNK_TASK("Chunk Task"),
+        SCHEDULER_TASK("Scheduler Task"),
+        PLUGIN_EVENT("Plugin Event");
+
+        private final String displayName;
+
+        Category(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private static final int CATEGORIES = Category.values().length;
+
+    private static volatile TickProfiler instance;
+    private static volatile boolean configured;
+
+    private final boolean perChunk;
+    private final int maxChunks;
+    private final List<ConcurrentHashMap<Object, Source>> sources = new ArrayList<>();
+    private final ConcurrentHashMap<String, WorldTimes> worlds = new ConcurrentHashMap<>();
+    private final LongAdder droppedChunks = new LongAdder();
+    private volatile long startedAt = System.currentTimeMillis();
+
+    /**
+     * @param perChunk Whether to total entity and block entity time per chunk
+     * @param maxChunks Chunks tracked per world; time in further chunks only counts towards the world
+     */
+    public TickProfiler(boolean perChunk, int maxChunks) {
+        this.perChunk = perChunk;
+        this.maxChunks = Math.max(1, maxChunks);
+        for (int i = 0; i < CATEGORIES; i++) {
+            sources.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * The shared profiler, or null while disabled or before the configuration is loaded.
+     */
+    public static TickProfiler getInstance() {
+        TickProfiler result = instance;
+        if (result != null || configured || !TurboConfig.isInitialized()) {
+            return result;
+        }
+        synchronized (TickProfiler.class) {
+            if (!configured) {
+                TurboConfig config = TurboConfig.getInstance();
+                if (config.getBoolean("performance.profiler.enabled", true)) {
+                    instance = new TickProfiler(
+                        config.getBoolean("performance.profiler.per-chunk", true),
+                        config.getInt("performance.profiler.max-chunks-per-world", 4096));
+                }
+                configured = true;
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Drop the shared profiler so the next call reads the configuration again.
+     */
+    public static synchronized void resetInstance() {
+        instance = null;
+        configured = false;
+    }
+
+    /**
+     * Record time spent on work that is not tied to a world.
+     *
+     * @param key Identity of the source, such as a plugin or a task class
+     * @param namer Names the source the first time it is seen; should not capture
+     */
+    public void record(Category category, Object key, Function<Object, String> namer, long nanos) {
+        source(category, key, namer).times.record(nanos);
+    }
+
+    /**
+     * Record time spent on work in a chunk of a world. Call from the tick thread only.
+     *
+     * @param chunkKey Chunk coordinates packed as {@code x & 0xFFFFFFFF | z << 32}
+     */
+    public void record(Category category, Object key, Function<Object, String> namer,
+                       String world, long chunkKey, long nanos) {
+        source(category, key, namer).times.record(nanos);
+
+        WorldTimes worldTimes = worlds.get(world);
+        if (worldTimes == null) {
+            worldTimes = worlds.computeIfAbsent(world, WorldTimes::new);
+        }
+        worldTimes.totalNs[category.ordinal()].add(nanos);
+        worldTimes.count[category.ordinal()].increment();
+
+        if (perChunk) {
+            ChunkTimes chunk = worldTimes.chunkIndex.get(chunkKey);
+            if (chunk == null) {
+                if (worldTimes.chunkIndex.size() >= maxChunks) {
+                    droppedChunks.increment();
+                    return;
+                }
+                chunk = new ChunkTimes(world, chunkKey);
+                worldTimes.chunkIndex.put(chunkKey, chunk);
+                worldTimes.chunks.add(chunk);
+            }
+            chunk.totalNs[category.ordinal()].add(nanos);
+        }
+    }
+
+    /**
+     * Record time spent on work that is not tied to a world, named with help of a context object.
+     *
+     * @param context Passed to the namer along with the key, such as the owning plugin
+     * @param namer Names the source the first time it is seen; should not capture
+     */
+    public void record(Category category, Object key, Object context, BiFunction<Object, Object, String> namer, long nanos) {
+        ConcurrentHashMap<Object, Source> map = sources.get(category.ordinal());
+        Source source = map.get(key);
+        if (source == null) {
+            source = map.computeIfAbsent(key, k -> new Source(category, namer.apply(k, context)));
+        }
+        source.times.record(nanos);
+    }
+
+    /**
+     * Key the matching sources of a category by their name instead, keeping what they
+     * recorded. For keys that would otherwise keep a disabled plugin's classes alive.
+     *
+     * @param keys Selects the keys to drop
+     */
+    public void detachSources(Category category, Predicate<Object> keys) {
+        ConcurrentHashMap<Object, Source> map = sources.get(category.ordinal());
+        for (Map.Entry<Object, Source> entry : map.entrySet()) {
+            Object key = entry.getKey();
+            Source source = entry.getValue();
+            if (key instanceof String || !keys.test(key) || !map.remove(key, source)) {
+                continue;
+            }
+            // A plugin loaded again gets new keys with the same names
+            Source existing = map.putIfAbsent(source.getName(), source);
+            if (existing != null) {
+                existing.times.add(source.times);
+            }
+        }
+    }
+
+    private Source source(Category category, Object key, Function<Object, String> namer) {
+        ConcurrentHashMap<Object, Source> map = sources.get(category.ordinal());
+        Source source = map.get(key);
+        if (source == null) {
+            source = map.computeIfAbsent(key, k -> new Source(category, namer.apply(k)));
+        }
+        return source;
+    }
+
+    /**
+     * Sources of a category, most total time first.
+     */
+    public List<Source> getTopSources(Category category, int limit) {
+        List<Source> list = new ArrayList<>(sources.get(category.ordinal()).values());
+        list.sort(Comparator.comparingLong(Source::getTotalNs).reversed());
+        return list.subList(0, Math.min(limit, list.size()));
+    }
+
+    /**
+     * Sources of all categories, most total time first.
+     */
+    public List<Source> getTopSources(int limit) {
+        List<Source> list = new ArrayList<>();
+        for (ConcurrentHashMap<Object, Source> map : sources) {
+            list.addAll(map.values());
+        }
+        list.sort(Comparator.comparingLong(Source::getTotalNs).reversed());
+        return list.subList(0, Math.min(limit, list.size()));
+    }
+
+    /**
+     * Chunks of all worlds, most total time first.
+     */
+    public List<ChunkTimes> getTopChunks(int limit) {
+        List<ChunkTimes> list = new ArrayList<>();
+        for (WorldTimes world : worlds.values()) {
+            synchronized (world.chunks) {
+                list.addAll(world.chunks);
+            }
+        }
+        list.sort(Comparator.comparingLong((ChunkTimes chunk) -> chunk.getTotalNs()).reversed());
+        return list.subList(0, Math.min(limit, list.size()));
+    }
+
+    public List<WorldTimes> getWorlds() {
+        List<WorldTimes> list = new ArrayList<>(worlds.values());
+        list.sort(Comparator.comparingLong((WorldTimes world) -> world.getTotalNs()).reversed());
+        return list;
+    }
+
+    /**
+     * Time recorded in chunks beyond the per-world limit.
+     */
+    public long getDroppedChunkRecords() {
+        return droppedChunks.sum();
+    }
+
+    /**
+     * When recording started or was last reset.
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void reset() {
+        for (ConcurrentHashMap<Object, Source> map : sources) {
+            map.clear();
+        }
+        worlds.clear();
+        droppedChunks.reset();
+        startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Write a plain-text report of everything recorded.
+     */
+    public void writeReport(Writer out) throws IOException {
+        long seconds = Math.max(1, (System.currentTimeMillis() - startedAt) / 1000);
+        out.write(String.format("TurboMC tick profile over %ds%n", seconds));
+        for (Category category : Category.values()) {
+            List<Source> top = getTopSources(category, Integer.MAX_VALUE);
+            if (top.isEmpty()) {
+                continue;
+            }
+            out.write(String.format("%n== %s ==%n", category.getDisplayName()));
+            for (Source source : top) {
+                out.write(String.format("%-60s %10.2fms/s  %s%n", source.getName(),
+                    source.getTotalNs() / 1_000_000.0 / seconds, source.getTimes()));
+            }
+        }
+        out.write(String.format("%n== Worlds ==%n"));
+        for (WorldTimes world : getWorlds()) {
+            out.write(String.format("%s: %.2fms/s%n", world.getName(), world.getTotalNs() / 1_000_000.0 / seconds));
+            for (Category category : Category.values()) {
+                if (world.getCount(category) > 0) {
+                    out.write(String.format("  %-16s %10.2fms/s  (%d calls)%n", category.getDisplayName(),
+                        world.getTotalNs(category) / 1_000_000.0 / seconds, world.getCount(category)));
+                }
+            }
+        }
+        if (perChunk) {
+            out.write(String.format("%n== Chunks ==%n"));
+            for (ChunkTimes chunk : getTopChunks(100)) {
+                out.write(String.format("%s %d,%d: %.2fms/s (entities %.2fms/s, block entities %.2fms/s)%n",
+                    chunk.getWorld(), chunk.getChunkX(), chunk.getChunkZ(), chunk.getTotalNs() / 1_000_000.0 / seconds,
+                    chunk.getTotalNs(Category.ENTITY) / 1_000_000.0 / seconds,
+                    chunk.getTotalNs(Category.BLOCK_ENTITY) / 1_000_000.0 / seconds));
+            }
+            if (getDroppedChunkRecords() > 0) {
+                out.write(String.format("(%d records in untracked chunks)%n", getDroppedChunkRecords()));
+            }
+        }
+    }
+
+    /**
+     * Time recorded for one source.
+     */
+    public static final class Source {
+        private final Category category;
+        private final String name;
+        private final TimingHistogram times = new TimingHistogram();
+
+        private Source(Category category, String name) {
+            this.category = category;
+            this.name = name;
+        }
+
+        public Category getCategory() { return category; }
+        public String getName() { return name; }
+        public TimingHistogram getTimes() { return times; }
+        public long getTotalNs() { return times.getTotalNs(); }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s{%s}", category, name, times);
+        }
+    }
+
+    /**
+     * Time recorded in one world.
+     */
+    public static final class WorldTimes {
+        private final String name;
+        private final LongAdder[] totalNs = new LongAdder[CATEGORIES];
+        private final LongAdder[] count = new LongAdder[CATEGORIES];
+        // Looked up by the tick thread only; other threads read the list
+        private final Long2ObjectOpenHashMap<ChunkTimes> chunkIndex = new Long2ObjectOpenHashMap<>();
+        private final List<ChunkTimes> chunks = Collections.synchronizedList(new ArrayList<>());
+
+        private WorldTimes(String name) {
+            this.name = name;
+            for (int i = 0; i < CATEGORIES; i++) {
+                totalNs[i] = new LongAdder();
+                count[i] = new LongAdder();
+            }
+        }
+
+        public String getName() { return name; }
+        public long getTotalNs(Category category) { return totalNs[category.ordinal()].sum(); }
+        public long getCount(Category category) { return count[category.ordinal()].sum(); }
+        public int getTrackedChunks() { return chunks.size(); }
+
+        public long getTotalNs() {
+            long total = 0;
+            for (LongAdder adder : totalNs) {
+                total += adder.sum();
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Time recorded in one chunk.
+     */
+    public static final class ChunkTimes {
+        private final String world;
+        private final long chunkKey;
+        private final LongAdder[] totalNs = new LongAdder[CATEGORIES];
+
+        private ChunkTimes(String world, long chunkKey) {
+            this.world = world;
+            this.chunkKey = chunkKey;
+            for (int i = 0; i < CATEGORIES; i++) {
+                totalNs[i] = new LongAdder();
+            }
+        }
+
+        public String getWorld() { return world; }
+        public int getChunkX() { return (int) chunkKey; }
+        public int getChunkZ() { return (int) (chunkKey >>> 32); }
+        public long getTotalNs(Category category) { return totalNs[category.ordinal()].sum(); }
+
+        public long getTotalNs() {
+            long total = 0;
+            for (LongAdder adder : totalNs) {
+                total += adder.sum();
+            }
+            return total;
+        }
+    }
+}
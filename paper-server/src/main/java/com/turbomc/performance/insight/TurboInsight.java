@@ -1,45 +1,174 @@
 package com.turbomc.performance.insight;
 
+import com.turbomc.config.TurboConfig;
+import com.turbomc.performance.insight.TickProfiler.Category;
 import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.LivingEntity;
-import org.slf4j.Logger;
-import com.mojang.logging.LogUtils;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import org.bukkit.event.Event;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
- * Lightweight passive profiler for detecting expensive entity ticks.
+ * Continuous tick profiler hooks.
+ *
+ * Called around entity ticks, block entity ticks, scheduler tasks and plugin event handlers;
+ * storage tasks are recorded by the storage scheduler itself. Each hook costs two clock reads
+ * and a few uncontended counter updates; see {@link TickProfiler} for what is recorded.
+ *
+ * Usage: {@code long start = TurboInsight.start(); ...; TurboInsight.recordEntity(entity, start);}
  */
-public class TurboInsight {
-    private static final Logger LOGGER = LogUtils.getLogger();
-    private static final ConcurrentHashMap<String, HotPathData> SAMPLES = new ConcurrentHashMap<>();
-    private static final java.util.Random RANDOM = new java.util.Random();
-    
-    private static class HotPathData {
-        final AtomicLong totalTime = new AtomicLong(0);
-        final AtomicInteger count = new AtomicInteger(0);
+public final class TurboInsight {
+
+    private static final Function<Object, String> ENTITY_NAMER =
+        key -> EntityType.getKey((EntityType<?>) key).toString();
+    private static final Function<Object, String> BLOCK_ENTITY_NAMER =
+        key -> String.valueOf(BlockEntityType.getKey((BlockEntityType<?>) key));
+    private static final BiFunction<Object, Object, String> TASK_NAMER =
+        (key, owner) -> ((Plugin) owner).getName() + " " + ((Class<?>) key).getName();
+    private static final BiFunction<Object, Object, String> LISTENER_NAMER = (key, event) -> {
+        RegisteredListener registration = (RegisteredListener) key;
+        return registration.getPlugin().getName() + " " + registration.getListener().getClass().getName()
+            + " (" + ((Event) event).getEventName() + ")";
+    };
+
+    /**
+     * Key for tasks whose class is not known.
+     */
+    private static final class UnknownTask {
     }
 
-    public static void sample(LivingEntity entity, long durationNs) {
-        if (durationNs < 1_000_000) return; // Ignore < 1ms
+    private static final AtomicBoolean failureLogged = new AtomicBoolean();
 
-        String entityName = entity.getType().getDescriptionId();
-        HotPathData data = SAMPLES.computeIfAbsent(entityName, k -> new HotPathData());
-        data.totalTime.addAndGet(durationNs);
-        int currentCount = data.count.incrementAndGet();
+    private TurboInsight() {
+    }
 
-        // Every 100 samples of a "hot" entity type, log a warning
-        if (currentCount % 100 == 0) {
-            double avgMs = (data.totalTime.get() / (double)currentCount) / 1_000_000.0;
-            LOGGER.warn("[TurboInsight] Dense path detected: {} (Avg: {}ms over {} samples)", 
-                entityName, String.format("%.2f", avgMs), currentCount);
+    /**
+     * Start timing.
+     *
+     * @return Start time to pass to a record method, 0 when profiling is off
+     */
+    public static long start() {
+        return TickProfiler.getInstance() != null ? System.nanoTime() : 0;
+    }
+
+    public static void recordEntity(Entity entity, long start) {
+        TickProfiler profiler = TickProfiler.getInstance();
+        if (start == 0 || profiler == null) return;
+        long elapsed = System.nanoTime() - start;
+        try {
+            profiler.record(Category.ENTITY, entity.getType(), ENTITY_NAMER,
+                entity.level().getWorld().getName(), entity.chunkPosition().toLong(), elapsed);
+        } catch (RuntimeException e) {
+            failed(e);
         }
     }
 
-    public static boolean shouldSample() {
-        // Sample 1 in 1000 ticks to minimize overhead
-        return java.util.concurrent.ThreadLocalRandom.current().nextInt(1000) == 0;
+    public static void recordBlockEntity(Level level, BlockEntity blockEntity, long start) {
+        TickProfiler profiler = TickProfiler.getInstance();
+        if (start == 0 || profiler == null) return;
+        long elapsed = System.nanoTime() - start;
+        try {
+            profiler.record(Category.BLOCK_ENTITY, blockEntity.getType(), BLOCK_ENTITY_NAMER,
+                level.getWorld().getName(), ChunkPos.asLong(blockEntity.getBlockPos()), elapsed);
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    /**
+     * @param taskClass Class of the task's runnable or callable, null when unknown
+     */
+    public static void recordSchedulerTask(Plugin owner, Class<?> taskClass, long start) {
+        TickProfiler profiler = TickProfiler.getInstance();
+        if (start == 0 || profiler == null) return;
+        long elapsed = System.nanoTime() - start;
+        try {
+            profiler.record(Category.SCHEDULER_TASK, taskClass != null ? taskClass : UnknownTask.class, owner,
+                TASK_NAMER, elapsed);
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    public static void recordListener(RegisteredListener registration, Event event, long start) {
+        TickProfiler profiler = TickProfiler.getInstance();
+        if (start == 0 || profiler == null) return;
+        long elapsed = System.nanoTime() - start;
+        try {
+            profiler.record(Category.PLUGIN_EVENT, registration, event, LISTENER_NAMER, elapsed);
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    /**
+     * Stop keying sources by a plugin's task classes and listeners, keeping what they
+     * recorded, so the class loader of a disabled plugin can be collected.
+     */
+    public static void releasePlugin(Plugin plugin) {
+        TickProfiler profiler = TickProfiler.getInstance();
+        if (profiler == null) return;
+        try {
+            ClassLoader loader = plugin.getClass().getClassLoader();
+            profiler.detachSources(Category.SCHEDULER_TASK,
+                key -> key instanceof Class<?> taskClass && taskClass.getClassLoader() == loader);
+            profiler.detachSources(Category.PLUGIN_EVENT,
+                key -> key instanceof RegisteredListener registration && registration.getPlugin() == plugin);
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    /**
+     * Profiling must never break the work it measures; report the first failure and carry on.
+     */
+    private static void failed(RuntimeException e) {
+        if (failureLogged.compareAndSet(false, true)) {
+            System.err.println("[TurboMC][Insight] Failed to record tick timing, further failures are ignored: " + e);
+        }
+    }
+
+    /**
+     * Write everything recorded so far to a timestamped file in the server directory.
+     *
+     * @return The file written
+     */
+    public static Path dump() throws IOException {
+        TickProfiler current = TickProfiler.getInstance();
+        if (current == null) {
+            throw new IllegalStateException("Profiler is disabled");
+        }
+        String name = "turbomc-profile-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".txt";
+        Path file = TurboConfig.getInstance().getServerDirectory().toPath().resolve(name);
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            current.writeReport(out);
+        }
+        System.out.println("[TurboMC][Insight] Wrote tick profile to " + file);
+        return file;
+    }
+
+    /**
+     * Clear everything recorded and start over.
+     */
+    public static void reset() {
+        TickProfiler current = TickProfiler.getInstance();
+        if (current != null) {
+            current.reset();
+        }
     }
 }
@@ -2,6 +2,8 @@ package com.turbomc.performance.lighting;
 
 import com.turbomc.performance.TurboOptimizerModule;
 import com.turbomc.config.TurboConfig;
+import com.turbomc.performance.tick.ResumableQueue;
+import com.turbomc.performance.tick.TurboBudgetManager;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
@@ -10,10 +12,7 @@ import net.minecraft.world.level.LightLayer;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.List;
-import java.util.ArrayList;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Light Engine 2.0 with SIMD for TurboMC.
@@ -22,8 +21,7 @@ import java.util.stream.Collectors;
  * Features:
  * - 8×8×8 vectorized light propagation
  * - Light section caching
- * - Lazy recalculation
- * - Priority by player proximity
+ * - Lazy recalculation within the level's lighting budget
  * - SIMD operations where available
  * 
  * @author TurboMC
@@ -55,6 +53,9 @@ public class TurboLightEngine implements TurboOptimizerModule {
     // Pending light updates queue
     private final ConcurrentHashMap<LightSectionKey, Long> pendingUpdates = new ConcurrentHashMap<>();
     
+    // Lazy recalculations per level, run oldest first within the lighting budget
+    private final ConcurrentHashMap<String, LevelLightQueue> lightQueues = new ConcurrentHashMap<>();
+    
     /**
      * Key for light sections
      */
@@ -169,6 +170,7 @@ public class TurboLightEngine implements TurboOptimizerModule {
     public void stop() {
         sectionCache.clear();
         pendingUpdates.clear();
+        lightQueues.clear();
         
         System.out.println("[TurboMC][LightEngine] Light Engine 2.0 stopped");
     }
@@ -234,12 +236,15 @@ public class TurboLightEngine implements TurboOptimizerModule {
         LightSectionData section = sectionCache.computeIfAbsent(key, k -> new LightSectionData());
         section.markDirty();
         
-        // Add to pending updates
-        pendingUpdates.put(key, System.currentTimeMillis());
-        
         // Process immediately if not using lazy recalculation
         if (!lazyRecalculation) {
             processLightUpdate(level, key);
+            return;
+        }
+        
+        // Add to pending updates once per section
+        if (pendingUpdates.put(key, System.currentTimeMillis()) == null) {
+            lightQueues.computeIfAbsent(key.worldName, name -> new LevelLightQueue(level)).queue.add(key);
         }
     }
     
@@ -358,40 +363,33 @@ public class TurboLightEngine implements TurboOptimizerModule {
     }
     
     /**
-     * Process pending light updates
+     * Process pending light updates within each level's lighting budget.
+     * Updates the budget leaves behind are first in line next tick.
      */
     private void processPendingUpdates() {
         if (pendingUpdates.isEmpty()) return;
         
-        // Sort by priority if enabled
-        List<LightSectionKey> updates = new ArrayList<>(pendingUpdates.keySet());
-        
-        if (playerPriority) {
-            updates = prioritizeByPlayerProximity(updates);
-        }
-        
-        // Process updates
-        for (LightSectionKey key : updates) {
-            // This would need the level instance - simplified for now
-            // processLightUpdate(level, key);
-            pendingUpdates.remove(key);
+        TurboBudgetManager budgets = TurboBudgetManager.getInstance();
+        for (Map.Entry<String, LevelLightQueue> entry : lightQueues.entrySet()) {
+            LevelLightQueue levelQueue = entry.getValue();
+            levelQueue.queue.drain(budgets.level(entry.getKey()), key -> {
+                if (pendingUpdates.remove(key) != null) {
+                    processLightUpdate(levelQueue.level, key);
+                }
+            });
         }
     }
     
     /**
-     * Prioritize updates by player proximity
+     * Pending lazy recalculations of one level.
      */
-    private List<LightSectionKey> prioritizeByPlayerProximity(List<LightSectionKey> updates) {
-        // Simplified prioritization
-        // Real implementation would check actual player positions
-        return updates.stream()
-            .sorted((a, b) -> {
-                // Sort by section coordinates (simplified)
-                int distA = Math.abs(a.sectionX) + Math.abs(a.sectionY) + Math.abs(a.sectionZ);
-                int distB = Math.abs(b.sectionX) + Math.abs(b.sectionY) + Math.abs(b.sectionZ);
-                return Integer.compare(distA, distB);
-            })
-            .collect(Collectors.toList());
+    private static final class LevelLightQueue {
+        private final ServerLevel level;
+        private final ResumableQueue<LightSectionKey> queue = new ResumableQueue<>(TurboBudgetManager.Subsystem.LIGHTING, 100);
+        
+        private LevelLightQueue(ServerLevel level) {
+            this.level = level;
+        }
     }
     
     /**
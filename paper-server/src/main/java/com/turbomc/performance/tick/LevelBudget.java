@@ -0,0 +1,219 @@
+package com.turbomc.performance.tick;
+
+import com.turbomc.config.TurboConfig;
+import com.turbomc.performance.tick.TurboBudgetManager.Subsystem;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tick budget of one level, split between subsystems.
+ *
+ * Time is measured between {@link #enter} and {@link #exit}. A subsystem may use the
+ * unused allocation of every subsystem that is not running, including ones that have not
+ * run yet this tick or are not timed at all, up to the level's share; one that runs over
+ * that is counted as an overrun. Time not timed here is still bounded by the tick as a
+ * whole. Used from the tick thread only, apart from the stats getters.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class LevelBudget {
+
+    private static final int SUBSYSTEMS = Subsystem.values().length;
+    private static final int GLOBAL = Subsystem.GLOBAL.ordinal();
+
+    private final String name;
+    private final TurboBudgetManager manager;
+    private final ResumableCursor blockEntities;
+
+    private final long[] allocatedNs = new long[SUBSYSTEMS];
+    private final long[] usedNs = new long[SUBSYSTEMS];
+    private final long[] enteredAt = new long[SUBSYSTEMS];
+    private final boolean[] overrun = new boolean[SUBSYSTEMS];
+    private volatile long lastActiveTick = Long.MIN_VALUE;
+
+    private final AtomicLong[] overruns = new AtomicLong[SUBSYSTEMS];
+    private final AtomicLong[] overrunNs = new AtomicLong[SUBSYSTEMS];
+    private final AtomicLong[] maxOverrunNs = new AtomicLong[SUBSYSTEMS];
+    private final AtomicLong[] deferred = new AtomicLong[SUBSYSTEMS];
+
+    LevelBudget(String name, TurboBudgetManager manager) {
+        this.name = name;
+        this.manager = manager;
+        for (int i = 0; i < SUBSYSTEMS; i++) {
+            overruns[i] = new AtomicLong();
+            overrunNs[i] = new AtomicLong();
+            maxOverrunNs[i] = new AtomicLong();
+            deferred[i] = new AtomicLong();
+        }
+        this.blockEntities = new ResumableCursor(this, Subsystem.BLOCK_ENTITY,
+            TurboConfig.getInstance().getInt("fps.budget_max_deferred_ticks", 20));
+    }
+
+    void startTick(long budgetNs) {
+        for (Subsystem subsystem : Subsystem.values()) {
+            int s = subsystem.ordinal();
+            allocatedNs[s] = (long) (budgetNs * subsystem.getAllocation());
+            usedNs[s] = 0;
+            enteredAt[s] = 0;
+            overrun[s] = false;
+        }
+    }
+
+    /**
+     * Start timing a subsystem.
+     */
+    public void enter(Subsystem subsystem) {
+        enteredAt[subsystem.ordinal()] = System.nanoTime();
+        lastActiveTick = manager.getTick();
+    }
+
+    /**
+     * Stop timing a subsystem and settle its budget for this tick.
+     */
+    public void exit(Subsystem subsystem) {
+        int s = subsystem.ordinal();
+        if (enteredAt[s] == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - enteredAt[s];
+        enteredAt[s] = 0;
+        usedNs[s] += elapsed;
+        if (s != GLOBAL) {
+            usedNs[GLOBAL] += elapsed;
+        }
+        manager.charge(subsystem, elapsed);
+
+        long over = usedNs[s] - getAllowanceNs(subsystem);
+        if (over > 0 && !overrun[s] && TurboConfig.isGlobalBudgetEnabled()) {
+            overrun[s] = true;
+            overruns[s].incrementAndGet();
+            overrunNs[s].addAndGet(over);
+            maxOverrunNs[s].accumulateAndGet(over, Math::max);
+        }
+    }
+
+    /**
+     * Whether a subsystem has used up its allowance, or the level or the whole tick is over budget.
+     * Work should be deferred to the next tick when this returns true.
+     */
+    public boolean shouldYield(Subsystem subsystem) {
+        if (!TurboConfig.isGlobalBudgetEnabled()) {
+            return false;
+        }
+        if (manager.isTickOverBudget()) {
+            return true;
+        }
+        return getRunningNs(subsystem) >= getAllowanceNs(subsystem);
+    }
+
+    /**
+     * Time a subsystem may use this tick: its allocation plus what subsystems that are not
+     * running have left unused, at most the level's share.
+     */
+    public long getAllowanceNs(Subsystem subsystem) {
+        int s = subsystem.ordinal();
+        if (s == GLOBAL) {
+            return allocatedNs[GLOBAL];
+        }
+        long spare = 0;
+        for (int i = 0; i < SUBSYSTEMS; i++) {
+            if (i != s && i != GLOBAL && enteredAt[i] == 0) {
+                spare += Math.max(0, allocatedNs[i] - usedNs[i]);
+            }
+        }
+        return Math.min(allocatedNs[GLOBAL], allocatedNs[s] + spare);
+    }
+
+    /**
+     * Time a subsystem used this tick, including a section still running.
+     */
+    private long getRunningNs(Subsystem subsystem) {
+        int s = subsystem.ordinal();
+        long now = System.nanoTime();
+        long running = usedNs[s];
+        if (s == GLOBAL) {
+            for (int i = 0; i < SUBSYSTEMS; i++) {
+                if (i != GLOBAL && enteredAt[i] != 0) {
+                    running += now - enteredAt[i];
+                }
+            }
+        } else if (enteredAt[s] != 0) {
+            running += now - enteredAt[s];
+        }
+        return running;
+    }
+
+    void recordDeferred(Subsystem subsystem, long items) {
+        deferred[subsystem.ordinal()].addAndGet(items);
+    }
+
+    /**
+     * Resume point of this level's block entity ticking.
+     */
+    public ResumableCursor getBlockEntityCursor() {
+        return blockEntities;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    long getLastActiveTick() {
+        return lastActiveTick;
+    }
+
+    public long getUsedNs(Subsystem subsystem) {
+        return usedNs[subsystem.ordinal()];
+    }
+
+    public SubsystemStats getStats(Subsystem subsystem) {
+        int s = subsystem.ordinal();
+        return new SubsystemStats(subsystem, overruns[s].get(), overrunNs[s].get(), maxOverrunNs[s].get(), deferred[s].get());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(name).append('{');
+        for (Subsystem subsystem : Subsystem.values()) {
+            if (overruns[subsystem.ordinal()].get() > 0 || deferred[subsystem.ordinal()].get() > 0) {
+                sb.append(getStats(subsystem)).append(", ");
+            }
+        }
+        if (sb.charAt(sb.length() - 1) == ' ') {
+            sb.setLength(sb.length() - 2);
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Overrun and deferral totals of one subsystem in a level.
+     */
+    public static class SubsystemStats {
+        private final Subsystem subsystem;
+        private final long overruns;
+        private final long overrunNs;
+        private final long maxOverrunNs;
+        private final long deferred;
+
+        public SubsystemStats(Subsystem subsystem, long overruns, long overrunNs, long maxOverrunNs, long deferred) {
+            this.subsystem = subsystem;
+            this.overruns = overruns;
+            this.overrunNs = overrunNs;
+            this.maxOverrunNs = maxOverrunNs;
+            this.deferred = deferred;
+        }
+
+        public Subsystem getSubsystem() { return subsystem; }
+        public long getOverruns() { return overruns; }
+        public long getOverrunNs() { return overrunNs; }
+        public long getMaxOverrunNs() { return maxOverrunNs; }
+        public long getDeferred() { return deferred; }
+
+        @Override
+        public String toString() {
+            return String.format("%s{overruns=%d, worst=+%.2fms, deferred=%d}",
+                subsystem, overruns, maxOverrunNs / 1_000_000.0, deferred);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.turbomc.performance.tick;
+
+import com.turbomc.performance.tick.TurboBudgetManager.Subsystem;
+
+import java.util.List;
+
+/**
+ * Budgeted pass over a list that is ticked every tick, such as a level's block entity tickers.
+ *
+ * When the budget runs out the pass stops and remembers the next element; the next pass
+ * starts from it and wraps around, so every element gets its turn. After too many passes
+ * in a row were cut short, a pass runs to the end regardless of budget.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class ResumableCursor {
+
+    /** The clock is read every this many elements. */
+    private static final int CHECK_INTERVAL = 8;
+
+    private final LevelBudget budget;
+    private final Subsystem subsystem;
+    private final int maxDeferredTicks;
+
+    private Object resumeAt;
+    private int resumeIndex;
+    private int passStart;
+    private int passSize;
+    private int deferredTicks;
+    private boolean forced;
+    private int sinceCheck;
+
+    ResumableCursor(LevelBudget budget, Subsystem subsystem, int maxDeferredTicks) {
+        this.budget = budget;
+        this.subsystem = subsystem;
+        this.maxDeferredTicks = Math.max(1, maxDeferredTicks);
+    }
+
+    /**
+     * Begin a pass and start timing it.
+     *
+     * @return Index to start from; iterate {@code list.size()} elements from there, wrapping around
+     */
+    public int start(List<?> list) {
+        budget.enter(subsystem);
+        forced = deferredTicks >= maxDeferredTicks;
+        sinceCheck = 0;
+        int start = 0;
+        if (resumeAt != null) {
+            // Between passes elements are only appended or removed, so the resume point can only
+            // have moved down by the number removed before it
+            int i = Math.min(resumeIndex, list.size() - 1);
+            while (i >= 0 && list.get(i) != resumeAt) {
+                i--;
+            }
+            start = Math.max(0, i);
+            resumeAt = null;
+        }
+        passStart = start;
+        passSize = list.size();
+        return start;
+    }
+
+    /**
+     * Whether to stop the pass before {@code next}. Stopping remembers it as the place to resume.
+     *
+     * @param remaining Elements left in this pass, including {@code next}
+     */
+    public boolean shouldDefer(Object next, int remaining) {
+        if (forced || ++sinceCheck < CHECK_INTERVAL) {
+            return false;
+        }
+        sinceCheck = 0;
+        if (!budget.shouldYield(subsystem)) {
+            return false;
+        }
+        resumeAt = next;
+        resumeIndex = (passStart + passSize - remaining) % passSize;
+        budget.recordDeferred(subsystem, remaining);
+        return true;
+    }
+
+    /**
+     * End the pass and stop timing it.
+     */
+    public void finish() {
+        budget.exit(subsystem);
+        deferredTicks = resumeAt != null ? deferredTicks + 1 : 0;
+    }
+
+    /**
+     * Consecutive passes cut short by the budget.
+     */
+    public int getDeferredTicks() {
+        return deferredTicks;
+    }
+}
@@ -0,0 +1,115 @@
+package com.turbomc.performance.tick;
+
+import com.turbomc.performance.tick.TurboBudgetManager.Subsystem;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Queue of deferrable work drained within a level's budget.
+ *
+ * Work runs oldest first, and whatever the budget leaves behind stays at the head for the
+ * next tick. Work older than the age limit runs even over budget, and every drain makes
+ * progress on at least one item. Items can be added from any thread; draining happens on
+ * the tick thread.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class ResumableQueue<T> {
+
+    private final Subsystem subsystem;
+    private final int maxAgeTicks;
+    private final ConcurrentLinkedQueue<Entry<T>> entries = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong deferred = new AtomicLong();
+    private final AtomicLong aged = new AtomicLong();
+
+    /**
+     * @param subsystem Subsystem whose budget the work is charged to
+     * @param maxAgeTicks Ticks after which an item runs regardless of budget
+     */
+    public ResumableQueue(Subsystem subsystem, int maxAgeTicks) {
+        this.subsystem = subsystem;
+        this.maxAgeTicks = Math.max(1, maxAgeTicks);
+    }
+
+    public void add(T item) {
+        entries.add(new Entry<>(item, TurboBudgetManager.getInstance().getTick()));
+    }
+
+    /**
+     * Run queued work until the budget runs out.
+     *
+     * @return Number of items run
+     */
+    public int drain(LevelBudget budget, Consumer<? super T> action) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        long tick = TurboBudgetManager.getInstance().getTick();
+        int done = 0;
+        budget.enter(subsystem);
+        try {
+            Entry<T> entry;
+            while ((entry = entries.peek()) != null) {
+                boolean overAge = tick - entry.tick >= maxAgeTicks;
+                if (!overAge && done > 0 && budget.shouldYield(subsystem)) {
+                    int left = entries.size();
+                    deferred.addAndGet(left);
+                    budget.recordDeferred(subsystem, left);
+                    break;
+                }
+                entries.poll();
+                if (overAge) {
+                    aged.incrementAndGet();
+                }
+                done++;
+                try {
+                    action.accept(entry.item);
+                } catch (RuntimeException e) {
+                    System.err.println("[TurboMC][Budget] " + subsystem + " work failed in " + budget.getName() + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            budget.exit(subsystem);
+            processed.addAndGet(done);
+        }
+        return done;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    /**
+     * Items left waiting by a drain, summed over drains.
+     */
+    public long getDeferred() {
+        return deferred.get();
+    }
+
+    /**
+     * Items run over budget because they were too old.
+     */
+    public long getAged() {
+        return aged.get();
+    }
+
+    private record Entry<T>(T item, long tick) {
+    }
+}
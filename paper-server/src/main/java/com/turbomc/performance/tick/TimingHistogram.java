@@ -0,0 +1,127 @@
+package com.turbomc.performance.tick;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations in log-linear nanosecond buckets, in the style of HdrHistogram:
+ * each power of two is split into 8 sub-buckets, so percentiles are accurate to within 12.5%.
+ * Recording is lock-free and allocation-free; count and total are striped.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class TimingHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNs = new LongAdder();
+    private final AtomicLong maxNs = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNs.add(value);
+        if (value > maxNs.get()) {
+            maxNs.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Add everything another histogram recorded to this one.
+     */
+    public void add(TimingHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long n = other.buckets.get(i);
+            if (n != 0) {
+                buckets.addAndGet(i, n);
+            }
+        }
+        count.add(other.getCount());
+        totalNs.add(other.getTotalNs());
+        maxNs.accumulateAndGet(other.getMaxNs(), Math::max);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long next = SUB_BUCKETS + bucket % SUB_BUCKETS + 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        if (Long.numberOfLeadingZeros(next) <= shift) {
+            return Long.MAX_VALUE;
+        }
+        return (next << shift) - 1;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNs() {
+        return totalNs.sum();
+    }
+
+    public long getMaxNs() {
+        return maxNs.get();
+    }
+
+    public double getMeanNs() {
+        long n = getCount();
+        return n > 0 ? (double) getTotalNs() / n : 0;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile.
+     *
+     * @param percentile 0-100
+     * @return Duration in nanoseconds, 0 if nothing was recorded
+     */
+    public long getPercentileNs(double percentile) {
+        long n = getCount();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(n * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBoundOf(i), maxNs.get());
+            }
+        }
+        return maxNs.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalNs.reset();
+        maxNs.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, max=%.3fms",
+            getCount(), getMeanNs() / 1_000_000.0, getPercentileNs(50) / 1_000_000.0,
+            getPercentileNs(99) / 1_000_000.0, getMaxNs() / 1_000_000.0);
+    }
+}
@@ -1,19 +1,30 @@
 package com.turbomc.performance.tick;
 
 import com.turbomc.config.TurboConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages the global tick budget to ensure deterministic performance.
  * If a subsystem exceeds its allocated budget, it will suggest yielding.
+ *
+ * The tick budget is split evenly between the levels that ticked last tick, and each
+ * level's share is split between subsystems by their allocation. See {@link LevelBudget}.
  */
 public class TurboBudgetManager {
     private static final TurboBudgetManager INSTANCE = new TurboBudgetManager();
-    
+
+    /**
+     * Shares of the level budget; all but {@link #GLOBAL} sum to 1.
+     */
     public enum Subsystem {
-        ENTITY(0.60),
+        ENTITY(0.55),
         BLOCK_ENTITY(0.20),
-        WORLD(0.20),
+        WORLD(0.15),
+        LIGHTING(0.05),
+        MODULES(0.05),
         GLOBAL(1.0);
 
         private final double allocation;
@@ -23,31 +34,112 @@ public class TurboBudgetManager {
 
     private final AtomicLong tickStartTime = new AtomicLong(0);
     private final AtomicLong currentBudgetNs = new AtomicLong(0);
+    private final AtomicLong[] usedNs = new AtomicLong[Subsystem.values().length];
+    private final ConcurrentHashMap<String, LevelBudget> levels = new ConcurrentHashMap<>();
+    private volatile long tick;
+    private volatile long levelBudgetNs;
+
+    private TurboBudgetManager() {
+        for (int i = 0; i < usedNs.length; i++) {
+            usedNs[i] = new AtomicLong();
+        }
+    }
 
     public static TurboBudgetManager getInstance() { return INSTANCE; }
 
     public void startTick() {
+        for (AtomicLong used : usedNs) {
+            used.set(0);
+        }
+        long previousTick = tick++;
         if (!TurboConfig.isGlobalBudgetEnabled()) return;
         tickStartTime.set(System.nanoTime());
         double budgetMs = TurboConfig.getTickBudgetMs();
         currentBudgetNs.set((long) (budgetMs * 1_000_000));
+
+        int activeLevels = 0;
+        for (LevelBudget level : levels.values()) {
+            if (level.getLastActiveTick() >= previousTick) {
+                activeLevels++;
+            }
+        }
+        levelBudgetNs = currentBudgetNs.get() / Math.max(1, activeLevels);
+        for (LevelBudget level : levels.values()) {
+            level.startTick(levelBudgetNs);
+        }
     }
 
     public boolean shouldYield(Subsystem subsystem) {
         if (!TurboConfig.isGlobalBudgetEnabled()) return false;
-        
+
         long elapsed = System.nanoTime() - tickStartTime.get();
         // Global limit is strict
         if (elapsed > currentBudgetNs.get()) return true;
-        
+
         // Subsystem limits are soft suggestions (can be tweaked)
         long allocatedNs = (long) (currentBudgetNs.get() * subsystem.getAllocation());
         // For now, only yield if we are WAY over or if global is exceeded
         // We might want more sophisticated logic later
         return elapsed > allocatedNs && subsystem != Subsystem.GLOBAL;
     }
-    
+
     public long getElapsedNs() {
         return System.nanoTime() - tickStartTime.get();
     }
+
+    /**
+     * Whether the tick as a whole has run past its budget.
+     */
+    public boolean isTickOverBudget() {
+        return TurboConfig.isGlobalBudgetEnabled() && getElapsedNs() > currentBudgetNs.get();
+    }
+
+    /**
+     * Budget of a level, created on first use.
+     *
+     * @param levelName Dimension key of the level
+     */
+    public LevelBudget level(String levelName) {
+        LevelBudget level = levels.get(levelName);
+        if (level == null) {
+            level = levels.computeIfAbsent(levelName, name -> {
+                LevelBudget created = new LevelBudget(name, this);
+                created.startTick(levelBudgetNs);
+                return created;
+            });
+        }
+        return level;
+    }
+
+    public List<LevelBudget> getLevels() {
+        return new ArrayList<>(levels.values());
+    }
+
+    /**
+     * Number of ticks started so far.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Budget each level gets this tick.
+     */
+    public long getLevelBudgetNs() {
+        return levelBudgetNs;
+    }
+
+    /**
+     * Record time a subsystem spent in the current tick.
+     */
+    public void charge(Subsystem subsystem, long nanos) {
+        usedNs[subsystem.ordinal()].addAndGet(nanos);
+    }
+
+    /**
+     * Time charged to a subsystem since the tick started.
+     */
+    public long getUsedNs(Subsystem subsystem) {
+        return usedNs[subsystem.ordinal()].get();
+    }
 }
@@ -0,0 +1,386 @@
+package com.turbomc.performance.tick;
+
+import com.turbomc.config.TurboConfig;
+import com.turbomc.performance.TurboOptimizerModule;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives {@link TurboOptimizerModule}s from the server tick.
+ *
+ * Each module is registered for one phase and runs every few ticks. Synchronous phases
+ * have a time budget: once it is spent, or the tick as a whole is over budget, due modules
+ * are deferred to the next tick and the phase resumes with them, so every module still
+ * gets its turn. A module deferred for too long runs regardless. Module time is charged
+ * to {@link TurboBudgetManager.Subsystem#MODULES} and recorded per module.
+ *
+ * Level phases are run once per server tick, by the first level to reach them.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class TurboModuleRuntime {
+
+    /**
+     * Points in the tick where modules run.
+     */
+    public enum Phase {
+        /** Start of the server tick, before any level ticks. */
+        PRE_TICK("pre-tick"),
+        /** After a level's entities ticked, before its block entities. */
+        POST_ENTITY("post-entity"),
+        /** After a level's block entities ticked. */
+        POST_BLOCK_ENTITY("post-block-entity"),
+        /** Off the main thread, between the end of a tick and the next. */
+        ASYNC("async");
+
+        private final String configKey;
+
+        Phase(String configKey) {
+            this.configKey = configKey;
+        }
+
+        public String getConfigKey() {
+            return configKey;
+        }
+    }
+
+    /** Ticks past its interval after which a deferred module runs even over budget. */
+    private static final int MAX_DEFERRED_TICKS = 20;
+
+    private static volatile TurboModuleRuntime instance;
+    private static final Object INSTANCE_LOCK = new Object();
+
+    private final boolean enabled;
+    private final int defaultIntervalTicks;
+    private final long[] budgetNs = new long[Phase.values().length];
+    private final List<List<Registration>> modules = new ArrayList<>();
+    private final TimingHistogram[] phaseTimes = new TimingHistogram[Phase.values().length];
+    private final AtomicLong[] phaseOverruns = new AtomicLong[Phase.values().length];
+
+    // Main thread only
+    private final int[] cursor = new int[Phase.values().length];
+    private final int[] lastPhaseTick = new int[Phase.values().length];
+    private volatile int currentTick;
+
+    private final ExecutorService asyncExecutor;
+    private final AtomicBoolean asyncRunning = new AtomicBoolean();
+    private final AtomicLong asyncSkipped = new AtomicLong();
+
+    /**
+     * @param enabled Whether modules run at all
+     * @param defaultIntervalTicks Ticks between runs of a module unless registered otherwise
+     * @param budgetsMs Time budget per phase in milliseconds (0 = unbounded); the async budget is only reported against
+     */
+    public TurboModuleRuntime(boolean enabled, int defaultIntervalTicks, Map<Phase, Double> budgetsMs) {
+        this.enabled = enabled;
+        this.defaultIntervalTicks = Math.max(1, defaultIntervalTicks);
+        for (Phase phase : Phase.values()) {
+            int p = phase.ordinal();
+            budgetNs[p] = (long) (budgetsMs.getOrDefault(phase, 0.0) * 1_000_000);
+            modules.add(new CopyOnWriteArrayList<>());
+            phaseTimes[p] = new TimingHistogram();
+            phaseOverruns[p] = new AtomicLong();
+            lastPhaseTick[p] = Integer.MIN_VALUE;
+        }
+        this.asyncExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "TurboMC-Modules");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static TurboModuleRuntime getInstance() {
+        TurboModuleRuntime result = instance;
+        if (result == null) {
+            synchronized (INSTANCE_LOCK) {
+                result = instance;
+                if (result == null) {
+                    TurboConfig config = TurboConfig.getInstance();
+                    Map<Phase, Double> budgets = new EnumMap<>(Phase.class);
+                    for (Phase phase : Phase.values()) {
+                        budgets.put(phase, config.getDouble("performance.modules." + phase.getConfigKey() + "-budget-ms",
+                            phase == Phase.ASYNC ? 20.0 : 1.0));
+                    }
+                    result = instance = new TurboModuleRuntime(
+                        config.getBoolean("performance.modules.enabled", true),
+                        config.getInt("performance.modules.interval-ticks", 20),
+                        budgets);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Shut down the runtime, for server stop and tests.
+     */
+    public static void resetInstance() {
+        synchronized (INSTANCE_LOCK) {
+            if (instance != null) {
+                instance.shutdown();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Run a module in a phase every {@code performance.modules.interval-ticks} ticks.
+     */
+    public void register(TurboOptimizerModule module, Phase phase) {
+        register(module, phase, defaultIntervalTicks);
+    }
+
+    /**
+     * Run a module in a phase every {@code intervalTicks} ticks, replacing any earlier registration.
+     */
+    public void register(TurboOptimizerModule module, Phase phase, int intervalTicks) {
+        unregister(module);
+        Registration registration = new Registration(module, phase, Math.max(1, intervalTicks));
+        // Due straight away, but not yet overdue
+        registration.lastRunTick = currentTick - registration.intervalTicks;
+        modules.get(phase.ordinal()).add(registration);
+    }
+
+    public void unregister(TurboOptimizerModule module) {
+        for (List<Registration> list : modules) {
+            list.removeIf(registration -> registration.module == module);
+        }
+    }
+
+    /**
+     * Start of a server tick: starts the tick budget and runs {@link Phase#PRE_TICK}.
+     */
+    public void startTick(int tick) {
+        currentTick = tick;
+        TurboBudgetManager.getInstance().startTick();
+        runPhase(Phase.PRE_TICK);
+    }
+
+    /**
+     * Run a synchronous phase, unless it already ran this tick.
+     */
+    public void runPhase(Phase phase) {
+        if (!enabled || phase == Phase.ASYNC) {
+            return;
+        }
+        int p = phase.ordinal();
+        int tick = currentTick;
+        if (lastPhaseTick[p] == tick) {
+            return;
+        }
+        lastPhaseTick[p] = tick;
+        runModules(phase, tick, true);
+    }
+
+    /**
+     * End of a server tick: runs {@link Phase#ASYNC} off the main thread, unless the last run is still going.
+     */
+    public void endTick() {
+        if (!enabled || modules.get(Phase.ASYNC.ordinal()).isEmpty()) {
+            return;
+        }
+        if (!asyncRunning.compareAndSet(false, true)) {
+            asyncSkipped.incrementAndGet();
+            return;
+        }
+        int tick = currentTick;
+        try {
+            asyncExecutor.execute(() -> {
+                try {
+                    runModules(Phase.ASYNC, tick, false);
+                } finally {
+                    asyncRunning.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            asyncRunning.set(false);
+        }
+    }
+
+    private void runModules(Phase phase, int tick, boolean enforceBudget) {
+        int p = phase.ordinal();
+        List<Registration> list = modules.get(p);
+        int count = list.size();
+        if (count == 0) {
+            return;
+        }
+
+        long budget = budgetNs[p];
+        long start = System.nanoTime();
+        int first = enforceBudget ? Math.floorMod(cursor[p], count) : 0;
+        boolean deferred = false;
+        for (int i = 0; i < count; i++) {
+            int index = (first + i) % count;
+            Registration registration = list.get(index);
+            if (!registration.isDue(tick)) {
+                continue;
+            }
+            if (enforceBudget && !registration.isOverdue(tick) && overBudget(start, budget)) {
+                // Resume from here next tick
+                if (!deferred) {
+                    cursor[p] = index;
+                    deferred = true;
+                }
+                registration.deferrals.incrementAndGet();
+                continue;
+            }
+            run(registration, tick);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        phaseTimes[p].record(elapsed);
+        if (budget > 0 && elapsed > budget) {
+            phaseOverruns[p].incrementAndGet();
+        }
+    }
+
+    private static boolean overBudget(long start, long budget) {
+        return (budget > 0 && System.nanoTime() - start >= budget)
+            || TurboBudgetManager.getInstance().shouldYield(TurboBudgetManager.Subsystem.GLOBAL);
+    }
+
+    private void run(Registration registration, int tick) {
+        registration.lastRunTick = tick;
+        TurboOptimizerModule module = registration.module;
+        if (!module.isEnabled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (module.shouldOptimize()) {
+                module.performOptimization();
+            }
+        } catch (Throwable t) {
+            registration.errors.incrementAndGet();
+            System.err.println("[TurboMC][Modules] " + module.getModuleName() + " failed in " + registration.phase + ": " + t.getMessage());
+        }
+        long elapsed = System.nanoTime() - start;
+        registration.times.record(elapsed);
+        if (registration.phase != Phase.ASYNC) {
+            TurboBudgetManager.getInstance().charge(TurboBudgetManager.Subsystem.MODULES, elapsed);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Time spent per run of a phase.
+     */
+    public TimingHistogram getPhaseTimes(Phase phase) {
+        return phaseTimes[phase.ordinal()];
+    }
+
+    /**
+     * Runs of a phase that exceeded its budget.
+     */
+    public long getPhaseOverruns(Phase phase) {
+        return phaseOverruns[phase.ordinal()].get();
+    }
+
+    /**
+     * Async runs skipped because the previous one was still going.
+     */
+    public long getAsyncSkipped() {
+        return asyncSkipped.get();
+    }
+
+    public List<ModuleStats> getModuleStats() {
+        List<ModuleStats> stats = new ArrayList<>();
+        for (List<Registration> list : modules) {
+            for (Registration registration : list) {
+                stats.add(new ModuleStats(registration.module.getModuleName(), registration.phase, registration.intervalTicks,
+                    registration.times, registration.deferrals.get(), registration.errors.get()));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Stop running modules. Waits briefly for an async run in progress.
+     */
+    public void shutdown() {
+        asyncExecutor.shutdown();
+        try {
+            if (!asyncExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                asyncExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            asyncExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        for (List<Registration> list : modules) {
+            list.clear();
+        }
+    }
+
+    private static final class Registration {
+        private final TurboOptimizerModule module;
+        private final Phase phase;
+        private final int intervalTicks;
+        private final TimingHistogram times = new TimingHistogram();
+        private final AtomicLong deferrals = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private volatile int lastRunTick;
+
+        private Registration(TurboOptimizerModule module, Phase phase, int intervalTicks) {
+            this.module = module;
+            this.phase = phase;
+            this.intervalTicks = intervalTicks;
+        }
+
+        private boolean isDue(int tick) {
+            return tick - lastRunTick >= intervalTicks;
+        }
+
+        private boolean isOverdue(int tick) {
+            return tick - lastRunTick >= intervalTicks + MAX_DEFERRED_TICKS;
+        }
+    }
+
+    public static class ModuleStats {
+        private final String moduleName;
+        private final Phase phase;
+        private final int intervalTicks;
+        private final TimingHistogram times;
+        private final long deferrals;
+        private final long errors;
+
+        public ModuleStats(String moduleName, Phase phase, int intervalTicks, TimingHistogram times,
+                           long deferrals, long errors) {
+            this.moduleName = moduleName;
+            this.phase = phase;
+            this.intervalTicks = intervalTicks;
+            this.times = times;
+            this.deferrals = deferrals;
+            this.errors = errors;
+        }
+
+        public String getModuleName() { return moduleName; }
+        public Phase getPhase() { return phase; }
+        public int getIntervalTicks() { return intervalTicks; }
+        public TimingHistogram getTimes() { return times; }
+        public long getRuns() { return times.getCount(); }
+        public long getDeferrals() { return deferrals; }
+        public long getErrors() { return errors; }
+
+        @Override
+        public String toString() {
+            return String.format("%s{phase=%s, every=%dt, %s, deferred=%d, errors=%d}",
+                moduleName, phase, intervalTicks, times, deferrals, errors);
+        }
+    }
+}
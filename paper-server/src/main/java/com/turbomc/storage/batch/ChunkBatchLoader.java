@@ -3,18 +3,19 @@ package com.turbomc.storage.batch;
 import com.turbomc.compression.TurboCompressionService;
 import com.turbomc.storage.lrf.LRFChunkEntry;
 import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFHeader;
 import com.turbomc.storage.lrf.LRFRegionReader;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import com.turbomc.storage.optimization.SharedRegionResource;
+import com.turbomc.storage.optimization.StorageScheduler;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -26,6 +27,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * 
  * Features:
  * - Parallel chunk loading with multiple threads
+ * - Coalesced reads for multi-chunk loads (see {@link com.turbomc.storage.lrf.LRFReadPlanner})
  * - Asynchronous decompression pipeline
  * - Memory-efficient batch processing
  * - Progress tracking and statistics
@@ -145,7 +147,8 @@ public class ChunkBatchLoader implements AutoCloseable {
     }
     
     /**
-     * @deprecated Use constructor with shared executors
+     * @deprecated Use constructor with shared executors; the thread counts are ignored and
+     *             the loader runs on {@link StorageScheduler#shared()}
      */
     @Deprecated
     public ChunkBatchLoader(SharedRegionResource resource, int loadThreads, int decompressionThreads,
@@ -158,23 +161,16 @@ public class ChunkBatchLoader implements AutoCloseable {
         this.maxConcurrentLoads = maxConcurrentLoads;
         this.readerRefreshIntervalMs = 60000; // 1 minute
         
-        this.loadExecutor = Executors.newFixedThreadPool(loadThreads, r -> {
-            Thread t = new Thread(r, "ChunkBatchLoader-IO-" + System.currentTimeMillis());
-            t.setDaemon(true);
-            return t;
-        });
-        
-        this.decompressionExecutor = Executors.newFixedThreadPool(decompressionThreads, r -> {
-            Thread t = new Thread(r, "ChunkBatchLoader-Decompress-" + System.currentTimeMillis());
-            t.setDaemon(true);
-            return t;
-        });
+        // Thread counts are ignored: all loaders run on the shared storage scheduler
+        StorageScheduler scheduler = StorageScheduler.shared();
+        this.loadExecutor = scheduler.executor(StorageScheduler.Lane.READ, StorageScheduler.Priority.URGENT);
+        this.decompressionExecutor = scheduler.executor(StorageScheduler.Lane.DECOMPRESS, StorageScheduler.Priority.URGENT);
         
         this.loadingChunks = new ConcurrentHashMap<>();
         this.isClosed = new AtomicBoolean(false);
         this.waitingQueue = new java.util.concurrent.ConcurrentLinkedQueue<>();
         this.queueSize = new AtomicInteger(0);
-        this.isSharedPool = false;
+        this.isSharedPool = true;
         this.chunksLoaded = new AtomicInteger(0);
         this.chunksDecompressed = new AtomicInteger(0);
         this.cacheHits = new AtomicInteger(0);
@@ -260,6 +256,25 @@ public class ChunkBatchLoader implements AutoCloseable {
         return future;
     }
     
+    /**
+     * Load a chunk on the calling thread, for callers that already run on a read lane worker.
+     *
+     * @return Chunk data, or null if the chunk doesn't exist or can't be read
+     */
+    public LRFChunkEntry readChunkNow(int chunkX, int chunkZ) {
+        if (isClosed.get()) {
+            throw new IllegalStateException("ChunkBatchLoader is closed");
+        }
+
+        cacheMisses.incrementAndGet();
+        LRFChunkEntry chunk = loadChunkDirect(chunkX, chunkZ);
+        if (chunk != null) {
+            chunksDecompressed.incrementAndGet();
+            chunksLoaded.incrementAndGet();
+        }
+        return chunk;
+    }
+
     /**
      * Process chunks waiting in queue.
      */
@@ -278,21 +293,62 @@ public class ChunkBatchLoader implements AutoCloseable {
     
     /**
      * Load multiple chunks in parallel.
+     * Chunks are sorted by file offset and split into batches; each batch is one task
+     * that reads neighbouring chunks with merged reads.
      * 
      * @param chunkCoords List of chunk coordinate pairs [x, z]
      * @return CompletableFuture that completes with list of loaded chunks
      */
     public CompletableFuture<List<LRFChunkEntry>> loadChunks(List<int[]> chunkCoords) {
-        List<CompletableFuture<LRFChunkEntry>> futures = new ArrayList<>();
+        if (isClosed.get()) {
+            throw new IllegalStateException("ChunkBatchLoader is closed");
+        }
+        
+        List<CompletableFuture<LRFChunkEntry>> futures = new ArrayList<>(chunkCoords.size());
+        List<int[]> toRead = new ArrayList<>();
+        List<CompletableFuture<LRFChunkEntry>> toComplete = new ArrayList<>();
+        
+        for (int[] coords : chunkCoords) {
+            int chunkIndex = LRFConstants.getChunkIndex(coords[0], coords[1]);
+            CompletableFuture<LRFChunkEntry> future = new CompletableFuture<>();
+            CompletableFuture<LRFChunkEntry> existing = loadingChunks.putIfAbsent(chunkIndex, future);
+            if (existing != null) {
+                cacheHits.incrementAndGet();
+                futures.add(existing);
+            } else {
+                cacheMisses.incrementAndGet();
+                futures.add(future);
+                toRead.add(coords);
+                toComplete.add(future);
+            }
+        }
+        
+        sortByFileOffset(toRead, toComplete);
         
         // Split into batches to avoid overwhelming the system
-        for (int i = 0; i < chunkCoords.size(); i += maxBatchSize) {
-            int endIndex = Math.min(i + maxBatchSize, chunkCoords.size());
-            List<int[]> batch = chunkCoords.subList(i, endIndex);
+        for (int i = 0; i < toRead.size(); i += maxBatchSize) {
+            int endIndex = Math.min(i + maxBatchSize, toRead.size());
+            List<int[]> batch = toRead.subList(i, endIndex);
+            List<CompletableFuture<LRFChunkEntry>> batchFutures = toComplete.subList(i, endIndex);
             
-            for (int[] coords : batch) {
-                futures.add(loadChunk(coords[0], coords[1]));
-            }
+            CompletableFuture.supplyAsync(() -> loadBatchDirect(batch), loadExecutor)
+                .whenComplete((chunks, throwable) -> {
+                    for (int j = 0; j < batch.size(); j++) {
+                        int[] coords = batch.get(j);
+                        LRFChunkEntry chunk = throwable == null ? chunks[j] : null;
+                        loadingChunks.remove(LRFConstants.getChunkIndex(coords[0], coords[1]));
+                        if (chunk != null) {
+                            chunksLoaded.incrementAndGet();
+                            chunksDecompressed.incrementAndGet();
+                        }
+                        batchFutures.get(j).complete(chunk);
+                    }
+                    processWaitingQueue();
+                    
+                    if (throwable != null) {
+                        System.err.println("[TurboMC] Error loading chunk batch from " + regionPath.getFileName() + ": " + throwable.getMessage());
+                    }
+                });
         }
         
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
@@ -339,15 +395,7 @@ public class ChunkBatchLoader implements AutoCloseable {
         long startTime = System.currentTimeMillis();
         
         try {
-            // Smart refresh: only if file has been modified
-            long currentFileModified = java.nio.file.Files.getLastModifiedTime(regionPath).toMillis();
-            if (currentFileModified > lastFileModified || 
-                System.currentTimeMillis() - lastReaderRefresh > readerRefreshIntervalMs) {
-                refreshRegionReader();
-                lastFileModified = currentFileModified;
-            }
-            
-            LRFRegionReader reader = getRegionReader();
+            LRFRegionReader reader = currentReader();
             if (reader == null) {
                 return null;
             }
@@ -362,6 +410,76 @@ public class ChunkBatchLoader implements AutoCloseable {
         }
     }
     
+    /**
+     * Load a batch of chunks with coalesced reads (I/O operation).
+     * 
+     * @return Chunks in batch order, null where missing or unreadable
+     */
+    private LRFChunkEntry[] loadBatchDirect(List<int[]> batch) {
+        long startTime = System.currentTimeMillis();
+        
+        try {
+            LRFRegionReader reader = currentReader();
+            if (reader == null) {
+                return new LRFChunkEntry[batch.size()];
+            }
+            
+            LRFChunkEntry[] chunks = reader.readChunks(batch);
+            totalLoadTime.addAndGet(System.currentTimeMillis() - startTime);
+            return chunks;
+            
+        } catch (IOException e) {
+            System.err.println("[TurboMC] Failed to load " + batch.size() + " chunks from " + regionPath.getFileName() + ": " + e.getMessage());
+            return new LRFChunkEntry[batch.size()];
+        }
+    }
+    
+    /**
+     * Sort chunk coordinates (and their futures, in step) by position in the file,
+     * so every batch covers a contiguous stretch of the region.
+     */
+    private void sortByFileOffset(List<int[]> coords, List<CompletableFuture<LRFChunkEntry>> futures) {
+        LRFRegionReader reader = getRegionReader();
+        if (reader == null || coords.size() < 2) {
+            return;
+        }
+        
+        LRFHeader header = reader.getHeader();
+        Integer[] order = new Integer[coords.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        java.util.Arrays.sort(order, java.util.Comparator.comparingInt(i -> {
+            int[] c = coords.get(i);
+            return header.hasChunk(c[0], c[1]) ? header.getChunkOffset(c[0], c[1]) : Integer.MAX_VALUE;
+        }));
+        
+        List<int[]> sortedCoords = new ArrayList<>(order.length);
+        List<CompletableFuture<LRFChunkEntry>> sortedFutures = new ArrayList<>(order.length);
+        for (int i : order) {
+            sortedCoords.add(coords.get(i));
+            sortedFutures.add(futures.get(i));
+        }
+        coords.clear();
+        coords.addAll(sortedCoords);
+        futures.clear();
+        futures.addAll(sortedFutures);
+    }
+    
+    /**
+     * Region reader, refreshed first if the file has been modified.
+     */
+    private LRFRegionReader currentReader() throws IOException {
+        // Smart refresh: only if file has been modified
+        long currentFileModified = java.nio.file.Files.getLastModifiedTime(regionPath).toMillis();
+        if (currentFileModified > lastFileModified || 
+            System.currentTimeMillis() - lastReaderRefresh > readerRefreshIntervalMs) {
+            refreshRegionReader();
+            lastFileModified = currentFileModified;
+        }
+        return getRegionReader();
+    }
+    
     /**
      * Decompress chunk data if needed.
      * Note: Current LRFRegionReader already handles decompression and timestamp splitting.
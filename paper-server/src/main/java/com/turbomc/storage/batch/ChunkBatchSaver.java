@@ -1,24 +1,26 @@
 package com.turbomc.storage.batch;
 
-import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.compression.AdaptiveCodecSelector;
 import com.turbomc.storage.lrf.LRFChunkEntry;
+import com.turbomc.storage.lrf.LRFChunkMetadata;
 import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFExtentAllocator;
+import com.turbomc.storage.lrf.LRFRegionCompactor;
 import com.turbomc.storage.lrf.LRFRegionWriter;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import com.turbomc.storage.optimization.SharedRegionResource;
+import com.turbomc.storage.optimization.StorageScheduler;
 import java.util.concurrent.ConcurrentHashMap;
 import net.minecraft.world.level.ChunkPos;
 
@@ -28,6 +30,7 @@ import net.minecraft.world.level.ChunkPos;
  * 
  * Features:
  * - Batch compression using multiple threads
+ * - Optional per-chunk codec selection ({@link AdaptiveCodecSelector})
  * - Asynchronous write operations
  * - Memory-efficient buffering
  * - Progress tracking and statistics
@@ -46,6 +49,7 @@ public class ChunkBatchSaver implements AutoCloseable {
     private final AtomicInteger chunksSaved;
     private final AtomicInteger chunksCompressed;
     private final ConcurrentHashMap<Long, LRFChunkEntry> inflightChunks;
+    private final Set<Long> archiveChunks = ConcurrentHashMap.newKeySet();
     private final long startTime;
     private final boolean isSharedPool;
     private final SharedRegionResource sharedResource;
@@ -135,7 +139,8 @@ public class ChunkBatchSaver implements AutoCloseable {
     
     /**
      * Create a new batch saver with custom configuration including auto-flush delay.
-     * @deprecated Use constructor with shared executors
+     * @deprecated Use constructor with shared executors; the thread counts are ignored and
+     *             the saver runs on {@link StorageScheduler#shared()}
      */
     @Deprecated
     public ChunkBatchSaver(SharedRegionResource resource, int compressionType, 
@@ -149,17 +154,10 @@ public class ChunkBatchSaver implements AutoCloseable {
         this.compressionThreads = compressionThreads;
         this.writeThreads = writeThreads;
         
-        this.compressionExecutor = Executors.newFixedThreadPool(compressionThreads, r -> {
-            Thread t = new Thread(r, "ChunkBatchSaver-Compression-" + System.currentTimeMillis());
-            t.setDaemon(true);
-            return t;
-        });
-        
-        this.writeExecutor = Executors.newFixedThreadPool(writeThreads, r -> {
-            Thread t = new Thread(r, "ChunkBatchSaver-Writer-" + System.currentTimeMillis());
-            t.setDaemon(true);
-            return t;
-        });
+        // Thread counts are ignored: all savers run on the shared storage scheduler
+        StorageScheduler scheduler = StorageScheduler.shared();
+        this.compressionExecutor = scheduler.executor(StorageScheduler.Lane.COMPRESS, StorageScheduler.Priority.BACKGROUND);
+        this.writeExecutor = scheduler.executor(StorageScheduler.Lane.WRITE, StorageScheduler.Priority.BACKGROUND);
         
         this.pendingChunks = new ArrayList<>(batchSize);
         this.chunkFutures = new ArrayList<>();
@@ -168,7 +166,7 @@ public class ChunkBatchSaver implements AutoCloseable {
         this.chunksCompressed = new AtomicInteger(0);
         this.inflightChunks = new ConcurrentHashMap<>();
         this.startTime = System.currentTimeMillis();
-        this.isSharedPool = false;
+        this.isSharedPool = true;
     }
     
     /**
@@ -180,6 +178,19 @@ public class ChunkBatchSaver implements AutoCloseable {
      * @throws IllegalStateException if saver is closed
      */
     public CompletableFuture<Void> saveChunk(LRFChunkEntry chunk) {
+        return saveChunk(chunk, false);
+    }
+    
+    /**
+     * Add a chunk to the batch queue.
+     * 
+     * @param chunk Chunk entry to save
+     * @param archive Chunk is rewritten only to improve its compression; with adaptive
+     *                codecs it gets a high zstd level while the server is idle
+     * @return CompletableFuture that completes when the chunk is saved
+     * @throws IllegalStateException if saver is closed
+     */
+    public CompletableFuture<Void> saveChunk(LRFChunkEntry chunk, boolean archive) {
         if (isClosed.get()) {
             throw new IllegalStateException("ChunkBatchSaver is closed");
         }
@@ -187,7 +198,13 @@ public class ChunkBatchSaver implements AutoCloseable {
         CompletableFuture<Void> completionFuture = new CompletableFuture<>();
         
         // Track chunk as in-flight
-        inflightChunks.put(ChunkPos.asLong(chunk.getChunkX(), chunk.getChunkZ()), chunk);
+        long key = ChunkPos.asLong(chunk.getChunkX(), chunk.getChunkZ());
+        inflightChunks.put(key, chunk);
+        if (archive) {
+            archiveChunks.add(key);
+        } else {
+            archiveChunks.remove(key);
+        }
         
         synchronized (pendingChunks) {
             pendingChunks.add(chunk);
@@ -324,30 +341,24 @@ public class ChunkBatchSaver implements AutoCloseable {
      */
     private CompressedChunk compressChunk(LRFChunkEntry chunk) {
         byte[] data = chunk.getData();
+        boolean archive = archiveChunks.remove(ChunkPos.asLong(chunk.getChunkX(), chunk.getChunkZ()));
         
-        // Append timestamp to data
-        ByteBuffer dataWithTimestamp = ByteBuffer.allocate(data.length + 8);
-        dataWithTimestamp.put(data);
-        dataWithTimestamp.putLong(chunk.getTimestamp());
-        dataWithTimestamp.flip();
-        
-        byte[] dataToWrite = new byte[dataWithTimestamp.remaining()];
-        dataWithTimestamp.get(dataToWrite);
+        if (compressionType == LRFConstants.COMPRESSION_NONE || LRFRegionWriter.isPreCompressed(data)) {
+            return new CompressedChunk(chunk, data, LRFConstants.COMPRESSION_NONE);
+        }
         
-        // Compress if needed
-        byte[] compressedData;
-        if (compressionType == LRFConstants.COMPRESSION_NONE) {
-            compressedData = dataToWrite;
-        } else {
-            try {
-                compressedData = TurboCompressionService.getInstance().compress(dataToWrite);
-            } catch (Exception e) {
-                System.err.println("[TurboMC] Compression failed for chunk: " + e.getMessage());
-                compressedData = dataToWrite; // Fallback to uncompressed
+        try {
+            if (AdaptiveCodecSelector.isEnabled()) {
+                AdaptiveCodecSelector.Selection selection = AdaptiveCodecSelector.getInstance().compress(data, archive);
+                return new CompressedChunk(chunk, selection.data(), selection.compressionType());
             }
+            byte[] compressedData = LRFRegionWriter.compressForRegion(regionPath, data);
+            return new CompressedChunk(chunk, compressedData,
+                LRFRegionWriter.frameCompressionType(compressionType, compressedData));
+        } catch (Exception e) {
+            System.err.println("[TurboMC] Compression failed for chunk: " + e.getMessage());
+            return new CompressedChunk(chunk, data, LRFConstants.COMPRESSION_NONE); // Fallback to uncompressed
         }
-        
-        return new CompressedChunk(chunk, compressedData);
     }
     
     /**
@@ -364,12 +375,16 @@ public class ChunkBatchSaver implements AutoCloseable {
                 // Write chunks sequentially - already synchronized in LRFRegionWriter, 
                 // but we stay synchronized here to ensure flush() follows immediately
                 for (CompressedChunk compressedChunk : compressedChunks) {
-                    regionWriter.addChunk(compressedChunk.originalChunk);
+                    regionWriter.writeCompressedChunk(compressedChunk.originalChunk.getChunkX(),
+                        compressedChunk.originalChunk.getChunkZ(), compressedChunk.compressedData,
+                        compressedChunk.compressionType, compressedChunk.metadata);
                 }
                 
-                // Smart flushing: Only force fsync if 2 seconds passed OR batch is large
-                boolean shouldForce = (System.currentTimeMillis() - lastForceTime > 2000) || 
-                                     (compressedChunks.size() >= batchSize / 2);
+                // Journaled regions are made durable by the journal's group commit. Otherwise
+                // only force fsync if 2 seconds passed OR batch is large
+                boolean shouldForce = !regionWriter.isJournaled() &&
+                                     ((System.currentTimeMillis() - lastForceTime > 2000) || 
+                                      (compressedChunks.size() >= batchSize / 2));
                 
                 regionWriter.flush(shouldForce);
                 
@@ -382,6 +397,37 @@ public class ChunkBatchSaver implements AutoCloseable {
         }, writeExecutor);
     }
     
+    /**
+     * Compact the region file on the write executor, interleaved with regular batch writes.
+     * 
+     * @param minFragmentation Minimum fraction of dead space before chunks are moved
+     * @param maxMoves Maximum chunks moved in this pass
+     * @return Result of the pass, or null if this saver has not opened the region for writing
+     */
+    public CompletableFuture<LRFRegionCompactor.CompactionResult> compact(double minFragmentation, int maxMoves) {
+        LRFRegionWriter writer = regionWriter;
+        if (writer == null || isClosed.get()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // The writer publishes the header of moved chunks to the shared resource
+                return new LRFRegionCompactor(writer, minFragmentation, maxMoves).compact();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to compact " + regionPath, e);
+            }
+        }, writeExecutor);
+    }
+    
+    /**
+     * Get free-space statistics for the region, or null if not opened for writing yet.
+     */
+    public LRFExtentAllocator.SpaceStats getSpaceStats() {
+        LRFRegionWriter writer = regionWriter;
+        return writer != null ? writer.getSpaceStats() : null;
+    }
+    
     /**
      * Wait for all pending operations to complete.
      * 
@@ -458,10 +504,10 @@ public class ChunkBatchSaver implements AutoCloseable {
     public void close() throws IOException {
         if (isClosed.compareAndSet(false, true)) {
             try {
-                // Flush remaining chunks with a mandatory fsync
+                // Flush remaining chunks with a mandatory fsync, even if no batch was written yet
+                flushBatch().get(10, TimeUnit.SECONDS);
                 if (regionWriter != null) {
-                    flushBatch().get(10, TimeUnit.SECONDS);
-                    regionWriter.flush(true);
+                    regionWriter.sync();
                     regionWriter.close();
                     regionWriter = null;
                 }
@@ -493,10 +539,16 @@ public class ChunkBatchSaver implements AutoCloseable {
     private static class CompressedChunk {
         final LRFChunkEntry originalChunk;
         final byte[] compressedData;
+        final int compressionType;
+        final LRFChunkMetadata metadata;
         
-        CompressedChunk(LRFChunkEntry originalChunk, byte[] compressedData) {
+        CompressedChunk(LRFChunkEntry originalChunk, byte[] compressedData, int compressionType) {
             this.originalChunk = originalChunk;
             this.compressedData = compressedData;
+            this.compressionType = compressionType;
+            // Checksummed here on the compression pool rather than on the single write thread
+            this.metadata = originalChunk.getMetadata() != null
+                ? originalChunk.getMetadata() : LRFChunkMetadata.forData(originalChunk.getData());
         }
     }
     
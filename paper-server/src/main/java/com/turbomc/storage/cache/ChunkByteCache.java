@@ -0,0 +1,633 @@
+package com.turbomc.storage.cache;
+
+import com.turbomc.config.TurboConfig;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sharded, byte-weighted cache for decompressed chunk data.
+ *
+ * Reads are lock-free: a hit is a ConcurrentHashMap lookup plus a reference-bit bump.
+ * Only inserts and evictions take a lock, and only that of the key's shard.
+ *
+ * Eviction is CLOCK with small frequency counters (0-3): the hand decays counters and
+ * evicts the first entry that reaches zero. Admission is TinyLFU: when space is needed,
+ * a candidate that has been requested less often than the victim (per a count-min sketch
+ * of recent requests) is not cached, so one-off scans cannot flush the hot set.
+ *
+ * Every invalidation bumps a generation. A reader that captures {@link #generation} before
+ * reading the region header inserts with {@link #putIfGeneration}, so data read from a
+ * header that a writer has since replaced is never cached after the writer dropped it.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class ChunkByteCache {
+
+    private static final int MAX_FREQUENCY = 3;
+    private static final int MAX_SHARDS = 64;
+    private static final int CHUNK_GENERATION_STRIPES = 4096;
+    private static final int REGION_GENERATION_STRIPES = 256;
+
+    private static volatile ChunkByteCache shared;
+
+    private final Shard[] shards;
+    private final int shardShift;
+    private final long capacityBytes;
+    private final long ttlMillis;
+    private final EvictionListener listener;
+
+    // Invalidation generations, striped: a bump of an unrelated key only costs a skipped insert
+    private final AtomicLongArray chunkGenerations = new AtomicLongArray(CHUNK_GENERATION_STRIPES);
+    private final AtomicLongArray regionGenerations = new AtomicLongArray(REGION_GENERATION_STRIPES);
+    private final AtomicLong clearGeneration = new AtomicLong();
+
+    /**
+     * Key of a cached chunk: region file (absolute, normalized) and a chunk id unique within
+     * it, e.g. the chunk index (0-1023) or packed absolute coordinates.
+     */
+    public record ChunkKey(Path region, long chunk) {}
+
+    /**
+     * Notified with entries the cache evicts to make room (not on invalidation).
+     */
+    @FunctionalInterface
+    public interface EvictionListener {
+        void onEvict(Path region, long chunk, byte[] data);
+    }
+
+    /**
+     * @param capacityBytes Total byte budget, split evenly across shards
+     * @param shardCount Number of shards (rounded up to a power of two), 0 for automatic
+     * @param ttlMillis Maximum entry age, 0 for no expiry
+     */
+    public ChunkByteCache(long capacityBytes, int shardCount, long ttlMillis) {
+        this(capacityBytes, shardCount, ttlMillis, null);
+    }
+
+    /**
+     * @param capacityBytes Total byte budget, split evenly across shards
+     * @param shardCount Number of shards (rounded up to a power of two), 0 for automatic
+     * @param ttlMillis Maximum entry age, 0 for no expiry
+     * @param listener Eviction listener, may be null
+     */
+    public ChunkByteCache(long capacityBytes, int shardCount, long ttlMillis, EvictionListener listener) {
+        if (shardCount <= 0) {
+            shardCount = Runtime.getRuntime().availableProcessors() * 2;
+        }
+        int count = ceilPowerOfTwo(Math.min(MAX_SHARDS, shardCount));
+
+        this.capacityBytes = Math.max(0, capacityBytes);
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.listener = listener;
+        this.shardShift = 32 - Integer.numberOfTrailingZeros(count);
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(this.capacityBytes / count);
+        }
+    }
+
+    /**
+     * Get the process-wide cache used by region readers.
+     */
+    public static ChunkByteCache shared() {
+        ChunkByteCache cache = shared;
+        if (cache == null) {
+            synchronized (ChunkByteCache.class) {
+                cache = shared;
+                if (cache == null) {
+                    long sizeMb = 256;
+                    int shardCount = 0;
+                    long ttlMinutes = 10;
+                    try {
+                        TurboConfig config = TurboConfig.getInstance();
+                        sizeMb = config.getLong("storage.cache.size-mb", 256L);
+                        shardCount = config.getInt("storage.cache.shards", 0);
+                        ttlMinutes = config.getLong("storage.cache.ttl-minutes", 10L);
+                    } catch (Exception ignored) {
+                        // Config not initialized (tools, tests) - keep defaults
+                    }
+                    cache = shared = new ChunkByteCache(sizeMb * 1024 * 1024, shardCount, ttlMinutes * 60 * 1000);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Normalize a region path so readers and writers opened with different spellings
+     * of the same file share entries.
+     */
+    public static Path regionKey(Path region) {
+        return region.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Look up a chunk. Lock-free.
+     *
+     * @param region Region path as returned by {@link #regionKey}
+     * @param chunk Chunk id within the region
+     * @return Cached data, or null
+     */
+    public byte[] get(Path region, long chunk) {
+        ChunkKey key = new ChunkKey(region, chunk);
+        int hash = spread(key.hashCode());
+        Shard shard = shardFor(hash);
+
+        Node node = shard.map.get(key);
+        if (node == null) {
+            shard.misses.increment();
+            shard.sketch.increment(hash);
+            return null;
+        }
+
+        if (ttlMillis > 0 && System.currentTimeMillis() - node.createdAt > ttlMillis) {
+            shard.lock.lock();
+            try {
+                shard.unlink(node);
+            } finally {
+                shard.lock.unlock();
+            }
+            shard.misses.increment();
+            shard.sketch.increment(hash);
+            return null;
+        }
+
+        // Racy increment is fine: the counter is a recency hint, not an exact count
+        if (node.frequency < MAX_FREQUENCY) {
+            node.frequency++;
+        }
+        shard.sketch.increment(hash);
+        shard.hits.increment();
+        return node.data;
+    }
+
+    /**
+     * Insert or replace a chunk.
+     *
+     * @param region Region path as returned by {@link #regionKey}
+     * @param chunk Chunk id within the region
+     * @param data Chunk data; must not be modified afterwards
+     * @return True if cached, false if rejected by admission or size
+     */
+    public boolean put(Path region, long chunk, byte[] data) {
+        return put(region, chunk, data, false, 0);
+    }
+
+    /**
+     * Current invalidation generation of a chunk. Capture it before reading the region
+     * header and pass it to {@link #putIfGeneration}.
+     *
+     * @param region Region path as returned by {@link #regionKey}
+     * @param chunk Chunk id within the region
+     * @return Generation; changes whenever the chunk, its region or the cache is invalidated
+     */
+    public long generation(Path region, long chunk) {
+        ChunkKey key = new ChunkKey(region, chunk);
+        // Every counter only grows, so the sum changes with any bump
+        return clearGeneration.get()
+            + regionGenerations.get(regionStripe(region))
+            + chunkGenerations.get(chunkStripe(spread(key.hashCode())));
+    }
+
+    /**
+     * Insert a chunk read from disk, unless it was invalidated after the reader captured
+     * {@code generation}: the data may then come from a header a writer has replaced.
+     *
+     * @param region Region path as returned by {@link #regionKey}
+     * @param chunk Chunk id within the region
+     * @param data Chunk data; must not be modified afterwards
+     * @param generation Value of {@link #generation} taken before the header was read
+     * @return True if cached, false if invalidated since, or rejected by admission or size
+     */
+    public boolean putIfGeneration(Path region, long chunk, byte[] data, long generation) {
+        return put(region, chunk, data, true, generation);
+    }
+
+    private boolean put(Path region, long chunk, byte[] data, boolean checkGeneration, long generation) {
+        if (data == null) {
+            return false;
+        }
+        ChunkKey key = new ChunkKey(region, chunk);
+        int hash = spread(key.hashCode());
+        Shard shard = shardFor(hash);
+        int weight = data.length;
+
+        if (weight > shard.capacity) {
+            shard.rejections.increment();
+            return false;
+        }
+
+        List<Node> evicted = null;
+        shard.lock.lock();
+        try {
+            // Checked under the shard lock, which invalidation takes after bumping the generation
+            if (checkGeneration && generation(region, chunk) != generation) {
+                shard.rejections.increment();
+                return false;
+            }
+            Node existing = shard.map.get(key);
+            long needed = weight - (existing != null ? existing.weight : 0);
+
+            while (shard.weight + needed > shard.capacity && shard.ringSize > 0) {
+                Node victim = shard.nextVictim(existing);
+                if (victim == null) {
+                    break;
+                }
+                if (existing == null && shard.sketch.frequency(hash) < shard.sketch.frequency(victim.hash)) {
+                    shard.rejections.increment();
+                    return false;
+                }
+                shard.unlink(victim);
+                shard.evictions.increment();
+                if (listener != null) {
+                    if (evicted == null) {
+                        evicted = new ArrayList<>();
+                    }
+                    evicted.add(victim);
+                }
+            }
+
+            if (shard.weight + needed > shard.capacity) {
+                shard.rejections.increment();
+                return false;
+            }
+
+            Node node = new Node(key, hash, data, System.currentTimeMillis());
+            if (existing != null) {
+                node.frequency = existing.frequency;
+                shard.replace(existing, node);
+            } else {
+                shard.link(node);
+            }
+            return true;
+        } finally {
+            shard.lock.unlock();
+            if (evicted != null) {
+                for (Node node : evicted) {
+                    listener.onEvict(node.key.region(), node.key.chunk(), node.data);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop a chunk, e.g. after it was rewritten.
+     *
+     * @param region Region path as returned by {@link #regionKey}
+     * @param chunk Chunk id within the region
+     */
+    public void invalidate(Path region, long chunk) {
+        ChunkKey key = new ChunkKey(region, chunk);
+        int hash = spread(key.hashCode());
+        Shard shard = shardFor(hash);
+        // Bump before taking the lock: a reader still holding the old generation is then
+        // either rejected or has already linked its entry, which is removed below
+        chunkGenerations.incrementAndGet(chunkStripe(hash));
+        shard.lock.lock();
+        try {
+            Node node = shard.map.get(key);
+            if (node != null) {
+                shard.unlink(node);
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Drop every chunk of a region.
+     *
+     * @param region Region path as returned by {@link #regionKey}
+     * @return Number of entries removed
+     */
+    public int invalidateRegion(Path region) {
+        regionGenerations.incrementAndGet(regionStripe(region));
+        int removed = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                for (int i = shard.ringSize - 1; i >= 0; i--) {
+                    Node node = shard.ring[i];
+                    if (node.key.region().equals(region)) {
+                        shard.unlink(node);
+                        removed++;
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove entries older than the TTL.
+     *
+     * @return Number of entries removed
+     */
+    public int cleanupExpired() {
+        if (ttlMillis <= 0) {
+            return 0;
+        }
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        int removed = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                for (int i = shard.ringSize - 1; i >= 0; i--) {
+                    Node node = shard.ring[i];
+                    if (node.createdAt < cutoff) {
+                        shard.unlink(node);
+                        removed++;
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        clearGeneration.incrementAndGet();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                shard.map.clear();
+                Arrays.fill(shard.ring, 0, shard.ringSize, null);
+                shard.ringSize = 0;
+                shard.hand = 0;
+                shard.weight = 0;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    public long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    /**
+     * Get current and per-shard statistics.
+     */
+    public CacheStats getStats() {
+        List<ShardStats> perShard = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            perShard.add(new ShardStats(shard.map.size(), shard.weight, shard.capacity,
+                shard.hits.sum(), shard.misses.sum(), shard.evictions.sum(), shard.rejections.sum()));
+        }
+        return new CacheStats(Collections.unmodifiableList(perShard));
+    }
+
+    private Shard shardFor(int hash) {
+        return shards.length == 1 ? shards[0] : shards[(hash * 0x9E3779B9) >>> shardShift];
+    }
+
+    private static int chunkStripe(int hash) {
+        return (hash * 0x9E3779B9) & (CHUNK_GENERATION_STRIPES - 1);
+    }
+
+    private static int regionStripe(Path region) {
+        return spread(region.hashCode()) & (REGION_GENERATION_STRIPES - 1);
+    }
+
+    private static int ceilPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Cache entry. Immutable apart from the CLOCK counter and its ring slot.
+     */
+    private static final class Node {
+        final ChunkKey key;
+        final int hash;
+        final byte[] data;
+        final int weight;
+        final long createdAt;
+        volatile int frequency;
+        int ringIndex = -1; // Guarded by shard lock
+
+        Node(ChunkKey key, int hash, byte[] data, long createdAt) {
+            this.key = key;
+            this.hash = hash;
+            this.data = data;
+            this.weight = data.length;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * One independently locked partition of the cache.
+     */
+    private static final class Shard {
+        final ConcurrentHashMap<ChunkKey, Node> map = new ConcurrentHashMap<>();
+        final ReentrantLock lock = new ReentrantLock();
+        final FrequencySketch sketch;
+        final long capacity;
+
+        // CLOCK ring, guarded by lock
+        Node[] ring = new Node[64];
+        int ringSize;
+        int hand;
+        volatile long weight;
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder rejections = new LongAdder();
+
+        Shard(long capacity) {
+            this.capacity = capacity;
+            // Size the sketch for the entry count the budget holds at ~8KB per chunk
+            this.sketch = new FrequencySketch((int) Math.min(1 << 20, Math.max(64, capacity / 8192)));
+        }
+
+        void link(Node node) {
+            if (ringSize == ring.length) {
+                ring = Arrays.copyOf(ring, ring.length * 2);
+            }
+            node.ringIndex = ringSize;
+            ring[ringSize++] = node;
+            map.put(node.key, node);
+            weight += node.weight;
+        }
+
+        void replace(Node old, Node node) {
+            node.ringIndex = old.ringIndex;
+            ring[old.ringIndex] = node;
+            old.ringIndex = -1;
+            map.put(node.key, node);
+            weight += node.weight - old.weight;
+        }
+
+        void unlink(Node node) {
+            int index = node.ringIndex;
+            if (index < 0) {
+                return; // Already removed by another thread
+            }
+            // Swap-remove keeps the ring dense; the moved entry just gets visited a bit early or late
+            Node last = ring[--ringSize];
+            ring[index] = last;
+            last.ringIndex = index;
+            ring[ringSize] = null;
+            node.ringIndex = -1;
+            if (hand >= ringSize) {
+                hand = 0;
+            }
+            map.remove(node.key, node);
+            weight -= node.weight;
+        }
+
+        /**
+         * Advance the CLOCK hand to the next entry with a zero counter, decaying
+         * counters on the way. Never returns {@code skip}.
+         */
+        Node nextVictim(Node skip) {
+            int limit = ringSize * (MAX_FREQUENCY + 1) + 1;
+            for (int i = 0; i < limit; i++) {
+                Node node = ring[hand];
+                hand = hand + 1 < ringSize ? hand + 1 : 0;
+                if (node == skip) {
+                    continue;
+                }
+                if (node.frequency > 0) {
+                    node.frequency--;
+                } else {
+                    return node;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Count-min sketch of request frequency with 4-bit counters and periodic halving,
+     * so popularity ages out. Updates are unsynchronized; a lost increment only makes
+     * the estimate slightly lower.
+     */
+    static final class FrequencySketch {
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int expectedEntries) {
+            int size = ceilPowerOfTwo(Math.max(16, expectedEntries));
+            this.table = new long[size];
+            this.tableMask = size - 1;
+            this.sampleSize = size * 10;
+        }
+
+        void increment(int hash) {
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = (start + i) << 2;
+                long mask = 0xfL << offset;
+                long value = table[index];
+                if ((value & mask) != mask) {
+                    table[index] = value + (1L << offset);
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int hash) {
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = (start + i) << 2;
+                frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xfL));
+            }
+            return frequency;
+        }
+
+        private int indexOf(int hash, int depth) {
+            long h = (hash + SEEDS[depth]) * SEEDS[depth];
+            h += h >>> 32;
+            return ((int) h) & tableMask;
+        }
+
+        private void reset() {
+            additions = 0;
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+        }
+    }
+
+    /**
+     * Statistics for one shard.
+     */
+    public record ShardStats(int entries, long weightBytes, long capacityBytes,
+                             long hits, long misses, long evictions, long rejections) {
+        public double getHitRate() {
+            long total = hits + misses;
+            return total > 0 ? (double) hits / total * 100 : 0;
+        }
+    }
+
+    /**
+     * Aggregate statistics with the per-shard breakdown.
+     */
+    public record CacheStats(List<ShardStats> shards) {
+        public int getEntries() {
+            return shards.stream().mapToInt(ShardStats::entries).sum();
+        }
+
+        public long getWeightBytes() {
+            return shards.stream().mapToLong(ShardStats::weightBytes).sum();
+        }
+
+        public long getHits() {
+            return shards.stream().mapToLong(ShardStats::hits).sum();
+        }
+
+        public long getMisses() {
+            return shards.stream().mapToLong(ShardStats::misses).sum();
+        }
+
+        public long getEvictions() {
+            return shards.stream().mapToLong(ShardStats::evictions).sum();
+        }
+
+        public double getHitRate() {
+            long total = getHits() + getMisses();
+            return total > 0 ? (double) getHits() / total * 100 : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ChunkByteCache{shards=%d, entries=%d, usage=%.1fMB, hitRate=%.1f%%, evictions=%d}",
+                shards.size(), getEntries(), getWeightBytes() / 1024.0 / 1024.0, getHitRate(), getEvictions());
+        }
+    }
+}
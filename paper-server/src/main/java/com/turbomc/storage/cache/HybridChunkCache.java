@@ -1,24 +1,24 @@
 package com.turbomc.storage.cache;
 
+import com.turbomc.compression.CompressionException;
+import com.turbomc.compression.TurboCompressionService;
 import com.turbomc.storage.lrf.LRFConstants;
 import com.turbomc.storage.lrf.LRFChunkEntry;
 import com.turbomc.storage.lrf.LRFRegionReader;
-import com.turbomc.storage.lrf.LRFRegionWriter;
-import com.turbomc.storage.mmap.MMapReadAheadEngine;
-import com.turbomc.storage.optimization.SharedRegionResource;
+import com.turbomc.storage.optimization.StorageScheduler;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Hybrid 3-level chunk cache system for optimal performance.
@@ -28,13 +28,14 @@ import java.util.Map;
  * without explicit configuration and testing.
  * 
  * Architecture:
- * L1: ChunkHotCache (RAM) - 256-512MB, LRU, active chunks
- * L2: ChunkWarmCache (mmap) - 1-2GB, disk-mapped, recent chunks  
+ * L1: ChunkHotCache (RAM) - the shared {@link ChunkByteCache} region readers fill, active chunks
+ * L2: ChunkWarmCache (off-heap) - 1-2GB, compressed in slab-allocated native memory, recent chunks
  * L3: ChunkColdStorage (LRF) - Permanent storage
  * 
  * Features:
- * - Intelligent LRU eviction policy
- * - Automatic cache promotion/demotion
+ * - Frequency-aware CLOCK eviction with TinyLFU admission
+ * - Automatic cache promotion (hot: decompressed on-heap, warm: compressed off-heap); promoted
+ *   chunks keep their warm copy, since the shared hot cache evicts without notice
  * - Memory pressure handling
  * - Performance statistics and telemetry
  * - Background maintenance tasks
@@ -51,8 +52,9 @@ public class HybridChunkCache implements AutoCloseable {
     private final ChunkWarmCache warmCache;
     private final ChunkColdStorage coldStorage;
     
-    // Management
-    private final ScheduledExecutorService maintenanceExecutor;
+    // Management (maintenance runs on the shared storage scheduler)
+    private final StorageScheduler scheduler;
+    private final List<ScheduledFuture<?>> maintenanceTasks = new CopyOnWriteArrayList<>();
     private final AtomicBoolean isClosed;
     private final CacheStatistics statistics;
     
@@ -70,7 +72,7 @@ public class HybridChunkCache implements AutoCloseable {
      */
     public HybridChunkCache(Path regionPath) throws IOException {
         this(regionPath, 
-             512 * 1024 * 1024L,  // 512MB hot cache
+             ChunkByteCache.shared(), // Hot cache shared with the region readers
              2L * 1024 * 1024 * 1024L, // 2GB warm cache
              5,  // promotion threshold (accesses)
              20); // demotion threshold (accesses)
@@ -80,30 +82,26 @@ public class HybridChunkCache implements AutoCloseable {
      * Create hybrid cache with custom configuration.
      * 
      * @param regionPath Path to the LRF region file
-     * @param hotCacheMaxSize Maximum size for hot cache in bytes
+     * @param hotCache Hot cache, normally {@link ChunkByteCache#shared()}
      * @param warmCacheMaxSize Maximum size for warm cache in bytes
      * @param promotionThreshold Access count to promote to hot cache
-     * @param demotionThreshold Access count to demote from hot cache
+     * @param demotionThreshold Unused; hot chunks are demoted to the warm cache when evicted
      * @throws IOException if cache cannot be initialized
      */
-    public HybridChunkCache(Path regionPath, long hotCacheMaxSize, long warmCacheMaxSize,
+    public HybridChunkCache(Path regionPath, ChunkByteCache hotCache, long warmCacheMaxSize,
                            int promotionThreshold, int demotionThreshold) throws IOException {
-        this.hotCacheMaxSize = hotCacheMaxSize;
+        this.hotCacheMaxSize = hotCache.getCapacityBytes();
         this.warmCacheMaxSize = warmCacheMaxSize;
         this.promotionThreshold = promotionThreshold;
         this.demotionThreshold = demotionThreshold;
         
         // Initialize cache levels
-        this.hotCache = new ChunkHotCache(hotCacheMaxSize);
-        this.warmCache = new ChunkWarmCache(regionPath, warmCacheMaxSize);
+        this.hotCache = new ChunkHotCache(regionPath, hotCache);
+        this.warmCache = new ChunkWarmCache(warmCacheMaxSize);
         this.coldStorage = new ChunkColdStorage(regionPath);
         
         // Initialize management
-        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "HybridChunkCache-Maintenance");
-            t.setDaemon(true);
-            return t;
-        });
+        this.scheduler = StorageScheduler.shared();
         
         this.isClosed = new AtomicBoolean(false);
         this.statistics = new CacheStatistics();
@@ -111,7 +109,7 @@ public class HybridChunkCache implements AutoCloseable {
         startMaintenanceTasks();
         
         System.out.println("[TurboMC] HybridChunkCache initialized (EXPERIMENTAL): " + regionPath.getFileName() +
-                         " (hot: " + (hotCacheMaxSize / 1024 / 1024) + "MB, " +
+                         " (hot: " + (hotCacheMaxSize / 1024 / 1024) + "MB shared, " +
                          "warm: " + (warmCacheMaxSize / 1024 / 1024) + "MB)");
         System.out.println("[TurboMC] WARNING: HybridChunkCache is experimental and not integrated into the main I/O pipeline.");
         System.out.println("[TurboMC] This cache is provided as a foundation for future enhancements only.");
@@ -122,10 +120,12 @@ public class HybridChunkCache implements AutoCloseable {
      */
     private void startMaintenanceTasks() {
         // Cache maintenance every 30 seconds
-        maintenanceExecutor.scheduleAtFixedRate(this::performMaintenance, 30, 30, TimeUnit.SECONDS);
+        maintenanceTasks.add(scheduler.scheduleWithFixedDelay(StorageScheduler.Lane.MAINTENANCE,
+            StorageScheduler.Priority.BACKGROUND, this::performMaintenance, 30, 30, TimeUnit.SECONDS));
         
         // Statistics logging every 5 minutes
-        maintenanceExecutor.scheduleAtFixedRate(this::logStatistics, 300, 300, TimeUnit.SECONDS);
+        maintenanceTasks.add(scheduler.scheduleWithFixedDelay(StorageScheduler.Lane.MAINTENANCE,
+            StorageScheduler.Priority.BACKGROUND, this::logStatistics, 300, 300, TimeUnit.SECONDS));
     }
     
     /**
@@ -149,15 +149,13 @@ public class HybridChunkCache implements AutoCloseable {
             return CompletableFuture.completedFuture(data);
         }
         
-        // Try L2: Warm Cache (mmap)
+        // Try L2: Warm Cache (off-heap, compressed)
         data = warmCache.get(chunkIndex);
         if (data != null) {
             statistics.recordHit(CacheLevel.WARM);
             
-            // Promote to hot cache if threshold met
-            if (warmCache.getAccessCount(chunkIndex) >= promotionThreshold) {
-                hotCache.put(chunkIndex, data);
-                warmCache.remove(chunkIndex);
+            // Promote to hot cache if threshold met (and the hot cache admits it)
+            if (warmCache.getAccessCount(chunkIndex) >= promotionThreshold && hotCache.put(chunkIndex, data)) {
                 statistics.recordPromotion();
             }
             
@@ -191,7 +189,8 @@ public class HybridChunkCache implements AutoCloseable {
         
         int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
         
-        // Start in warm cache, let promotion logic move it up
+        // Start in warm cache, let promotion logic move it up; drop any stale hot copy
+        hotCache.remove(chunkIndex);
         warmCache.put(chunkIndex, data);
         statistics.recordStore();
     }
@@ -201,9 +200,6 @@ public class HybridChunkCache implements AutoCloseable {
      */
     private void performMaintenance() {
         try {
-            // Demote chunks from hot cache that haven't been accessed recently
-            hotCache.demoteOldChunks(demotionThreshold, warmCache);
-            
             // Clean up expired entries
             warmCache.cleanup();
             
@@ -219,7 +215,7 @@ public class HybridChunkCache implements AutoCloseable {
      * Log performance statistics.
      */
     private void logStatistics() {
-        System.out.println("[TurboMC] HybridChunkCache stats: " + statistics);
+        System.out.println("[TurboMC] HybridChunkCache stats: " + statistics + " " + warmCache.describe());
     }
     
     /**
@@ -244,10 +240,9 @@ public class HybridChunkCache implements AutoCloseable {
     public void close() throws IOException {
         if (isClosed.compareAndSet(false, true)) {
             try {
-                // Shutdown maintenance executor
-                maintenanceExecutor.shutdown();
-                if (!maintenanceExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
-                    maintenanceExecutor.shutdownNow();
+                // Stop maintenance tasks
+                for (ScheduledFuture<?> task : maintenanceTasks) {
+                    task.cancel(false);
                 }
                 
                 // Close cache levels
@@ -271,210 +266,271 @@ public class HybridChunkCache implements AutoCloseable {
     
     /**
      * L1 Cache - Hot chunks in RAM.
+     * This region's view of a sharded CLOCK/TinyLFU cache shared with the region readers.
      */
     private static class ChunkHotCache implements AutoCloseable {
-        private final ConcurrentHashMap<Integer, CacheEntry> cache;
-        private final long maxSize;
-        private final AtomicLong currentSize;
-        private final Object evictionLock = new Object();
+        private final Path regionPath;
+        private final ChunkByteCache cache;
         
-        public ChunkHotCache(long maxSize) {
-            this.cache = new ConcurrentHashMap<>();
-            this.maxSize = maxSize;
-            this.currentSize = new AtomicLong(0);
+        public ChunkHotCache(Path regionPath, ChunkByteCache cache) {
+            this.regionPath = ChunkByteCache.regionKey(regionPath);
+            this.cache = cache;
         }
         
         public byte[] get(int chunkIndex) {
-            CacheEntry entry = cache.get(chunkIndex);
-            if (entry != null) {
-                entry.updateAccess();
-                return entry.data;
-            }
-            return null;
+            return cache.get(regionPath, chunkIndex);
         }
         
-        public void put(int chunkIndex, byte[] data) {
-            // Check size limits
-            if (currentSize.get() + data.length > maxSize) {
-                evictLRU();
-            }
-            
-            // If still over limit, don't cache
-            if (currentSize.get() + data.length > maxSize) {
-                return;
-            }
-            
-            CacheEntry entry = new CacheEntry(data, System.currentTimeMillis());
-            cache.put(chunkIndex, entry);
-            currentSize.addAndGet(data.length);
+        public boolean put(int chunkIndex, byte[] data) {
+            return cache.put(regionPath, chunkIndex, data);
         }
         
         public void remove(int chunkIndex) {
-            CacheEntry entry = cache.remove(chunkIndex);
-            if (entry != null) {
-                currentSize.addAndGet(-entry.data.length);
-            }
-        }
-        
-        public void demoteOldChunks(int threshold, ChunkWarmCache warmCache) {
-            long currentTime = System.currentTimeMillis();
-            long expireTime = currentTime - 300000; // 5 minutes
-            
-            cache.entrySet().removeIf(entry -> {
-                CacheEntry cacheEntry = entry.getValue();
-                if (cacheEntry.accessCount < threshold || cacheEntry.lastAccess < expireTime) {
-                    // Demote to warm cache
-                    warmCache.put(entry.getKey(), cacheEntry.data);
-                    currentSize.addAndGet(-cacheEntry.data.length);
-                    return true;
-                }
-                return false;
-            });
-        }
-        
-        private void evictLRU() {
-            synchronized (evictionLock) {
-                CacheEntry oldest = null;
-                int oldestIndex = -1;
-                long oldestTime = Long.MAX_VALUE;
-                
-                for (var entry : cache.entrySet()) {
-                    CacheEntry cacheEntry = entry.getValue();
-                    if (cacheEntry.lastAccess < oldestTime) {
-                        oldestTime = cacheEntry.lastAccess;
-                        oldest = cacheEntry;
-                        oldestIndex = entry.getKey();
-                    }
-                }
-                
-                if (oldest != null) {
-                    cache.remove(oldestIndex);
-                    currentSize.addAndGet(-oldest.data.length);
-                }
-            }
+            cache.invalidate(regionPath, chunkIndex);
         }
         
+        /**
+         * Bytes held by the whole shared cache.
+         */
         public long getCurrentSize() {
-            return currentSize.get();
+            return cache.getStats().getWeightBytes();
         }
         
         public void clear() {
-            cache.clear();
-            currentSize.set(0);
+            cache.invalidateRegion(regionPath);
         }
         
         @Override
         public void close() {
-            clear();
-        }
-        
-        private static class CacheEntry {
-            final byte[] data;
-            volatile long lastAccess;
-            volatile int accessCount;
-            
-            CacheEntry(byte[] data, long timestamp) {
-                this.data = data;
-                this.lastAccess = timestamp;
-                this.accessCount = 1;
-            }
-            
-            void updateAccess() {
-                this.lastAccess = System.currentTimeMillis();
-                this.accessCount++;
-            }
+            // Entries stay valid for the other users of the shared cache
         }
     }
     
     /**
-     * L2 Cache - Warm chunks using memory-mapped files.
+     * L2 Cache - Warm chunks, compressed, in off-heap slabs.
+     * LRU over an access-ordered map; all state is guarded by the cache's lock, while
+     * (de)compression runs outside it.
      */
     private static class ChunkWarmCache implements AutoCloseable {
-        private final MMapReadAheadEngine mmapEngine;
-        private final ConcurrentHashMap<Integer, WarmCacheEntry> cache;
-        private final long maxSize;
-        private final AtomicLong currentSize;
+        private static final long EXPIRE_MILLIS = 600000; // 10 minutes
+        private static final int SAME_CLASS_SCAN = 64;
+        
+        private final OffHeapSlabStore store;
+        private final LinkedHashMap<Integer, WarmCacheEntry> cache;
+        private final ReentrantLock lock;
+        private long evictions;
+        private long rejections;
+        private boolean closed;
         
-        public ChunkWarmCache(Path regionPath, long maxSize) throws IOException {
-            this.mmapEngine = new MMapReadAheadEngine(regionPath, 1024, 8, 32, maxSize);
-            this.cache = new ConcurrentHashMap<>();
-            this.maxSize = maxSize;
-            this.currentSize = new AtomicLong(0);
+        public ChunkWarmCache(long maxSize) {
+            this.store = new OffHeapSlabStore(maxSize);
+            this.cache = new LinkedHashMap<>(1024, 0.75f, true);
+            this.lock = new ReentrantLock();
         }
         
         public byte[] get(int chunkIndex) {
-            WarmCacheEntry entry = cache.get(chunkIndex);
-            if (entry != null) {
-                entry.updateAccess();
-                try {
-                    return mmapEngine.readChunk(entry.chunkX, entry.chunkZ);
-                } catch (IOException e) {
-                    // Log error and return null on read failure
-                    System.err.println("Failed to read chunk from mmap engine: " + e.getMessage());
+            byte[] compressed;
+            lock.lock();
+            try {
+                WarmCacheEntry entry = closed ? null : cache.get(chunkIndex);
+                if (entry == null) {
                     return null;
                 }
+                entry.updateAccess();
+                compressed = store.read(entry.handle, entry.compressedLength);
+            } finally {
+                lock.unlock();
+            }
+            
+            try {
+                return TurboCompressionService.getInstance().decompress(compressed);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[TurboMC] Warm cache decompression failed for chunk " + chunkIndex + ": " + e.getMessage());
+                remove(chunkIndex);
+                return null;
             }
-            return null;
         }
         
         public void put(int chunkIndex, byte[] data) {
-            // Extract coordinates from index
-            int chunkX = (chunkIndex >> 16) & 0xFFFF;
-            int chunkZ = chunkIndex & 0xFFFF;
+            byte[] compressed;
+            try {
+                compressed = TurboCompressionService.getInstance().compress(data);
+            } catch (CompressionException | RuntimeException e) {
+                return; // Not cacheable; the chunk is still in cold storage
+            }
+            
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                WarmCacheEntry previous = cache.remove(chunkIndex);
+                if (previous != null) {
+                    store.free(previous.handle, previous.compressedLength);
+                }
+                if (compressed.length > OffHeapSlabStore.MAX_SLOT_SIZE) {
+                    rejections++;
+                    return;
+                }
+                
+                long handle = store.allocate(compressed.length);
+                if (handle < 0) {
+                    handle = evictFor(compressed.length);
+                }
+                if (handle < 0) {
+                    rejections++;
+                    return;
+                }
+                
+                store.write(handle, compressed, 0, compressed.length);
+                cache.put(chunkIndex, new WarmCacheEntry(handle, compressed.length, data.length, System.currentTimeMillis()));
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        /**
+         * Evict until a slot for {@code length} bytes can be allocated.
+         *
+         * @return Slot handle, or -1 if the cache ran empty first
+         */
+        private long evictFor(int length) {
+            int slotSize = OffHeapSlabStore.slotSize(length);
+            
+            // Prefer the least recently used chunk of the same slot size: freeing it frees exactly the slot needed
+            Iterator<WarmCacheEntry> lru = cache.values().iterator();
+            for (int scanned = 0; lru.hasNext() && scanned < SAME_CLASS_SCAN; scanned++) {
+                WarmCacheEntry victim = lru.next();
+                if (OffHeapSlabStore.slotSize(victim.compressedLength) == slotSize) {
+                    lru.remove();
+                    store.free(victim.handle, victim.compressedLength);
+                    evictions++;
+                    return store.allocate(length);
+                }
+            }
             
-            WarmCacheEntry entry = new WarmCacheEntry(chunkX, chunkZ, System.currentTimeMillis());
-            cache.put(chunkIndex, entry);
-            currentSize.addAndGet(data.length);
+            // Otherwise evict in LRU order until a whole page is released
+            lru = cache.values().iterator();
+            while (lru.hasNext()) {
+                WarmCacheEntry victim = lru.next();
+                lru.remove();
+                store.free(victim.handle, victim.compressedLength);
+                evictions++;
+                long handle = store.allocate(length);
+                if (handle >= 0) {
+                    return handle;
+                }
+            }
+            return -1;
         }
         
         public void remove(int chunkIndex) {
-            WarmCacheEntry entry = cache.remove(chunkIndex);
-            if (entry != null) {
-                currentSize.addAndGet(-1000); // Estimate
+            lock.lock();
+            try {
+                WarmCacheEntry entry = closed ? null : cache.remove(chunkIndex);
+                if (entry != null) {
+                    store.free(entry.handle, entry.compressedLength);
+                }
+            } finally {
+                lock.unlock();
             }
         }
         
         public int getAccessCount(int chunkIndex) {
-            WarmCacheEntry entry = cache.get(chunkIndex);
-            return entry != null ? entry.accessCount : 0;
+            lock.lock();
+            try {
+                WarmCacheEntry entry = cache.get(chunkIndex);
+                return entry != null ? entry.accessCount : 0;
+            } finally {
+                lock.unlock();
+            }
         }
         
         public void cleanup() {
-            long expireTime = System.currentTimeMillis() - 600000; // 10 minutes
+            long expireTime = System.currentTimeMillis() - EXPIRE_MILLIS;
             
-            cache.values().removeIf(entry -> {
-                if (entry.lastAccess < expireTime) {
-                    currentSize.addAndGet(-1000); // Estimate
-                    return true;
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
                 }
-                return false;
-            });
+                cache.values().removeIf(entry -> {
+                    if (entry.lastAccess < expireTime) {
+                        store.free(entry.handle, entry.compressedLength);
+                        return true;
+                    }
+                    return false;
+                });
+            } finally {
+                lock.unlock();
+            }
         }
         
+        /**
+         * Compressed bytes held.
+         */
         public long getCurrentSize() {
-            return currentSize.get();
+            lock.lock();
+            try {
+                return closed ? 0 : store.getPayloadBytes();
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        public String describe() {
+            lock.lock();
+            try {
+                long rawBytes = 0;
+                for (WarmCacheEntry entry : cache.values()) {
+                    rawBytes += entry.rawLength;
+                }
+                return String.format("WarmCache{entries=%d, uncompressed=%.1fMB, evictions=%d, rejections=%d, %s}",
+                        cache.size(), rawBytes / 1024.0 / 1024.0, evictions, rejections,
+                        closed ? "closed" : store.getStats());
+            } finally {
+                lock.unlock();
+            }
         }
         
         public void clear() {
-            cache.clear();
-            currentSize.set(0);
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                for (WarmCacheEntry entry : cache.values()) {
+                    store.free(entry.handle, entry.compressedLength);
+                }
+                cache.clear();
+            } finally {
+                lock.unlock();
+            }
         }
         
         @Override
-        public void close() throws IOException {
-            clear();
-            mmapEngine.close();
+        public void close() {
+            lock.lock();
+            try {
+                closed = true;
+                cache.clear();
+                store.close();
+            } finally {
+                lock.unlock();
+            }
         }
         
         private static class WarmCacheEntry {
-            final int chunkX;
-            final int chunkZ;
-            volatile long lastAccess;
-            volatile int accessCount;
+            final long handle;
+            final int compressedLength;
+            final int rawLength;
+            long lastAccess;
+            int accessCount;
             
-            WarmCacheEntry(int chunkX, int chunkZ, long timestamp) {
-                this.chunkX = chunkX;
-                this.chunkZ = chunkZ;
+            WarmCacheEntry(long handle, int compressedLength, int rawLength, long timestamp) {
+                this.handle = handle;
+                this.compressedLength = compressedLength;
+                this.rawLength = rawLength;
                 this.lastAccess = timestamp;
                 this.accessCount = 1;
             }
@@ -510,7 +566,7 @@ public class HybridChunkCache implements AutoCloseable {
                     System.err.println("[TurboMC] Cold storage read error: " + e.getMessage());
                 }
                 return null;
-            });
+            }, StorageScheduler.shared().executor(StorageScheduler.Lane.READ, StorageScheduler.Priority.URGENT));
         }
         
         private LRFRegionReader getReader() throws IOException {
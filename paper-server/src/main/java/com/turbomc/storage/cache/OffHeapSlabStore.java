@@ -0,0 +1,309 @@
+package com.turbomc.storage.cache;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Slab allocator over off-heap memory for variable-sized byte blobs (compressed chunks).
+ *
+ * Memory is reserved from a shared {@link Arena} in fixed 1MB pages, lazily and up to the
+ * configured capacity. A page is dedicated to one size class (512B to 1MB in steps of
+ * 1x/1.5x powers of two, so at most a third of a slot is wasted) and carved into equal
+ * slots. Pages whose slots are all free go back to a global free list and can be reused
+ * by any class, so memory does not stay stuck in classes that are no longer needed.
+ *
+ * A slot is addressed by a handle ({@code page << 20 | offset}). The store is not
+ * thread-safe; callers serialize access.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class OffHeapSlabStore implements AutoCloseable {
+
+    public static final int PAGE_SHIFT = 20;
+    public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    public static final int MIN_SLOT_SIZE = 512;
+    public static final int MAX_SLOT_SIZE = PAGE_SIZE;
+
+    private static final long OFFSET_MASK = PAGE_SIZE - 1;
+    private static final int[] CLASS_SIZES = buildClassSizes();
+
+    private final Arena arena;
+    private final int maxPages;
+    private final List<Page> pages = new ArrayList<>();
+    private final ArrayDeque<Page> freePages = new ArrayDeque<>();
+    private final SizeClass[] classes;
+
+    private long usedBytes;
+    private long payloadBytes;
+    private long allocations;
+    private long failedAllocations;
+    private boolean closed;
+
+    /**
+     * @param capacityBytes Maximum off-heap memory to reserve, rounded down to whole pages
+     */
+    public OffHeapSlabStore(long capacityBytes) {
+        this.maxPages = (int) Math.min(Integer.MAX_VALUE >> 1, Math.max(1, capacityBytes >> PAGE_SHIFT));
+        this.arena = Arena.ofShared();
+        this.classes = new SizeClass[CLASS_SIZES.length];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new SizeClass(CLASS_SIZES[i]);
+        }
+    }
+
+    /**
+     * Reserve a slot for {@code size} bytes.
+     *
+     * @return Slot handle, or -1 if no slot of that class is free and the capacity is exhausted
+     * @throws IllegalArgumentException if size exceeds {@link #MAX_SLOT_SIZE}
+     */
+    public long allocate(int size) {
+        ensureOpen();
+        SizeClass sizeClass = classes[classIndex(size)];
+
+        Page page = sizeClass.partial.peekFirst();
+        if (page == null) {
+            page = takePage(sizeClass);
+            if (page == null) {
+                failedAllocations++;
+                return -1;
+            }
+            sizeClass.partial.addFirst(page);
+        }
+
+        int slot = page.freeSlots[--page.freeCount];
+        if (page.freeCount == 0) {
+            sizeClass.partial.removeFirst();
+        }
+
+        usedBytes += sizeClass.slotSize;
+        payloadBytes += size;
+        allocations++;
+        return ((long) page.index << PAGE_SHIFT) | ((long) slot * sizeClass.slotSize);
+    }
+
+    /**
+     * Release a slot obtained from {@link #allocate}.
+     *
+     * @param handle Slot handle
+     * @param size Size passed to {@link #allocate}
+     */
+    public void free(long handle, int size) {
+        ensureOpen();
+        Page page = pages.get((int) (handle >>> PAGE_SHIFT));
+        SizeClass sizeClass = page.sizeClass;
+        int slot = (int) ((handle & OFFSET_MASK) / sizeClass.slotSize);
+
+        boolean wasFull = page.freeCount == 0;
+        page.freeSlots[page.freeCount++] = slot;
+        usedBytes -= sizeClass.slotSize;
+        payloadBytes -= size;
+
+        if (page.freeCount == page.freeSlots.length) {
+            // Whole page is free again - hand it back for any class to use
+            if (!wasFull) {
+                sizeClass.partial.remove(page);
+            }
+            sizeClass.pages--;
+            page.sizeClass = null;
+            freePages.addLast(page);
+        } else if (wasFull) {
+            sizeClass.partial.addLast(page);
+        }
+    }
+
+    /**
+     * Copy {@code length} bytes of {@code data} into a slot.
+     */
+    public void write(long handle, byte[] data, int offset, int length) {
+        ensureOpen();
+        MemorySegment.copy(data, offset, segmentOf(handle), ValueLayout.JAVA_BYTE, handle & OFFSET_MASK, length);
+    }
+
+    /**
+     * Copy {@code length} bytes out of a slot into a new array.
+     */
+    public byte[] read(long handle, int length) {
+        ensureOpen();
+        byte[] data = new byte[length];
+        MemorySegment.copy(segmentOf(handle), ValueLayout.JAVA_BYTE, handle & OFFSET_MASK, data, 0, length);
+        return data;
+    }
+
+    /**
+     * View of the first {@code length} bytes of a slot. Only valid until the slot is freed.
+     */
+    public ByteBuffer view(long handle, int length) {
+        ensureOpen();
+        return segmentOf(handle).asSlice(handle & OFFSET_MASK, length).asByteBuffer();
+    }
+
+    /**
+     * Slot size used for an allocation of {@code size} bytes.
+     */
+    public static int slotSize(int size) {
+        return CLASS_SIZES[classIndex(size)];
+    }
+
+    /**
+     * Bytes actually held by slots, including rounding up to the slot size.
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Bytes requested by live allocations.
+     */
+    public long getPayloadBytes() {
+        return payloadBytes;
+    }
+
+    /**
+     * Off-heap memory reserved so far (whole pages).
+     */
+    public long getReservedBytes() {
+        return (long) pages.size() * PAGE_SIZE;
+    }
+
+    public long getCapacityBytes() {
+        return (long) maxPages * PAGE_SIZE;
+    }
+
+    public Stats getStats() {
+        int classPages = 0;
+        for (SizeClass sizeClass : classes) {
+            classPages += sizeClass.pages;
+        }
+        return new Stats(getCapacityBytes(), getReservedBytes(), usedBytes, payloadBytes,
+                classPages, freePages.size(), allocations, failedAllocations);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            pages.clear();
+            freePages.clear();
+            for (SizeClass sizeClass : classes) {
+                sizeClass.partial.clear();
+                sizeClass.pages = 0;
+            }
+            usedBytes = 0;
+            payloadBytes = 0;
+            arena.close();
+        }
+    }
+
+    private Page takePage(SizeClass sizeClass) {
+        Page page = freePages.pollFirst();
+        if (page == null) {
+            if (pages.size() >= maxPages) {
+                return null;
+            }
+            page = new Page(pages.size(), arena.allocate(PAGE_SIZE, 64));
+            pages.add(page);
+        }
+        page.assign(sizeClass);
+        sizeClass.pages++;
+        return page;
+    }
+
+    private MemorySegment segmentOf(long handle) {
+        return pages.get((int) (handle >>> PAGE_SHIFT)).segment;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Slab store is closed");
+        }
+    }
+
+    private static int classIndex(int size) {
+        if (size > MAX_SLOT_SIZE) {
+            throw new IllegalArgumentException("Allocation of " + size + " bytes exceeds slot limit " + MAX_SLOT_SIZE);
+        }
+        int low = 0;
+        int high = CLASS_SIZES.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (CLASS_SIZES[mid] < size) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] buildClassSizes() {
+        List<Integer> sizes = new ArrayList<>();
+        for (int size = MIN_SLOT_SIZE; size < MAX_SLOT_SIZE; size <<= 1) {
+            sizes.add(size);
+            sizes.add(size + (size >> 1));
+        }
+        sizes.add(MAX_SLOT_SIZE);
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static final class SizeClass {
+        final int slotSize;
+        // Pages of this class with at least one free slot
+        final ArrayDeque<Page> partial = new ArrayDeque<>();
+        int pages;
+
+        SizeClass(int slotSize) {
+            this.slotSize = slotSize;
+        }
+    }
+
+    private static final class Page {
+        final int index;
+        final MemorySegment segment;
+        SizeClass sizeClass;
+        int[] freeSlots;
+        int freeCount;
+
+        Page(int index, MemorySegment segment) {
+            this.index = index;
+            this.segment = segment;
+        }
+
+        void assign(SizeClass sizeClass) {
+            this.sizeClass = sizeClass;
+            int slots = PAGE_SIZE / sizeClass.slotSize;
+            if (freeSlots == null || freeSlots.length != slots) {
+                freeSlots = new int[slots];
+            }
+            // Hand out low slots first
+            for (int i = 0; i < slots; i++) {
+                freeSlots[i] = slots - 1 - i;
+            }
+            freeCount = slots;
+        }
+    }
+
+    public record Stats(long capacityBytes, long reservedBytes, long usedBytes, long payloadBytes,
+                        int classPages, int freePages, long allocations, long failedAllocations) {
+        /**
+         * Share of slot memory lost to rounding up to the slot size.
+         */
+        public double getInternalFragmentation() {
+            return usedBytes > 0 ? (double) (usedBytes - payloadBytes) / usedBytes * 100 : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SlabStats{reserved=%.1fMB/%.1fMB, used=%.1fMB, payload=%.1fMB, frag=%.1f%%, pages=%d+%d free, allocs=%d, failed=%d}",
+                reservedBytes / 1024.0 / 1024.0, capacityBytes / 1024.0 / 1024.0,
+                usedBytes / 1024.0 / 1024.0, payloadBytes / 1024.0 / 1024.0,
+                getInternalFragmentation(), classPages, freePages, allocations, failedAllocations);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.turbomc.storage.compression;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Groups vanilla biomes into a handful of clusters with similar chunk contents
+ * (blocks, structures, entities), so each cluster can get its own zstd dictionary.
+ *
+ * Classification scans the serialized chunk for {@code minecraft:<biome>} strings
+ * instead of parsing it: this works on plain NBT (biome palettes inline) and on
+ * PackedBinaryNBT (biomes in the string pool) and is cheap enough for every save.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class BiomeClusters {
+
+    private static final byte[] NAMESPACE = "minecraft:".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_ID_LENGTH = 32;
+    private static final Map<String, String> CLUSTERS = new HashMap<>();
+
+    static {
+        cluster("ocean", "ocean", "deep_ocean", "warm_ocean", "lukewarm_ocean", "deep_lukewarm_ocean",
+            "cold_ocean", "deep_cold_ocean", "frozen_ocean", "deep_frozen_ocean", "river", "frozen_river",
+            "beach", "stony_shore", "mushroom_fields");
+        cluster("arid", "desert", "badlands", "eroded_badlands", "wooded_badlands",
+            "savanna", "savanna_plateau", "windswept_savanna");
+        cluster("cold", "snowy_plains", "ice_spikes", "snowy_taiga", "snowy_beach", "grove", "snowy_slopes",
+            "frozen_peaks", "jagged_peaks", "stony_peaks", "windswept_hills", "windswept_gravelly_hills",
+            "windswept_forest");
+        cluster("forest", "forest", "flower_forest", "birch_forest", "old_growth_birch_forest", "dark_forest",
+            "taiga", "old_growth_pine_taiga", "old_growth_spruce_taiga", "cherry_grove", "jungle",
+            "sparse_jungle", "bamboo_jungle", "swamp", "mangrove_swamp");
+        cluster("plains", "plains", "sunflower_plains", "meadow");
+        cluster("nether", "nether_wastes", "soul_sand_valley", "crimson_forest", "warped_forest", "basalt_deltas");
+        cluster("end", "the_end", "end_highlands", "end_midlands", "small_end_islands", "end_barrens");
+        // Cave biomes sit under every kind of surface, so they do not decide the cluster
+    }
+
+    private BiomeClusters() {
+    }
+
+    /**
+     * Cluster of the biome that dominates a serialized chunk.
+     *
+     * @param data Uncompressed chunk data
+     * @return Cluster name, or null if no known biome was found
+     */
+    public static String classify(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        String best = null;
+        int bestCount = 0;
+
+        int limit = data.length - NAMESPACE.length;
+        for (int i = 0; i <= limit; i++) {
+            if (!startsWithNamespace(data, i)) {
+                continue;
+            }
+            int start = i + NAMESPACE.length;
+            int end = start;
+            while (end < data.length && end - start < MAX_ID_LENGTH && isIdChar(data[end])) {
+                end++;
+            }
+            String cluster = CLUSTERS.get(new String(data, start, end - start, StandardCharsets.US_ASCII));
+            if (cluster != null) {
+                int count = counts.merge(cluster, 1, Integer::sum);
+                if (count > bestCount) {
+                    best = cluster;
+                    bestCount = count;
+                }
+            }
+            i = end - 1;
+        }
+        return best;
+    }
+
+    private static boolean startsWithNamespace(byte[] data, int offset) {
+        for (int j = 0; j < NAMESPACE.length; j++) {
+            if (data[offset + j] != NAMESPACE[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIdChar(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= '0' && b <= '9') || b == '_';
+    }
+
+    private static void cluster(String name, String... biomes) {
+        for (String biome : biomes) {
+            CLUSTERS.put(biome, name);
+        }
+    }
+}
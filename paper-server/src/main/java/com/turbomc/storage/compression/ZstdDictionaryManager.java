@@ -1,42 +1,78 @@
 package com.turbomc.storage.compression;
 
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
 import com.turbomc.config.TurboConfig;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
 /**
  * Manager for ZSTD dictionaries.
  * v2.1 Experimental: Allows using shared dictionaries to improve chunk compression.
+ *
+ * Dictionaries live as {@code <name>.dict} files in the dictionary folder and are named
+ * after the dimension they were trained on ({@code overworld}, {@code the_nether}, ...),
+ * optionally with a biome cluster suffix ({@code overworld-ocean}). Every dictionary has
+ * a numeric ID that is stored with each chunk compressed by it, so chunks stay readable
+ * no matter which dictionary is preferred for new writes.
  */
 public class ZstdDictionaryManager {
-    
-    private static final ZstdDictionaryManager INSTANCE = new ZstdDictionaryManager();
-    private final ConcurrentHashMap<String, byte[]> dictCache = new ConcurrentHashMap<>();
+
+    public static final String GLOBAL_DEFAULT = "global_default";
+    public static final String DICTIONARY_EXTENSION = ".dict";
+
+    private static volatile ZstdDictionaryManager instance;
+
+    private final ConcurrentHashMap<String, Dictionary> dictCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Dictionary> dictById = new ConcurrentHashMap<>();
     private final Path dictFolder;
+    private final boolean enabled;
+    private final boolean biomeClusters;
+    private volatile boolean folderScanned;
 
     private ZstdDictionaryManager() {
-        this.dictFolder = Path.of("turbo_data", "dictionaries");
-        try {
-            Files.createDirectories(dictFolder);
-        } catch (IOException ignored) {}
+        TurboConfig config = TurboConfig.getInstance();
+        this.dictFolder = config.getServerDirectory().toPath()
+            .resolve(config.getString("storage.dictionary.folder", "turbo_data/dictionaries"));
+        this.enabled = config.getBoolean("storage.dictionary.enabled", true);
+        this.biomeClusters = config.getBoolean("storage.dictionary.biome-clusters", false);
     }
 
     public static ZstdDictionaryManager getInstance() {
-        return INSTANCE;
+        if (instance == null) {
+            synchronized (ZstdDictionaryManager.class) {
+                if (instance == null) {
+                    instance = new ZstdDictionaryManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Resets the singleton instance for testing purposes.
+     */
+    public static synchronized void resetInstance() {
+        instance = null;
     }
 
     /**
      * Get a dictionary for a specific region or use the global default.
      */
     public byte[] getDictionary(String regionId) {
+        scanFolder();
         // Try region-specific dict first
-        byte[] dict = dictCache.get(regionId);
-        if (dict != null) return dict;
+        Dictionary dict = dictCache.get(regionId);
+        if (dict != null) return dict.bytes;
 
         // Try global default
-        return dictCache.get("global_default");
+        dict = dictCache.get(GLOBAL_DEFAULT);
+        return dict != null ? dict.bytes : null;
     }
 
     /**
@@ -45,12 +81,239 @@ public class ZstdDictionaryManager {
     public void loadDictionary(String id, Path path) throws IOException {
         if (Files.exists(path)) {
             byte[] bytes = Files.readAllBytes(path);
-            dictCache.put(id, bytes);
-            System.out.println("[TurboMC] Loaded ZSTD dictionary: " + id + " (" + (bytes.length / 1024) + " KB)");
+            Dictionary dict = register(id, bytes);
+            System.out.println("[TurboMC] Loaded ZSTD dictionary: " + id + " #" + Integer.toUnsignedString(dict.id) +
+                               " (" + (bytes.length / 1024) + " KB)");
         }
     }
-    
+
     public boolean hasDictionary(String id) {
+        scanFolder();
         return dictCache.containsKey(id);
     }
+
+    /**
+     * Write a dictionary to the dictionary folder and start using it for new writes.
+     * Chunks compressed with a dictionary it replaces stay readable as long as the
+     * old file is kept under another name.
+     *
+     * @param name Dictionary name, e.g. "overworld" or "overworld-ocean"
+     * @param bytes Dictionary content (trained or raw)
+     * @return Registered dictionary
+     */
+    public Dictionary saveDictionary(String name, byte[] bytes) throws IOException {
+        Files.createDirectories(dictFolder);
+        Files.write(dictFolder.resolve(name + DICTIONARY_EXTENSION), bytes);
+        return register(name, bytes);
+    }
+
+    /**
+     * Look up a dictionary by the ID stored with a compressed chunk.
+     *
+     * @return Dictionary, or null if no loaded dictionary has that ID
+     */
+    public Dictionary getById(int dictId) {
+        Dictionary dict = dictById.get(dictId);
+        if (dict == null && !folderScanned) {
+            scanFolder();
+            dict = dictById.get(dictId);
+        }
+        return dict;
+    }
+
+    /**
+     * Pick the dictionary for a chunk about to be written to a region file:
+     * the dimension's biome-cluster dictionary if enabled and trained, else the
+     * dimension's dictionary, else the global default.
+     *
+     * @param regionPath Region file the chunk goes to
+     * @param data Uncompressed chunk data
+     * @return Dictionary, or null to compress without one
+     */
+    public Dictionary select(Path regionPath, byte[] data) {
+        if (!enabled) {
+            return null;
+        }
+        scanFolder();
+        if (dictCache.isEmpty()) {
+            return null;
+        }
+
+        String dimension = dimensionOf(regionPath);
+        if (biomeClusters) {
+            String cluster = BiomeClusters.classify(data);
+            if (cluster != null) {
+                Dictionary dict = dictCache.get(dimension + "-" + cluster);
+                if (dict != null) return dict;
+            }
+        }
+        Dictionary dict = dictCache.get(dimension);
+        return dict != null ? dict : dictCache.get(GLOBAL_DEFAULT);
+    }
+
+    /**
+     * Dimension name of a region file, derived from the world folder layout:
+     * {@code world/region} is the overworld, {@code DIM-1} the nether, {@code DIM1} the end,
+     * and {@code dimensions/<namespace>/<name>/region} a custom dimension.
+     */
+    public static String dimensionOf(Path regionPath) {
+        Path regionDir = regionPath.getParent();
+        return dimensionOfRegionDir(regionDir != null ? regionDir : regionPath);
+    }
+
+    /**
+     * Dimension name of a region directory, see {@link #dimensionOf}.
+     */
+    public static String dimensionOfRegionDir(Path regionDir) {
+        Path dimensionDir = regionDir.toAbsolutePath().normalize().getParent();
+        if (dimensionDir == null || dimensionDir.getFileName() == null) {
+            return "overworld";
+        }
+        String name = dimensionDir.getFileName().toString();
+        if (name.equals("DIM-1")) {
+            return "the_nether";
+        }
+        if (name.equals("DIM1")) {
+            return "the_end";
+        }
+        Path namespaceDir = dimensionDir.getParent();
+        if (namespaceDir != null && namespaceDir.getParent() != null && namespaceDir.getParent().getFileName() != null
+                && namespaceDir.getParent().getFileName().toString().equals("dimensions")) {
+            return name;
+        }
+        return "overworld";
+    }
+
+    public Path getDictionaryFolder() {
+        return dictFolder;
+    }
+
+    public boolean isBiomeClustersEnabled() {
+        return biomeClusters;
+    }
+
+    /**
+     * Load every dictionary file in the folder once.
+     */
+    private void scanFolder() {
+        if (folderScanned) {
+            return;
+        }
+        synchronized (this) {
+            if (folderScanned) {
+                return;
+            }
+            if (!Files.isDirectory(dictFolder)) {
+                folderScanned = true;
+                return;
+            }
+            try (Stream<Path> files = Files.list(dictFolder)) {
+                for (Path file : files.filter(p -> p.getFileName().toString().endsWith(DICTIONARY_EXTENSION)).toList()) {
+                    String name = file.getFileName().toString();
+                    try {
+                        loadDictionary(name.substring(0, name.length() - DICTIONARY_EXTENSION.length()), file);
+                    } catch (IOException e) {
+                        System.err.println("[TurboMC] Failed to load ZSTD dictionary " + name + ": " + e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("[TurboMC] Failed to scan dictionary folder " + dictFolder + ": " + e.getMessage());
+            } finally {
+                folderScanned = true;
+            }
+        }
+    }
+
+    private Dictionary register(String name, byte[] bytes) {
+        Dictionary dict = new Dictionary(name, dictionaryId(bytes), bytes);
+        Dictionary sameId = dictById.get(dict.id);
+        if (sameId != null && !sameId.name.equals(name)) {
+            System.err.println("[TurboMC] ZSTD dictionary " + name + " has the same ID as " + sameId.name + "; keeping both names");
+        }
+        Dictionary replaced = dictCache.put(name, dict);
+        dictById.put(dict.id, dict);
+        if (replaced != null && replaced.id != dict.id) {
+            // Chunks written with the old dictionary still need it to decompress
+            dictById.putIfAbsent(replaced.id, replaced);
+        }
+        return dict;
+    }
+
+    /**
+     * ID of a dictionary: the one zstd embedded when training it, or a content hash
+     * for raw-content dictionaries (which have none).
+     */
+    static int dictionaryId(byte[] bytes) {
+        long id = Zstd.getDictIdFromDict(bytes);
+        if (id != 0) {
+            return (int) id;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        // Never 0, which would read as "no dictionary"
+        return (int) crc.getValue() | 1;
+    }
+
+    /**
+     * A loaded dictionary with its prepared zstd (de)compression tables.
+     * The tables are created on first use and shared by all threads.
+     */
+    public static final class Dictionary {
+        private final String name;
+        private final int id;
+        private final byte[] bytes;
+        private volatile ZstdDictCompress compressTable;
+        private volatile int compressLevel;
+        private volatile ZstdDictDecompress decompressTable;
+
+        Dictionary(String name, int id, byte[] bytes) {
+            this.name = name;
+            this.id = id;
+            this.bytes = bytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getSize() {
+            return bytes.length;
+        }
+
+        /**
+         * Compression table for the given level (rebuilt if the level changes).
+         */
+        public ZstdDictCompress compressor(int level) {
+            ZstdDictCompress table = compressTable;
+            if (table == null || compressLevel != level) {
+                synchronized (this) {
+                    table = compressTable;
+                    if (table == null || compressLevel != level) {
+                        table = new ZstdDictCompress(bytes, level);
+                        compressLevel = level;
+                        compressTable = table;
+                    }
+                }
+            }
+            return table;
+        }
+
+        public ZstdDictDecompress decompressor() {
+            ZstdDictDecompress table = decompressTable;
+            if (table == null) {
+                synchronized (this) {
+                    table = decompressTable;
+                    if (table == null) {
+                        table = new ZstdDictDecompress(bytes);
+                        decompressTable = table;
+                    }
+                }
+            }
+            return table;
+        }
+    }
 }
@@ -0,0 +1,179 @@
+package com.turbomc.storage.compression;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.lrf.LRFChunkBuffer;
+import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFRegionReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Trains zstd dictionaries from the chunks already stored in a dimension's LRF regions.
+ *
+ * A few chunks are sampled from every region (regions in random order, until the sample
+ * count or memory budget is reached), and one dictionary is trained for the dimension.
+ * With biome clusters enabled, an extra dictionary is trained for every cluster with
+ * enough samples. Dictionaries are saved through {@link ZstdDictionaryManager}, which
+ * makes new writes use them right away.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public class ZstdDictionaryTrainer {
+
+    /** Fewer samples than this make zstd training fail or produce a useless dictionary. */
+    public static final int MIN_SAMPLES = 32;
+
+    private final int dictionarySize;
+    private final int maxSamples;
+    private final long maxSampleBytes;
+    private final Random random;
+
+    /**
+     * Create a trainer configured from {@code [storage.dictionary]}.
+     */
+    public ZstdDictionaryTrainer() {
+        this(TurboConfig.getInstance().getInt("storage.dictionary.size-kb", 112) * 1024,
+             TurboConfig.getInstance().getInt("storage.dictionary.max-samples", 4000),
+             TurboConfig.getInstance().getLong("storage.dictionary.sample-memory-mb", 64) * 1024 * 1024,
+             new Random());
+    }
+
+    public ZstdDictionaryTrainer(int dictionarySize, int maxSamples, long maxSampleBytes, Random random) {
+        this.dictionarySize = dictionarySize;
+        this.maxSamples = maxSamples;
+        this.maxSampleBytes = maxSampleBytes;
+        this.random = random;
+    }
+
+    /**
+     * Sample a dimension's regions and train its dictionaries.
+     *
+     * @param regionDir Region directory of the dimension
+     * @param perBiome Also train one dictionary per biome cluster
+     * @return One result per dictionary written
+     * @throws IOException if the directory cannot be read or a dictionary cannot be saved
+     */
+    public List<TrainingResult> trainDimension(Path regionDir, boolean perBiome) throws IOException {
+        String dimension = ZstdDictionaryManager.dimensionOfRegionDir(regionDir);
+        List<byte[]> samples = sample(regionDir);
+
+        List<TrainingResult> results = new ArrayList<>();
+        if (samples.size() < MIN_SAMPLES) {
+            System.err.println("[TurboMC] Not enough chunks to train a dictionary for " + dimension +
+                               " (" + samples.size() + " < " + MIN_SAMPLES + ")");
+            return results;
+        }
+
+        results.add(train(dimension, samples));
+
+        if (perBiome) {
+            Map<String, List<byte[]>> clusters = new LinkedHashMap<>();
+            for (byte[] sample : samples) {
+                String cluster = BiomeClusters.classify(sample);
+                if (cluster != null) {
+                    clusters.computeIfAbsent(cluster, k -> new ArrayList<>()).add(sample);
+                }
+            }
+            for (Map.Entry<String, List<byte[]>> cluster : clusters.entrySet()) {
+                if (cluster.getValue().size() >= MIN_SAMPLES) {
+                    results.add(train(dimension + "-" + cluster.getKey(), cluster.getValue()));
+                } else {
+                    System.out.println("[TurboMC] Skipping biome cluster " + cluster.getKey() + " of " + dimension +
+                                       ": only " + cluster.getValue().size() + " samples");
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Collect serialized chunks (as the LRF writer sees them, before compression).
+     */
+    List<byte[]> sample(Path regionDir) throws IOException {
+        List<Path> regions;
+        try (Stream<Path> files = Files.list(regionDir)) {
+            regions = new ArrayList<>(files.filter(p -> p.toString().endsWith(LRFConstants.LRF_EXTENSION)).toList());
+        }
+        Collections.shuffle(regions, random);
+
+        List<byte[]> samples = new ArrayList<>();
+        if (regions.isEmpty()) {
+            return samples;
+        }
+        int perRegion = Math.max(1, (maxSamples + regions.size() - 1) / regions.size());
+        long sampleBytes = 0;
+
+        for (Path regionPath : regions) {
+            if (samples.size() >= maxSamples || sampleBytes >= maxSampleBytes) {
+                break;
+            }
+            try (LRFRegionReader reader = new LRFRegionReader(regionPath)) {
+                List<Integer> present = new ArrayList<>();
+                for (int index = 0; index < LRFConstants.CHUNKS_PER_REGION; index++) {
+                    if (reader.hasChunk(index & 31, index >> 5)) {
+                        present.add(index);
+                    }
+                }
+                Collections.shuffle(present, random);
+
+                for (int i = 0; i < Math.min(perRegion, present.size()); i++) {
+                    int index = present.get(i);
+                    // Buffer reads skip the shared chunk cache, so training does not evict hot chunks
+                    try (LRFChunkBuffer chunk = reader.readChunkBuffer(index & 31, index >> 5)) {
+                        if (chunk != null && chunk.size() > 0) {
+                            byte[] data = chunk.toByteArray();
+                            samples.add(data);
+                            sampleBytes += data.length;
+                        }
+                    }
+                    if (samples.size() >= maxSamples || sampleBytes >= maxSampleBytes) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("[TurboMC] Skipping region " + regionPath.getFileName() + " while sampling: " + e.getMessage());
+            }
+        }
+        return samples;
+    }
+
+    private TrainingResult train(String name, List<byte[]> samples) throws IOException {
+        long start = System.currentTimeMillis();
+        long totalBytes = 0;
+        for (byte[] sample : samples) {
+            totalBytes += sample.length;
+        }
+
+        ZstdDictTrainer trainer = new ZstdDictTrainer((int) Math.min(Integer.MAX_VALUE, totalBytes), dictionarySize);
+        for (byte[] sample : samples) {
+            trainer.addSample(sample);
+        }
+        byte[] dictionary = trainer.trainSamples();
+
+        ZstdDictionaryManager.Dictionary saved = ZstdDictionaryManager.getInstance().saveDictionary(name, dictionary);
+        TrainingResult result = new TrainingResult(name, saved.getId(), samples.size(), totalBytes, dictionary.length,
+                                                   System.currentTimeMillis() - start);
+        System.out.println("[TurboMC] Trained ZSTD dictionary " + result);
+        return result;
+    }
+
+    public record TrainingResult(String name, int dictionaryId, int samples, long sampleBytes, int dictionaryBytes, long elapsedMs) {
+        @Override
+        public String toString() {
+            return String.format("%s #%s: %d samples (%.1f MB) -> %.1f KB in %d ms",
+                name, Integer.toUnsignedString(dictionaryId), samples, sampleBytes / 1024.0 / 1024.0,
+                dictionaryBytes / 1024.0, elapsedMs);
+        }
+    }
+}
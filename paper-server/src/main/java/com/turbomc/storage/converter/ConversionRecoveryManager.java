@@ -3,19 +3,28 @@ package com.turbomc.storage.converter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages conversion recovery and error handling for TurboMC LRF conversions.
  * Provides rollback capabilities and detailed error logging.
  * 
+ * Whole-directory conversions also record finished regions in a progress file in the
+ * target directory, so an interrupted run can resume where it stopped.
+ * 
  * @author TurboMC
  * @version 1.0.0
  */
 public class ConversionRecoveryManager {
     
+    /** Progress file kept in the target directory while a directory conversion runs. */
+    public static final String PROGRESS_FILE = ".turbo-conversion.progress";
+    
     private final AtomicLong recoveryCount = new AtomicLong(0);
     private final AtomicLong rollbackCount = new AtomicLong(0);
     private final boolean enableRecovery;
@@ -148,6 +157,64 @@ public class ConversionRecoveryManager {
         }
     }
     
+    /**
+     * Load the regions already finished by an earlier, interrupted directory conversion.
+     * 
+     * @param targetDir Conversion target directory
+     * @return Names of finished source files (empty if no conversion was interrupted)
+     */
+    public synchronized Set<String> loadProgress(Path targetDir) {
+        Set<String> completed = new HashSet<>();
+        Path progressFile = targetDir.resolve(PROGRESS_FILE);
+        if (!Files.exists(progressFile)) {
+            return completed;
+        }
+        
+        try {
+            for (String line : Files.readAllLines(progressFile)) {
+                // A torn last line from a crash simply isn't counted
+                if (!line.isBlank()) {
+                    completed.add(line.trim());
+                }
+            }
+            System.out.println("[TurboMC] Resuming conversion: " + completed.size() + " regions already done");
+        } catch (IOException e) {
+            System.err.println("[TurboMC] Failed to read conversion progress: " + e.getMessage());
+        }
+        return completed;
+    }
+    
+    /**
+     * Check whether a directory conversion was interrupted and left progress behind.
+     */
+    public boolean hasProgress(Path targetDir) {
+        return Files.exists(targetDir.resolve(PROGRESS_FILE));
+    }
+    
+    /**
+     * Durably record a finished region. Called before the source file is removed, so a
+     * crash never loses a region that is neither converted nor still in its old format.
+     * 
+     * @param targetDir Conversion target directory
+     * @param sourceName File name of the converted source region
+     * @throws IOException if the progress file cannot be written
+     */
+    public synchronized void markConverted(Path targetDir, String sourceName) throws IOException {
+        Files.writeString(targetDir.resolve(PROGRESS_FILE), sourceName + "\n",
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+    }
+    
+    /**
+     * Remove the progress file once a directory conversion finished without failures.
+     */
+    public synchronized void clearProgress(Path targetDir) {
+        try {
+            Files.deleteIfExists(targetDir.resolve(PROGRESS_FILE));
+        } catch (IOException e) {
+            System.err.println("[TurboMC] Failed to remove conversion progress: " + e.getMessage());
+        }
+    }
+    
     /**
      * Get recovery statistics.
      */
@@ -271,37 +271,47 @@ public class MCAToLRFConverter {
      */
     private void handleOriginalFile(Path mcaPath, long lrfSize, int chunkCount) {
         if (lrfSize > 0 && chunkCount > 0) {
+            retireOriginal(mcaPath, verbose);
+        }
+    }
+    
+    /**
+     * Move a converted MCA file to backup_mca/ or delete it, depending on configuration.
+     * 
+     * @param mcaPath Converted source file
+     * @param verbose Log what was done
+     */
+    static void retireOriginal(Path mcaPath, boolean verbose) {
+        try {
+            // Check if backup is enabled
+            boolean shouldBackup = false;
             try {
-                // Check if backup is enabled
-                boolean shouldBackup = false;
-                try {
-                    TurboConfig config = TurboConfig.getInstance();
-                    shouldBackup = config.isBackupMcaEnabled();
-                } catch (Exception e) {
-                    shouldBackup = false;
-                }
+                TurboConfig config = TurboConfig.getInstance();
+                shouldBackup = config.isBackupMcaEnabled();
+            } catch (Exception e) {
+                shouldBackup = false;
+            }
+            
+            if (shouldBackup) {
+                // Create backup directory
+                Path backupDir = mcaPath.getParent().resolve("backup_mca");
+                Files.createDirectories(backupDir);
+                Path backupPath = backupDir.resolve(mcaPath.getFileName());
                 
-                if (shouldBackup) {
-                    // Create backup directory
-                    Path backupDir = mcaPath.getParent().resolve("backup_mca");
-                    Files.createDirectories(backupDir);
-                    Path backupPath = backupDir.resolve(mcaPath.getFileName());
-                    
-                    // Move file to backup
-                    Files.move(mcaPath, backupPath, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                    if (verbose) {
-                        System.out.println("[TurboMC] Backed up original: " + mcaPath.getFileName() + " → backup_mca/");
-                    }
-                } else {
-                    // Delete directly
-                    Files.delete(mcaPath);
-                    if (verbose) {
-                        System.out.println("[TurboMC] Removed original: " + mcaPath.getFileName());
-                    }
+                // Move file to backup
+                Files.move(mcaPath, backupPath, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+                if (verbose) {
+                    System.out.println("[TurboMC] Backed up original: " + mcaPath.getFileName() + " → backup_mca/");
+                }
+            } else {
+                // Delete directly
+                Files.delete(mcaPath);
+                if (verbose) {
+                    System.out.println("[TurboMC] Removed original: " + mcaPath.getFileName());
                 }
-            } catch (IOException e) {
-                System.err.println("[TurboMC] Warning: Failed to delete original .mca file: " + e.getMessage());
             }
+        } catch (IOException e) {
+            System.err.println("[TurboMC] Warning: Failed to delete original .mca file: " + e.getMessage());
         }
     }
     
@@ -361,6 +371,7 @@ public class MCAToLRFConverter {
     
     /**
      * Convert a directory of MCA files to LRF.
+     * Uses the staged {@link MCAToLRFPipeline} unless storage.conversion.pipeline-enabled is off.
      * 
      * @param sourceDir Directory containing .mca files
      * @param targetDir Directory for output .lrf files
@@ -369,6 +380,16 @@ public class MCAToLRFConverter {
      * @throws IOException if conversion fails
      */
     public BatchConversionResult convertDirectory(Path sourceDir, Path targetDir, int compressionType) throws IOException {
+        if (TurboConfig.getInstance().getBoolean("storage.conversion.pipeline-enabled", true)) {
+            BatchConversionResult result = new MCAToLRFPipeline(compressionType, verbose)
+                .convertDirectory(sourceDir, targetDir);
+            totalBytesRead += result.totalBytesRead;
+            totalBytesWritten += result.totalBytesWritten;
+            totalChunksConverted += result.totalChunks;
+            conversionTime.addAndGet(result.elapsedMs * 1_000_000);
+            return result;
+        }
+        
         if (!Files.isDirectory(sourceDir)) {
             throw new IllegalArgumentException("Source must be a directory: " + sourceDir);
         }
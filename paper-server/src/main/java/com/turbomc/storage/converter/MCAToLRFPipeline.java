@@ -0,0 +1,487 @@
+package com.turbomc.storage.converter;
+
+import com.turbomc.compression.CompressionException;
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.lrf.LRFChunkMetadata;
+import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFRegionWriter;
+import com.turbomc.storage.optimization.AnvilRegionReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Staged, multi-threaded MCA→LRF conversion of a whole region directory.
+ *
+ * Chunks flow through four stages, each with its own thread pool:
+ * read (raw frames from the .mca), decompress (zlib/gzip), recompress (LRF codec) and
+ * write (frames into the .lrf). Stages are connected by bounded queues; a full queue blocks
+ * the stage feeding it, so fast readers cannot run ahead of the disk or the codecs and
+ * memory stays bounded by the queue sizes. Several regions are in flight at once, limited by
+ * {@code max-open-regions}; whichever thread finishes a region's last chunk closes it,
+ * validates it and records it with the {@link ConversionRecoveryManager}, so an interrupted
+ * conversion resumes with the regions that were not finished.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public class MCAToLRFPipeline {
+
+    private static final ChunkTask POISON = new ChunkTask(null, 0, 0, (byte) 0, null);
+
+    private final int compressionType;
+    private final boolean verbose;
+    private final int readThreads;
+    private final int decompressThreads;
+    private final int compressThreads;
+    private final int writeThreads;
+    private final int queueSize;
+    private final int maxOpenRegions;
+    private final ConversionRecoveryManager recoveryManager;
+
+    /**
+     * Create a pipeline configured from {@code [storage.conversion]}.
+     *
+     * @param compressionType Compression algorithm for LRF
+     * @param verbose Enable verbose logging
+     */
+    public MCAToLRFPipeline(int compressionType, boolean verbose) {
+        this(compressionType, verbose,
+            TurboConfig.getInstance().getInt("storage.conversion.read-threads", 2),
+            TurboConfig.getInstance().getInt("storage.conversion.decompress-threads", 0),
+            TurboConfig.getInstance().getInt("storage.conversion.compress-threads", 0),
+            TurboConfig.getInstance().getInt("storage.conversion.write-threads", 2),
+            TurboConfig.getInstance().getInt("storage.conversion.queue-size", 512),
+            TurboConfig.getInstance().getInt("storage.conversion.max-open-regions", 16));
+    }
+
+    /**
+     * Create a pipeline with explicit stage sizes. A codec thread count of 0 means half the CPU cores.
+     */
+    public MCAToLRFPipeline(int compressionType, boolean verbose, int readThreads, int decompressThreads,
+                            int compressThreads, int writeThreads, int queueSize, int maxOpenRegions) {
+        int codecDefault = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.compressionType = compressionType;
+        this.verbose = verbose;
+        this.readThreads = Math.max(1, readThreads);
+        this.decompressThreads = decompressThreads > 0 ? decompressThreads : codecDefault;
+        this.compressThreads = compressThreads > 0 ? compressThreads : codecDefault;
+        this.writeThreads = Math.max(1, writeThreads);
+        this.queueSize = Math.max(16, queueSize);
+        // Every reader needs a region of its own, or it would wait on itself
+        this.maxOpenRegions = Math.max(this.readThreads, maxOpenRegions);
+        this.recoveryManager = new ConversionRecoveryManager(true, false);
+    }
+
+    /**
+     * Convert every .mca file below {@code sourceDir} into {@code targetDir}.
+     * Regions recorded as finished by an interrupted earlier run are skipped.
+     *
+     * @param sourceDir Directory containing .mca files
+     * @param targetDir Directory for output .lrf files
+     * @return Summary of all conversions
+     * @throws IOException if the directories cannot be used or the conversion is interrupted
+     */
+    public MCAToLRFConverter.BatchConversionResult convertDirectory(Path sourceDir, Path targetDir) throws IOException {
+        if (!Files.isDirectory(sourceDir)) {
+            throw new IllegalArgumentException("Source must be a directory: " + sourceDir);
+        }
+
+        Files.createDirectories(targetDir);
+
+        List<Path> mcaFiles;
+        try (var paths = Files.walk(sourceDir)) {
+            mcaFiles = paths.filter(p -> p.toString().endsWith(LRFConstants.MCA_EXTENSION)).toList();
+        }
+
+        if (mcaFiles.isEmpty()) {
+            System.out.println("[TurboMC] No .mca files found in " + sourceDir);
+            return new MCAToLRFConverter.BatchConversionResult(0, 0, 0, 0L, 0L, 0L);
+        }
+
+        long startTime = System.currentTimeMillis();
+        Run run = new Run(targetDir, mcaFiles.size());
+
+        boolean resuming = recoveryManager.hasProgress(targetDir);
+        Set<String> finished = recoveryManager.loadProgress(targetDir);
+        for (Path mcaPath : mcaFiles) {
+            Path lrfPath = lrfPathFor(targetDir, mcaPath);
+            if (finished.contains(mcaPath.getFileName().toString())) {
+                resumeFinished(run, mcaPath, lrfPath);
+            } else {
+                if (resuming && Files.exists(lrfPath)) {
+                    // Left half-written when the previous run stopped
+                    recoveryManager.recoverFromFailure(lrfPath, mcaPath);
+                }
+                run.regions.add(mcaPath);
+            }
+        }
+
+        System.out.println("[TurboMC] Converting " + run.regions.size() + " region files (pipeline: " +
+            readThreads + " read, " + decompressThreads + " decompress, " + compressThreads + " compress, " +
+            writeThreads + " write threads)...");
+
+        ExecutorService readers = startStage("Read", readThreads, () -> readRegions(run));
+        ExecutorService decompressors = startStage("Decompress", decompressThreads,
+            () -> runStage(run, run.decompressQueue, task -> decompress(run, task)));
+        ExecutorService compressors = startStage("Compress", compressThreads,
+            () -> runStage(run, run.compressQueue, task -> compress(run, task)));
+        ExecutorService writers = startStage("Write", writeThreads,
+            () -> runStage(run, run.writeQueue, task -> write(run, task)));
+
+        try {
+            // Drain stage by stage: once a stage's producers are done, stop its workers
+            awaitStage(readers);
+            stopStage(run.decompressQueue, decompressThreads, decompressors);
+            stopStage(run.compressQueue, compressThreads, compressors);
+            stopStage(run.writeQueue, writeThreads, writers);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            readers.shutdownNow();
+            decompressors.shutdownNow();
+            compressors.shutdownNow();
+            writers.shutdownNow();
+            throw new IOException("Conversion interrupted; progress is kept in " + ConversionRecoveryManager.PROGRESS_FILE);
+        }
+
+        if (run.failed.get() == 0) {
+            recoveryManager.clearProgress(targetDir);
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        MCAToLRFConverter.BatchConversionResult result = new MCAToLRFConverter.BatchConversionResult(
+            run.successful.get(), run.failed.get(), (int) run.chunks.get(),
+            run.bytesRead.get(), run.bytesWritten.get(), elapsed);
+
+        System.out.println("[TurboMC] Batch conversion complete:");
+        System.out.println(result);
+        if (run.skippedChunks.get() > 0) {
+            System.err.println("[TurboMC] Skipped " + run.skippedChunks.get() + " unreadable chunks");
+        }
+
+        return result;
+    }
+
+    /**
+     * Read stage: each reader takes whole regions and queues their raw chunk frames.
+     */
+    private void readRegions(Run run) {
+        Path mcaPath;
+        while ((mcaPath = run.regions.poll()) != null) {
+            try {
+                run.openRegions.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            RegionJob job = new RegionJob(mcaPath, lrfPathFor(run.targetDir, mcaPath));
+            try (AnvilRegionReader reader = new AnvilRegionReader(mcaPath)) {
+                job.sourceSize = reader.getFileSize();
+                job.writer = new LRFRegionWriter(job.lrfPath, compressionType);
+                job.writer.enableStreaming();
+
+                for (int x = 0; x < LRFConstants.REGION_SIZE && !job.isFailed(); x++) {
+                    for (int z = 0; z < LRFConstants.REGION_SIZE; z++) {
+                        if (!reader.hasChunk(x, z)) {
+                            continue;
+                        }
+                        AnvilRegionReader.RawChunk raw;
+                        try {
+                            raw = reader.readRawChunk(x, z);
+                        } catch (IOException e) {
+                            // Skip corrupt chunks but continue reading others
+                            System.err.println("[TurboMC] Warning: Skipping corrupt chunk at [" + x + "," + z + "] in " +
+                                mcaPath.getFileName() + ": " + e.getMessage());
+                            run.skippedChunks.incrementAndGet();
+                            continue;
+                        }
+                        if (raw != null) {
+                            job.pending.incrementAndGet();
+                            run.decompressQueue.put(new ChunkTask(job, x, z, raw.compressionType(), raw.data()));
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                job.fail(e);
+                return;
+            } catch (Exception e) {
+                job.fail(e);
+            } finally {
+                // Drop the reader's own reference; the last one out finishes the region
+                release(run, job);
+            }
+        }
+    }
+
+    private void decompress(Run run, ChunkTask task) throws InterruptedException {
+        try {
+            task.data = AnvilRegionReader.decompressChunk(task.data, task.sourceCompression);
+        } catch (IOException e) {
+            run.skippedChunks.incrementAndGet();
+            release(run, task.job);
+            return;
+        }
+        if (task.data.length == 0) {
+            run.skippedChunks.incrementAndGet();
+            release(run, task.job);
+            return;
+        }
+        run.compressQueue.put(task);
+    }
+
+    private void compress(Run run, ChunkTask task) throws InterruptedException {
+        task.compressionType = compressionType;
+        task.metadata = LRFChunkMetadata.forData(task.data);
+        if (compressionType != LRFConstants.COMPRESSION_NONE) {
+            try {
+                task.data = LRFRegionWriter.compressForRegion(task.job.lrfPath, task.data);
+                task.compressionType = LRFRegionWriter.frameCompressionType(compressionType, task.data);
+            } catch (CompressionException e) {
+                System.err.println("[TurboMC][LRF] Compression failed for chunk (" +
+                    task.chunkX + "," + task.chunkZ + "): " + e.getMessage() + ". Using uncompressed data.");
+                task.compressionType = LRFConstants.COMPRESSION_NONE;
+            }
+        }
+        run.writeQueue.put(task);
+    }
+
+    private void write(Run run, ChunkTask task) throws IOException {
+        task.job.writer.writeCompressedChunk(task.chunkX, task.chunkZ, task.data, task.compressionType, task.metadata);
+        task.job.chunks.incrementAndGet();
+        release(run, task.job);
+    }
+
+    /**
+     * Worker loop shared by the decompress, compress and write stages.
+     */
+    private void runStage(Run run, BlockingQueue<ChunkTask> queue, StageStep step) {
+        while (true) {
+            ChunkTask task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (task == POISON) {
+                return;
+            }
+            if (task.job.isFailed()) {
+                // Region is already lost; just let it drain
+                release(run, task.job);
+                continue;
+            }
+            try {
+                step.process(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                task.job.fail(e);
+                release(run, task.job);
+            }
+        }
+    }
+
+    private void release(Run run, RegionJob job) {
+        if (job.pending.decrementAndGet() == 0) {
+            finishRegion(run, job);
+        }
+    }
+
+    /**
+     * Close, validate and record a region once all of its chunks are through the pipeline.
+     */
+    private void finishRegion(Run run, RegionJob job) {
+        try {
+            if (job.writer != null) {
+                job.writer.close();
+            }
+        } catch (Exception e) {
+            job.fail(e);
+        } finally {
+            run.openRegions.release();
+        }
+
+        String name = job.mcaPath.getFileName().toString();
+        if (!job.isFailed() && !recoveryManager.validateConversion(job.lrfPath, RegionConverter.FormatType.LRF)) {
+            job.fail(new IOException("Conversion validation failed for " + name));
+        }
+        if (job.isFailed()) {
+            System.err.println("[TurboMC] Failed to convert " + name + ": " + job.failure.getMessage());
+            recoveryManager.recoverFromFailure(job.lrfPath, job.mcaPath);
+            run.failed.incrementAndGet();
+            return;
+        }
+
+        try {
+            long lrfSize = Files.size(job.lrfPath);
+            run.bytesRead.addAndGet(job.sourceSize);
+            run.bytesWritten.addAndGet(lrfSize);
+            run.chunks.addAndGet(job.chunks.get());
+
+            // Record before the source goes away, so a crash in between cannot lose the region
+            recoveryManager.markConverted(run.targetDir, name);
+            if (lrfSize > 0 && job.chunks.get() > 0) {
+                MCAToLRFConverter.retireOriginal(job.mcaPath, verbose);
+            }
+        } catch (IOException e) {
+            // The .lrf is complete; keeping the source just means it is converted again next time
+            System.err.println("[TurboMC] Warning: Failed to record conversion of " + name + ": " + e.getMessage());
+        }
+
+        int done = run.successful.incrementAndGet();
+        if (verbose) {
+            System.out.println("[TurboMC] Converted " + name + ": " + job.chunks.get() + " chunks");
+        }
+        if (done % 10 == 0) {
+            System.out.println("[TurboMC] Progress: " + done + "/" + run.totalFiles + " files");
+        }
+    }
+
+    /**
+     * A region finished by an earlier run: count it, and retire its source if the crash
+     * happened between recording it and removing the .mca.
+     */
+    private void resumeFinished(Run run, Path mcaPath, Path lrfPath) throws IOException {
+        if (!Files.exists(lrfPath)) {
+            // Recorded but lost since; convert it again
+            run.regions.add(mcaPath);
+            return;
+        }
+        long lrfSize = Files.size(lrfPath);
+        run.bytesRead.addAndGet(Files.size(mcaPath));
+        run.bytesWritten.addAndGet(lrfSize);
+        run.successful.incrementAndGet();
+        if (lrfSize > LRFConstants.HEADER_SIZE) {
+            MCAToLRFConverter.retireOriginal(mcaPath, verbose);
+        }
+    }
+
+    private static Path lrfPathFor(Path targetDir, Path mcaPath) {
+        String fileName = mcaPath.getFileName().toString();
+        return targetDir.resolve(fileName.replace(LRFConstants.MCA_EXTENSION, LRFConstants.LRF_EXTENSION));
+    }
+
+    private static ExecutorService startStage(String name, int threads, Runnable worker) {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Turbo-Convert-" + name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < threads; i++) {
+            executor.execute(worker);
+        }
+        executor.shutdown();
+        return executor;
+    }
+
+    private static void stopStage(BlockingQueue<ChunkTask> queue, int threads, ExecutorService executor) throws InterruptedException {
+        for (int i = 0; i < threads; i++) {
+            queue.put(POISON);
+        }
+        awaitStage(executor);
+    }
+
+    private static void awaitStage(ExecutorService executor) throws InterruptedException {
+        while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            // Large worlds take a while; keep waiting
+        }
+    }
+
+    @FunctionalInterface
+    private interface StageStep {
+        void process(ChunkTask task) throws Exception;
+    }
+
+    /**
+     * State of one {@link #convertDirectory} call.
+     */
+    private final class Run {
+        final Path targetDir;
+        final int totalFiles;
+        final ConcurrentLinkedQueue<Path> regions = new ConcurrentLinkedQueue<>();
+        final BlockingQueue<ChunkTask> decompressQueue = new ArrayBlockingQueue<>(queueSize);
+        final BlockingQueue<ChunkTask> compressQueue = new ArrayBlockingQueue<>(queueSize);
+        final BlockingQueue<ChunkTask> writeQueue = new ArrayBlockingQueue<>(queueSize);
+        final Semaphore openRegions = new Semaphore(maxOpenRegions);
+
+        final AtomicInteger successful = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicLong chunks = new AtomicLong();
+        final AtomicLong skippedChunks = new AtomicLong();
+        final AtomicLong bytesRead = new AtomicLong();
+        final AtomicLong bytesWritten = new AtomicLong();
+
+        Run(Path targetDir, int totalFiles) {
+            this.targetDir = targetDir;
+            this.totalFiles = totalFiles;
+        }
+    }
+
+    /**
+     * A region being converted. Every queued chunk holds a reference, plus one for the reader.
+     */
+    private static final class RegionJob {
+        final Path mcaPath;
+        final Path lrfPath;
+        final AtomicInteger pending = new AtomicInteger(1);
+        final AtomicInteger chunks = new AtomicInteger();
+        final AtomicBoolean failed = new AtomicBoolean();
+        volatile LRFRegionWriter writer;
+        volatile long sourceSize;
+        volatile Throwable failure;
+
+        RegionJob(Path mcaPath, Path lrfPath) {
+            this.mcaPath = mcaPath;
+            this.lrfPath = lrfPath;
+        }
+
+        void fail(Throwable cause) {
+            if (failed.compareAndSet(false, true)) {
+                failure = cause;
+            }
+        }
+
+        boolean isFailed() {
+            return failed.get();
+        }
+    }
+
+    /**
+     * One chunk moving through the stages; its payload is replaced as it is transformed.
+     */
+    private static final class ChunkTask {
+        final RegionJob job;
+        final int chunkX;
+        final int chunkZ;
+        final byte sourceCompression;
+        byte[] data;
+        int compressionType;
+        LRFChunkMetadata metadata;
+
+        ChunkTask(RegionJob job, int chunkX, int chunkZ, byte sourceCompression, byte[] data) {
+            this.job = job;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.sourceCompression = sourceCompression;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.turbomc.storage.integrity;
+
+import com.turbomc.storage.lrf.LRFConstants;
+import net.jpountz.xxhash.XXHash64;
+import net.jpountz.xxhash.XXHashFactory;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Per-region checksum sidecar ({@code r.x.z.lrf.crc}).
+ *
+ * One fixed 16-byte slot per chunk, memory-mapped, so checksums survive restarts and cost
+ * no per-chunk objects. A slot holds the size, CRC32C and XXH64 of the chunk's uncompressed
+ * data as last saved. Verification compares size and CRC32C only; XXH64 is computed when
+ * the CRC disagrees, to tell a damaged chunk from a damaged slot.
+ *
+ * File layout:
+ * - Header (64 bytes): magic, version, flags
+ * - Slots (1024 x 16 bytes): int size (0 = empty), int CRC32C, long XXH64
+ *
+ * The clean flag is cleared while the store is open. A sidecar left unclean was open during
+ * a crash and may disagree with the region, so its slots are dropped on open. One store
+ * instance exists per sidecar in the process; validators of the same region share it.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class ChunkChecksumStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x54434B53; // "TCKS"
+    private static final int VERSION = 1;
+    private static final int FLAG_CLEAN = 1;
+    private static final int FLAGS_OFFSET = 8;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 16;
+    private static final int FILE_SIZE = HEADER_SIZE + LRFConstants.CHUNKS_PER_REGION * SLOT_SIZE;
+    private static final int LOCK_STRIPES = 64;
+
+    private static final XXHash64 XXH64 = XXHashFactory.fastestInstance().hash64();
+
+    private static final Map<Path, ChunkChecksumStore> OPEN_STORES = new HashMap<>();
+
+    public enum Match {
+        /** No checksum stored for the chunk */
+        UNKNOWN,
+        /** Size and CRC32C match */
+        VALID,
+        /** CRC32C differs but XXH64 matches: the slot, not the chunk, is suspect */
+        PARTIAL,
+        /** Neither checksum matches */
+        MISMATCH
+    }
+
+    private final Path path;
+    private final RandomAccessFile file;
+    private final ByteBuffer slots;
+    private final Object[] locks;
+    private volatile boolean closed;
+    private int refCount = 1;
+
+    private ChunkChecksumStore(Path path, RandomAccessFile file, ByteBuffer slots) {
+        this.path = path;
+        this.file = file;
+        this.slots = slots;
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Get the sidecar file belonging to a region file.
+     */
+    public static Path pathFor(Path regionPath) {
+        return regionPath.resolveSibling(regionPath.getFileName() + LRFConstants.CHECKSUM_EXTENSION);
+    }
+
+    /**
+     * Open the region's checksum sidecar, creating it if needed, or share the already open one.
+     * Falls back to an in-memory store if the sidecar cannot be mapped.
+     *
+     * @param regionPath Path to .lrf file
+     * @param persistent Keep checksums in the sidecar; false keeps them in memory only
+     * @return Checksum store; {@link #close()} releases it
+     */
+    public static ChunkChecksumStore open(Path regionPath, boolean persistent) {
+        if (persistent) {
+            Path sidecar = pathFor(regionPath.toAbsolutePath().normalize());
+            synchronized (OPEN_STORES) {
+                ChunkChecksumStore store = OPEN_STORES.get(sidecar);
+                if (store != null) {
+                    store.refCount++;
+                    return store;
+                }
+                try {
+                    store = openMapped(sidecar);
+                    OPEN_STORES.put(sidecar, store);
+                    return store;
+                } catch (IOException e) {
+                    System.err.println("[TurboMC][Integrity] Cannot map " + sidecar.getFileName() +
+                                     ", keeping checksums in memory: " + e.getMessage());
+                }
+            }
+        }
+        return new ChunkChecksumStore(null, null, ByteBuffer.allocate(FILE_SIZE));
+    }
+
+    private static ChunkChecksumStore openMapped(Path sidecar) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(sidecar.toFile(), "rw");
+        try {
+            boolean usable = file.length() == FILE_SIZE;
+            if (!usable) {
+                file.setLength(0);
+                file.setLength(FILE_SIZE);
+            }
+            MappedByteBuffer mapping = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+
+            boolean clean = usable && mapping.getInt(0) == MAGIC && mapping.getInt(4) == VERSION
+                && (mapping.getInt(FLAGS_OFFSET) & FLAG_CLEAN) != 0;
+            if (!clean) {
+                if (usable) {
+                    System.out.println("[TurboMC][Integrity] Discarding checksums of " + sidecar.getFileName() +
+                                     " (not closed cleanly)");
+                }
+                for (int i = HEADER_SIZE; i < FILE_SIZE; i += 8) {
+                    mapping.putLong(i, 0L);
+                }
+                mapping.putInt(0, MAGIC);
+                mapping.putInt(4, VERSION);
+            }
+            // Slots may now run ahead of or behind the region until close
+            mapping.putInt(FLAGS_OFFSET, 0);
+            mapping.force();
+            return new ChunkChecksumStore(sidecar, file, mapping);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * CRC32C of the bytes between position and limit; the buffer is not consumed.
+     */
+    public static int crc32c(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * XXH64 of the bytes between position and limit; the buffer is not consumed.
+     */
+    public static long xxh64(ByteBuffer data) {
+        return XXH64.hash(data, data.position(), data.remaining(), 0L);
+    }
+
+    /**
+     * Record the checksums of a chunk's data.
+     *
+     * @param chunkIndex Chunk index in region (0-1023)
+     * @param data Uncompressed chunk data between position and limit; not consumed
+     */
+    public void put(int chunkIndex, ByteBuffer data) {
+        int size = data.remaining();
+        int crc = crc32c(data);
+        long hash = xxh64(data);
+        int base = HEADER_SIZE + chunkIndex * SLOT_SIZE;
+        synchronized (locks[chunkIndex % LOCK_STRIPES]) {
+            if (closed) {
+                return;
+            }
+            slots.putInt(base, size);
+            slots.putInt(base + 4, crc);
+            slots.putLong(base + 8, hash);
+        }
+    }
+
+    /**
+     * Compare chunk data with its stored checksums.
+     *
+     * @param chunkIndex Chunk index in region (0-1023)
+     * @param data Uncompressed chunk data between position and limit; not consumed
+     */
+    public Match verify(int chunkIndex, ByteBuffer data) {
+        int base = HEADER_SIZE + chunkIndex * SLOT_SIZE;
+        int size;
+        int crc;
+        long hash;
+        synchronized (locks[chunkIndex % LOCK_STRIPES]) {
+            size = slots.getInt(base);
+            crc = slots.getInt(base + 4);
+            hash = slots.getLong(base + 8);
+        }
+        if (size == 0) {
+            return Match.UNKNOWN;
+        }
+        if (size == data.remaining() && crc == crc32c(data)) {
+            return Match.VALID;
+        }
+        return size == data.remaining() && hash == xxh64(data) ? Match.PARTIAL : Match.MISMATCH;
+    }
+
+    /**
+     * Stored size and checksums of a chunk.
+     *
+     * @return {size, crc32c, xxh64}, or null if nothing is stored
+     */
+    public long[] get(int chunkIndex) {
+        int base = HEADER_SIZE + chunkIndex * SLOT_SIZE;
+        synchronized (locks[chunkIndex % LOCK_STRIPES]) {
+            int size = slots.getInt(base);
+            return size == 0 ? null : new long[] {size, slots.getInt(base + 4), slots.getLong(base + 8)};
+        }
+    }
+
+    /**
+     * Number of chunks with stored checksums.
+     */
+    public int count() {
+        int count = 0;
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            synchronized (locks[i % LOCK_STRIPES]) {
+                if (slots.getInt(HEADER_SIZE + i * SLOT_SIZE) != 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drop all stored checksums.
+     */
+    public void clear() {
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            int base = HEADER_SIZE + i * SLOT_SIZE;
+            synchronized (locks[i % LOCK_STRIPES]) {
+                slots.putLong(base, 0L);
+                slots.putLong(base + 8, 0L);
+            }
+        }
+    }
+
+    /**
+     * Bytes used by the store (sidecar file or heap buffer).
+     */
+    public long getSizeBytes() {
+        return FILE_SIZE;
+    }
+
+    public boolean isPersistent() {
+        return file != null;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Drop a reference. The last release flushes the slots and marks the sidecar clean.
+     */
+    @Override
+    public void close() throws IOException {
+        if (file != null) {
+            synchronized (OPEN_STORES) {
+                if (closed || --refCount > 0) {
+                    return;
+                }
+                OPEN_STORES.remove(path);
+            }
+        } else if (closed) {
+            return;
+        }
+        for (Object lock : locks) {
+            synchronized (lock) {
+                closed = true;
+            }
+        }
+        if (file == null) {
+            return;
+        }
+        try {
+            MappedByteBuffer mapping = (MappedByteBuffer) slots;
+            mapping.force();
+            mapping.putInt(FLAGS_OFFSET, FLAG_CLEAN);
+            mapping.force();
+        } finally {
+            file.close();
+        }
+    }
+}
@@ -2,50 +2,46 @@ package com.turbomc.storage.integrity;
 
 import com.turbomc.storage.lrf.LRFConstants;
 import com.turbomc.storage.lrf.LRFChunkEntry;
+import com.turbomc.storage.lrf.LRFChunkMetadata;
 import com.turbomc.storage.lrf.LRFRegionReader;
+import com.turbomc.storage.optimization.StorageScheduler;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.zip.CRC32;
-import java.util.zip.CRC32C;
-import java.util.zip.Checksum;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
- * Comprehensive chunk integrity validation system with multiple checksum algorithms.
+ * Comprehensive chunk integrity validation system.
  * Provides corruption detection, automatic repair, and integrity reporting.
  * 
  * Features:
- * - Multiple checksum algorithms (CRC32, CRC32C, SHA-256)
+ * - CRC32C checks against the region's metadata table
+ * - Persistent CRC32C + XXH64 checksums in a memory-mapped sidecar ({@link ChunkChecksumStore})
  * - Per-chunk and per-region integrity verification
  * - Automatic corruption detection and repair
  * - Incremental integrity checking
  * - Background validation scheduler
  * - Detailed integrity reports
  * 
+ * Asynchronous validation runs on the shared {@link StorageScheduler}, so opening more
+ * regions does not add threads.
+ * 
  * @author TurboMC
  * @version 1.0.0
  */
 public class ChunkIntegrityValidator implements AutoCloseable {
     
     public enum ChecksumAlgorithm {
-        CRC32("CRC32", 4, true),
         CRC32C("CRC32C", 4, true), 
-        SHA256("SHA-256", 32, false);
+        XXH64("XXH64", 8, true);
         
         private final String name;
         private final int size;
@@ -83,12 +79,12 @@ public class ChunkIntegrityValidator implements AutoCloseable {
     
     private final Path regionPath;
     private final ExecutorService validationExecutor;
-    private final Map<Integer, ChunkChecksum> checksums;
+    private final ExecutorService backgroundExecutor;
+    private final ExecutorService regionExecutor;
+    private final ChunkChecksumStore checksums;
     private final AtomicBoolean isClosed;
     
     // Configuration
-    private final ChecksumAlgorithm primaryAlgorithm;
-    private final ChecksumAlgorithm backupAlgorithm;
     private final boolean enableAutoRepair;
     private final int validationThreads;
     
@@ -97,10 +93,9 @@ public class ChunkIntegrityValidator implements AutoCloseable {
     private final AtomicInteger chunksCorrupted;
     private final AtomicInteger chunksRepaired;
     private final AtomicLong validationTime;
-    private final AtomicLong checksumStorageSize;
     
-    // Validation cache
-    private final ConcurrentHashMap<Integer, Long> lastValidationTime;
+    // Validation cache (ms, 0 = never validated)
+    private final AtomicLongArray lastValidationTime;
     private final long validationIntervalMs;
     
     /**
@@ -109,48 +104,44 @@ public class ChunkIntegrityValidator implements AutoCloseable {
      * @param regionPath Path to the LRF region file
      */
     public ChunkIntegrityValidator(Path regionPath) {
-        this(regionPath, ChecksumAlgorithm.CRC32C, ChecksumAlgorithm.SHA256, true, 
-             Runtime.getRuntime().availableProcessors() / 2, 300000); // 5 minutes
+        this(regionPath, true, true, 
+             Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 300000); // 5 minutes
     }
     
     /**
      * Create integrity validator with custom configuration.
      * 
      * @param regionPath Path to the LRF region file
-     * @param primaryAlgorithm Primary checksum algorithm
-     * @param backupAlgorithm Backup checksum algorithm for verification
+     * @param persistentChecksums Keep checksums in the region's sidecar file across restarts
      * @param enableAutoRepair Enable automatic repair from backups
-     * @param validationThreads Number of validation threads
+     * @param validationThreads Number of validation threads (reported only; validation runs
+     *                          on the shared storage scheduler)
      * @param validationIntervalMs Interval between validations
      */
-    public ChunkIntegrityValidator(Path regionPath, ChecksumAlgorithm primaryAlgorithm,
-                                  ChecksumAlgorithm backupAlgorithm, boolean enableAutoRepair,
+    public ChunkIntegrityValidator(Path regionPath, boolean persistentChecksums, boolean enableAutoRepair,
                                   int validationThreads, long validationIntervalMs) {
         this.regionPath = regionPath;
-        this.primaryAlgorithm = primaryAlgorithm;
-        this.backupAlgorithm = backupAlgorithm;
         this.enableAutoRepair = enableAutoRepair;
         this.validationThreads = validationThreads;
         this.validationIntervalMs = validationIntervalMs;
         
-        this.validationExecutor = Executors.newFixedThreadPool(validationThreads, r -> {
-            Thread t = new Thread(r, "ChunkIntegrityValidator-" + System.currentTimeMillis());
-            t.setDaemon(true);
-            return t;
-        });
+        // Checks of loaded chunks hold up the load; whole-region checks are background work
+        StorageScheduler scheduler = StorageScheduler.shared();
+        this.validationExecutor = scheduler.executor(StorageScheduler.Lane.DECOMPRESS, StorageScheduler.Priority.URGENT);
+        this.backgroundExecutor = scheduler.executor(StorageScheduler.Lane.DECOMPRESS, StorageScheduler.Priority.BACKGROUND);
+        this.regionExecutor = scheduler.executor(StorageScheduler.Lane.MAINTENANCE, StorageScheduler.Priority.BACKGROUND);
         
-        this.checksums = new HashMap<>();
+        this.checksums = ChunkChecksumStore.open(regionPath, persistentChecksums);
         this.isClosed = new AtomicBoolean(false);
         this.chunksValidated = new AtomicInteger(0);
         this.chunksCorrupted = new AtomicInteger(0);
         this.chunksRepaired = new AtomicInteger(0);
         this.validationTime = new AtomicLong(0);
-        this.checksumStorageSize = new AtomicLong(0);
-        this.lastValidationTime = new ConcurrentHashMap<>();
+        this.lastValidationTime = new AtomicLongArray(LRFConstants.CHUNKS_PER_REGION);
         
         System.out.println("[TurboMC] ChunkIntegrityValidator initialized: " + regionPath.getFileName() +
-                         " (primary: " + primaryAlgorithm.getName() +
-                         ", backup: " + backupAlgorithm.getName() +
+                         " (checksums: " + (checksums.isPersistent() ? "sidecar" : "memory") +
+                         ", stored: " + checksums.count() +
                          ", auto-repair: " + enableAutoRepair +
                          ", threads: " + validationThreads + ")");
     }
@@ -164,101 +155,123 @@ public class ChunkIntegrityValidator implements AutoCloseable {
      * @return Validation result with details
      */
     public CompletableFuture<IntegrityReport> validateChunk(int chunkX, int chunkZ, byte[] data) {
-        return CompletableFuture.supplyAsync(() -> {
-            long startTime = System.currentTimeMillis();
+        return CompletableFuture.supplyAsync(() -> 
+            validateChunkNow(chunkX, chunkZ, data != null ? ByteBuffer.wrap(data) : null), validationExecutor);
+    }
+    
+    /**
+     * Validate a single chunk's integrity on the calling thread.
+     * Used for borrowed buffers (e.g. mmap slices) that are only valid during the call.
+     * 
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @param data Chunk data between position and limit; not consumed
+     * @return Validation result with details
+     */
+    public IntegrityReport validateChunkNow(int chunkX, int chunkZ, ByteBuffer data) {
+        return validateChunkNow(chunkX, chunkZ, data, null);
+    }
+    
+    /**
+     * Validate a chunk against the size and CRC32C recorded in the region's metadata table.
+     * Falls back to the checksum sidecar when there is no entry.
+     * 
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @param data Chunk data between position and limit; not consumed
+     * @param metadata Entry read with the same header as {@code data}, or null
+     * @return Validation result with details
+     */
+    public IntegrityReport validateChunkNow(int chunkX, int chunkZ, ByteBuffer data, LRFChunkMetadata metadata) {
+        long startTime = System.currentTimeMillis();
+        
+        try {
+            if (metadata != null && data != null && data.hasRemaining()) {
+                return validateAgainstMetadata(chunkX, chunkZ, data, metadata, startTime);
+            }
             
-            try {
-                if (data == null || data.length == 0) {
-                    return new IntegrityReport(chunkX, chunkZ, ValidationResult.MISSING, 
-                                             "Chunk data is null or empty", 0);
-                }
-                
-                int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
-                ChunkChecksum storedChecksum;
-                synchronized (checksums) {
-                    storedChecksum = checksums.get(chunkIndex);
-                }
-                
-                if (storedChecksum == null) {
-                    // First time seeing this chunk - calculate and store checksum
-                    ChunkChecksum newChecksum = calculateChecksums(chunkX, chunkZ, data);
-                    synchronized (checksums) {
-                        checksums.put(chunkIndex, newChecksum);
-                        checksumStorageSize.addAndGet(estimateChecksumSize(newChecksum));
-                    }
-                    lastValidationTime.put(chunkIndex, System.currentTimeMillis());
-                    
-                    return new IntegrityReport(chunkX, chunkZ, ValidationResult.VALID,
-                                             "First-time validation - checksum stored", 
-                                             data.length);
-                }
-                
-                // Validate with primary algorithm
-                String primaryChecksum = calculateChecksum(data, primaryAlgorithm);
-                boolean primaryValid = primaryChecksum.equals(storedChecksum.getPrimaryChecksum());
-                
-                // Validate with backup algorithm if primary fails
-                boolean backupValid = true;
-                if (!primaryValid && backupAlgorithm != null) {
-                    String backupChecksum = calculateChecksum(data, backupAlgorithm);
-                    backupValid = backupChecksum.equals(storedChecksum.getBackupChecksum());
-                }
-                
-                ValidationResult result;
-                String message;
-                
-                if (primaryValid && backupValid) {
-                    result = ValidationResult.VALID;
-                    message = "All checksums match";
-                } else if (!primaryValid && !backupValid) {
-                    result = ValidationResult.CORRUPTED;
-                    message = String.format("Primary and backup checksums mismatch for chunk [%d, %d]", chunkX, chunkZ);
-                    System.err.println("[TurboMC][Integrity] CORRUPTION: " + message);
-                    chunksCorrupted.incrementAndGet();
-                } else {
-                    result = ValidationResult.REPAIRABLE;
-                    message = String.format("Partial mismatch for chunk [%d, %d]", chunkX, chunkZ);
-                    System.err.println("[TurboMC][Integrity] REPAIRABLE: " + message);
-                }
-                
-                lastValidationTime.put(chunkIndex, System.currentTimeMillis());
-                chunksValidated.incrementAndGet();
-                validationTime.addAndGet(System.currentTimeMillis() - startTime);
-                
-                return new IntegrityReport(chunkX, chunkZ, result, message, data.length);
+            if (data == null || !data.hasRemaining()) {
+                return new IntegrityReport(chunkX, chunkZ, ValidationResult.MISSING, 
+                                         "Chunk data is null or empty", 0);
+            }
+            
+            int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
+            // Size + CRC32C compare; XXH64 is only computed when the CRC disagrees
+            ChunkChecksumStore.Match match = checksums.verify(chunkIndex, data);
+            
+            if (match == ChunkChecksumStore.Match.UNKNOWN) {
+                // First time seeing this chunk - calculate and store checksum
+                checksums.put(chunkIndex, data);
+                lastValidationTime.set(chunkIndex, System.currentTimeMillis());
                 
-            } catch (Exception e) {
-                return new IntegrityReport(chunkX, chunkZ, ValidationResult.CORRUPTED,
-                                         "Validation error: " + e.getMessage(), 0);
+                return new IntegrityReport(chunkX, chunkZ, ValidationResult.VALID,
+                                         "First-time validation - checksum stored", 
+                                         data.remaining());
+            }
+            
+            ValidationResult result;
+            String message;
+            
+            if (match == ChunkChecksumStore.Match.VALID) {
+                result = ValidationResult.VALID;
+                message = "All checksums match";
+            } else if (match == ChunkChecksumStore.Match.MISMATCH) {
+                result = ValidationResult.CORRUPTED;
+                message = String.format("CRC32C and XXH64 mismatch for chunk [%d, %d]", chunkX, chunkZ);
+                System.err.println("[TurboMC][Integrity] CORRUPTION: " + message);
+                chunksCorrupted.incrementAndGet();
+            } else {
+                result = ValidationResult.REPAIRABLE;
+                message = String.format("Partial mismatch for chunk [%d, %d] (XXH64 matches)", chunkX, chunkZ);
+                System.err.println("[TurboMC][Integrity] REPAIRABLE: " + message);
             }
-        }, validationExecutor);
+            
+            lastValidationTime.set(chunkIndex, System.currentTimeMillis());
+            chunksValidated.incrementAndGet();
+            validationTime.addAndGet(System.currentTimeMillis() - startTime);
+            
+            return new IntegrityReport(chunkX, chunkZ, result, message, data.remaining());
+            
+        } catch (Exception e) {
+            return new IntegrityReport(chunkX, chunkZ, ValidationResult.CORRUPTED,
+                                     "Validation error: " + e.getMessage(), 0);
+        }
+    }
+    
+    private IntegrityReport validateAgainstMetadata(int chunkX, int chunkZ, ByteBuffer data,
+                                                    LRFChunkMetadata metadata, long startTime) {
+        int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
+        lastValidationTime.set(chunkIndex, System.currentTimeMillis());
+        chunksValidated.incrementAndGet();
+        
+        IntegrityReport report;
+        if (metadata.matches(data)) {
+            report = new IntegrityReport(chunkX, chunkZ, ValidationResult.VALID,
+                                         "CRC32C matches metadata table", data.remaining());
+        } else {
+            String message = String.format("Chunk [%d, %d] does not match its metadata table entry (size %d, expected %d)",
+                                           chunkX, chunkZ, data.remaining(), metadata.getUncompressedSize());
+            System.err.println("[TurboMC][Integrity] CORRUPTION: " + message);
+            chunksCorrupted.incrementAndGet();
+            report = new IntegrityReport(chunkX, chunkZ, ValidationResult.CORRUPTED, message, data.remaining());
+        }
+        validationTime.addAndGet(System.currentTimeMillis() - startTime);
+        return report;
     }
     
     /**
      * Update the stored checksum for a chunk.
-     * Called after a successful save operation.
+     * Called after a successful save operation. Safe to call from any thread.
      */
     public void updateChecksum(int chunkX, int chunkZ, byte[] data) {
         if (data == null || data.length == 0) return;
         
         int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
-        ChunkChecksum newChecksum = calculateChecksums(chunkX, chunkZ, data);
-        
-        synchronized (checksums) {
-            ChunkChecksum old = checksums.put(chunkIndex, newChecksum);
-            if (old != null) {
-                checksumStorageSize.addAndGet(estimateChecksumSize(newChecksum) - estimateChecksumSize(old));
-                if (System.getProperty("turbomc.debug") != null) {
-                    System.out.println("[TurboMC][Integrity] Updated checksum for chunk [" + chunkX + ", " + chunkZ + "]");
-                }
-            } else {
-                checksumStorageSize.addAndGet(estimateChecksumSize(newChecksum));
-                if (System.getProperty("turbomc.debug") != null) {
-                    System.out.println("[TurboMC][Integrity] Initial checksum for chunk [" + chunkX + ", " + chunkZ + "]");
-                }
-            }
+        checksums.put(chunkIndex, ByteBuffer.wrap(data));
+        if (System.getProperty("turbomc.debug") != null) {
+            System.out.println("[TurboMC][Integrity] Updated checksum for chunk [" + chunkX + ", " + chunkZ + "]");
         }
-        lastValidationTime.put(chunkIndex, System.currentTimeMillis());
+        lastValidationTime.set(chunkIndex, System.currentTimeMillis());
     }
     
     /**
@@ -274,11 +287,16 @@ public class ChunkIntegrityValidator implements AutoCloseable {
             
             try {
                 List<LRFChunkEntry> chunks = reader.readAllChunks();
+                // One read for the whole table; chunks with an entry need no stored checksum
+                LRFChunkMetadata[] metadata = reader.readAllMetadata();
                 
                 // Submit all chunks for parallel validation
                 for (LRFChunkEntry chunk : chunks) {
-                    CompletableFuture<IntegrityReport> future = validateChunk(
-                        chunk.getChunkX(), chunk.getChunkZ(), chunk.getData());
+                    LRFChunkMetadata expected = metadata != null ? metadata[chunk.getIndex()] : null;
+                    byte[] data = chunk.getData();
+                    CompletableFuture<IntegrityReport> future = CompletableFuture.supplyAsync(() ->
+                        validateChunkNow(chunk.getChunkX(), chunk.getChunkZ(),
+                                         data != null ? ByteBuffer.wrap(data) : null, expected), backgroundExecutor);
                     futures.add(future);
                 }
                 
@@ -300,83 +318,7 @@ public class ChunkIntegrityValidator implements AutoCloseable {
             }
             
             return reports;
-        }, validationExecutor);
-    }
-    
-    /**
-     * Calculate checksums for chunk data using configured algorithms.
-     */
-    private ChunkChecksum calculateChecksums(int chunkX, int chunkZ, byte[] data) {
-        String primaryChecksum = calculateChecksum(data, primaryAlgorithm);
-        String backupChecksum = backupAlgorithm != null ? 
-            calculateChecksum(data, backupAlgorithm) : null;
-        
-        return new ChunkChecksum(chunkX, chunkZ, primaryChecksum, backupChecksum, 
-                               System.currentTimeMillis());
-    }
-    
-    /**
-     * Calculate checksum using specified algorithm.
-     */
-    private String calculateChecksum(byte[] data, ChecksumAlgorithm algorithm) {
-        try {
-            switch (algorithm) {
-                case CRC32:
-                    return calculateCRC32(data);
-                case CRC32C:
-                    return calculateCRC32C(data);
-                case SHA256:
-                    return calculateSHA256(data);
-                default:
-                    throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Checksum calculation failed", e);
-        }
-    }
-    
-    /**
-     * Calculate CRC32 checksum.
-     */
-    private String calculateCRC32(byte[] data) {
-        CRC32 crc32 = new CRC32();
-        crc32.update(data);
-        return String.format("%08x", crc32.getValue());
-    }
-    
-    /**
-     * Calculate CRC32C checksum (hardware-accelerated on modern CPUs).
-     */
-    private String calculateCRC32C(byte[] data) {
-        CRC32C crc32c = new CRC32C();
-        crc32c.update(data);
-        return String.format("%08x", crc32c.getValue());
-    }
-    
-    /**
-     * Calculate SHA-256 checksum.
-     */
-    private String calculateSHA256(byte[] data) throws NoSuchAlgorithmException {
-        MessageDigest digest = MessageDigest.getInstance("SHA-256");
-        byte[] hash = digest.digest(data);
-        
-        StringBuilder sb = new StringBuilder();
-        for (byte b : hash) {
-            sb.append(String.format("%02x", b));
-        }
-        return sb.toString();
-    }
-    
-    /**
-     * Estimate memory usage for checksum storage.
-     */
-    private long estimateChecksumSize(ChunkChecksum checksum) {
-        long size = 64; // Base overhead
-        size += checksum.getPrimaryChecksum().length() * 2; // Primary checksum
-        if (checksum.getBackupChecksum() != null) {
-            size += checksum.getBackupChecksum().length() * 2; // Backup checksum
-        }
-        return size;
+        }, regionExecutor);
     }
     
     /**
@@ -384,9 +326,9 @@ public class ChunkIntegrityValidator implements AutoCloseable {
      */
     public boolean needsValidation(int chunkX, int chunkZ) {
         int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
-        Long lastValidation = lastValidationTime.get(chunkIndex);
+        long lastValidation = lastValidationTime.get(chunkIndex);
         
-        if (lastValidation == null) {
+        if (lastValidation == 0) {
             return true;
         }
         
@@ -402,10 +344,10 @@ public class ChunkIntegrityValidator implements AutoCloseable {
             chunksCorrupted.get(),
             chunksRepaired.get(),
             validationTime.get(),
-            checksums.size(),
-            checksumStorageSize.get(),
-            primaryAlgorithm,
-            backupAlgorithm
+            checksums.count(),
+            checksums.getSizeBytes(),
+            ChecksumAlgorithm.CRC32C,
+            ChecksumAlgorithm.XXH64
         );
     }
     
@@ -414,7 +356,8 @@ public class ChunkIntegrityValidator implements AutoCloseable {
      */
     public ChunkChecksum getChecksum(int chunkX, int chunkZ) {
         int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
-        return checksums.get(chunkIndex);
+        long[] stored = checksums.get(chunkIndex);
+        return stored != null ? new ChunkChecksum(chunkX, chunkZ, (int) stored[0], (int) stored[1], stored[2]) : null;
     }
     
     /**
@@ -422,18 +365,17 @@ public class ChunkIntegrityValidator implements AutoCloseable {
      */
     public void clearChecksums() {
         checksums.clear();
-        checksumStorageSize.set(0);
-        lastValidationTime.clear();
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            lastValidationTime.set(i, 0L);
+        }
     }
     
     @Override
     public void close() throws IOException {
         if (isClosed.compareAndSet(false, true)) {
             try {
-                validationExecutor.shutdown();
-                if (!validationExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
-                    validationExecutor.shutdownNow();
-                }
+                // Validation runs on the shared scheduler, which stays up
+                checksums.close();
                 
                 System.out.println("[TurboMC] ChunkIntegrityValidator closed: " + getStats());
             } catch (Exception e) {
@@ -448,29 +390,28 @@ public class ChunkIntegrityValidator implements AutoCloseable {
     public static class ChunkChecksum {
         private final int chunkX;
         private final int chunkZ;
-        private final String primaryChecksum;
-        private final String backupChecksum;
-        private final long timestamp;
+        private final int size;
+        private final int crc32c;
+        private final long xxh64;
         
-        ChunkChecksum(int chunkX, int chunkZ, String primaryChecksum, 
-                     String backupChecksum, long timestamp) {
+        ChunkChecksum(int chunkX, int chunkZ, int size, int crc32c, long xxh64) {
             this.chunkX = chunkX;
             this.chunkZ = chunkZ;
-            this.primaryChecksum = primaryChecksum;
-            this.backupChecksum = backupChecksum;
-            this.timestamp = timestamp;
+            this.size = size;
+            this.crc32c = crc32c;
+            this.xxh64 = xxh64;
         }
         
         public int getChunkX() { return chunkX; }
         public int getChunkZ() { return chunkZ; }
-        public String getPrimaryChecksum() { return primaryChecksum; }
-        public String getBackupChecksum() { return backupChecksum; }
-        public long getTimestamp() { return timestamp; }
+        public int getSize() { return size; }
+        public int getCrc32c() { return crc32c; }
+        public long getXxh64() { return xxh64; }
         
         @Override
         public String toString() {
-            return String.format("ChunkChecksum{x=%d,z=%d,primary=%s,backup=%s,time=%d}",
-                    chunkX, chunkZ, primaryChecksum, backupChecksum, timestamp);
+            return String.format("ChunkChecksum{x=%d,z=%d,size=%d,crc32c=%08x,xxh64=%016x}",
+                    chunkX, chunkZ, size, crc32c, xxh64);
         }
     }
     
@@ -557,9 +498,9 @@ public class ChunkIntegrityValidator implements AutoCloseable {
         
         @Override
         public String toString() {
-            return String.format("IntegrityStats{validated=%d,corrupted=%d(%.2f%%),repaired=%d,avgTime=%.2fms,checksums=%d,storage=%.1fMB,primary=%s,backup=%s}",
+            return String.format("IntegrityStats{validated=%d,corrupted=%d(%.2f%%),repaired=%d,avgTime=%.2fms,checksums=%d,storage=%.1fKB,primary=%s,backup=%s}",
                     chunksValidated, chunksCorrupted, getCorruptionRate(), chunksRepaired,
-                    getAvgValidationTime(), checksumsStored, checksumStorageSize / 1024.0 / 1024.0,
+                    getAvgValidationTime(), checksumsStored, checksumStorageSize / 1024.0,
                     primaryAlgorithm.getName(), backupAlgorithm != null ? backupAlgorithm.getName() : "none");
         }
     }
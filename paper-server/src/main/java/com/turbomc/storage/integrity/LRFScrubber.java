@@ -0,0 +1,549 @@
+package com.turbomc.storage.integrity;
+
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.lrf.AdvancedLRFCorruptionFixer;
+import com.turbomc.storage.lrf.LRFChunkBuffer;
+import com.turbomc.storage.lrf.LRFChunkMetadata;
+import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFRegionReader;
+import com.turbomc.storage.optimization.StorageScheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Background scrubber that keeps re-reading every stored chunk of the registered world
+ * folders and checks it against its checksums.
+ *
+ * Chunks are checked against the region's metadata table, or against the checksum sidecar
+ * for chunks without an entry. Chunks that fail, re-checked with a freshly opened reader so
+ * a concurrent save is not mistaken for damage, are reported to
+ * {@link AdvancedLRFCorruptionFixer}.
+ *
+ * One chunk is read at a time on the storage scheduler's maintenance lane, paced to stay within a MB/s
+ * and a reads/s budget, and scrubbing pauses while the server's MSPT is above a threshold.
+ * Progress is saved per folder ({@value #PROGRESS_FILE}), so a pass resumes where it stopped
+ * after a restart.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class LRFScrubber implements AutoCloseable {
+
+    static final String PROGRESS_FILE = "scrub_progress.properties";
+    private static final int SAVE_INTERVAL_CHUNKS = 64;
+    private static final long PAUSE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static volatile LRFScrubber shared;
+
+    private final List<Path> folders = new CopyOnWriteArrayList<>();
+    private final AdvancedLRFCorruptionFixer corruptionFixer;
+    private final long bytesPerSecond;
+    private final int iops;
+    private final double pauseMspt;
+    private final long passIntervalMillis;
+    private final boolean persistentChecksums;
+    private volatile DoubleSupplier msptSource = LRFScrubber::serverMspt;
+    private final Object stepLock = new Object();
+    private volatile ScheduledFuture<?> nextStep;
+    private volatile boolean started;
+    private volatile boolean closed;
+
+    // Cursor, only touched by one step at a time
+    private final Map<Path, Progress> progress = new HashMap<>();
+    private int folderIndex;
+    private LRFRegionReader reader;
+    private ChunkChecksumStore checksums;
+    private Progress readerProgress;
+    private int chunksSinceSave;
+
+    // Statistics
+    private final AtomicLong chunksScrubbed = new AtomicLong();
+    private final AtomicLong bytesScrubbed = new AtomicLong();
+    private final AtomicLong suspectsFound = new AtomicLong();
+    private final AtomicLong passesCompleted = new AtomicLong();
+    private final AtomicLong pauses = new AtomicLong();
+
+    /**
+     * @param corruptionFixer Receives the chunks that fail verification
+     * @param bytesPerSecond Read budget in bytes per second
+     * @param iops Read budget in chunks per second
+     * @param pauseMspt Pause while the server's average tick time is above this (ms)
+     * @param passIntervalMillis Wait after a full pass over a folder before the next
+     * @param persistentChecksums Use the checksum sidecar files, as the validators do
+     */
+    public LRFScrubber(AdvancedLRFCorruptionFixer corruptionFixer, long bytesPerSecond, int iops,
+                       double pauseMspt, long passIntervalMillis, boolean persistentChecksums) {
+        this.corruptionFixer = corruptionFixer;
+        this.bytesPerSecond = Math.max(1, bytesPerSecond);
+        this.iops = Math.max(1, iops);
+        this.pauseMspt = pauseMspt;
+        this.passIntervalMillis = Math.max(0, passIntervalMillis);
+        this.persistentChecksums = persistentChecksums;
+    }
+
+    /**
+     * Get the process-wide scrubber, creating and starting it from config on first use.
+     */
+    public static LRFScrubber shared() {
+        LRFScrubber scrubber = shared;
+        if (scrubber == null) {
+            synchronized (LRFScrubber.class) {
+                scrubber = shared;
+                if (scrubber == null) {
+                    double mbPerSecond = 2.0;
+                    int iops = 20;
+                    double pauseMspt = 40.0;
+                    long passIntervalMinutes = 360;
+                    boolean persistent = true;
+                    try {
+                        TurboConfig config = TurboConfig.getInstance();
+                        mbPerSecond = config.getDouble("storage.integrity.scrub-mb-per-second", 2.0);
+                        iops = config.getInt("storage.integrity.scrub-iops", 20);
+                        pauseMspt = config.getDouble("storage.integrity.scrub-pause-mspt", 40.0);
+                        passIntervalMinutes = config.getLong("storage.integrity.scrub-pass-interval-minutes", 360L);
+                        persistent = config.getBoolean("storage.integrity.persistent-checksums", true);
+                    } catch (Exception ignored) {
+                        // Config not initialized (tools, tests) - keep defaults
+                    }
+                    scrubber = shared = new LRFScrubber(new AdvancedLRFCorruptionFixer(),
+                        (long) (mbPerSecond * 1024 * 1024), iops, pauseMspt,
+                        TimeUnit.MINUTES.toMillis(passIntervalMinutes), persistent);
+                    scrubber.start();
+                    System.out.println("[TurboMC][Scrub] Scrubber started: " + mbPerSecond + "MB/s, " +
+                        iops + " reads/s, pause above " + pauseMspt + " MSPT");
+                }
+            }
+        }
+        return scrubber;
+    }
+
+    /**
+     * Stop the process-wide scrubber, if started, saving its progress.
+     */
+    public static void shutdownShared() {
+        LRFScrubber scrubber;
+        synchronized (LRFScrubber.class) {
+            scrubber = shared;
+            shared = null;
+        }
+        if (scrubber != null) {
+            scrubber.close();
+        }
+    }
+
+    /**
+     * Start scrubbing on the storage scheduler's maintenance lane.
+     */
+    public synchronized void start() {
+        if (started || closed) {
+            return;
+        }
+        started = true;
+        scheduleStep(0);
+    }
+
+    /**
+     * Add a world folder holding .lrf regions. Registering a folder again has no effect.
+     */
+    public void registerFolder(Path folder) {
+        Path normalized = folder.toAbsolutePath().normalize();
+        if (!folders.contains(normalized)) {
+            folders.add(normalized);
+        }
+    }
+
+    /**
+     * Replace the MSPT source (testing).
+     */
+    public void setMsptSource(DoubleSupplier msptSource) {
+        this.msptSource = msptSource;
+    }
+
+    private void run() {
+        long delayNanos;
+        synchronized (stepLock) {
+            if (closed) {
+                return;
+            }
+            try {
+                delayNanos = step();
+            } catch (Throwable t) {
+                System.err.println("[TurboMC][Scrub] Scrub step failed: " + t.getMessage());
+                closeRegion();
+                delayNanos = IDLE_NANOS;
+            }
+        }
+        scheduleStep(delayNanos);
+    }
+
+    private void scheduleStep(long delayNanos) {
+        if (closed) {
+            return;
+        }
+        try {
+            nextStep = StorageScheduler.shared().schedule(StorageScheduler.Lane.MAINTENANCE,
+                StorageScheduler.Priority.BACKGROUND, this::run, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (Exception ignored) {
+            // Scheduler shut down concurrently
+        }
+    }
+
+    /**
+     * Do one unit of work: check one chunk, or move to the next region or folder.
+     *
+     * @return Nanoseconds to wait before the next step to stay within budget
+     */
+    long step() throws IOException {
+        if (msptSource.getAsDouble() > pauseMspt) {
+            pauses.incrementAndGet();
+            return PAUSE_NANOS;
+        }
+
+        if (reader == null && !openNextRegion()) {
+            return IDLE_NANOS;
+        }
+
+        Progress cursor = readerProgress;
+        int index = cursor.nextChunk;
+        while (index < LRFConstants.CHUNKS_PER_REGION
+            && !reader.hasChunk(index & 31, index >> 5)) {
+            index++;
+        }
+        if (index >= LRFConstants.CHUNKS_PER_REGION) {
+            cursor.nextChunk = LRFConstants.CHUNKS_PER_REGION;
+            closeRegion();
+            saveProgress(cursor);
+            return readNanos(0);
+        }
+
+        long bytes = scrubChunk(index);
+        cursor.nextChunk = index + 1;
+        cursor.chunks++;
+        cursor.bytes += bytes;
+        chunksScrubbed.incrementAndGet();
+        bytesScrubbed.addAndGet(bytes);
+        if (++chunksSinceSave >= SAVE_INTERVAL_CHUNKS) {
+            saveProgress(cursor);
+        }
+        return readNanos(bytes);
+    }
+
+    /**
+     * Time one read of the given size takes out of the budget.
+     */
+    private long readNanos(long bytes) {
+        return Math.max(bytes * 1_000_000_000L / bytesPerSecond, 1_000_000_000L / iops);
+    }
+
+    /**
+     * Open the region the cursor points at, going on to the next folder when a folder's pass
+     * is complete.
+     *
+     * @return false if no folder has anything to scrub right now
+     */
+    private boolean openNextRegion() throws IOException {
+        for (int attempts = folders.size(); attempts > 0; attempts--) {
+            Path folder = folders.get(Math.floorMod(folderIndex, folders.size()));
+            Progress cursor = progress.computeIfAbsent(folder, Progress::load);
+
+            if (cursor.region == null
+                && System.currentTimeMillis() - cursor.lastPassEnd < passIntervalMillis) {
+                folderIndex++; // Resting after its last pass
+                continue;
+            }
+
+            Path region = nextRegion(folder, cursor);
+            if (region == null) {
+                if (cursor.region != null || cursor.chunks > 0) {
+                    cursor.passes++;
+                    passesCompleted.incrementAndGet();
+                    System.out.println("[TurboMC][Scrub] Pass " + cursor.passes + " over " + folder +
+                        " complete: " + cursor.chunks + " chunks, " + cursor.suspects + " suspect");
+                }
+                cursor.region = null;
+                cursor.nextChunk = 0;
+                cursor.chunks = 0;
+                cursor.bytes = 0;
+                cursor.suspects = 0;
+                cursor.lastPassEnd = System.currentTimeMillis();
+                saveProgress(cursor);
+                folderIndex++;
+                continue;
+            }
+
+            String name = region.getFileName().toString();
+            if (!name.equals(cursor.region)) {
+                cursor.region = name;
+                cursor.nextChunk = 0;
+            }
+            try {
+                reader = new LRFRegionReader(region);
+            } catch (IOException e) {
+                System.err.println("[TurboMC][Scrub] Cannot open " + name + ", skipping: " + e.getMessage());
+                cursor.nextChunk = LRFConstants.CHUNKS_PER_REGION;
+                saveProgress(cursor);
+                return true;
+            }
+            checksums = ChunkChecksumStore.open(region, persistentChecksums);
+            readerProgress = cursor;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * First region at or after the cursor that still has chunks to scrub, by file name.
+     */
+    private static Path nextRegion(Path folder, Progress cursor) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            return files
+                .filter(p -> p.getFileName().toString().endsWith(LRFConstants.LRF_EXTENSION))
+                .filter(p -> {
+                    if (cursor.region == null) {
+                        return true;
+                    }
+                    int order = p.getFileName().toString().compareTo(cursor.region);
+                    return order > 0 || (order == 0 && cursor.nextChunk < LRFConstants.CHUNKS_PER_REGION);
+                })
+                .min((a, b) -> a.getFileName().toString().compareTo(b.getFileName().toString()))
+                .orElse(null);
+        }
+    }
+
+    /**
+     * Check one chunk, reporting it if it still fails with a fresh view of the region.
+     *
+     * @return Bytes read from the file
+     */
+    private long scrubChunk(int index) throws IOException {
+        int chunkX = index & 31;
+        int chunkZ = index >> 5;
+        long bytes = reader.getHeader().getChunkSize(chunkX, chunkZ);
+
+        String problem = check(reader, index);
+        if (problem != null) {
+            // The header may predate a save that moved the chunk
+            try (LRFRegionReader fresh = new LRFRegionReader(reader.getFilePath())) {
+                problem = fresh.hasChunk(chunkX, chunkZ) ? check(fresh, index) : null;
+                bytes += fresh.getHeader().getChunkSize(chunkX, chunkZ);
+            }
+        }
+        if (problem != null) {
+            readerProgress.suspects++;
+            suspectsFound.incrementAndGet();
+            corruptionFixer.reportSuspectChunk(reader.getFilePath(), chunkX, chunkZ, problem);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return Description of the problem, or null if the chunk is intact
+     */
+    private String check(LRFRegionReader regionReader, int index) throws IOException {
+        int chunkX = index & 31;
+        int chunkZ = index >> 5;
+        LRFChunkMetadata metadata = regionReader.readMetadata(chunkX, chunkZ);
+        try (LRFChunkBuffer chunk = regionReader.readChunkBufferFromFile(chunkX, chunkZ)) {
+            if (chunk == null) {
+                return "frame unreadable";
+            }
+            ByteBuffer data = chunk.getData();
+            if (metadata != null) {
+                return metadata.matches(data) ? null : "metadata checksum mismatch";
+            }
+            switch (checksums.verify(index, data)) {
+                case MISMATCH:
+                    return "sidecar checksum mismatch";
+                case UNKNOWN:
+                case PARTIAL:
+                    // Seed (or repair) the sidecar so the next pass can check the chunk
+                    checksums.put(index, data);
+                    return null;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private void closeRegion() {
+        try {
+            if (reader != null) {
+                reader.close();
+            }
+            if (checksums != null) {
+                checksums.close();
+            }
+        } catch (IOException e) {
+            System.err.println("[TurboMC][Scrub] Error closing region: " + e.getMessage());
+        } finally {
+            reader = null;
+            checksums = null;
+        }
+    }
+
+    private void saveProgress(Progress cursor) {
+        chunksSinceSave = 0;
+        try {
+            cursor.save();
+        } catch (IOException e) {
+            System.err.println("[TurboMC][Scrub] Cannot save progress for " + cursor.folder + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cursor of one world folder, persisted in {@value #PROGRESS_FILE}.
+     */
+    private static final class Progress {
+        final Path folder;
+        String region; // Region being scrubbed, null between passes
+        int nextChunk;
+        long passes;
+        long lastPassEnd;
+        long chunks;
+        long bytes;
+        long suspects;
+
+        Progress(Path folder) {
+            this.folder = folder;
+        }
+
+        static Progress load(Path folder) {
+            Progress cursor = new Progress(folder);
+            Path file = folder.resolve(PROGRESS_FILE);
+            if (!Files.exists(file)) {
+                return cursor;
+            }
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+                String region = properties.getProperty("region", "");
+                cursor.region = region.isEmpty() ? null : region;
+                cursor.nextChunk = Integer.parseInt(properties.getProperty("next-chunk", "0"));
+                cursor.passes = Long.parseLong(properties.getProperty("passes", "0"));
+                cursor.lastPassEnd = Long.parseLong(properties.getProperty("last-pass-end", "0"));
+                cursor.chunks = Long.parseLong(properties.getProperty("chunks", "0"));
+                cursor.bytes = Long.parseLong(properties.getProperty("bytes", "0"));
+                cursor.suspects = Long.parseLong(properties.getProperty("suspects", "0"));
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("[TurboMC][Scrub] Ignoring unreadable " + file + ": " + e.getMessage());
+                return new Progress(folder);
+            }
+            return cursor;
+        }
+
+        void save() throws IOException {
+            if (!Files.isDirectory(folder)) {
+                return;
+            }
+            Properties properties = new Properties();
+            properties.setProperty("region", region != null ? region : "");
+            properties.setProperty("next-chunk", Integer.toString(nextChunk));
+            properties.setProperty("passes", Long.toString(passes));
+            properties.setProperty("last-pass-end", Long.toString(lastPassEnd));
+            properties.setProperty("chunks", Long.toString(chunks));
+            properties.setProperty("bytes", Long.toString(bytes));
+            properties.setProperty("suspects", Long.toString(suspects));
+
+            Path file = folder.resolve(PROGRESS_FILE);
+            Path temp = folder.resolve(PROGRESS_FILE + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "TurboMC LRF scrub progress");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static double serverMspt() {
+        try {
+            return org.bukkit.Bukkit.getAverageTickTime();
+        } catch (Throwable t) {
+            return 0.0; // No server (tools, tests)
+        }
+    }
+
+    public AdvancedLRFCorruptionFixer getCorruptionFixer() {
+        return corruptionFixer;
+    }
+
+    public ScrubStats getStats() {
+        return new ScrubStats(folders.size(), chunksScrubbed.get(), bytesScrubbed.get(),
+            suspectsFound.get(), passesCompleted.get(), pauses.get());
+    }
+
+    /**
+     * Stop scrubbing and save the cursor so the next start resumes from it.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        ScheduledFuture<?> pending = nextStep;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        // Wait for a step in progress
+        synchronized (stepLock) {
+            closeRegion();
+            for (Progress cursor : progress.values()) {
+                saveProgress(cursor);
+            }
+        }
+        System.out.println("[TurboMC][Scrub] Scrubber stopped: " + getStats());
+    }
+
+    public static class ScrubStats {
+        private final int folders;
+        private final long chunksScrubbed;
+        private final long bytesScrubbed;
+        private final long suspectsFound;
+        private final long passesCompleted;
+        private final long pauses;
+
+        public ScrubStats(int folders, long chunksScrubbed, long bytesScrubbed,
+                          long suspectsFound, long passesCompleted, long pauses) {
+            this.folders = folders;
+            this.chunksScrubbed = chunksScrubbed;
+            this.bytesScrubbed = bytesScrubbed;
+            this.suspectsFound = suspectsFound;
+            this.passesCompleted = passesCompleted;
+            this.pauses = pauses;
+        }
+
+        public int getFolders() { return folders; }
+        public long getChunksScrubbed() { return chunksScrubbed; }
+        public long getBytesScrubbed() { return bytesScrubbed; }
+        public long getSuspectsFound() { return suspectsFound; }
+        public long getPassesCompleted() { return passesCompleted; }
+        public long getPauses() { return pauses; }
+
+        @Override
+        public String toString() {
+            return String.format("ScrubStats{folders=%d, chunks=%d, %.1fMB, suspects=%d, passes=%d, pauses=%d}",
+                folders, chunksScrubbed, bytesScrubbed / (1024.0 * 1024.0), suspectsFound, passesCompleted, pauses);
+        }
+    }
+}
@@ -11,6 +11,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Advanced corruption detection and repair system for LRF files.
@@ -27,7 +30,10 @@ public class AdvancedLRFCorruptionFixer {
     private static final byte[] LRF_MAGIC = "TURBO_LRF".getBytes();
     
     private final Map<String, Integer> compressionStats = new HashMap<>();
-    private final Map<String, Integer> corruptionStats = new HashMap<>();
+    private final Map<String, Integer> corruptionStats = new ConcurrentHashMap<>();
+    
+    // Chunks found damaged by background scrubbing: region -> chunk index -> reason
+    private final Map<Path, Map<Integer, String>> suspectChunks = new ConcurrentHashMap<>();
     
     /**
      * Comprehensive corruption detection with compression analysis.
@@ -41,6 +47,13 @@ public class AdvancedLRFCorruptionFixer {
                 return report;
             }
             
+            // Chunks the scrubber found damaged
+            Map<Integer, String> suspects = suspectChunks.get(filePath.toAbsolutePath().normalize());
+            if (suspects != null) {
+                new TreeMap<>(suspects).forEach((index, reason) -> report.addIssue("SUSPECT_CHUNK",
+                    "Chunk " + (index & 31) + "," + (index >> 5) + ": " + reason));
+            }
+            
             byte[] fileData = Files.readAllBytes(filePath);
             
             if (fileData.length < HEADER_SIZE) {
@@ -598,6 +611,41 @@ public class AdvancedLRFCorruptionFixer {
         return backupPath;
     }
     
+    /**
+     * Record a chunk that failed verification, so the next {@link #detectCorruption} of its
+     * region reports it. Reporting the same chunk again replaces the reason.
+     * 
+     * @param regionPath Path to .lrf file
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @param reason Short description of the failed check
+     */
+    public void reportSuspectChunk(Path regionPath, int chunkX, int chunkZ, String reason) {
+        Path key = regionPath.toAbsolutePath().normalize();
+        String previous = suspectChunks.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+            .put(LRFConstants.getChunkIndex(chunkX, chunkZ), reason);
+        if (previous == null) {
+            corruptionStats.merge("SUSPECT_CHUNK", 1, Integer::sum);
+            System.err.println("[TurboMC][LRF] Suspect chunk " + chunkX + "," + chunkZ + " in " +
+                             regionPath.getFileName() + ": " + reason);
+        }
+    }
+    
+    /**
+     * Chunk indices reported for a region.
+     */
+    public Set<Integer> getSuspectChunks(Path regionPath) {
+        Map<Integer, String> suspects = suspectChunks.get(regionPath.toAbsolutePath().normalize());
+        return suspects != null ? Set.copyOf(suspects.keySet()) : Set.of();
+    }
+    
+    /**
+     * Forget the suspects of a region, e.g. after it was repaired or restored.
+     */
+    public void clearSuspectChunks(Path regionPath) {
+        suspectChunks.remove(regionPath.toAbsolutePath().normalize());
+    }
+    
     /**
      * Get compression statistics.
      */
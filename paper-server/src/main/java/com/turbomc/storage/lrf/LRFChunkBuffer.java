@@ -0,0 +1,84 @@
+package com.turbomc.storage.lrf;
+
+import com.turbomc.compression.DirectBufferPool;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Borrowed view of a chunk's decompressed data.
+ *
+ * The data is either a slice of the region's memory mapping (uncompressed chunks), a
+ * pooled direct buffer the chunk was decompressed into, or a wrapped cached array.
+ * The view is only valid until {@link #close()}, which hands any pooled buffer back.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class LRFChunkBuffer implements AutoCloseable {
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final ByteBuffer data;
+    private final DirectBufferPool pool;
+    private ByteBuffer pooled;
+
+    /**
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @param data Decompressed chunk data between position and limit
+     * @param pool Pool owning {@code pooled}, may be null
+     * @param pooled Buffer to release on close, may be null
+     */
+    LRFChunkBuffer(int chunkX, int chunkZ, ByteBuffer data, DirectBufferPool pool, ByteBuffer pooled) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.data = data.asReadOnlyBuffer();
+        this.pool = pool;
+        this.pooled = pooled;
+    }
+
+    /**
+     * Wrap data not owned by a pool, e.g. a cached or pending chunk.
+     */
+    public static LRFChunkBuffer wrap(int chunkX, int chunkZ, byte[] data) {
+        return new LRFChunkBuffer(chunkX, chunkZ, ByteBuffer.wrap(data), null, null);
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkZ() {
+        return chunkZ;
+    }
+
+    /**
+     * Get the chunk data. Returns a fresh read-only view each call, so callers may
+     * move its position freely.
+     */
+    public ByteBuffer getData() {
+        return data.duplicate();
+    }
+
+    public int size() {
+        return data.remaining();
+    }
+
+    /**
+     * Copy the data out, for callers that must keep it past {@link #close()}.
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        ByteBuffer buffer = pooled;
+        if (buffer != null) {
+            pooled = null;
+            pool.release(buffer);
+        }
+    }
+}
@@ -13,6 +13,7 @@ public class LRFChunkEntry {
     private final int chunkZ;
     private final byte[] data;
     private final long timestamp;
+    private final LRFChunkMetadata metadata;
     
     /**
      * Create a new chunk entry.
@@ -23,10 +24,24 @@ public class LRFChunkEntry {
      * @param timestamp Last modification time (Unix timestamp in seconds)
      */
     public LRFChunkEntry(int chunkX, int chunkZ, byte[] data, long timestamp) {
+        this(chunkX, chunkZ, data, timestamp, null);
+    }
+    
+    /**
+     * Create a chunk entry to save together with its metadata table entry.
+     * 
+     * @param metadata Metadata of the uncompressed data, null to record only size and checksum
+     */
+    public LRFChunkEntry(int chunkX, int chunkZ, byte[] data, LRFChunkMetadata metadata) {
+        this(chunkX, chunkZ, data, System.currentTimeMillis() / 1000L, metadata);
+    }
+    
+    private LRFChunkEntry(int chunkX, int chunkZ, byte[] data, long timestamp, LRFChunkMetadata metadata) {
         this.chunkX = chunkX;
         this.chunkZ = chunkZ;
         this.data = data;
         this.timestamp = timestamp;
+        this.metadata = metadata;
     }
     
     /**
@@ -89,6 +104,13 @@ public class LRFChunkEntry {
         return timestamp;
     }
     
+    /**
+     * Get the metadata to store with this chunk, or null if none was supplied.
+     */
+    public LRFChunkMetadata getMetadata() {
+        return metadata;
+    }
+    
     /**
      * Get compressed size of chunk data.
      */
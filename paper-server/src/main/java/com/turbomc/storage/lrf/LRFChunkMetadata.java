@@ -0,0 +1,271 @@
+package com.turbomc.storage.lrf;
+
+import net.minecraft.nbt.CompoundTag;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32C;
+
+/**
+ * Per-chunk entry of the LRF metadata table.
+ *
+ * The table is a fixed 32KB extent (one 32-byte entry per chunk) whose offset is stored in
+ * the header padding. It answers status, age and integrity questions with a single small
+ * read, or straight from the mapping, without decompressing the chunk.
+ *
+ * Entry layout (big-endian):
+ * - int: frame offset / 256 (24 bits) | status ID (8 bits); 0 = no entry
+ * - int: DataVersion
+ * - long: last save tick (the chunk's LastUpdate)
+ * - long: inhabited time
+ * - int: uncompressed size
+ * - int: CRC32C of the uncompressed data
+ *
+ * The frame offset ties the entry to the frame it was written for: entries whose offset no
+ * longer matches the header (crash between frame and header write, stale header copy) are
+ * ignored.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class LRFChunkMetadata {
+
+    /** Generation statuses by ID; 0 means unknown. */
+    private static final String[] STATUSES = {
+        null,
+        "minecraft:empty", "minecraft:structure_starts", "minecraft:structure_references",
+        "minecraft:biomes", "minecraft:noise", "minecraft:surface", "minecraft:carvers",
+        "minecraft:features", "minecraft:initialize_light", "minecraft:light", "minecraft:spawn",
+        "minecraft:full"
+    };
+
+    private final int dataVersion;
+    private final int statusId;
+    private final long lastSaveTick;
+    private final long inhabitedTime;
+    private final int uncompressedSize;
+    private final int crc32c;
+
+    private LRFChunkMetadata(int dataVersion, int statusId, long lastSaveTick, long inhabitedTime,
+                             int uncompressedSize, int crc32c) {
+        this.dataVersion = dataVersion;
+        this.statusId = statusId;
+        this.lastSaveTick = lastSaveTick;
+        this.inhabitedTime = inhabitedTime;
+        this.uncompressedSize = uncompressedSize;
+        this.crc32c = crc32c;
+    }
+
+    /**
+     * Create metadata for a chunk.
+     *
+     * @param dataVersion Chunk DataVersion, 0 if unknown
+     * @param status Generation status (e.g. "minecraft:full"), null if unknown
+     * @param lastSaveTick Game time of the save
+     * @param inhabitedTime Ticks players spent in the chunk
+     * @param data Uncompressed chunk data as stored
+     */
+    public LRFChunkMetadata(int dataVersion, String status, long lastSaveTick, long inhabitedTime, byte[] data) {
+        this(dataVersion, statusId(status), lastSaveTick, inhabitedTime, data.length, crc32c(ByteBuffer.wrap(data)));
+    }
+
+    /**
+     * Metadata with only size and checksum, for chunks whose NBT is not at hand (conversion, raw saves).
+     */
+    public static LRFChunkMetadata forData(byte[] data) {
+        return new LRFChunkMetadata(0, null, 0L, 0L, data);
+    }
+
+    /**
+     * Metadata of a chunk tag that was serialized to {@code data}.
+     */
+    public static LRFChunkMetadata forChunk(CompoundTag tag, byte[] data) {
+        return new LRFChunkMetadata(
+            tag.getIntOr("DataVersion", 0),
+            tag.getStringOr("Status", null),
+            tag.getLongOr("LastUpdate", 0L),
+            tag.getLongOr("InhabitedTime", 0L),
+            data
+        );
+    }
+
+    /**
+     * CRC32C of the bytes between position and limit; the buffer is not consumed.
+     */
+    public static int crc32c(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data.duplicate());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Whether chunk data read back has the size and checksum recorded at save time.
+     *
+     * @param data Uncompressed chunk data between position and limit; not consumed
+     */
+    public boolean matches(ByteBuffer data) {
+        return data.remaining() == uncompressedSize && crc32c(data) == crc32c;
+    }
+
+    /**
+     * Store this entry in a metadata table.
+     *
+     * @param table Whole table (absolute puts, position untouched)
+     * @param chunkIndex Chunk index in region (0-1023)
+     * @param frameOffset File offset of the frame the entry describes
+     */
+    void write(ByteBuffer table, int chunkIndex, long frameOffset) {
+        int base = chunkIndex * LRFConstants.METADATA_ENTRY_SIZE;
+        table.putInt(base, (int) (frameOffset / LRFConstants.CHUNK_ALIGNMENT) << 8 | statusId);
+        table.putInt(base + 4, dataVersion);
+        table.putLong(base + 8, lastSaveTick);
+        table.putLong(base + 16, inhabitedTime);
+        table.putInt(base + 24, uncompressedSize);
+        table.putInt(base + 28, crc32c);
+    }
+
+    /**
+     * Serialized entry, for writing a single slot of the table.
+     */
+    ByteBuffer toEntry(long frameOffset) {
+        ByteBuffer entry = ByteBuffer.allocate(LRFConstants.METADATA_ENTRY_SIZE);
+        write(entry, 0, frameOffset);
+        return entry;
+    }
+
+    /**
+     * Read an entry from a metadata table.
+     *
+     * @param table Whole table, or a single entry with {@code chunkIndex} 0 (absolute gets)
+     * @param chunkIndex Chunk index in region
+     * @param frameOffset Frame offset from the header the caller trusts
+     * @return Entry, or null if the slot is empty or was written for another frame
+     */
+    static LRFChunkMetadata read(ByteBuffer table, int chunkIndex, long frameOffset) {
+        int base = chunkIndex * LRFConstants.METADATA_ENTRY_SIZE;
+        int head = table.getInt(base);
+        if (head == 0 || (head >>> 8) != frameOffset / LRFConstants.CHUNK_ALIGNMENT) {
+            return null;
+        }
+        int statusId = head & 0xFF;
+        return new LRFChunkMetadata(
+            table.getInt(base + 4),
+            statusId < STATUSES.length ? statusId : 0,
+            table.getLong(base + 8),
+            table.getLong(base + 16),
+            table.getInt(base + 24),
+            table.getInt(base + 28)
+        );
+    }
+
+    /**
+     * Read one chunk's entry of a region's metadata table.
+     *
+     * @param header Header the caller reads chunks with
+     * @param channel Region file channel
+     * @param mapping Mapping of the region file, or null
+     * @return Metadata, or null if the chunk doesn't exist or has no valid entry
+     * @throws IOException if read fails
+     */
+    public static LRFChunkMetadata readEntry(LRFHeader header, FileChannel channel, ByteBuffer mapping,
+                                             int chunkX, int chunkZ) throws IOException {
+        if (!header.hasChunk(chunkX, chunkZ) || !header.hasMetadataTable()) {
+            return null;
+        }
+        int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
+        long position = header.getMetadataOffset() + (long) chunkIndex * LRFConstants.METADATA_ENTRY_SIZE;
+        ByteBuffer entry = readBytes(channel, mapping, position, LRFConstants.METADATA_ENTRY_SIZE);
+        return entry != null ? read(entry, 0, header.getChunkOffset(chunkX, chunkZ)) : null;
+    }
+
+    /**
+     * Read a region's whole metadata table.
+     *
+     * @return Entries by chunk index (null where a chunk is missing or has no valid entry),
+     *         or null if the region has no metadata table
+     * @throws IOException if read fails
+     */
+    public static LRFChunkMetadata[] readTable(LRFHeader header, FileChannel channel, ByteBuffer mapping) throws IOException {
+        if (!header.hasMetadataTable()) {
+            return null;
+        }
+        ByteBuffer table = readBytes(channel, mapping, header.getMetadataOffset(), LRFConstants.METADATA_TABLE_SIZE);
+        if (table == null) {
+            return null;
+        }
+        LRFChunkMetadata[] entries = new LRFChunkMetadata[LRFConstants.CHUNKS_PER_REGION];
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            int[] coords = LRFConstants.getChunkCoords(i);
+            if (header.hasChunk(coords[0], coords[1])) {
+                entries[i] = read(table, i, header.getChunkOffset(coords[0], coords[1]));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Table bytes from the mapping when it covers them, otherwise by positional read.
+     */
+    private static ByteBuffer readBytes(FileChannel channel, ByteBuffer mapping, long position, int length) throws IOException {
+        if (mapping != null && position + length <= mapping.limit()) {
+            return mapping.slice((int) position, length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int statusId(String status) {
+        if (status != null) {
+            for (int i = 1; i < STATUSES.length; i++) {
+                if (STATUSES[i].equals(status)) {
+                    return i;
+                }
+            }
+        }
+        return 0;
+    }
+
+    public int getDataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * @return Generation status, or null if it was not recorded
+     */
+    public String getStatus() {
+        return STATUSES[statusId];
+    }
+
+    public boolean isFullyGenerated() {
+        return statusId == STATUSES.length - 1;
+    }
+
+    public long getLastSaveTick() {
+        return lastSaveTick;
+    }
+
+    public long getInhabitedTime() {
+        return inhabitedTime;
+    }
+
+    public int getUncompressedSize() {
+        return uncompressedSize;
+    }
+
+    public int getCrc32c() {
+        return crc32c;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LRFChunkMetadata{dataVersion=%d, status=%s, lastSave=%d, inhabited=%d, size=%d, crc32c=%08x}",
+                dataVersion, getStatus(), lastSaveTick, inhabitedTime, uncompressedSize, crc32c);
+    }
+}
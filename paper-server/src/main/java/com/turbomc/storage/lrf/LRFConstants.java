@@ -18,8 +18,8 @@ public final class LRFConstants {
     public static final byte[] MAGIC_BYTES = "TURBO_LRF".getBytes();
     public static final int MAGIC_LENGTH = MAGIC_BYTES.length;
     
-    // Version
-    public static final int FORMAT_VERSION = 1;
+    // Version (2: header points at a per-chunk metadata table)
+    public static final int FORMAT_VERSION = 2;
     
     // Header structure (8KB total for safety)
     public static final int HEADER_SIZE = 8192;
@@ -31,6 +31,8 @@ public final class LRFConstants {
     public static final int COMPRESSION_TYPE_SIZE = 4;
     public static final int OFFSETS_TABLE_OFFSET = COMPRESSION_TYPE_OFFSET + COMPRESSION_TYPE_SIZE;
     public static final int OFFSETS_TABLE_SIZE = LRFConstants.CHUNKS_PER_REGION * 4; // 4096 bytes for 1024 chunks
+    public static final int METADATA_OFFSET_OFFSET = OFFSETS_TABLE_OFFSET + OFFSETS_TABLE_SIZE; // In the header padding
+    public static final int METADATA_OFFSET_SIZE = 4; // 0 = region has no metadata table
     
     // Region dimensions (32x32 chunks like vanilla)
     public static final int REGION_SIZE = 32;
@@ -39,6 +41,10 @@ public final class LRFConstants {
     // Chunk metadata
     public static final int MAX_CHUNK_SIZE = 1024 * 1024; // 1MB max per chunk
     public static final int CHUNK_HEADER_SIZE = 8; // 4 bytes offset + 4 bytes size
+    public static final int CHUNK_ALIGNMENT = 256; // Offset granularity in the offsets table
+    public static final int SIZE_SECTOR_BYTES = 4096; // Size granularity in the offsets table
+    public static final int METADATA_ENTRY_SIZE = 32; // See LRFChunkMetadata
+    public static final int METADATA_TABLE_SIZE = CHUNKS_PER_REGION * METADATA_ENTRY_SIZE; // 32KB, one fixed extent
     
     // Performance optimizations
     public static final int BATCH_SIZE = 32; // Chunks per batch operation
@@ -50,10 +56,14 @@ public final class LRFConstants {
     public static final int COMPRESSION_ZLIB = 1;
     public static final int COMPRESSION_LZ4 = 2;
     public static final int COMPRESSION_ZSTD = 3;
+    // Per-chunk only: zstd with a trained dictionary, whose ID follows in the payload header
+    public static final int COMPRESSION_ZSTD_DICT = 4;
     
     // File extensions
     public static final String LRF_EXTENSION = ".lrf";
     public static final String MCA_EXTENSION = ".mca";
+    public static final String JOURNAL_EXTENSION = ".wal";
+    public static final String CHECKSUM_EXTENSION = ".crc";
     
     // Chunk coordinates
     public static final int CHUNK_X_MASK = 0x1F; // 31 in binary = 0001 1111
@@ -109,6 +119,8 @@ public final class LRFConstants {
                 return "LZ4";
             case COMPRESSION_ZSTD:
                 return "ZSTD";
+            case COMPRESSION_ZSTD_DICT:
+                return "ZSTD+Dict";
             default:
                 return "Unknown (" + compressionType + ")";
         }
@@ -87,6 +87,12 @@ public class LRFCorruptionFixer {
             return true;
         }
         
+        // Deterministic recovery first: replay the write-ahead journal if the region has one
+        if (recoverFromJournal(filePath)) {
+            System.out.println("[TurboMC][LRF] Recovered " + filePath.getFileName() + " from its journal");
+            return true;
+        }
+        
         System.out.println("[TurboMC][LRF] Attempting to repair corrupted file: " + filePath.getFileName());
         
         try {
@@ -105,6 +111,8 @@ public class LRFCorruptionFixer {
             boolean success = writeRepairedFile(filePath, validChunks);
             
             if (success) {
+                // The rebuilt file no longer matches the journal's view of it
+                Files.deleteIfExists(LRFJournal.journalPathFor(filePath));
                 System.out.println("[TurboMC][LRF] Successfully repaired " + filePath.getFileName() + 
                                  " - recovered " + validChunks.size() + " chunks");
                 return true;
@@ -120,6 +128,22 @@ public class LRFCorruptionFixer {
         }
     }
     
+    /**
+     * Replay the region's journal, if present, and check whether that cleared all issues.
+     */
+    private boolean recoverFromJournal(Path filePath) {
+        if (!Files.exists(LRFJournal.journalPathFor(filePath))) {
+            return false;
+        }
+        try {
+            LRFJournal.acquire(filePath).release();
+            return !detectCorruption(filePath).hasIssues();
+        } catch (IOException e) {
+            System.err.println("[TurboMC][LRF] Journal recovery failed for " + filePath.getFileName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+    
     /**
      * Repair all LRF files in a directory.
      * 
@@ -0,0 +1,474 @@
+package com.turbomc.storage.lrf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Free-extent allocator for LRF region files.
+ *
+ * Tracks which byte ranges of a region are occupied by live chunk frames and which
+ * are holes left behind by re-saved chunks, so that writes can reuse holes instead of
+ * always appending at the end of the file.
+ *
+ * Extent lifecycle:
+ * - live: referenced by the in-memory header
+ * - uncommitted: replaced by a newer copy, but the on-disk header may still point at it
+ * - quarantined: the new header is durable, but readers holding a stale header copy
+ *   (see SharedRegionResource header TTL) may still read it
+ * - free: safe to hand out again
+ *
+ * The per-chunk metadata table is one more live extent that is allocated once and never moves.
+ *
+ * All extents are aligned to {@link LRFConstants#CHUNK_ALIGNMENT} bytes.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public class LRFExtentAllocator {
+
+    // Extra live slot after the 1024 chunks
+    private static final int METADATA_SLOT = LRFConstants.CHUNKS_PER_REGION;
+
+    private final long[] liveOffsets;
+    private final int[] liveLengths;
+
+    // offset -> length, coalesced
+    private final TreeMap<Long, Long> freeExtents;
+    private final ArrayDeque<long[]> uncommitted; // {offset, length}
+    private final ArrayDeque<long[]> quarantined; // {offset, length, releaseTime}
+    private final long reuseDelayMs;
+    private final boolean reuseEnabled;
+
+    private long fileEnd;
+
+    // Stats
+    private long reusedAllocations;
+    private long appendedAllocations;
+    private long reusedBytes;
+
+    /**
+     * Create an allocator using the [storage.lrf] settings from turbo.toml.
+     */
+    public static LRFExtentAllocator fromConfig() {
+        com.turbomc.config.TurboConfig config = com.turbomc.config.TurboConfig.getInstance();
+        return new LRFExtentAllocator(
+            config.getBoolean("storage.lrf.free-space-reuse", true),
+            config.getLong("storage.lrf.free-space-reuse-delay-ms", 10000L)
+        );
+    }
+
+    /**
+     * Create an empty allocator for a new region file.
+     *
+     * @param reuseEnabled Whether holes may be reused (false = append-only, legacy behaviour)
+     * @param reuseDelayMs Minimum time a released extent stays quarantined after commit
+     */
+    public LRFExtentAllocator(boolean reuseEnabled, long reuseDelayMs) {
+        this.reuseEnabled = reuseEnabled;
+        this.liveOffsets = new long[LRFConstants.CHUNKS_PER_REGION + 1];
+        this.liveLengths = new int[LRFConstants.CHUNKS_PER_REGION + 1];
+        this.freeExtents = new TreeMap<>();
+        this.uncommitted = new ArrayDeque<>();
+        this.quarantined = new ArrayDeque<>();
+        this.reuseDelayMs = Math.max(0, reuseDelayMs);
+        reset();
+    }
+
+    /**
+     * Forget all extents. Used when a writer starts a fresh file.
+     */
+    public synchronized void reset() {
+        Arrays.fill(liveOffsets, -1L);
+        Arrays.fill(liveLengths, 0);
+        freeExtents.clear();
+        uncommitted.clear();
+        quarantined.clear();
+        fileEnd = LRFConstants.HEADER_SIZE;
+    }
+
+    /**
+     * Rebuild the extent map from a header's offsets/sizes table.
+     *
+     * The header only stores sizes rounded up to 4KB sectors, so the exact frame length
+     * is read from the 4-byte length prefix of every chunk. Anything between live frames
+     * that the on-disk header no longer references is a hole and becomes free immediately.
+     *
+     * @param header Header currently on disk
+     * @param channel Channel of the region file
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized void rebuild(LRFHeader header, FileChannel channel) throws IOException {
+        reset();
+
+        long fileSize = channel.size();
+        int[] offsets = header.getOffsets();
+        int[] sizes = header.getSizes();
+        ByteBuffer prefix = ByteBuffer.allocate(4);
+
+        Integer[] order = new Integer[LRFConstants.CHUNKS_PER_REGION + 1];
+        int liveCount = 0;
+
+        int metadataOffset = header.getMetadataOffset();
+        if (metadataOffset >= LRFConstants.HEADER_SIZE && metadataOffset % LRFConstants.CHUNK_ALIGNMENT == 0
+                && metadataOffset + (long) LRFConstants.METADATA_TABLE_SIZE <= fileSize) {
+            liveOffsets[METADATA_SLOT] = metadataOffset;
+            liveLengths[METADATA_SLOT] = LRFConstants.METADATA_TABLE_SIZE;
+            order[liveCount++] = METADATA_SLOT;
+        }
+
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            if (sizes[i] <= 0 || offsets[i] < LRFConstants.HEADER_SIZE || offsets[i] >= fileSize) {
+                continue;
+            }
+
+            int length = sizes[i];
+            prefix.clear();
+            if (channel.read(prefix, offsets[i]) == 4) {
+                int frameLength = prefix.getInt(0);
+                if (frameLength > 5 && frameLength <= sizes[i] && frameLength <= LRFConstants.MAX_CHUNK_SIZE) {
+                    length = frameLength;
+                }
+            }
+
+            liveOffsets[i] = offsets[i];
+            liveLengths[i] = (int) alignUp(length);
+            order[liveCount++] = i;
+        }
+
+        // Walk live extents in file order, clamping overlaps and collecting holes
+        Arrays.sort(order, 0, liveCount, (a, b) -> Long.compare(liveOffsets[a], liveOffsets[b]));
+        long cursor = LRFConstants.HEADER_SIZE;
+        for (int k = 0; k < liveCount; k++) {
+            int index = order[k];
+            long offset = liveOffsets[index];
+            if (k + 1 < liveCount) {
+                long next = liveOffsets[order[k + 1]];
+                if (offset + liveLengths[index] > next) {
+                    liveLengths[index] = (int) (next - offset);
+                }
+            }
+            if (offset > cursor) {
+                addFree(cursor, offset - cursor);
+            }
+            cursor = Math.max(cursor, offset + liveLengths[index]);
+        }
+
+        long alignedSize = alignUp(fileSize);
+        if (alignedSize > cursor) {
+            addFree(cursor, alignedSize - cursor);
+        }
+        fileEnd = Math.max(cursor, alignedSize);
+    }
+
+    /**
+     * Allocate space for a chunk frame, releasing the chunk's previous extent.
+     *
+     * @param chunkIndex Chunk index in region (0-1023)
+     * @param length Exact frame length in bytes
+     * @return File offset to write the frame at
+     */
+    public synchronized long allocate(int chunkIndex, int length) {
+        long aligned = alignUp(length);
+        releaseLive(chunkIndex);
+        drainQuarantine(System.currentTimeMillis());
+
+        long offset = reuseEnabled ? takeBestFit(aligned) : -1;
+        if (offset >= 0) {
+            reusedAllocations++;
+            reusedBytes += aligned;
+        } else {
+            offset = fileEnd;
+            fileEnd += aligned;
+            appendedAllocations++;
+        }
+
+        liveOffsets[chunkIndex] = offset;
+        liveLengths[chunkIndex] = (int) aligned;
+        return offset;
+    }
+
+    /**
+     * Place the metadata table, once per region.
+     *
+     * @return File offset of the table (existing or newly allocated)
+     */
+    public synchronized long allocateMetadataTable() {
+        long offset = liveOffsets[METADATA_SLOT];
+        return offset >= 0 ? offset : allocate(METADATA_SLOT, LRFConstants.METADATA_TABLE_SIZE);
+    }
+
+    /**
+     * Get the offset of the metadata table, or -1 if it has not been placed.
+     */
+    public synchronized long getMetadataOffset() {
+        return liveOffsets[METADATA_SLOT];
+    }
+
+    /**
+     * Move a live chunk into the lowest free hole that lies before its current extent.
+     * Used by the compactor; the caller copies the frame bytes.
+     *
+     * @param chunkIndex Chunk index in region
+     * @return {oldOffset, newOffset, alignedLength}, or null if no lower hole fits
+     */
+    public synchronized long[] relocateLower(int chunkIndex) {
+        long current = liveOffsets[chunkIndex];
+        if (current < 0) {
+            return null;
+        }
+
+        drainQuarantine(System.currentTimeMillis());
+        long aligned = liveLengths[chunkIndex];
+        for (Map.Entry<Long, Long> hole : freeExtents.entrySet()) {
+            if (hole.getKey() >= current) {
+                break;
+            }
+            if (hole.getValue() >= aligned) {
+                long offset = hole.getKey();
+                splitFree(offset, hole.getValue(), aligned);
+                releaseLive(chunkIndex);
+                liveOffsets[chunkIndex] = offset;
+                liveLengths[chunkIndex] = (int) aligned;
+                return new long[]{current, offset, aligned};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the live chunk stored furthest into the file that could move into a lower hole.
+     *
+     * @return Chunk index, or -1 if the region is already packed
+     */
+    public synchronized int findRelocationCandidate() {
+        drainQuarantine(System.currentTimeMillis());
+        if (freeExtents.isEmpty()) {
+            return -1;
+        }
+
+        long firstHole = freeExtents.firstKey();
+        int best = -1;
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            long offset = liveOffsets[i];
+            if (offset > firstHole && (best < 0 || offset > liveOffsets[best]) && hasLowerFit(offset, liveLengths[i])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the current offset of a chunk, or -1 if it has no extent.
+     */
+    public synchronized long getLiveOffset(int chunkIndex) {
+        return liveOffsets[chunkIndex];
+    }
+
+    /**
+     * Copy the live extent table into header-style offset/size arrays.
+     * Sizes are the 256-byte aligned frame lengths, which round to the same 4KB sectors.
+     */
+    public synchronized void exportTable(int[] offsets, int[] sizes) {
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            offsets[i] = liveOffsets[i] >= 0 ? (int) liveOffsets[i] : 0;
+            sizes[i] = liveOffsets[i] >= 0 ? liveLengths[i] : 0;
+        }
+    }
+
+    /**
+     * Mark all extents released since the last commit as no longer referenced by
+     * the on-disk header. Call only after the header has been forced to disk.
+     */
+    public synchronized void commit() {
+        long now = System.currentTimeMillis();
+        while (!uncommitted.isEmpty()) {
+            long[] extent = uncommitted.poll();
+            quarantined.add(new long[]{extent[0], extent[1], now});
+        }
+    }
+
+    /**
+     * Give up trailing free space at the end of the file.
+     *
+     * @return New logical end of file
+     */
+    public synchronized long trimTail() {
+        drainQuarantine(System.currentTimeMillis());
+        Map.Entry<Long, Long> last = freeExtents.lastEntry();
+        if (last != null && last.getKey() + last.getValue() >= fileEnd) {
+            freeExtents.remove(last.getKey());
+            fileEnd = Math.max(LRFConstants.HEADER_SIZE, last.getKey());
+        }
+        return fileEnd;
+    }
+
+    /**
+     * Minimum physical file length so that every live chunk's sector-rounded window
+     * (as stored in the header) lies inside the file.
+     */
+    public synchronized long getRequiredFileLength() {
+        long required = fileEnd;
+        for (int i = 0; i < liveOffsets.length; i++) {
+            if (liveOffsets[i] >= 0) {
+                long window = ((long) liveLengths[i] + LRFConstants.SIZE_SECTOR_BYTES - 1)
+                        / LRFConstants.SIZE_SECTOR_BYTES * LRFConstants.SIZE_SECTOR_BYTES;
+                required = Math.max(required, liveOffsets[i] + window);
+            }
+        }
+        return required;
+    }
+
+    private void releaseLive(int chunkIndex) {
+        long previous = liveOffsets[chunkIndex];
+        if (previous >= 0 && liveLengths[chunkIndex] > 0) {
+            uncommitted.add(new long[]{previous, liveLengths[chunkIndex]});
+        }
+        liveOffsets[chunkIndex] = -1L;
+        liveLengths[chunkIndex] = 0;
+    }
+
+    private void drainQuarantine(long now) {
+        while (!quarantined.isEmpty() && now - quarantined.peek()[2] >= reuseDelayMs) {
+            long[] extent = quarantined.poll();
+            addFree(extent[0], extent[1]);
+        }
+    }
+
+    private long takeBestFit(long aligned) {
+        long bestOffset = -1;
+        long bestLength = Long.MAX_VALUE;
+        for (Map.Entry<Long, Long> hole : freeExtents.entrySet()) {
+            long length = hole.getValue();
+            if (length >= aligned && length < bestLength) {
+                bestOffset = hole.getKey();
+                bestLength = length;
+                if (length == aligned) break;
+            }
+        }
+        if (bestOffset >= 0) {
+            splitFree(bestOffset, bestLength, aligned);
+        }
+        return bestOffset;
+    }
+
+    private boolean hasLowerFit(long offset, long aligned) {
+        for (Map.Entry<Long, Long> hole : freeExtents.entrySet()) {
+            if (hole.getKey() >= offset) {
+                return false;
+            }
+            if (hole.getValue() >= aligned) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void splitFree(long offset, long holeLength, long used) {
+        freeExtents.remove(offset);
+        if (holeLength > used) {
+            freeExtents.put(offset + used, holeLength - used);
+        }
+    }
+
+    private void addFree(long offset, long length) {
+        if (length <= 0) return;
+
+        // Coalesce with the previous and next holes
+        Map.Entry<Long, Long> prev = freeExtents.floorEntry(offset);
+        if (prev != null && prev.getKey() + prev.getValue() >= offset) {
+            long end = Math.max(prev.getKey() + prev.getValue(), offset + length);
+            offset = prev.getKey();
+            length = end - offset;
+            freeExtents.remove(prev.getKey());
+        }
+
+        Iterator<Map.Entry<Long, Long>> it = freeExtents.tailMap(offset, false).entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Long> next = it.next();
+            if (next.getKey() > offset + length) break;
+            length = Math.max(offset + length, next.getKey() + next.getValue()) - offset;
+            it.remove();
+        }
+
+        freeExtents.put(offset, length);
+    }
+
+    private static long alignUp(long value) {
+        long alignment = LRFConstants.CHUNK_ALIGNMENT;
+        return (value + alignment - 1) / alignment * alignment;
+    }
+
+    /**
+     * Get a snapshot of allocator statistics.
+     */
+    public synchronized SpaceStats getStats() {
+        long live = 0;
+        int liveChunks = 0;
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            if (liveOffsets[i] >= 0) {
+                live += liveLengths[i];
+                liveChunks++;
+            }
+        }
+        if (liveOffsets[METADATA_SLOT] >= 0) {
+            live += liveLengths[METADATA_SLOT];
+        }
+        long free = 0;
+        for (long length : freeExtents.values()) free += length;
+        long pending = 0;
+        for (long[] extent : uncommitted) pending += extent[1];
+        for (long[] extent : quarantined) pending += extent[1];
+
+        return new SpaceStats(fileEnd, live, free, pending, liveChunks, freeExtents.size(),
+                              reusedAllocations, appendedAllocations, reusedBytes);
+    }
+
+    /**
+     * Space usage statistics for a region file.
+     */
+    public static class SpaceStats {
+        public final long fileEnd;
+        public final long liveBytes;
+        public final long freeBytes;
+        public final long pendingBytes;
+        public final int liveChunks;
+        public final int holes;
+        public final long reusedAllocations;
+        public final long appendedAllocations;
+        public final long reusedBytes;
+
+        SpaceStats(long fileEnd, long liveBytes, long freeBytes, long pendingBytes, int liveChunks, int holes,
+                   long reusedAllocations, long appendedAllocations, long reusedBytes) {
+            this.fileEnd = fileEnd;
+            this.liveBytes = liveBytes;
+            this.freeBytes = freeBytes;
+            this.pendingBytes = pendingBytes;
+            this.liveChunks = liveChunks;
+            this.holes = holes;
+            this.reusedAllocations = reusedAllocations;
+            this.appendedAllocations = appendedAllocations;
+            this.reusedBytes = reusedBytes;
+        }
+
+        /**
+         * Fraction of the data area (after the header) not occupied by live chunks.
+         */
+        public double getFragmentation() {
+            long dataArea = fileEnd - LRFConstants.HEADER_SIZE;
+            return dataArea > 0 ? (double) (dataArea - liveBytes) / dataArea : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SpaceStats{size=%.1fKB, live=%.1fKB, free=%.1fKB, pending=%.1fKB, holes=%d, frag=%.1f%%, reused=%d, appended=%d}",
+                    fileEnd / 1024.0, liveBytes / 1024.0, freeBytes / 1024.0, pendingBytes / 1024.0,
+                    holes, getFragmentation() * 100, reusedAllocations, appendedAllocations);
+        }
+    }
+}
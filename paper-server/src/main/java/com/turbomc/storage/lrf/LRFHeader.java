@@ -11,7 +11,9 @@ import java.util.Arrays;
  * - Version (4 bytes): Format version number
  * - Chunk count (4 bytes): Number of chunks in this region
  * - Compression type (4 bytes): Compression algorithm used
- * - Offsets table (remaining bytes): Chunk offset and size entries
+ * - Offsets table (4096 bytes): Chunk offset and size entries
+ * - Metadata table offset (4 bytes): Location of the {@link LRFChunkMetadata} table, 0 if none
+ * - Padding up to {@link LRFConstants#HEADER_SIZE}
  * 
  * Each offset entry is 4 bytes:
  * - 3 bytes for offset (supports up to 16MB file)
@@ -28,6 +30,7 @@ public class LRFHeader {
     // Optimized: Use compact offset/size storage instead of full arrays
     private final ByteBuffer offsetTable; // 228 bytes compact storage
     private final boolean[] chunkExists; // 1024 bits for existence check
+    private volatile int metadataOffset; // 0 = no metadata table
     
     
     // FIX #8: Use LinkedHashMap with LRU eviction instead of unbounded ConcurrentHashMap
@@ -137,6 +140,9 @@ public class LRFHeader {
         }
         offsetTable.rewind();
         
+        // Metadata table location (zero padding in files written before it existed)
+        int metadataOffset = buffer.remaining() >= LRFConstants.METADATA_OFFSET_SIZE ? buffer.getInt() : 0;
+        
         // Skip any remaining header padding
         int remaining = LRFConstants.HEADER_SIZE - buffer.position();
         if (remaining > 0) {
@@ -146,7 +152,9 @@ public class LRFHeader {
             }
         }
         
-        return new LRFHeader(version, chunkCount, compressionType, offsetTable, chunkExists);
+        LRFHeader header = new LRFHeader(version, chunkCount, compressionType, offsetTable, chunkExists);
+        header.metadataOffset = metadataOffset;
+        return header;
     }
     
     /**
@@ -184,6 +192,8 @@ public class LRFHeader {
             buffer.putInt(entry);
         }
         
+        buffer.putInt(metadataOffset);
+        
         // Pad remaining header to 256 bytes
         while (buffer.position() < LRFConstants.HEADER_SIZE) {
             buffer.put((byte) 0);
@@ -256,6 +266,26 @@ public class LRFHeader {
         chunkExists[index] = size > 0;
     }
     
+    /**
+     * Get the file offset of the per-chunk metadata table.
+     * 
+     * @return Offset in bytes, or 0 if this region has no metadata table
+     */
+    public int getMetadataOffset() {
+        return metadataOffset;
+    }
+    
+    /**
+     * Set the file offset of the per-chunk metadata table (for writing).
+     */
+    public void setMetadataOffset(int metadataOffset) {
+        this.metadataOffset = metadataOffset;
+    }
+    
+    public boolean hasMetadataTable() {
+        return metadataOffset > 0;
+    }
+    
     /**
      * Get total number of chunks defined in this header.
      */
@@ -0,0 +1,703 @@
+package com.turbomc.storage.lrf;
+
+import com.turbomc.storage.optimization.StorageScheduler;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead journal for LRF region headers.
+ *
+ * Every chunk placement is appended as a small (chunkIndex, offset, size, crc) record to
+ * a per-region {@code .wal} file. Records are made durable in groups: one commit forces the
+ * frames written so far and then the records pointing at them, covering every writer of
+ * the region. Commits are not tied to writer flushes; they run once the oldest pending
+ * record is {@code journal-commit-interval-ms} old or {@code journal-commit-records} records
+ * are pending, so many flushes share one pair of fsyncs. The full offsets table is
+ * checkpointed lazily into two alternating slots, so a torn checkpoint always leaves the
+ * previous one intact.
+ *
+ * Journal file layout:
+ * - Slot A (16KB) and slot B (16KB): generation, flags, compression type,
+ *   exact offsets/sizes/CRC32C per chunk, slot CRC
+ * - Record area: 32-byte records tagged with the generation of the slot they extend
+ *
+ * On open the newest valid slot is loaded. If the region was not closed cleanly, records
+ * of that generation are replayed until the first torn one, every frame with a known CRC
+ * is verified, and the recovered table is written back as the region header.
+ *
+ * A journal opened after a clean shutdown stays clean, and costs no writes, until the first
+ * chunk placement checkpoints it dirty. Regions that are only read never create a journal:
+ * {@link #acquireIfPresent(Path)} opens one only to recover it.
+ *
+ * One journal instance exists per region file in the process; it is shared through
+ * {@link #acquire(Path)} / {@link #release()}. Opening and closing run outside the global
+ * lock, so one region's recovery or final fsync doesn't hold up other regions.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class LRFJournal {
+
+    private static final int SLOT_MAGIC = 0x4C524A53;   // "LRJS"
+    private static final int RECORD_MAGIC = 0x4C524A52; // "LRJR"
+    private static final int SLOT_SIZE = 16384;
+    private static final int SLOT_PAYLOAD = 4 + 4 + 8 + 4 + LRFConstants.CHUNKS_PER_REGION * 12;
+    private static final int RECORD_AREA_START = SLOT_SIZE * 2;
+    private static final int RECORD_SIZE = 32;
+    private static final int FLAG_CLEAN = 1;
+
+    private static final Map<Path, LRFJournal> OPEN_JOURNALS = new HashMap<>();
+    // Regions whose journal is being opened or closed, guarded by OPEN_JOURNALS
+    private static final Map<Path, CompletableFuture<Void>> PENDING = new HashMap<>();
+
+    private final Path regionPath;
+    private final Path journalPath;
+    private final RandomAccessFile regionFile;
+    private final FileChannel regionChannel;
+    private final RandomAccessFile journalFile;
+    private final FileChannel journalChannel;
+    private final int checkpointInterval;
+    private final long commitIntervalMs;
+    private final int commitRecords;
+    private int refCount;
+    private boolean closed;
+
+    // Durable view of the region (exact frame sizes, CRC32C of frame, 0 = unknown)
+    private final int[] offsets = new int[LRFConstants.CHUNKS_PER_REGION];
+    private final int[] sizes = new int[LRFConstants.CHUNKS_PER_REGION];
+    private final int[] crcs = new int[LRFConstants.CHUNKS_PER_REGION];
+    private int compressionType = LRFConstants.COMPRESSION_LZ4;
+
+    private long generation;
+    private int activeSlot = 1;
+    private long appendPosition = RECORD_AREA_START;
+    private int recordsSinceCheckpoint;
+    private boolean checkpointNeeded;
+    private boolean dirty; // The active slot is not marked clean
+    private ByteBuffer pending = ByteBuffer.allocate(RECORD_SIZE * 64);
+    private long oldestPendingTime;
+    private ScheduledFuture<?> commitTask;
+
+    // Stats
+    private long commits;
+    private long recordsCommitted;
+    private long checkpoints;
+    private long fsyncs;
+
+    /**
+     * Whether journaling is enabled in turbo.toml.
+     */
+    public static boolean isEnabled() {
+        return com.turbomc.config.TurboConfig.getInstance().getBoolean("storage.lrf.journal-enabled", true);
+    }
+
+    /**
+     * Get the journal file belonging to a region file.
+     */
+    public static Path journalPathFor(Path regionPath) {
+        return regionPath.resolveSibling(regionPath.getFileName() + LRFConstants.JOURNAL_EXTENSION);
+    }
+
+    /**
+     * Open (and recover, if needed) the journal of a region, or share the already open one.
+     *
+     * @param regionPath Path to .lrf file
+     * @return Journal for the region
+     * @throws IOException if the journal cannot be opened or recovered
+     */
+    public static LRFJournal acquire(Path regionPath) throws IOException {
+        Path key = regionPath.toAbsolutePath().normalize();
+        CompletableFuture<Void> opening = null;
+        while (opening == null) {
+            CompletableFuture<Void> pending;
+            synchronized (OPEN_JOURNALS) {
+                pending = PENDING.get(key);
+                if (pending == null) {
+                    LRFJournal journal = OPEN_JOURNALS.get(key);
+                    if (journal != null) {
+                        journal.refCount++;
+                        return journal;
+                    }
+                    PENDING.put(key, opening = new CompletableFuture<>());
+                }
+            }
+            if (pending != null) {
+                // Opened or closed by another thread right now
+                pending.join();
+            }
+        }
+
+        LRFJournal journal = null;
+        try {
+            journal = new LRFJournal(key);
+            return journal;
+        } finally {
+            synchronized (OPEN_JOURNALS) {
+                PENDING.remove(key);
+                if (journal != null) {
+                    journal.refCount = 1;
+                    OPEN_JOURNALS.put(key, journal);
+                }
+            }
+            opening.complete(null);
+        }
+    }
+
+    /**
+     * Acquire the region's journal if journaling is enabled. When it is disabled, a journal
+     * left over from an earlier run is deleted: it no longer tracks the region and must not
+     * be replayed if journaling is turned back on.
+     *
+     * @param regionPath Path to .lrf file
+     * @return Journal, or null if journaling is disabled
+     * @throws IOException if the journal cannot be opened or recovered
+     */
+    public static LRFJournal acquireIfEnabled(Path regionPath) throws IOException {
+        if (isEnabled()) {
+            return acquire(regionPath);
+        }
+        java.nio.file.Files.deleteIfExists(journalPathFor(regionPath));
+        return null;
+    }
+
+    /**
+     * Acquire the region's journal only if it already has one, replaying it if the region
+     * was not closed cleanly. For opens that may never write: the journal is created by the
+     * first writer instead.
+     *
+     * @param regionPath Path to .lrf file
+     * @return Journal, or null if the region has none or journaling is disabled
+     * @throws IOException if the journal cannot be opened or recovered
+     */
+    public static LRFJournal acquireIfPresent(Path regionPath) throws IOException {
+        if (isEnabled() && !java.nio.file.Files.exists(journalPathFor(regionPath))) {
+            return null;
+        }
+        return acquireIfEnabled(regionPath);
+    }
+
+    /**
+     * Drop a reference. The last release publishes the header and marks the journal clean.
+     */
+    public void release() throws IOException {
+        CompletableFuture<Void> closing;
+        synchronized (OPEN_JOURNALS) {
+            if (--refCount > 0) {
+                return;
+            }
+            OPEN_JOURNALS.remove(regionPath);
+            PENDING.put(regionPath, closing = new CompletableFuture<>());
+        }
+        try {
+            synchronized (this) {
+                closed = true;
+                if (commitTask != null) {
+                    commitTask.cancel(false);
+                    commitTask = null;
+                }
+                if (dirty) {
+                    closeClean();
+                }
+            }
+        } finally {
+            try {
+                journalChannel.close();
+                journalFile.close();
+                regionChannel.close();
+                regionFile.close();
+            } finally {
+                synchronized (OPEN_JOURNALS) {
+                    PENDING.remove(regionPath);
+                }
+                closing.complete(null);
+            }
+        }
+    }
+
+    private LRFJournal(Path regionPath) throws IOException {
+        this.regionPath = regionPath;
+        this.journalPath = journalPathFor(regionPath);
+        this.regionFile = new RandomAccessFile(regionPath.toFile(), "rw");
+        this.regionChannel = regionFile.getChannel();
+        this.journalFile = new RandomAccessFile(journalPath.toFile(), "rw");
+        this.journalChannel = journalFile.getChannel();
+        this.checkpointInterval = Math.max(16,
+            com.turbomc.config.TurboConfig.getInstance().getInt("storage.lrf.journal-checkpoint-records", 1024));
+        this.commitIntervalMs = Math.max(1,
+            com.turbomc.config.TurboConfig.getInstance().getInt("storage.lrf.journal-commit-interval-ms", 1000));
+        this.commitRecords = Math.max(1,
+            com.turbomc.config.TurboConfig.getInstance().getInt("storage.lrf.journal-commit-records", 256));
+
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            journalChannel.close();
+            journalFile.close();
+            regionChannel.close();
+            regionFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Record a chunk placement. Call after the frame has been written. The record becomes
+     * durable with the next group commit.
+     *
+     * @param chunkIndex Chunk index in region
+     * @param offset Frame offset
+     * @param size Exact frame length
+     * @param frameCrc CRC32C of the frame bytes
+     * @throws IOException if a journal opened clean cannot be marked dirty
+     */
+    public synchronized void append(int chunkIndex, int offset, int size, int frameCrc) throws IOException {
+        markDirty();
+        if (pending.position() == 0) {
+            oldestPendingTime = System.currentTimeMillis();
+            scheduleCommit();
+        }
+        if (pending.remaining() < RECORD_SIZE) {
+            ByteBuffer grown = ByteBuffer.allocate(pending.capacity() * 2);
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+
+        int start = pending.position();
+        pending.putInt(RECORD_MAGIC);
+        pending.putLong(generation);
+        pending.putInt(chunkIndex);
+        pending.putInt(offset);
+        pending.putInt(size);
+        pending.putInt(frameCrc);
+        pending.putInt(crc(pending.array(), start, RECORD_SIZE - 4));
+
+        offsets[chunkIndex] = offset;
+        sizes[chunkIndex] = size;
+        crcs[chunkIndex] = frameCrc;
+    }
+
+    /**
+     * Commit if the oldest pending record has waited a full commit interval or enough
+     * records are pending; otherwise leave them for the commit timer.
+     *
+     * @return Whether every record appended so far is durable
+     * @throws IOException if the commit fails
+     */
+    public synchronized boolean commitIfDue() throws IOException {
+        if (pending.position() >= commitRecords * RECORD_SIZE
+                || (pending.position() > 0 && System.currentTimeMillis() - oldestPendingTime >= commitIntervalMs)) {
+            commit();
+        }
+        return pending.position() == 0;
+    }
+
+    /**
+     * Group commit: make all appended records (from every writer of this region) durable.
+     * Frames are forced before the records that reference them.
+     */
+    public synchronized void commit() throws IOException {
+        if (commitTask != null) {
+            commitTask.cancel(false);
+            commitTask = null;
+        }
+        if (pending.position() > 0) {
+            regionChannel.force(false);
+            fsyncs++;
+
+            int records = pending.position() / RECORD_SIZE;
+            pending.flip();
+            while (pending.hasRemaining()) {
+                appendPosition += journalChannel.write(pending, appendPosition);
+            }
+            pending.clear();
+            journalChannel.force(false);
+            fsyncs++;
+
+            commits++;
+            recordsCommitted += records;
+            recordsSinceCheckpoint += records;
+        }
+
+        if (checkpointNeeded || recordsSinceCheckpoint >= checkpointInterval) {
+            regionChannel.force(false);
+            fsyncs++;
+            writeCheckpoint(false);
+        }
+    }
+
+    /**
+     * Commit the pending records once the interval has passed, in case no writer flushes
+     * this region again in the meantime.
+     */
+    private void scheduleCommit() {
+        if (commitTask != null) {
+            return;
+        }
+        try {
+            commitTask = StorageScheduler.shared().schedule(
+                StorageScheduler.Lane.FSYNC,
+                StorageScheduler.Priority.BACKGROUND,
+                this::timedCommit, commitIntervalMs, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // Scheduler shutting down: records are committed by the next flush or on release
+        }
+    }
+
+    private synchronized void timedCommit() {
+        commitTask = null;
+        if (closed || pending.position() == 0) {
+            return;
+        }
+        try {
+            commit();
+        } catch (IOException e) {
+            System.err.println("[TurboMC][LRF] Journal commit failed for " + regionPath.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forget all chunks, e.g. when a writer starts the region from scratch.
+     * The empty table is checkpointed on the next commit.
+     */
+    public synchronized void reset() throws IOException {
+        markDirty();
+        java.util.Arrays.fill(offsets, 0);
+        java.util.Arrays.fill(sizes, 0);
+        java.util.Arrays.fill(crcs, 0);
+        pending.clear();
+        if (commitTask != null) {
+            commitTask.cancel(false);
+            commitTask = null;
+        }
+        checkpointNeeded = true;
+    }
+
+    /**
+     * Compute the CRC32C stored for a frame.
+     */
+    public static int frameCrc(byte[] prefix, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(prefix);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Checkpoint a journal opened clean before the first change, so a crash from now on
+     * replays it instead of trusting the header.
+     */
+    private void markDirty() throws IOException {
+        if (!dirty) {
+            writeCheckpoint(false);
+        }
+    }
+
+    private void closeClean() throws IOException {
+        commit();
+
+        // Publish the journal's table as the region header, then mark the journal clean
+        writeRegionHeader();
+        regionChannel.force(true);
+        fsyncs++;
+        writeCheckpoint(true);
+    }
+
+    private void recover() throws IOException {
+        long regionSize = regionChannel.size();
+        LRFHeader diskHeader = readRegionHeader();
+
+        if (regionSize < LRFConstants.HEADER_SIZE) {
+            // New region: anything left in the journal belongs to a file that no longer exists
+            journalChannel.truncate(0);
+            writeCheckpoint(false);
+            return;
+        }
+
+        ByteBuffer slot = readNewestSlot();
+        if (slot == null) {
+            // First open of a region created before journaling (or journal lost): trust the header
+            loadFromHeader(diskHeader, null);
+            writeCheckpoint(false);
+            return;
+        }
+
+        int flags = slot.getInt(4);
+        int replayed = countReplayableRecords();
+        if ((flags & FLAG_CLEAN) != 0 && replayed == 0 && diskHeader != null) {
+            // Clean shutdown: the header is authoritative, keep CRCs that still describe it.
+            // The journal stays clean until the first write.
+            loadFromHeader(diskHeader, slot);
+            return;
+        }
+
+        // Crash recovery: newest checkpoint + journal records
+        loadFromSlot(slot);
+        replayRecords(replayed);
+
+        int verified = 0;
+        int dropped = 0;
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            if (sizes[i] <= 0 || crcs[i] == 0) {
+                continue;
+            }
+            if (verifyFrame(offsets[i], sizes[i], crcs[i], regionSize)) {
+                verified++;
+                continue;
+            }
+
+            // Fall back to what the header says if it points elsewhere, otherwise drop the chunk
+            int[] coords = LRFConstants.getChunkCoords(i);
+            if (diskHeader != null && diskHeader.hasChunk(coords[0], coords[1])
+                    && diskHeader.getChunkOffset(coords[0], coords[1]) != offsets[i]) {
+                offsets[i] = diskHeader.getChunkOffset(coords[0], coords[1]);
+                sizes[i] = diskHeader.getChunkSize(coords[0], coords[1]);
+            } else {
+                offsets[i] = 0;
+                sizes[i] = 0;
+            }
+            crcs[i] = 0;
+            dropped++;
+        }
+
+        writeRegionHeader();
+        regionChannel.force(true);
+        fsyncs++;
+        writeCheckpoint(false);
+
+        System.out.println("[TurboMC][LRF] Journal recovery for " + regionPath.getFileName() +
+                           ": replayed " + replayed + " records, verified " + verified +
+                           " chunks, dropped " + dropped);
+    }
+
+    private LRFHeader readRegionHeader() throws IOException {
+        if (regionChannel.size() < LRFConstants.HEADER_SIZE) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(LRFConstants.HEADER_SIZE);
+        while (buffer.hasRemaining()) {
+            if (regionChannel.read(buffer, buffer.position()) < 0) return null;
+        }
+        buffer.flip();
+        try {
+            return LRFHeader.read(buffer);
+        } catch (IllegalArgumentException e) {
+            return null; // Torn or overwritten header, recovery rebuilds it
+        }
+    }
+
+    private void writeRegionHeader() throws IOException {
+        int count = 0;
+        for (int size : sizes) {
+            if (size > 0) count++;
+        }
+        LRFHeader header = new LRFHeader(LRFConstants.FORMAT_VERSION, count, compressionType, offsets, sizes);
+        header.setMetadataOffset(readMetadataOffset());
+        ByteBuffer buffer = ByteBuffer.allocate(LRFConstants.HEADER_SIZE);
+        header.write(buffer);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            regionChannel.write(buffer, buffer.position());
+        }
+    }
+
+    /**
+     * Metadata table location from the header on disk. The journal does not track the table,
+     * which is placed once by a writer and never moves, so a rebuilt header keeps it.
+     */
+    private int readMetadataOffset() throws IOException {
+        if (regionChannel.size() < LRFConstants.HEADER_SIZE) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(LRFConstants.METADATA_OFFSET_SIZE);
+        while (buffer.hasRemaining()) {
+            if (regionChannel.read(buffer, LRFConstants.METADATA_OFFSET_OFFSET + buffer.position()) < 0) return 0;
+        }
+        int offset = buffer.getInt(0);
+        return offset >= LRFConstants.HEADER_SIZE && offset + (long) LRFConstants.METADATA_TABLE_SIZE <= regionChannel.size()
+            ? offset : 0;
+    }
+
+    private void loadFromHeader(LRFHeader header, ByteBuffer slot) {
+        if (header == null) {
+            return;
+        }
+        compressionType = header.getCompressionType();
+        int[] headerOffsets = header.getOffsets();
+        int[] headerSizes = header.getSizes();
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            offsets[i] = headerOffsets[i];
+            sizes[i] = headerSizes[i];
+            crcs[i] = 0;
+            if (slot != null && headerSizes[i] > 0) {
+                int slotOffset = slot.getInt(20 + i * 12);
+                int slotSize = slot.getInt(24 + i * 12);
+                if (slotOffset == headerOffsets[i] && roundToSector(slotSize) == headerSizes[i]) {
+                    sizes[i] = slotSize;
+                    crcs[i] = slot.getInt(28 + i * 12);
+                }
+            }
+        }
+    }
+
+    private void loadFromSlot(ByteBuffer slot) {
+        compressionType = slot.getInt(16);
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            offsets[i] = slot.getInt(20 + i * 12);
+            sizes[i] = slot.getInt(24 + i * 12);
+            crcs[i] = slot.getInt(28 + i * 12);
+        }
+    }
+
+    private ByteBuffer readNewestSlot() throws IOException {
+        ByteBuffer newest = null;
+        for (int index = 0; index < 2; index++) {
+            ByteBuffer slot = ByteBuffer.allocate(SLOT_PAYLOAD + 4);
+            while (slot.hasRemaining()) {
+                if (journalChannel.read(slot, (long) index * SLOT_SIZE + slot.position()) < 0) break;
+            }
+            if (slot.hasRemaining() || slot.getInt(0) != SLOT_MAGIC
+                    || slot.getInt(SLOT_PAYLOAD) != crc(slot.array(), 0, SLOT_PAYLOAD)) {
+                continue;
+            }
+            long slotGeneration = slot.getLong(8);
+            if (newest == null || slotGeneration > generation) {
+                newest = slot;
+                generation = slotGeneration;
+                activeSlot = index;
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * Count the valid records of the current generation following the active slot.
+     */
+    private int countReplayableRecords() throws IOException {
+        long journalSize = journalChannel.size();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        int count = 0;
+        for (long position = RECORD_AREA_START; position + RECORD_SIZE <= journalSize; position += RECORD_SIZE) {
+            record.clear();
+            while (record.hasRemaining()) {
+                if (journalChannel.read(record, position + record.position()) < 0) break;
+            }
+            if (record.hasRemaining() || record.getInt(0) != RECORD_MAGIC || record.getLong(4) != generation
+                    || record.getInt(RECORD_SIZE - 4) != crc(record.array(), 0, RECORD_SIZE - 4)) {
+                break; // Torn tail or records of an older generation
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void replayRecords(int count) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        for (int n = 0; n < count; n++) {
+            record.clear();
+            long position = RECORD_AREA_START + (long) n * RECORD_SIZE;
+            while (record.hasRemaining()) {
+                journalChannel.read(record, position + record.position());
+            }
+            int chunkIndex = record.getInt(12);
+            if (chunkIndex < 0 || chunkIndex >= LRFConstants.CHUNKS_PER_REGION) {
+                continue;
+            }
+            offsets[chunkIndex] = record.getInt(16);
+            sizes[chunkIndex] = record.getInt(20);
+            crcs[chunkIndex] = record.getInt(24);
+        }
+    }
+
+    private boolean verifyFrame(int offset, int size, int expectedCrc, long regionSize) throws IOException {
+        if (offset < LRFConstants.HEADER_SIZE || size <= 5 || offset + (long) size > regionSize) {
+            return false;
+        }
+        ByteBuffer frame = ByteBuffer.allocate(size);
+        while (frame.hasRemaining()) {
+            if (regionChannel.read(frame, offset + frame.position()) < 0) return false;
+        }
+        return crc(frame.array(), 0, size) == expectedCrc;
+    }
+
+    private void writeCheckpoint(boolean clean) throws IOException {
+        int slotIndex = 1 - activeSlot;
+        long nextGeneration = generation + 1;
+
+        ByteBuffer slot = ByteBuffer.allocate(SLOT_PAYLOAD + 4);
+        slot.putInt(SLOT_MAGIC);
+        slot.putInt(clean ? FLAG_CLEAN : 0);
+        slot.putLong(nextGeneration);
+        slot.putInt(compressionType);
+        for (int i = 0; i < LRFConstants.CHUNKS_PER_REGION; i++) {
+            slot.putInt(offsets[i]);
+            slot.putInt(sizes[i]);
+            slot.putInt(crcs[i]);
+        }
+        slot.putInt(crc(slot.array(), 0, SLOT_PAYLOAD));
+        slot.flip();
+        while (slot.hasRemaining()) {
+            journalChannel.write(slot, (long) slotIndex * SLOT_SIZE + slot.position());
+        }
+        journalChannel.force(false);
+        fsyncs++;
+
+        // Records of the previous generation are ignored from now on and get overwritten
+        generation = nextGeneration;
+        activeSlot = slotIndex;
+        appendPosition = RECORD_AREA_START;
+        recordsSinceCheckpoint = 0;
+        checkpointNeeded = false;
+        dirty = !clean;
+        checkpoints++;
+    }
+
+    private static int roundToSector(int size) {
+        return (size + LRFConstants.SIZE_SECTOR_BYTES - 1) / LRFConstants.SIZE_SECTOR_BYTES * LRFConstants.SIZE_SECTOR_BYTES;
+    }
+
+    private static int crc(byte[] data, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    public Path getJournalPath() {
+        return journalPath;
+    }
+
+    /**
+     * Number of fsyncs issued by this journal (region file and journal file).
+     */
+    public synchronized long getFsyncCount() {
+        return fsyncs;
+    }
+
+    /**
+     * Number of group commits so far.
+     */
+    public synchronized long getCommitCount() {
+        return commits;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "LRFJournal{" +
+               "region=" + regionPath.getFileName() +
+               ", generation=" + generation +
+               ", commits=" + commits +
+               ", records=" + recordsCommitted +
+               ", checkpoints=" + checkpoints +
+               ", fsyncs=" + fsyncs +
+               '}';
+    }
+}
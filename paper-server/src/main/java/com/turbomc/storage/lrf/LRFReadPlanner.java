@@ -0,0 +1,113 @@
+package com.turbomc.storage.lrf;
+
+import com.turbomc.config.TurboConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Plans batched chunk reads: requested chunk extents are sorted by file offset and
+ * neighbours are merged into large reads, as long as the gap between them is small
+ * and the merged read stays within a size limit.
+ *
+ * Chunks written in one pass lie back to back in an LRF file, so a view-distance
+ * load needs a handful of large reads instead of one small read per chunk.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public class LRFReadPlanner {
+
+    private final int maxGap;
+    private final int maxReadSize;
+
+    /**
+     * @param maxGap Largest unrequested gap (bytes) read through to join two extents
+     * @param maxReadSize Largest merged read (bytes); single chunks may exceed it
+     */
+    public LRFReadPlanner(int maxGap, int maxReadSize) {
+        this.maxGap = Math.max(0, maxGap);
+        this.maxReadSize = Math.max(1, maxReadSize);
+    }
+
+    /**
+     * Create a planner configured from {@code [storage.batch]}.
+     */
+    public static LRFReadPlanner fromConfig() {
+        TurboConfig config = TurboConfig.getInstance();
+        return new LRFReadPlanner(
+            config.getInt("storage.batch.coalesce-gap-kb", 32) * 1024,
+            config.getInt("storage.batch.max-read-kb", 1024) * 1024);
+    }
+
+    /**
+     * Merge extents into reads.
+     *
+     * @param extents Chunk extents to read, in any order
+     * @return Reads in file order, each covering one or more extents
+     */
+    public List<Read> plan(List<Extent> extents) {
+        List<Extent> sorted = new ArrayList<>(extents);
+        sorted.sort(Comparator.comparingLong(Extent::offset));
+
+        List<Read> reads = new ArrayList<>();
+        Read current = null;
+        for (Extent extent : sorted) {
+            long end = extent.offset() + extent.size();
+            if (current != null
+                    && extent.offset() - current.end() <= maxGap
+                    && Math.max(end, current.end()) - current.offset <= maxReadSize) {
+                current.add(extent);
+            } else {
+                current = new Read(extent);
+                reads.add(current);
+            }
+        }
+        return reads;
+    }
+
+    /**
+     * A chunk's frame on disk.
+     *
+     * @param slot Position of the chunk in the caller's request
+     */
+    public record Extent(int slot, int chunkX, int chunkZ, long offset, int size) {
+    }
+
+    /**
+     * One contiguous read covering several extents.
+     */
+    public static final class Read {
+        private final long offset;
+        private long end;
+        private final List<Extent> extents = new ArrayList<>();
+
+        Read(Extent first) {
+            this.offset = first.offset();
+            this.end = first.offset() + first.size();
+            extents.add(first);
+        }
+
+        void add(Extent extent) {
+            extents.add(extent);
+            end = Math.max(end, extent.offset() + extent.size());
+        }
+
+        public long offset() {
+            return offset;
+        }
+
+        public long end() {
+            return end;
+        }
+
+        public int length() {
+            return (int) (end - offset);
+        }
+
+        public List<Extent> extents() {
+            return extents;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.turbomc.storage.lrf;
+
+import java.io.IOException;
+
+/**
+ * Online compaction for LRF region files.
+ *
+ * Moves the chunks stored furthest into the file down into free holes, one chunk at a
+ * time, then publishes the new header and shrinks the file. The writer lock is only held
+ * per moved chunk, so regular saves keep interleaving with a running compaction.
+ *
+ * Compaction works in place on the live file: readers and writers of a region share one
+ * FileChannel, so swapping in a rewritten file would leave them on the old inode.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public class LRFRegionCompactor {
+
+    private final LRFRegionWriter writer;
+    private final double minFragmentation;
+    private final int maxMoves;
+
+    /**
+     * @param writer Writer of the region to compact
+     * @param minFragmentation Minimum fraction of dead space before compacting (0.0-1.0)
+     * @param maxMoves Maximum chunks moved per run
+     */
+    public LRFRegionCompactor(LRFRegionWriter writer, double minFragmentation, int maxMoves) {
+        this.writer = writer;
+        this.minFragmentation = minFragmentation;
+        this.maxMoves = maxMoves;
+    }
+
+    /**
+     * Run one compaction pass.
+     *
+     * @return Result of the pass
+     * @throws IOException if relocation or flushing fails
+     */
+    public CompactionResult compact() throws IOException {
+        LRFExtentAllocator allocator = writer.getAllocator();
+        LRFExtentAllocator.SpaceStats before = allocator.getStats();
+
+        int moved = 0;
+        if (before.getFragmentation() >= minFragmentation) {
+            while (moved < maxMoves) {
+                int candidate = allocator.findRelocationCandidate();
+                if (candidate < 0 || !writer.relocateChunk(candidate)) {
+                    break;
+                }
+                moved++;
+            }
+        }
+
+        if (moved > 0) {
+            // Publish new offsets durably before any old extent can be reused or cut off
+            writer.sync();
+        }
+        long released = writer.trimTail();
+
+        return new CompactionResult(moved, released, before, allocator.getStats());
+    }
+
+    /**
+     * Outcome of a compaction pass.
+     */
+    public static class CompactionResult {
+        public final int chunksMoved;
+        public final long bytesReleased;
+        public final LRFExtentAllocator.SpaceStats before;
+        public final LRFExtentAllocator.SpaceStats after;
+
+        CompactionResult(int chunksMoved, long bytesReleased,
+                         LRFExtentAllocator.SpaceStats before, LRFExtentAllocator.SpaceStats after) {
+            this.chunksMoved = chunksMoved;
+            this.bytesReleased = bytesReleased;
+            this.before = before;
+            this.after = after;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CompactionResult{moved=%d, released=%.1fKB, frag=%.1f%% -> %.1f%%}",
+                    chunksMoved, bytesReleased / 1024.0,
+                    before.getFragmentation() * 100, after.getFragmentation() * 100);
+        }
+    }
+}
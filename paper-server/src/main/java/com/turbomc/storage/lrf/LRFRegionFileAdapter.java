@@ -76,9 +76,7 @@ public class LRFRegionFileAdapter extends RegionFile {
             if (data.length > 4 && data[0] == 'T' && data[1] == 'N' && data[2] == 'B' && data[3] == 'T') {
                 try {
                     // Transcode back to standard NBT bytes for vanilla compatibility
-                    net.minecraft.nbt.CompoundTag tag = com.turbomc.nbt.NBTConverter.fromPackedBinary(
-                        com.turbomc.nbt.PackedBinaryNBT.fromBytes(data)
-                    );
+                    net.minecraft.nbt.CompoundTag tag = com.turbomc.nbt.NBTConverter.fromBytes(data, filePath.getParent());
                     ByteArrayOutputStream bos = new ByteArrayOutputStream();
                     net.minecraft.nbt.NbtIo.write(tag, new DataOutputStream(bos));
                     return new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
@@ -153,13 +151,14 @@ public class LRFRegionFileAdapter extends RegionFile {
         TurboStorageManager manager = TurboStorageManager.getInstance();
         
         try {
-            // Marshall to PackedBinary (v2.0 standard)
-            byte[] dataToWrite = com.turbomc.nbt.NBTConverter.toPackedBinary(
-                NbtIo.read(new DataInputStream(new ByteArrayInputStream(nbtData)), NbtAccounter.unlimitedHeap())
-            ).toBytes();
+            // Marshall to PackedBinary (v2.0 standard), compressed once by the LRF frame
+            net.minecraft.nbt.CompoundTag tag =
+                NbtIo.read(new DataInputStream(new ByteArrayInputStream(nbtData)), NbtAccounter.unlimitedHeap());
+            byte[] dataToWrite = com.turbomc.nbt.NBTConverter.toUncompressedBytes(tag, filePath.getParent());
             
             // Hand off to manager (non-blocking if batching is enabled)
-            manager.saveChunk(filePath, chunkPos.x, chunkPos.z, dataToWrite);
+            manager.saveChunk(filePath, chunkPos.x, chunkPos.z, dataToWrite,
+                LRFChunkMetadata.forChunk(tag, dataToWrite), false);
             
             // Update local header for "exists" checks (approximate, since write is async)
             // LRFConstants.getChunkIndex(chunkX, chunkZ)
@@ -204,36 +203,28 @@ public class LRFRegionFileAdapter extends RegionFile {
         buffer.flip();
         byte[] bucket = buffer.array();
         
-        // Read 4-byte length header
-        if (bucket.length < 4) return null;
+        // Frame: 4-byte total length, 1-byte compression type, payload
+        if (bucket.length < 5) return null;
         int exactLength = ((bucket[0] & 0xFF) << 24) | ((bucket[1] & 0xFF) << 16) | ((bucket[2] & 0xFF) << 8) | (bucket[3] & 0xFF);
         
-        if (exactLength <= 0 || exactLength > bucket.length - 4) {
+        if (exactLength < 5 || exactLength > bucket.length) {
             return null;
         }
         
-        // LRF stores timestamp at end of chunk data
-        if (exactLength < 8) return null;
+        byte[] payload = new byte[exactLength - 5];
+        System.arraycopy(bucket, 5, payload, 0, payload.length);
         
-        int payloadSize = exactLength - 8;
-        byte[] payload = new byte[payloadSize];
-        System.arraycopy(bucket, 4, payload, 0, payloadSize);
-        
-        // Extract timestamp from end of data
-        long timestamp = 0;
-        if (bucket.length >= 8) {
-            int tsOffset = 4 + exactLength - 8;
-            timestamp = ((long) bucket[tsOffset] & 0xFF) << 56 |
-                       ((long) bucket[tsOffset + 1] & 0xFF) << 48 |
-                       ((long) bucket[tsOffset + 2] & 0xFF) << 40 |
-                       ((long) bucket[tsOffset + 3] & 0xFF) << 32 |
-                       ((long) bucket[tsOffset + 4] & 0xFF) << 24 |
-                       ((long) bucket[tsOffset + 5] & 0xFF) << 16 |
-                       ((long) bucket[tsOffset + 6] & 0xFF) << 8 |
-                       ((long) bucket[tsOffset + 7] & 0xFF);
-        }
-        
-        return new LRFChunkEntry(chunkX, chunkZ, payload, timestamp);
+        // Save time is not part of the frame; see getMetadata for the last save tick
+        return new LRFChunkEntry(chunkX, chunkZ, payload, 0L);
+    }
+    
+    /**
+     * Get a chunk's metadata table entry for inspection, without reading the chunk.
+     * 
+     * @return Metadata, or null if the chunk doesn't exist or has no entry
+     */
+    public LRFChunkMetadata getMetadata(int chunkX, int chunkZ) throws IOException {
+        return LRFChunkMetadata.readEntry(header, channel, null, chunkX, chunkZ);
     }
     
     /**
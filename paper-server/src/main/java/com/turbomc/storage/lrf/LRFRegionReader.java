@@ -1,8 +1,8 @@
 package com.turbomc.storage.lrf;
 
+import com.turbomc.compression.DirectBufferPool;
 import com.turbomc.compression.TurboCompressionService;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import com.turbomc.storage.cache.ChunkByteCache;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
@@ -28,17 +28,13 @@ public class LRFRegionReader implements AutoCloseable {
     private final RandomAccessFile file;
     private final FileChannel channel;
     private final MappedByteBuffer mappedBuffer;
-    private final LRFHeader header;
+    private final LRFHeader openHeader;
     private final SharedRegionResource sharedResource;
+    private final DirectBufferPool bufferPool = DirectBufferPool.shared();
     
-    // Performance optimizations
-    // Synchronized cache for raw bytes (decompressed or not, depending on usage)
-    private final Int2ObjectMap<byte[]> chunkCache;
-    private final Object cacheLock = new Object();
-    
-    // FIXED: Memory usage tracking for cache
-    private final AtomicLong currentCacheSize = new AtomicLong(0);
-    private static final long MAX_CACHE_MEMORY = 64 * 1024 * 1024; // 64MB limit
+    // Decompressed chunks, shared by all readers; writers invalidate rewritten chunks
+    private final ChunkByteCache chunkCache = ChunkByteCache.shared();
+    private final Path cacheRegion;
     
     // Stats
     private final AtomicLong cacheHits;
@@ -52,6 +48,7 @@ public class LRFRegionReader implements AutoCloseable {
      */
     public LRFRegionReader(Path filePath) throws IOException {
         this.filePath = filePath;
+        this.cacheRegion = ChunkByteCache.regionKey(filePath);
         this.file = new RandomAccessFile(filePath.toFile(), "r");
         this.channel = file.getChannel();
         this.sharedResource = null;
@@ -72,10 +69,9 @@ public class LRFRegionReader implements AutoCloseable {
         this.mappedBuffer = tempBuffer;
         
         // Initialize header
-        this.header = readInternalHeader();
+        this.openHeader = readInternalHeader();
         
         // Initialize stats
-        this.chunkCache = new Int2ObjectOpenHashMap<>();
         this.cacheHits = new AtomicLong(0);
         this.cacheMisses = new AtomicLong(0);
     }
@@ -85,6 +81,7 @@ public class LRFRegionReader implements AutoCloseable {
      */
     public LRFRegionReader(SharedRegionResource resource) throws IOException {
         this.filePath = resource.getPath();
+        this.cacheRegion = ChunkByteCache.regionKey(filePath);
         this.file = null;
         this.channel = resource.getChannel();
         this.sharedResource = resource;
@@ -95,14 +92,21 @@ public class LRFRegionReader implements AutoCloseable {
         this.mappedBuffer = resource.getOrCreateMappedBuffer(channel.size());
         
         // Initialize header
-        this.header = readInternalHeader();
+        this.openHeader = readInternalHeader();
         
         // Initialize stats
-        this.chunkCache = new Int2ObjectOpenHashMap<>();
         this.cacheHits = new AtomicLong(0);
         this.cacheMisses = new AtomicLong(0);
     }
     
+    /**
+     * Current header. Readers on a shared resource re-read it through the resource, so chunks
+     * written or moved after this reader was opened are seen.
+     */
+    private LRFHeader header() throws IOException {
+        return sharedResource != null ? sharedResource.getHeader() : openHeader;
+    }
+    
     private LRFHeader readInternalHeader() throws IOException {
         if (sharedResource != null) {
             return sharedResource.getHeader();
@@ -129,13 +133,16 @@ public class LRFRegionReader implements AutoCloseable {
      */
     public LRFChunkEntry readChunk(int chunkX, int chunkZ) throws IOException {
         int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
+        // Taken before the header, so a writer's invalidation in between keeps this read out of the cache
+        long generation = chunkCache.generation(cacheRegion, chunkIndex);
+        LRFHeader header = header();
         
-        // Check cache first
-        byte[] cachedData;
-        synchronized (cacheLock) {
-            cachedData = chunkCache.get(chunkIndex);
+        if (!header.hasChunk(chunkX, chunkZ)) {
+            return null;
         }
         
+        // Check cache first
+        byte[] cachedData = chunkCache.get(cacheRegion, chunkIndex);
         if (cachedData != null) {
             cacheHits.incrementAndGet();
             return createChunkEntry(chunkX, chunkZ, cachedData);
@@ -143,6 +150,183 @@ public class LRFRegionReader implements AutoCloseable {
         
         cacheMisses.incrementAndGet();
         
+        ChunkFrame frame = readFrame(header, chunkX, chunkZ);
+        if (frame == null) {
+            return null;
+        }
+        
+        return decodeFrame(chunkX, chunkZ, frame, generation);
+    }
+    
+    /**
+     * Read several chunks with as few I/O operations as possible: chunks that are not
+     * cached are located, sorted by file offset and read through {@link LRFReadPlanner}
+     * reads, so neighbouring chunks come in with one positional read.
+     * 
+     * @param chunkCoords Chunk coordinate pairs [x, z]
+     * @return Chunk entries in request order, null where a chunk doesn't exist
+     * @throws IOException if a read fails
+     */
+    public LRFChunkEntry[] readChunks(List<int[]> chunkCoords) throws IOException {
+        return readChunks(chunkCoords, LRFReadPlanner.fromConfig());
+    }
+    
+    LRFChunkEntry[] readChunks(List<int[]> chunkCoords, LRFReadPlanner planner) throws IOException {
+        LRFChunkEntry[] results = new LRFChunkEntry[chunkCoords.size()];
+        long[] generations = new long[results.length];
+        for (int slot = 0; slot < results.length; slot++) {
+            generations[slot] = chunkCache.generation(cacheRegion,
+                LRFConstants.getChunkIndex(chunkCoords.get(slot)[0], chunkCoords.get(slot)[1]));
+        }
+        LRFHeader header = header();
+        List<LRFReadPlanner.Extent> extents = new ArrayList<>();
+        
+        for (int slot = 0; slot < results.length; slot++) {
+            int chunkX = chunkCoords.get(slot)[0];
+            int chunkZ = chunkCoords.get(slot)[1];
+            if (!header.hasChunk(chunkX, chunkZ)) {
+                continue;
+            }
+            byte[] cachedData = chunkCache.get(cacheRegion, LRFConstants.getChunkIndex(chunkX, chunkZ));
+            if (cachedData != null) {
+                cacheHits.incrementAndGet();
+                results[slot] = createChunkEntry(chunkX, chunkZ, cachedData);
+                continue;
+            }
+            cacheMisses.incrementAndGet();
+            
+            int offset = header.getChunkOffset(chunkX, chunkZ);
+            int size = header.getChunkSize(chunkX, chunkZ);
+            if (mappedBuffer != null && offset + size <= mappedBuffer.limit()) {
+                // Mapped chunks cost no read call, slice them directly
+                ChunkFrame frame = readFrame(header, chunkX, chunkZ);
+                results[slot] = frame != null ? decodeFrame(chunkX, chunkZ, frame, generations[slot]) : null;
+            } else if (size >= 5 && size <= LRFConstants.MAX_CHUNK_SIZE) {
+                extents.add(new LRFReadPlanner.Extent(slot, chunkX, chunkZ, offset, size));
+            }
+        }
+        
+        for (LRFReadPlanner.Read read : planner.plan(extents)) {
+            ByteBuffer pooled = bufferPool.acquire(read.length());
+            try {
+                int bytesRead = readFully(pooled, read.offset(), read.length());
+                for (LRFReadPlanner.Extent extent : read.extents()) {
+                    int start = (int) (extent.offset() - read.offset());
+                    if (start + extent.size() > bytesRead) {
+                        continue; // File shorter than the header claims
+                    }
+                    ChunkFrame frame = parseFrame(extent.chunkX(), extent.chunkZ(),
+                        pooled.slice(start, extent.size()), extent.size(), null);
+                    if (frame != null) {
+                        results[extent.slot()] = decodeFrame(extent.chunkX(), extent.chunkZ(), frame,
+                            generations[extent.slot()]);
+                    }
+                }
+            } finally {
+                bufferPool.release(pooled);
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Decompress a frame into a chunk entry and cache it, unless the chunk was invalidated
+     * since {@code generation} was taken. Releases the frame.
+     */
+    private LRFChunkEntry decodeFrame(int chunkX, int chunkZ, ChunkFrame frame, long generation) {
+        // Single copy of the payload straight out of the mapping
+        byte[] data;
+        try {
+            byte[] payload = new byte[frame.payload.remaining()];
+            frame.payload.get(payload);
+            
+            if (frame.compressionType == LRFConstants.COMPRESSION_NONE) {
+                data = payload;
+            } else {
+                data = TurboCompressionService.getInstance().decompress(payload);
+            }
+        } catch (Exception e) {
+            System.err.println("[TurboMC][LRF][ERROR] Decompression failed for (" + chunkX + "," + chunkZ + "): " + e.getMessage());
+            return null;
+        } finally {
+            frame.release(bufferPool);
+        }
+        
+        chunkCache.putIfGeneration(cacheRegion, LRFConstants.getChunkIndex(chunkX, chunkZ), data, generation);
+        
+        return createChunkEntry(chunkX, chunkZ, data);
+    }
+    
+    /**
+     * Read a chunk without intermediate arrays: the payload is decompressed straight from
+     * the memory mapping into a pooled direct buffer, and uncompressed chunks are handed
+     * out as a slice of the mapping itself. Cached chunks are served from the shared cache,
+     * but chunks read this way are not added to it.
+     * 
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return Borrowed chunk data that must be closed, or null if chunk doesn't exist
+     * @throws IOException if read fails
+     */
+    public LRFChunkBuffer readChunkBuffer(int chunkX, int chunkZ) throws IOException {
+        LRFHeader header = header();
+        int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
+        if (!header.hasChunk(chunkX, chunkZ)) {
+            return null;
+        }
+        
+        byte[] cachedData = chunkCache.get(cacheRegion, chunkIndex);
+        if (cachedData != null) {
+            cacheHits.incrementAndGet();
+            return LRFChunkBuffer.wrap(chunkX, chunkZ, cachedData);
+        }
+        
+        cacheMisses.incrementAndGet();
+        return readChunkBufferFromFile(header, chunkX, chunkZ);
+    }
+    
+    /**
+     * Like {@link #readChunkBuffer}, but always reads the frame from the file, bypassing the
+     * shared cache. Used by scrubbing, which must check what is actually stored.
+     * 
+     * @return Borrowed chunk data that must be closed, or null if the chunk doesn't exist
+     *         or its frame cannot be decoded
+     * @throws IOException if read fails
+     */
+    public LRFChunkBuffer readChunkBufferFromFile(int chunkX, int chunkZ) throws IOException {
+        return readChunkBufferFromFile(header(), chunkX, chunkZ);
+    }
+    
+    private LRFChunkBuffer readChunkBufferFromFile(LRFHeader header, int chunkX, int chunkZ) throws IOException {
+        ChunkFrame frame = readFrame(header, chunkX, chunkZ);
+        if (frame == null) {
+            return null;
+        }
+        
+        try {
+            if (frame.compressionType == LRFConstants.COMPRESSION_NONE) {
+                LRFChunkBuffer chunk = new LRFChunkBuffer(chunkX, chunkZ, frame.payload, bufferPool, frame.pooled);
+                frame.pooled = null; // Ownership moves to the chunk buffer
+                return chunk;
+            }
+            
+            ByteBuffer data = TurboCompressionService.getInstance().decompress(frame.payload, bufferPool);
+            return new LRFChunkBuffer(chunkX, chunkZ, data, bufferPool, data);
+        } catch (Exception e) {
+            System.err.println("[TurboMC][LRF][ERROR] Decompression failed for (" + chunkX + "," + chunkZ + "): " + e.getMessage());
+            return null;
+        } finally {
+            frame.release(bufferPool);
+        }
+    }
+    
+    /**
+     * Locate and validate a chunk's frame. The payload is a slice of the mapping when the
+     * chunk lies inside it, otherwise it is read into a pooled direct buffer.
+     * 
+     * @return Frame, or null if the chunk is missing or its frame is invalid
+     */
+    private ChunkFrame readFrame(LRFHeader header, int chunkX, int chunkZ) throws IOException {
         if (!header.hasChunk(chunkX, chunkZ)) {
             return null;
         }
@@ -164,122 +348,100 @@ public class LRFRegionReader implements AutoCloseable {
             return null;
         }
         
-        byte[] rawSectorData = new byte[size];
+        // Parse Length Header (First 5 bytes: 4 length + 1 compression type)
+        if (size < 5) {
+            System.err.println("[TurboMC][LRF][WARN] Chunk (" + chunkX + "," + chunkZ + ") too small: " + size + " bytes");
+            return null;
+        }
+        
+        ByteBuffer window = null;
+        ByteBuffer pooled = null;
         
         if (mappedBuffer != null && offset + size <= mappedBuffer.limit()) {
-            // Zero-copy read from mmap
+            // Zero-copy: absolute slice of the mapping, independent position per reader
             try {
-                // Optimized concurrent access - absolute get is naturally thread-safe
-                mappedBuffer.get(offset, rawSectorData);
+                window = mappedBuffer.slice(offset, size);
             } catch (Exception e) {
-                // Fallback to standard I/O if mmap access fails
-                ByteBuffer readBuffer = ByteBuffer.wrap(rawSectorData);
-                channel.read(readBuffer, offset);
+                window = null;
             }
-        } else {
+        }
+        
+        if (window == null) {
             // Standard I/O read (or fallback for growth)
-            // Absolute channel.read(buffer, position) is naturally thread-safe for reading
-            ByteBuffer readBuffer = ByteBuffer.wrap(rawSectorData);
-            int bytesRead = channel.read(readBuffer, offset);
-            
-            if (bytesRead < size) {
-                // Retry loop for partial reads (concurrent growth)
-                int retries = 0;
-                while (bytesRead < size && retries < 3) {
-                    try { Thread.sleep(5); } catch (InterruptedException ignored) {}
-                    readBuffer = ByteBuffer.wrap(rawSectorData, bytesRead, size - bytesRead);
-                    int read = channel.read(readBuffer, offset + bytesRead);
-                    if (read > 0) {
-                        bytesRead += read;
-                    }
-                    retries++;
-                }
-            }
-            
-            if (bytesRead < size) {
+            pooled = bufferPool.acquire(size);
+            if (readFully(pooled, offset, size) < size) {
+                bufferPool.release(pooled);
                 return null;
             }
+            window = pooled.flip();
         }
         
-        // Parse Length Header (First 5 bytes: 4 length + 1 compression type)
-        if (size < 5) {
-            System.err.println("[TurboMC][LRF][WARN] Chunk (" + chunkX + "," + chunkZ + ") too small: " + size + " bytes");
-            return null;
+        return parseFrame(chunkX, chunkZ, window, size, pooled);
+    }
+    
+    /**
+     * Positional read of {@code length} bytes into the buffer.
+     * Absolute channel.read(buffer, position) is naturally thread-safe for reading.
+     * 
+     * @return Bytes read; less than length if the file ends early
+     */
+    private int readFully(ByteBuffer buffer, long offset, int length) throws IOException {
+        buffer.limit(buffer.position() + length);
+        int bytesRead = Math.max(0, channel.read(buffer, offset));
+        
+        // Retry loop for partial reads (concurrent growth)
+        int retries = 0;
+        while (bytesRead < length && retries < 3) {
+            try { Thread.sleep(5); } catch (InterruptedException ignored) {}
+            int read = channel.read(buffer, offset + bytesRead);
+            if (read > 0) {
+                bytesRead += read;
+            }
+            retries++;
         }
-        
-        int totalLength = ((rawSectorData[0] & 0xFF) << 24) | 
-                          ((rawSectorData[1] & 0xFF) << 16) | 
-                          ((rawSectorData[2] & 0xFF) << 8) | 
-                          (rawSectorData[3] & 0xFF);
+        return bytesRead;
+    }
+    
+    /**
+     * Validate the frame header in a chunk's window and slice out its payload.
+     * Releases the pooled buffer if the frame is invalid.
+     */
+    private ChunkFrame parseFrame(int chunkX, int chunkZ, ByteBuffer window, int size, ByteBuffer pooled) {
+        int totalLength = window.getInt(0);
         
         // FIX #11: Read per-chunk compression type
-        int chunkCompressionType = rawSectorData[4] & 0xFF;
+        int chunkCompressionType = window.get(4) & 0xFF;
                            
         if (totalLength <= 5 || totalLength > size || totalLength > LRFConstants.MAX_CHUNK_SIZE) {
             System.err.println("[TurboMC][LRF][WARN] Invalid chunk length " + totalLength + " for (" + chunkX + "," + chunkZ + ")");
+            bufferPool.release(pooled);
             return null; 
         }
         
-        int compressedPayloadSize = totalLength - 5;  // Subtract header (4) + compression type (1)
-        
-        // FIX #10: Use ByteBuffer.slice() to avoid copy
-        byte[] compressedPayload;
-        if (compressedPayloadSize > 0) {
-            ByteBuffer payloadBuffer = ByteBuffer.wrap(rawSectorData, 5, compressedPayloadSize);
-            compressedPayload = new byte[compressedPayloadSize];
-            payloadBuffer.get(compressedPayload);
-        } else {
-            compressedPayload = new byte[0];
-        }
-        
-        byte[] data;
-        if (chunkCompressionType == LRFConstants.COMPRESSION_NONE) {
-            data = compressedPayload;
-        } else {
-            try {
-                data = TurboCompressionService.getInstance().decompress(compressedPayload);
-            } catch (Exception e) {
-                System.err.println("[TurboMC][LRF][ERROR] Decompression failed for (" + chunkX + "," + chunkZ + "): " + e.getMessage());
-                return null;
-            }
+        // Subtract header (4) + compression type (1)
+        return new ChunkFrame(chunkCompressionType, window.slice(5, totalLength - 5), pooled);
+    }
+    
+    /**
+     * Compressed payload of one chunk plus the pooled buffer backing it, if any.
+     */
+    private static final class ChunkFrame {
+        final int compressionType;
+        final ByteBuffer payload;
+        ByteBuffer pooled;
+        
+        ChunkFrame(int compressionType, ByteBuffer payload, ByteBuffer pooled) {
+            this.compressionType = compressionType;
+            this.payload = payload;
+            this.pooled = pooled;
         }
         
-        // FIX: Intelligent batch cache eviction with high watermark
-        synchronized (cacheLock) {
-            // High watermark strategy - keep cache at 90% to avoid constant eviction
-            long highWatermark = (long)(MAX_CACHE_MEMORY * 0.9);
-            
-            // If adding would exceed watermark, batch evict down to 80%
-            if (currentCacheSize.get() + data.length > highWatermark) {
-                long targetSize = (long)(MAX_CACHE_MEMORY * 0.8);
-                long toFree = (currentCacheSize.get() + data.length) - targetSize;
-                
-                // Batch eviction - free multiple entries in one pass (MUCH faster!)
-                long freed = 0;
-                var iterator = chunkCache.int2ObjectEntrySet().iterator();
-                
-                while (iterator.hasNext() && freed < toFree) {
-                    var entry = iterator.next();
-                    byte[] evictedData = entry.getValue();
-                    iterator.remove();
-                    freed += evictedData.length;
-                    currentCacheSize.addAndGet(-evictedData.length);
-                }
-                
-                if (freed > 0 && System.getProperty("turbomc.debug") != null) {
-                    System.out.println("[TurboMC][LRF][Cache] Batch evicted " + freed / 1024 + 
-                        "KB (now at " + currentCacheSize.get() / 1024 + "KB)");
-                }
-            }
-            
-            // Now add if there's space
-            if (currentCacheSize.get() + data.length <= MAX_CACHE_MEMORY) {
-                chunkCache.put(chunkIndex, data);
-                currentCacheSize.addAndGet(data.length);
+        void release(DirectBufferPool pool) {
+            if (pooled != null) {
+                pool.release(pooled);
+                pooled = null;
             }
         }
-        
-        return createChunkEntry(chunkX, chunkZ, data);
     }
     
     /**
@@ -296,6 +458,7 @@ public class LRFRegionReader implements AutoCloseable {
      * @throws IOException if read fails
      */
     public List<LRFChunkEntry> readAllChunks() throws IOException {
+        LRFHeader header = header();
         List<LRFChunkEntry> chunks = new ArrayList<>();
         
         for (int x = 0; x < LRFConstants.REGION_SIZE; x++) {
@@ -316,14 +479,17 @@ public class LRFRegionReader implements AutoCloseable {
      * Batch read multiple chunks for better performance.
      */
     public List<LRFChunkEntry> readBatch(List<int[]> chunkCoords) throws IOException {
-        List<LRFChunkEntry> results = new ArrayList<>();
-        
+        List<int[]> valid = new ArrayList<>(chunkCoords.size());
         for (int[] coords : chunkCoords) {
             if (coords.length >= 2) {
-                LRFChunkEntry chunk = readChunk(coords[0], coords[1]);
-                if (chunk != null) {
-                    results.add(chunk);
-                }
+                valid.add(coords);
+            }
+        }
+        
+        List<LRFChunkEntry> results = new ArrayList<>();
+        for (LRFChunkEntry chunk : readChunks(valid)) {
+            if (chunk != null) {
+                results.add(chunk);
             }
         }
         
@@ -338,11 +504,40 @@ public class LRFRegionReader implements AutoCloseable {
      * @return True if chunk exists
      */
     public boolean hasChunk(int chunkX, int chunkZ) {
-        return header.hasChunk(chunkX, chunkZ);
+        return getHeader().hasChunk(chunkX, chunkZ);
+    }
+    
+    /**
+     * Read a chunk's metadata table entry: one 32-byte read (or mapping access), no decompression.
+     * 
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return Metadata, or null if the chunk doesn't exist or has no valid entry
+     * @throws IOException if read fails
+     */
+    public LRFChunkMetadata readMetadata(int chunkX, int chunkZ) throws IOException {
+        LRFHeader header = header();
+        return LRFChunkMetadata.readEntry(header, channel, mappedBuffer, chunkX, chunkZ);
+    }
+    
+    /**
+     * Read the whole metadata table with a single 32KB read.
+     * 
+     * @return Entries by chunk index (null where a chunk is missing or has no valid entry),
+     *         or null if this region has no metadata table
+     * @throws IOException if read fails
+     */
+    public LRFChunkMetadata[] readAllMetadata() throws IOException {
+        LRFHeader header = header();
+        return LRFChunkMetadata.readTable(header, channel, mappedBuffer);
     }
     
     public LRFHeader getHeader() {
-        return header;
+        try {
+            return header();
+        } catch (IOException e) {
+            return openHeader;
+        }
     }
     
     public Path getFilePath() {
@@ -357,20 +552,14 @@ public class LRFRegionReader implements AutoCloseable {
      * Get cache statistics.
      */
     public CacheStats getCacheStats() {
-        synchronized (cacheLock) {
-            return new CacheStats(cacheHits.get(), cacheMisses.get(), chunkCache.size());
-        }
+        return new CacheStats(cacheHits.get(), cacheMisses.get(), chunkCache.getStats().getEntries());
     }
     
     /**
-     * Clear chunk cache.
+     * Drop this region's chunks from the shared cache and reset stats.
      */
     public void clearCache() {
-        synchronized (cacheLock) {
-            if (chunkCache != null) {
-                chunkCache.clear();
-            }
-        }
+        chunkCache.invalidateRegion(cacheRegion);
         cacheHits.set(0);
         cacheMisses.getAndSet(0);
     }
@@ -400,22 +589,19 @@ public class LRFRegionReader implements AutoCloseable {
     
     @Override
     public void close() throws IOException {
-        try {
-            clearCache();
-        } finally {
-            if (sharedResource != null) {
-                sharedResource.close();
-            } else {
-                // Critical Fix for Windows: Explicitly unmap the MappedByteBuffer
-                if (mappedBuffer != null && mappedBuffer.isDirect()) {
-                    cleanBuffer(mappedBuffer);
-                }
-                if (channel != null && channel.isOpen()) {
-                    channel.close();
-                }
-                if (file != null) {
-                    file.close();
-                }
+        // Cached chunks stay valid after close; writers invalidate what they rewrite
+        if (sharedResource != null) {
+            sharedResource.close();
+        } else {
+            // Critical Fix for Windows: Explicitly unmap the MappedByteBuffer
+            if (mappedBuffer != null && mappedBuffer.isDirect()) {
+                cleanBuffer(mappedBuffer);
+            }
+            if (channel != null && channel.isOpen()) {
+                channel.close();
+            }
+            if (file != null) {
+                file.close();
             }
         }
     }
@@ -464,8 +650,8 @@ public class LRFRegionReader implements AutoCloseable {
     public String toString() {
         return "LRFRegionReader{" +
                "file=" + filePath.getFileName() +
-               ", chunks=" + header.getChunkCount() +
-               ", compression=" + LRFConstants.getCompressionName(header.getCompressionType()) +
+               ", chunks=" + getHeader().getChunkCount() +
+               ", compression=" + LRFConstants.getCompressionName(getHeader().getCompressionType()) +
                ", cache=" + getCacheStats() +
                '}';
     }
@@ -1,6 +1,11 @@
 package com.turbomc.storage.lrf;
 
+import com.turbomc.compression.CompressionException;
 import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.compression.ZstdDictionaryCompressor;
+import com.turbomc.nbt.PackedBinaryNBT;
+import com.turbomc.storage.cache.ChunkByteCache;
+import com.turbomc.storage.compression.ZstdDictionaryManager;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
@@ -8,6 +13,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 import com.turbomc.storage.optimization.SharedRegionResource;
@@ -39,6 +45,21 @@ public class LRFRegionWriter implements AutoCloseable {
     private boolean streamingMode;
     private LRFHeader streamingHeader;
     
+    // Free-space reuse (shared with other writers when backed by a SharedRegionResource)
+    private LRFExtentAllocator allocator;
+    
+    // Write-ahead journal, null when disabled
+    private LRFJournal journal;
+    private boolean ownsJournal;
+    
+    // Shared chunk cache entries to drop once the header publishing new offsets is written
+    private final Path cacheRegion;
+    private final BitSet unpublishedChunks = new BitSet(LRFConstants.CHUNKS_PER_REGION);
+    
+    // Per-chunk metadata table maintenance
+    private final boolean metadataEnabled =
+        com.turbomc.config.TurboConfig.getInstance().getBoolean("storage.lrf.chunk-metadata", true);
+    
     private static boolean verbose = false;
 
     public static void setVerbose(boolean value) {
@@ -58,6 +79,7 @@ public class LRFRegionWriter implements AutoCloseable {
      */
     public LRFRegionWriter(Path filePath, int compressionType) throws IOException {
         this.filePath = filePath;
+        this.cacheRegion = ChunkByteCache.regionKey(filePath);
         this.file = new RandomAccessFile(filePath.toFile(), "rw");
         this.channel = file.getChannel();
         this.sharedResource = null;
@@ -79,6 +101,7 @@ public class LRFRegionWriter implements AutoCloseable {
      */
     public LRFRegionWriter(SharedRegionResource resource, int compressionType) throws IOException {
         this.filePath = resource.getPath();
+        this.cacheRegion = ChunkByteCache.regionKey(filePath);
         this.file = null; 
         this.channel = resource.getChannel();
         this.sharedResource = resource;
@@ -97,6 +120,14 @@ public class LRFRegionWriter implements AutoCloseable {
     }
     
     private void initializeWriter() throws IOException {
+        // Recover from the journal before the header is trusted
+        if (sharedResource != null) {
+            this.journal = sharedResource.getJournal();
+        } else {
+            this.journal = LRFJournal.acquireIfEnabled(filePath);
+            this.ownsJournal = journal != null;
+        }
+        
         // Initialize header
         if (channel.size() < LRFConstants.HEADER_SIZE) {
             if (file != null) {
@@ -111,15 +142,14 @@ public class LRFRegionWriter implements AutoCloseable {
             channel.read(headerBuffer, 0);
             headerBuffer.flip();
             this.streamingHeader = LRFHeader.read(headerBuffer);
-            
-            // SET POSITION TO END FOR APPEND (Aligned to 256 bytes)
-            long size = channel.size();
-            long alignedSize = (size % 256 == 0) ? size : (size / 256 + 1) * 256;
-            if (alignedSize > size) {
-                channel.position(size);
-                channel.write(ByteBuffer.allocate((int)(alignedSize - size)));
-            }
-            channel.position(alignedSize);
+        }
+        
+        // Writes go to positions handed out by the allocator (holes first, then end of file)
+        if (sharedResource != null) {
+            this.allocator = sharedResource.getExtentAllocator(streamingHeader);
+        } else {
+            this.allocator = LRFExtentAllocator.fromConfig();
+            this.allocator.rebuild(streamingHeader, channel);
         }
 
         // Initialize performance components
@@ -151,6 +181,10 @@ public class LRFRegionWriter implements AutoCloseable {
         this.streamingHeader = new LRFHeader(
             LRFConstants.FORMAT_VERSION, 0, compressionType
         );
+        allocator.reset();
+        if (journal != null) {
+            journal.reset();
+        }
         
         if (verbose) {
             System.out.println("[TurboMC] Enabled streaming mode for " + filePath.getFileName());
@@ -201,11 +235,13 @@ public class LRFRegionWriter implements AutoCloseable {
         
         // Compress if needed with error handling
         byte[] compressedData;
-        if (compressionType == LRFConstants.COMPRESSION_NONE) {
+        if (compressionType == LRFConstants.COMPRESSION_NONE || isPreCompressed(dataToWrite)) {
             compressedData = dataToWrite;
+            actualCompressionType = LRFConstants.COMPRESSION_NONE;
         } else {
             try {
-                compressedData = TurboCompressionService.getInstance().compress(dataToWrite);
+                compressedData = compressForRegion(filePath, dataToWrite);
+                actualCompressionType = frameCompressionType(compressionType, compressedData);
             } catch (com.turbomc.compression.CompressionException e) {
                 // FIX #5: Update compression type when falling back to uncompressed
                 System.err.println("[TurboMC][LRF] Compression failed for chunk (" + 
@@ -216,59 +252,190 @@ public class LRFRegionWriter implements AutoCloseable {
             }
         }
         
-        // FIX #4 & #7: Thread-safe with proper alignment padding
-        long currentPos;
-        synchronized (streamingHeader) {  // FIX #4: Sync on header, not channel
-            synchronized (channel) {
-                currentPos = channel.position();
-                
-                // FIX #7: Write padding bytes instead of just seeking
-                if (currentPos % 256 != 0) {
-                    long alignedPos = (currentPos / 256 + 1) * 256;
-                    int paddingSize = (int)(alignedPos - currentPos);
-                    byte[] padding = new byte[paddingSize];
-                    channel.write(ByteBuffer.wrap(padding));
-                    currentPos = alignedPos;
-                }
-                
-                if (currentPos < LRFConstants.HEADER_SIZE) {
-                    int paddingSize = (int)(LRFConstants.HEADER_SIZE - currentPos);
-                    byte[] padding = new byte[paddingSize];
-                    channel.write(ByteBuffer.wrap(padding));
-                    currentPos = LRFConstants.HEADER_SIZE;
-                }
-                
-                // Write length header (4 bytes) - Total length = 4 + compressedData.length + 1 (compression type)
-                int totalLength = 4 + 1 + compressedData.length;
-                ByteBuffer lengthBuffer = ByteBuffer.allocate(5);
-                lengthBuffer.putInt(totalLength);
-                lengthBuffer.put((byte)actualCompressionType);  // FIX #5: Store actual compression used
-                lengthBuffer.flip();
-                channel.write(lengthBuffer);
-                
-                // Write chunk data with buffer
-                writeWithBuffer(compressedData);
-                
-                // Update streaming header (now inside sync block)
-                streamingHeader.setChunkData(
-                    chunk.getChunkX(),
-                    chunk.getChunkZ(),
-                    (int) currentPos,
-                    totalLength
-                );
-            }
+        LRFChunkMetadata metadata = chunk.getMetadata();
+        if (metadata == null && metadataEnabled && dataToWrite != null) {
+            metadata = LRFChunkMetadata.forData(dataToWrite);
         }
+        writeFrame(chunk.getChunkX(), chunk.getChunkZ(), compressedData, actualCompressionType, metadata);
         
         // Update statistics
         chunksCompressed.incrementAndGet();
         compressionTime.addAndGet(System.nanoTime() - startTime);
+    }
+    
+    /**
+     * Write a chunk whose payload was already compressed by the caller.
+     * Used by the conversion pipeline, which compresses on its own threads.
+     * 
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @param compressedData Payload in the given compression format
+     * @param actualCompressionType Compression type stored in the frame header
+     * @throws IOException if the chunk cannot be written
+     */
+    public void writeCompressedChunk(int chunkX, int chunkZ, byte[] compressedData, int actualCompressionType) throws IOException {
+        writeCompressedChunk(chunkX, chunkZ, compressedData, actualCompressionType, null);
+    }
+    
+    /**
+     * Write a pre-compressed chunk together with its metadata table entry.
+     * 
+     * @param metadata Metadata of the uncompressed data, or null to leave the chunk without an entry
+     */
+    public void writeCompressedChunk(int chunkX, int chunkZ, byte[] compressedData, int actualCompressionType,
+                                     LRFChunkMetadata metadata) throws IOException {
+        if (!streamingMode) {
+            throw new IllegalStateException("Pre-compressed chunks can only be written in streaming mode");
+        }
+        writeFrame(chunkX, chunkZ, compressedData, actualCompressionType, metadata);
+        chunksCompressed.incrementAndGet();
+    }
+    
+    private void writeFrame(int chunkX, int chunkZ, byte[] compressedData, int actualCompressionType,
+                            LRFChunkMetadata metadata) throws IOException {
+        // FIX #4: Sync on header; writes are positional so the shared channel position is never touched
+        int chunkIndex = LRFConstants.getChunkIndex(chunkX, chunkZ);
+        synchronized (streamingHeader) {
+            // Placed before the first frame, so new regions get it right after the header
+            long metadataTable = metadata != null && metadataEnabled ? ensureMetadataTable() : -1;
+            
+            // Total length = 4 (length) + 1 (compression type) + compressedData.length
+            int totalLength = 4 + 1 + compressedData.length;
+            long currentPos = allocator.allocate(chunkIndex, totalLength);
+            
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(5);
+            lengthBuffer.putInt(totalLength);
+            lengthBuffer.put((byte)actualCompressionType);  // FIX #5: Store actual compression used
+            lengthBuffer.flip();
+            while (lengthBuffer.hasRemaining()) {
+                channel.write(lengthBuffer, currentPos + lengthBuffer.position());
+            }
+            
+            // Write chunk data with buffer
+            writeWithBuffer(compressedData, currentPos + 5);
+            
+            // The entry names the frame it belongs to, so it is ignored until the header points there
+            if (metadataTable >= 0) {
+                writeMetadataEntry(metadataTable, chunkIndex, metadata.toEntry(currentPos));
+            }
+            
+            // Journal the placement once the frame is written
+            if (journal != null) {
+                recordPlacement(chunkIndex, currentPos, totalLength,
+                    LRFJournal.frameCrc(lengthBuffer.array(), compressedData));
+            }
+            
+            // Update streaming header (now inside sync block)
+            streamingHeader.setChunkData(
+                chunkX,
+                chunkZ,
+                (int) currentPos,
+                totalLength
+            );
+            
+            // Readers may still cache the old copy until the header is published, so drop it again then
+            ChunkByteCache.shared().invalidate(cacheRegion, chunkIndex);
+            unpublishedChunks.set(chunkIndex);
+        }
         
         // Reset headerWritten flag when adding new data after a flush
         headerWritten = false;
     }
     
     /**
-     * Helper method to write with buffer reuse.
+     * Get the offset of this region's metadata table, placing and zeroing it on first use.
+     */
+    private long ensureMetadataTable() throws IOException {
+        synchronized (allocator) {
+            long offset = allocator.getMetadataOffset();
+            if (offset < 0) {
+                offset = allocator.allocateMetadataTable();
+                // May land in a reused hole, so clear every slot explicitly
+                writeMetadataEntry(offset, 0, ByteBuffer.allocate(LRFConstants.METADATA_TABLE_SIZE));
+            }
+            return offset;
+        }
+    }
+    
+    private void writeMetadataEntry(long tableOffset, int chunkIndex, ByteBuffer entry) throws IOException {
+        long position = tableOffset + (long) chunkIndex * LRFConstants.METADATA_ENTRY_SIZE;
+        while (entry.hasRemaining()) {
+            bytesWritten.addAndGet(channel.write(entry, position + entry.position()));
+        }
+    }
+    
+    /**
+     * Whether chunk data already carries its own compression and is stored as-is
+     * (frame type NONE). That is the case for PackedBinaryNBT written with a compressed
+     * payload; new saves use uncompressed TNBT so the frame is the only compression.
+     */
+    public static boolean isPreCompressed(byte[] data) {
+        return PackedBinaryNBT.hasCompressedPayload(data);
+    }
+    
+    /**
+     * Compress a chunk bound for a region file, with the region's zstd dictionary if one
+     * has been trained for its dimension (or biome cluster).
+     * 
+     * @param regionPath Region file the chunk goes to
+     * @param data Uncompressed chunk data
+     * @return Compressed payload
+     * @throws CompressionException if compression fails
+     */
+    public static byte[] compressForRegion(Path regionPath, byte[] data) throws CompressionException {
+        return TurboCompressionService.getInstance().compress(data,
+            ZstdDictionaryManager.getInstance().select(regionPath, data));
+    }
+    
+    /**
+     * Compression byte to store in a chunk frame: dictionary-compressed payloads are marked
+     * as such, so the dictionary ID right after it is never mistaken for data.
+     * 
+     * @param compressionType Region's configured compression type
+     * @param compressedData Payload as returned by {@link #compressForRegion}
+     * @return Frame compression type
+     */
+    public static int frameCompressionType(int compressionType, byte[] compressedData) {
+        return ZstdDictionaryCompressor.dictionaryIdOf(compressedData) != 0
+            ? LRFConstants.COMPRESSION_ZSTD_DICT
+            : compressionType;
+    }
+    
+    /**
+     * Append a journal record unless another writer of this region has already placed a newer copy.
+     */
+    private void recordPlacement(int chunkIndex, long offset, int length, int frameCrc) throws IOException {
+        synchronized (allocator) {
+            if (allocator.getLiveOffset(chunkIndex) == offset) {
+                journal.append(chunkIndex, (int) offset, length, frameCrc);
+            }
+        }
+    }
+    
+    /**
+     * Helper method to write with buffer reuse at an absolute file position.
+     */
+    private void writeWithBuffer(byte[] data, long position) throws IOException {
+        int offset = 0;
+        
+        while (offset < data.length) {
+            int chunkSize = Math.min(data.length - offset, writeBuffer.capacity());
+            
+            writeBuffer.clear();
+            writeBuffer.put(data, offset, chunkSize);
+            writeBuffer.flip();
+            
+            while (writeBuffer.hasRemaining()) {
+                int written = channel.write(writeBuffer, position + offset + writeBuffer.position());
+                bytesWritten.addAndGet(written);
+            }
+            
+            offset += chunkSize;
+        }
+    }
+    
+    /**
+     * Helper method to write with buffer reuse at the current channel position.
      */
     private void writeWithBuffer(byte[] data) throws IOException {
         int remaining = data.length;
@@ -299,6 +466,14 @@ public class LRFRegionWriter implements AutoCloseable {
         flush(true);
     }
 
+    /**
+     * Write buffered chunks and the header. With a journal, placements are made durable by
+     * the journal's group commit and {@code force} has no effect; use {@link #sync()} for an
+     * explicit barrier. Without a journal, {@code force} fsyncs the region file.
+     *
+     * @param force Whether to fsync an unjournaled region
+     * @throws IOException if write fails
+     */
     public synchronized void flush(boolean force) throws IOException {
         if (headerWritten && !streamingMode) {
             return; // Already flushed batch
@@ -312,27 +487,86 @@ public class LRFRegionWriter implements AutoCloseable {
         }
     }
     
+    /**
+     * Flush and make every placement so far durable, committing the journal right away
+     * instead of waiting for its group commit.
+     *
+     * @throws IOException if write or fsync fails
+     */
+    public synchronized void sync() throws IOException {
+        flush(true);
+        if (journal != null && streamingMode) {
+            synchronized (streamingHeader) {
+                journal.commit();
+                allocator.commit();
+            }
+        }
+    }
+
+    /**
+     * Whether placements are made durable by a write-ahead journal.
+     */
+    public boolean isJournaled() {
+        return journal != null;
+    }
+
     /**
      * Flush streaming mode - write header with final offsets.
      */
     private synchronized void flushStreaming(boolean force) throws IOException {
-        LRFHeader finalHeader = new LRFHeader(
-            LRFConstants.FORMAT_VERSION,
-            streamingHeader.countChunks(),
-            compressionType,
-            streamingHeader.getOffsets(),
-            streamingHeader.getSizes()
-        );
-        
-        // Write header at beginning of file
-        ByteBuffer headerBuffer = ByteBuffer.allocate(LRFConstants.HEADER_SIZE);
-        finalHeader.write(headerBuffer);
-        headerBuffer.flip();
-        channel.write(headerBuffer, 0);
-        
-        // CRITICAL: Force sync to disk to prevent corruption
-        if (force) {
-            channel.force(true);
+        synchronized (streamingHeader) {
+            // The allocator is the source of truth: it also sees chunks placed by other writers of this region
+            int[] offsets = new int[LRFConstants.CHUNKS_PER_REGION];
+            int[] sizes = new int[LRFConstants.CHUNKS_PER_REGION];
+            allocator.exportTable(offsets, sizes);
+            int count = 0;
+            for (int size : sizes) {
+                if (size > 0) count++;
+            }
+            
+            LRFHeader finalHeader = new LRFHeader(
+                LRFConstants.FORMAT_VERSION,
+                count,
+                compressionType,
+                offsets,
+                sizes
+            );
+            finalHeader.setMetadataOffset((int) Math.max(0, allocator.getMetadataOffset()));
+            
+            // Readers fetch whole 4KB size sectors, keep the last chunk's window inside the file
+            long required = allocator.getRequiredFileLength();
+            if (channel.size() < required) {
+                channel.write(ByteBuffer.allocate(1), required - 1);
+            }
+            
+            // Write header at beginning of file
+            ByteBuffer headerBuffer = ByteBuffer.allocate(LRFConstants.HEADER_SIZE);
+            finalHeader.write(headerBuffer);
+            headerBuffer.flip();
+            channel.write(headerBuffer, 0);
+            
+            // Readers of the shared resource see the new header before the old chunks are dropped
+            if (sharedResource != null) {
+                sharedResource.publishHeader(finalHeader);
+            }
+            
+            ChunkByteCache cache = ChunkByteCache.shared();
+            for (int i = unpublishedChunks.nextSetBit(0); i >= 0; i = unpublishedChunks.nextSetBit(i + 1)) {
+                cache.invalidate(cacheRegion, i);
+            }
+            unpublishedChunks.clear();
+            
+            // CRITICAL: Old extents are reused only once the new placements are durable.
+            // With a journal the header is rebuilt from it after a crash and needs no fsync;
+            // the records join the journal's next group commit, shared by many flushes.
+            if (journal != null) {
+                if (journal.commitIfDue()) {
+                    allocator.commit();
+                }
+            } else if (force) {
+                channel.force(true);
+                allocator.commit();
+            }
         }
         
         headerWritten = true;
@@ -354,8 +588,10 @@ public class LRFRegionWriter implements AutoCloseable {
             compressionType
         );
         
-        // Write chunks sequentially and track offsets
-        int currentOffset = LRFConstants.HEADER_SIZE;
+        // Metadata table right after the header, chunks sequentially after it
+        ByteBuffer metadataTable = ByteBuffer.allocate(LRFConstants.METADATA_TABLE_SIZE);
+        int currentOffset = LRFConstants.HEADER_SIZE + LRFConstants.METADATA_TABLE_SIZE;
+        channel.position(currentOffset);
         
         for (LRFChunkEntry chunk : chunks) {
             long startTime = System.nanoTime();
@@ -366,15 +602,19 @@ public class LRFRegionWriter implements AutoCloseable {
             
             // Compress if needed with error handling
             byte[] compressedData;
-            if (compressionType == LRFConstants.COMPRESSION_NONE) {
+            int actualCompressionType = compressionType;
+            if (compressionType == LRFConstants.COMPRESSION_NONE || isPreCompressed(dataToWrite)) {
                 compressedData = dataToWrite;
+                actualCompressionType = LRFConstants.COMPRESSION_NONE;
             } else {
                 try {
-                    compressedData = TurboCompressionService.getInstance().compress(dataToWrite);
+                    compressedData = compressForRegion(filePath, dataToWrite);
+                    actualCompressionType = frameCompressionType(compressionType, compressedData);
                 } catch (com.turbomc.compression.CompressionException e) {
                     System.err.println("[TurboMC] Compression failed for chunk at " + chunk.getChunkX() + "," + chunk.getChunkZ() + ", using uncompressed data");
                     // Fallback to uncompressed data
                     compressedData = dataToWrite;
+                    actualCompressionType = LRFConstants.COMPRESSION_NONE;
                 }
             }
             
@@ -388,13 +628,16 @@ public class LRFRegionWriter implements AutoCloseable {
             int totalLength = 4 + 1 + compressedData.length;
             ByteBuffer lengthBuffer = ByteBuffer.allocate(5);
             lengthBuffer.putInt(totalLength);
-            lengthBuffer.put((byte)compressionType);
+            lengthBuffer.put((byte)actualCompressionType);
             lengthBuffer.flip();
             channel.write(lengthBuffer);
             
             // Write chunk data
             writeWithBuffer(compressedData);
             
+            LRFChunkMetadata metadata = chunk.getMetadata() != null ? chunk.getMetadata() : LRFChunkMetadata.forData(dataToWrite);
+            metadata.write(metadataTable, chunk.getIndex(), currentOffset);
+            
             // Update header with offset and size
             header.setChunkData(
                 chunk.getChunkX(),
@@ -410,6 +653,9 @@ public class LRFRegionWriter implements AutoCloseable {
             compressionTime.addAndGet(System.nanoTime() - startTime);
         }
         
+        writeMetadataEntry(LRFConstants.HEADER_SIZE, 0, metadataTable);
+        header.setMetadataOffset(LRFConstants.HEADER_SIZE);
+        
         // Write header at beginning of file
         ByteBuffer headerBuffer = ByteBuffer.allocate(LRFConstants.HEADER_SIZE);
         header.write(headerBuffer);
@@ -422,12 +668,119 @@ public class LRFRegionWriter implements AutoCloseable {
         // CRITICAL: Force sync to disk to prevent corruption
         channel.force(true);
         
+        // Whole file was rewritten
+        if (sharedResource != null) {
+            sharedResource.publishHeader(header);
+        }
+        ChunkByteCache.shared().invalidateRegion(cacheRegion);
+        
         headerWritten = true;
         
         System.out.println("[TurboMC] Batch flush: " + chunks.size() + " chunks to " + 
                          " (" + currentOffset + " bytes)");
     }
     
+    /**
+     * Move one chunk frame into a free hole earlier in the file.
+     * The frame is copied as-is, no recompression. Takes effect on the next flush.
+     * 
+     * @param chunkIndex Chunk index in region (0-1023)
+     * @return true if the chunk was moved
+     * @throws IOException if the copy fails
+     */
+    public boolean relocateChunk(int chunkIndex) throws IOException {
+        synchronized (streamingHeader) {
+            long[] move = allocator.relocateLower(chunkIndex);
+            if (move == null) {
+                return false;
+            }
+            
+            long from = move[0];
+            long to = move[1];
+            ByteBuffer frame = ByteBuffer.allocate((int) move[2]);
+            while (frame.hasRemaining()) {
+                if (channel.read(frame, from + frame.position()) < 0) break;
+            }
+            frame.flip();
+            int frameLength = frame.getInt(0);
+            frame.limit(Math.min(frame.limit(), frameLength));
+            while (frame.hasRemaining()) {
+                bytesWritten.addAndGet(channel.write(frame, to + frame.position()));
+            }
+            
+            if (journal != null) {
+                java.util.zip.CRC32C crc = new java.util.zip.CRC32C();
+                frame.rewind();
+                crc.update(frame);
+                recordPlacement(chunkIndex, to, frameLength, (int) crc.getValue());
+            }
+            
+            moveMetadataEntry(chunkIndex, from, to);
+            
+            int[] coords = LRFConstants.getChunkCoords(chunkIndex);
+            streamingHeader.setChunkData(coords[0], coords[1], (int) to, frameLength);
+            headerWritten = false;
+            return true;
+        }
+    }
+    
+    /**
+     * Point a chunk's metadata entry at its relocated frame.
+     */
+    private void moveMetadataEntry(int chunkIndex, long from, long to) throws IOException {
+        long tableOffset = allocator.getMetadataOffset();
+        if (tableOffset < 0) {
+            return;
+        }
+        long position = tableOffset + (long) chunkIndex * LRFConstants.METADATA_ENTRY_SIZE;
+        ByteBuffer entry = ByteBuffer.allocate(LRFConstants.METADATA_ENTRY_SIZE);
+        while (entry.hasRemaining()) {
+            if (channel.read(entry, position + entry.position()) < 0) return;
+        }
+        LRFChunkMetadata metadata = LRFChunkMetadata.read(entry, 0, from);
+        if (metadata != null) {
+            writeMetadataEntry(tableOffset, chunkIndex, metadata.toEntry(to));
+        }
+    }
+    
+    /**
+     * Give trailing free space back to the file system.
+     * Only shrinks the file when no reader has it memory-mapped.
+     * 
+     * @return Number of bytes released
+     * @throws IOException if truncation fails
+     */
+    public long trimTail() throws IOException {
+        synchronized (streamingHeader) {
+            allocator.trimTail();
+            if (sharedResource != null && sharedResource.isMapped()) {
+                return 0; // Space stays reusable through the allocator
+            }
+            
+            long size = channel.size();
+            long required = Math.max(LRFConstants.HEADER_SIZE, allocator.getRequiredFileLength());
+            if (size <= required) {
+                return 0;
+            }
+            channel.truncate(required);
+            return size - required;
+        }
+    }
+    
+    /**
+     * Get free-space statistics for this region.
+     */
+    public LRFExtentAllocator.SpaceStats getSpaceStats() {
+        return allocator.getStats();
+    }
+    
+    /**
+     * Get the allocator tracking this region's extents.
+     */
+    LRFExtentAllocator getAllocator() {
+        return allocator;
+    }
+    
     /**
      * Get compression type.
      * 
@@ -481,6 +834,9 @@ public class LRFRegionWriter implements AutoCloseable {
                 flush();
             }
         } finally {
+            if (ownsJournal) {
+                journal.release();
+            }
             if (sharedResource != null) {
                 sharedResource.close();
             } else {
@@ -14,12 +14,7 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import com.turbomc.storage.optimization.SharedRegionResource;
 import com.turbomc.compression.TurboCompressionService;
@@ -34,7 +29,8 @@ import java.util.concurrent.atomic.AtomicLong;
  * - Memory-mapped file access with automatic prefetching
  * - Adaptive read-ahead based on player movement patterns
  * - LRU cache with configurable size limits
- * - Background prefetching for predicted chunks
+ * - Background prefetching via the shared {@link ReadAheadCoordinator}: predicted chunks are
+ *   paged in (madvise-style) rather than copied onto the heap
  * - NVMe-optimized sequential I/O patterns
  * - Memory pressure handling
  * 
@@ -44,8 +40,7 @@ import java.util.concurrent.atomic.AtomicLong;
 public class MMapReadAheadEngine implements AutoCloseable {
     
     private final Path regionPath;
-    private final ExecutorService prefetchExecutor;
-    private final ScheduledExecutorService maintenanceExecutor;
+    private final ReadAheadCoordinator coordinator;
     private final ConcurrentHashMap<Integer, CachedChunk> chunkCache;
     private final AtomicBoolean isClosed;
     
@@ -107,7 +102,8 @@ public class MMapReadAheadEngine implements AutoCloseable {
     public MMapReadAheadEngine(SharedRegionResource resource, int maxCacheSize, int prefetchDistance,
                               int prefetchBatchSize, long maxMemoryUsage, 
                               boolean predictiveEnabled, int predictionScale) throws IOException {
-        this(resource, maxCacheSize, prefetchDistance, prefetchBatchSize, maxMemoryUsage, predictiveEnabled, predictionScale, null);
+        this(resource, maxCacheSize, prefetchDistance, prefetchBatchSize, maxMemoryUsage, predictiveEnabled, predictionScale,
+             ReadAheadCoordinator.shared());
         
         System.out.println("[TurboMC] MMapReadAheadEngine initialized: " + regionPath.getFileName() +
                          " (cache: " + maxCacheSize + " chunks, " +
@@ -118,11 +114,11 @@ public class MMapReadAheadEngine implements AutoCloseable {
                          (sharedResource != null ? " [SHARED]" : ""));
     }
     
-    // New constructor with executor
+    // Constructor with an explicit coordinator (prefetch threads and maintenance are owned by it)
     public MMapReadAheadEngine(SharedRegionResource resource, int maxCacheSize, int prefetchDistance,
                               int prefetchBatchSize, long maxMemoryUsage, 
                               boolean predictiveEnabled, int predictionScale, 
-                              ExecutorService prefetchExecutor) throws IOException {
+                              ReadAheadCoordinator coordinator) throws IOException {
         this.regionPath = resource.getPath();
         this.sharedResource = resource;
         this.maxCacheSize = maxCacheSize;
@@ -132,22 +128,7 @@ public class MMapReadAheadEngine implements AutoCloseable {
         this.predictiveEnabled = predictiveEnabled;
         this.predictionScale = predictionScale;
         this.useForeignMemoryAPI = detectForeignMemoryAPI();
-        
-        if (prefetchExecutor != null) {
-            this.prefetchExecutor = prefetchExecutor;
-        } else {
-            this.prefetchExecutor = Executors.newFixedThreadPool(4, r -> {
-                Thread t = new Thread(r, "MMapReadAhead-Prefetch-" + System.currentTimeMillis());
-                t.setDaemon(true);
-                return t;
-            });
-        }
-        
-        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "MMapReadAhead-Maintenance-" + System.currentTimeMillis());
-            t.setDaemon(true);
-            return t;
-        });
+        this.coordinator = coordinator;
         
         this.chunkCache = new ConcurrentHashMap<>();
         this.isClosed = new AtomicBoolean(false);
@@ -160,7 +141,7 @@ public class MMapReadAheadEngine implements AutoCloseable {
         
         resource.acquire();
         initializeFileMapping();
-        startMaintenanceTasks();
+        coordinator.register(this);
     }
         
 
@@ -172,23 +153,13 @@ public class MMapReadAheadEngine implements AutoCloseable {
         this.file = null; // Controlled by sharedResource
         this.fileChannel = sharedResource.getChannel();
         
-        // Use shared mapping if available, or create one
+        // Use shared mapping if available, or create one. Not preloaded: pages are brought in
+        // per chunk by the read-ahead coordinator, within its global budget
         this.mappedBuffer = sharedResource.getOrCreateMappedBuffer(fileChannel.size());
-        
-        if (mappedBuffer != null) {
-            mappedBuffer.load(); // Preload for NVMe
-        }
     }
     
-    /**
-     * Start background maintenance tasks.
-     */
-    private void startMaintenanceTasks() {
-        // Cache cleanup every 30 seconds
-        maintenanceExecutor.scheduleAtFixedRate(this::cleanupCache, 30, 30, TimeUnit.SECONDS);
-        
-        // Statistics logging every 5 minutes
-        maintenanceExecutor.scheduleAtFixedRate(this::logStatistics, 300, 300, TimeUnit.SECONDS);
+    Path getRegionPath() {
+        return regionPath;
     }
     
     /**
@@ -200,6 +171,30 @@ public class MMapReadAheadEngine implements AutoCloseable {
         CachedChunk cached = chunkCache.get(idx);
         return cached != null && !cached.isExpired();
     }
+    
+    /**
+     * Check if a chunk was paged in by read-ahead and not read since.
+     */
+    public boolean isReadAheadResident(int chunkX, int chunkZ) {
+        return coordinator.isResident(regionPath, chunkX, chunkZ);
+    }
+    
+    /**
+     * Record a chunk read served by another reader of this region (e.g. the zero-copy path),
+     * so read-ahead keeps following it.
+     */
+    public void recordAccess(int chunkX, int chunkZ) {
+        if (isClosed.get()) {
+            return;
+        }
+        if (coordinator.consume(regionPath, chunkX, chunkZ)) {
+            recentHits.incrementAndGet();
+            recentPrefetchHits.incrementAndGet();
+        } else {
+            recentMisses.incrementAndGet();
+        }
+        triggerPrefetch(chunkX, chunkZ);
+    }
 
     /**
      * Read a chunk with automatic caching and prefetching.
@@ -220,9 +215,6 @@ public class MMapReadAheadEngine implements AutoCloseable {
         if (cached != null && !cached.isExpired()) {
             cacheHits.incrementAndGet();
             recentHits.incrementAndGet();
-            if (cached.isPrefetched()) {
-                recentPrefetchHits.incrementAndGet();
-            }
             cached.updateLastAccess();
             
             // PROACTIVE: Trigger prefetch on hits too! 
@@ -232,8 +224,15 @@ public class MMapReadAheadEngine implements AutoCloseable {
             return cached.getData();
         }
         
-        recentMisses.incrementAndGet();
-        cacheMisses.incrementAndGet();
+        if (coordinator.consume(regionPath, chunkX, chunkZ)) {
+            // Not on the heap, but already paged in by read-ahead: served from memory all the same
+            cacheHits.incrementAndGet();
+            recentHits.incrementAndGet();
+            recentPrefetchHits.incrementAndGet();
+        } else {
+            cacheMisses.incrementAndGet();
+            recentMisses.incrementAndGet();
+        }
         
         // Read chunk from file
         byte[] data = readChunkDirect(chunkX, chunkZ);
@@ -341,6 +340,33 @@ public class MMapReadAheadEngine implements AutoCloseable {
         }
     }
     
+    /**
+     * Page in a chunk's byte range of the mapping without copying it. Called by the coordinator.
+     *
+     * @return Bytes hinted, or 0 if the chunk is absent or outside the current mapping
+     */
+    long prefetchChunk(int chunkX, int chunkZ) throws IOException {
+        if (isClosed.get()) {
+            return 0;
+        }
+        LRFHeader header = readHeader();
+        if (!header.hasChunk(chunkX, chunkZ)) {
+            return 0;
+        }
+        
+        int offset = header.getChunkOffset(chunkX, chunkZ);
+        int size = header.getChunkSize(chunkX, chunkZ);
+        MappedByteBuffer mapped = mappedBuffer;
+        if (mapped == null || size <= 0 || offset < 0 || (long) offset + size > mapped.limit()) {
+            return 0;
+        }
+        
+        // madvise(WILLNEED) plus a touch per page, on just this range
+        mapped.slice(offset, size).load();
+        prefetchCount.incrementAndGet();
+        return size;
+    }
+    
     /**
      * Read LRF header from either cache or disk.
      */
@@ -404,13 +430,6 @@ public class MMapReadAheadEngine implements AutoCloseable {
      * Cache a chunk with memory management.
      */
     private void cacheChunk(int chunkIndex, byte[] data) {
-        cacheChunk(chunkIndex, data, false);
-    }
-    
-    /**
-     * Cache a chunk with memory management.
-     */
-    private void cacheChunk(int chunkIndex, byte[] data, boolean prefetched) {
         // Check memory limits
         if (currentMemoryUsage.get() + data.length > maxMemoryUsage) {
             cleanupCache();
@@ -426,14 +445,15 @@ public class MMapReadAheadEngine implements AutoCloseable {
             evictLRU();
         }
         
-        CachedChunk cached = new CachedChunk(data, System.currentTimeMillis(), prefetched);
+        CachedChunk cached = new CachedChunk(data, System.currentTimeMillis());
         chunkCache.put(chunkIndex, cached);
         currentMemoryUsage.addAndGet(data.length);
     }
     
     /**
      * Trigger prefetch for chunks around the specified coordinates.
-     * Implements "Momentum-Aware" prefetching.
+     * Implements "Momentum-Aware" prefetching; the coordinator orders, deduplicates and
+     * budgets the requests across all regions.
      */
     private void triggerPrefetch(int centerX, int centerZ) {
         if (isClosed.get()) {
@@ -447,8 +467,6 @@ public class MMapReadAheadEngine implements AutoCloseable {
         int velX = 0;
         int velZ = 0;
         
-        // Calculate velocity if this isn't the first access and it's nearby (not teleport)
-        // High Speed Support: Increased threshold from 2 to 10 chunks to allow flyspeed 10
         // Calculate velocity if this isn't the first access and it's nearby (not teleport)
         // High Speed Support: Increased threshold from 2 to 10 chunks to allow flyspeed 10
         if (lastX != Integer.MIN_VALUE && Math.abs(centerX - lastX) <= 12 && Math.abs(centerZ - lastZ) <= 12) {
@@ -456,106 +474,83 @@ public class MMapReadAheadEngine implements AutoCloseable {
              velZ = centerZ - lastZ;
         }
         
-        final int fVelX = velX;
-        final int fVelZ = velZ;
-        
-        // Throttling: If we are already prefetching many chunks for this region, skip
-        if (prefetchCount.get() > prefetchBatchSize * 4) {
-             // Throttled (avoid queue explosion)
-             // But we allow it if velocity is very high
-             if (Math.abs(fVelX) < 2 && Math.abs(fVelZ) < 2) return;
+        List<int[]> chunksToPrefetch = new ArrayList<>();
+        boolean isFastTravel = Math.abs(velX) >= 2 || Math.abs(velZ) >= 2;
+        
+        // 1. Extended Vector Prefetch (PRIORITY FOR HIGH SPEED)
+        if (predictiveEnabled && (velX != 0 || velZ != 0)) {
+             // Dynamic scale based on velocity AND performance controller (v2.1)
+             adjustDynamicLookahead();
+             int controllerScale = dynamicLookahead;
+             
+             if (isFastTravel) {
+                  controllerScale *= 2; // Up to 2x based on velocity
+                  if (Math.abs(velX) > 4 || Math.abs(velZ) > 4) {
+                       controllerScale *= 2; // Up to 4x for extreme speeds
+                  }
+             }
+             
+             for (int k = 1; k <= controllerScale; k++) {
+                  int lookAheadX = centerX + (velX * k);
+                  int lookAheadZ = centerZ + (velZ * k);
+                  
+                  if (!isCachedLocally(centerX, centerZ, lookAheadX, lookAheadZ)) {
+                       chunksToPrefetch.add(new int[]{lookAheadX, lookAheadZ});
+                       if (chunksToPrefetch.size() >= prefetchBatchSize) break;
+                  }
+             }
         }
         
-        CompletableFuture.runAsync(() -> {
-            List<int[]> chunksToPrefetch = new ArrayList<>();
-            
-            boolean isFastTravel = Math.abs(fVelX) >= 2 || Math.abs(fVelZ) >= 2;
-            
-            // 1. Extended Vector Prefetch (PRIORITY FOR HIGH SPEED)
-            if (predictiveEnabled && (fVelX != 0 || fVelZ != 0)) {
-                 // Dynamic scale based on velocity AND performance controller (v2.1)
-                 adjustDynamicLookahead();
-                 int controllerScale = dynamicLookahead;
-                 
-                 if (isFastTravel) {
-                      controllerScale *= 2; // Up to 2x based on velocity
-                      if (Math.abs(fVelX) > 4 || Math.abs(fVelZ) > 4) {
-                           controllerScale *= 2; // Up to 4x for extreme speeds
-                      }
-                 }
-                 
-                 for (int k = 1; k <= controllerScale; k++) {
-                      int lookAheadX = centerX + (fVelX * k);
-                      int lookAheadZ = centerZ + (fVelZ * k);
-                      
-                      // Safety check: Stay within region bounds if possible
-                      int idx = LRFConstants.getChunkIndex(lookAheadX & 31, lookAheadZ & 31);
-                      if (!chunkCache.containsKey(idx)) {
-                           chunksToPrefetch.add(new int[]{lookAheadX, lookAheadZ});
-                           if (chunksToPrefetch.size() >= prefetchBatchSize) break;
-                      }
-                 }
-            }
-            
-            // Update pending count BEFORE loop
-            prefetchCount.addAndGet(chunksToPrefetch.size());
-            
-            // 2. Standard "Spatial" Prefetch (Radius) - ONLY IF NOT FILLING BUDGET WITH VECTOR
-            if (chunksToPrefetch.size() < prefetchBatchSize) {
-                for (int dx = -prefetchDistance; dx <= prefetchDistance; dx++) {
-                    for (int dz = -prefetchDistance; dz <= prefetchDistance; dz++) {
-                        if (dx == 0 && dz == 0) continue; 
-                        
-                        int chunkX = centerX + dx;
-                        int chunkZ = centerZ + dz;
-                        
-                        // Directional Bias: Skip chunks BEHIND us if moving fast
-                        if (isFastTravel) {
-                             // Using dot product to determine "behind"
-                             if (dx * fVelX + dz * fVelZ < 0) {
-                                  // This chunk is behind the movement vector
-                                  if (Math.abs(dx) > 1 || Math.abs(dz) > 1) {
-                                       continue; 
-                                  }
-                             }
-                        }
-                        
-                        int chunkIndex = LRFConstants.getChunkIndex(chunkX & 31, chunkZ & 31);
-                        if (!chunkCache.containsKey(chunkIndex)) {
-                            chunksToPrefetch.add(new int[]{chunkX, chunkZ});
-                            if (chunksToPrefetch.size() >= prefetchBatchSize) break;
-                        }
+        // 2. Standard "Spatial" Prefetch (Radius) - ONLY IF NOT FILLING BUDGET WITH VECTOR
+        if (chunksToPrefetch.size() < prefetchBatchSize) {
+            for (int dx = -prefetchDistance; dx <= prefetchDistance; dx++) {
+                for (int dz = -prefetchDistance; dz <= prefetchDistance; dz++) {
+                    if (dx == 0 && dz == 0) continue; 
+                    
+                    int chunkX = centerX + dx;
+                    int chunkZ = centerZ + dz;
+                    
+                    // Directional Bias: Skip chunks BEHIND us if moving fast
+                    if (isFastTravel) {
+                         // Using dot product to determine "behind"
+                         if (dx * velX + dz * velZ < 0) {
+                              // This chunk is behind the movement vector
+                              if (Math.abs(dx) > 1 || Math.abs(dz) > 1) {
+                                   continue; 
+                              }
+                         }
                     }
-                    if (chunksToPrefetch.size() >= prefetchBatchSize) break;
-                }
-            }
-            // Prefetch chunks
-            for (int[] coords : chunksToPrefetch) {
-                // Stay within same region for THIS engine
-                if ((coords[0] >> 5) != (centerX >> 5) || (coords[1] >> 5) != (centerZ >> 5)) {
-                     prefetchCount.decrementAndGet();
-                     continue; 
-                }
-                
-                try {
-                    byte[] data = readChunkDirect(coords[0], coords[1]);
-                    if (data != null) {
-                        int chunkIndex = LRFConstants.getChunkIndex(coords[0] & 31, coords[1] & 31);
-                        cacheChunk(chunkIndex, data, true);
+                    
+                    if (!isCachedLocally(centerX, centerZ, chunkX, chunkZ)) {
+                        chunksToPrefetch.add(new int[]{chunkX, chunkZ});
+                        if (chunksToPrefetch.size() >= prefetchBatchSize) break;
                     }
-                } catch (IOException e) {
-                    // Ignore prefetch errors
-                } finally {
-                    prefetchCount.decrementAndGet();
                 }
+                if (chunksToPrefetch.size() >= prefetchBatchSize) break;
             }
-        }, prefetchExecutor);
+        }
+        
+        // Chunks in neighbouring regions are routed to their engines by the coordinator
+        for (int[] coords : chunksToPrefetch) {
+            coordinator.submit(this, coords[0], coords[1], centerX, centerZ, velX, velZ);
+        }
+    }
+    
+    /**
+     * Whether a chunk is already in this engine's heap cache. Only meaningful for chunks in the
+     * same region as the access at {@code centerX, centerZ}.
+     */
+    private boolean isCachedLocally(int centerX, int centerZ, int chunkX, int chunkZ) {
+        if ((chunkX >> 5) != (centerX >> 5) || (chunkZ >> 5) != (centerZ >> 5)) {
+            return false;
+        }
+        return chunkCache.containsKey(LRFConstants.getChunkIndex(chunkX, chunkZ));
     }
     
     /**
      * Clean up expired entries and manage memory.
      */
-    private void cleanupCache() {
+    void cleanupCache() {
         long currentTime = System.currentTimeMillis();
         long expireTime = currentTime - 300000; // 5 minutes
         
@@ -599,7 +594,7 @@ public class MMapReadAheadEngine implements AutoCloseable {
     /**
      * Log performance statistics.
      */
-    private void logStatistics() {
+    void logStatistics() {
         long elapsed = System.currentTimeMillis() - startTime;
         int hits = cacheHits.get();
         int misses = cacheMisses.get();
@@ -696,17 +691,8 @@ public class MMapReadAheadEngine implements AutoCloseable {
     public void close() throws IOException {
         if (isClosed.compareAndSet(false, true)) {
             try {
-                // Shutdown executors
-                prefetchExecutor.shutdown();
-                maintenanceExecutor.shutdown();
-                
-                if (!prefetchExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
-                    prefetchExecutor.shutdownNow();
-                }
-                
-                if (!maintenanceExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    maintenanceExecutor.shutdownNow();
-                }
+                // Drop queued and resident read-ahead of this region (threads belong to the coordinator)
+                coordinator.unregister(this);
                 
                 if (sharedResource != null) {
                     sharedResource.close();
@@ -733,13 +719,11 @@ public class MMapReadAheadEngine implements AutoCloseable {
     private static class CachedChunk {
         private final byte[] data;
         private final long createTime;
-        private final boolean prefetched;
         private volatile long lastAccess;
         
-        CachedChunk(byte[] data, long createTime, boolean prefetched) {
+        CachedChunk(byte[] data, long createTime) {
             this.data = data;
             this.createTime = createTime;
-            this.prefetched = prefetched;
             this.lastAccess = createTime;
         }
         
@@ -755,7 +739,6 @@ public class MMapReadAheadEngine implements AutoCloseable {
             return (currentTime - lastAccess) > 300000; // 5 minutes
         }
         
-        boolean isPrefetched() { return prefetched; }
         byte[] getData() { return data; }
         long getCreateTime() { return createTime; }
         long getLastAccess() { return lastAccess; }
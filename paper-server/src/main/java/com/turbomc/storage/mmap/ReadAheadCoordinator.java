@@ -0,0 +1,505 @@
+package com.turbomc.storage.mmap;
+
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.optimization.StorageScheduler;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide read-ahead scheduler shared by all {@link MMapReadAheadEngine}s.
+ *
+ * Engines submit the chunks they expect to be read next; the coordinator keeps them in one
+ * bounded queue ordered by distance from the access that triggered them, with chunks ahead
+ * of the direction of travel first. Requests are deduplicated by region and chunk, and
+ * chunks that fall into a neighbouring region are routed to that region's engine if it is
+ * open.
+ *
+ * Prefetching does not copy chunks anywhere: the engine asks the OS to page in the chunk's
+ * byte range of the mapping ({@code MappedByteBuffer.load} on a slice, i.e. madvise
+ * WILLNEED plus a touch per page). Prefetched ranges count against a global memory budget
+ * until they are read or expire.
+ *
+ * Prefetches run as prefetch-priority tasks on the read lane of the shared
+ * {@link StorageScheduler}, at most {@code threads} at a time, so they never hold up urgent
+ * loads and add no threads of their own however many regions are open.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class ReadAheadCoordinator implements AutoCloseable {
+
+    private static final Pattern REGION_NAME = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.lrf");
+    // Weight of the heading: each chunk ahead of travel counts as half a chunk closer
+    private static final double HEADING_WEIGHT = 0.5;
+    // Prefetches per task, so a task does not hold a read worker for long
+    private static final int PREFETCHES_PER_TASK = 16;
+
+    private static volatile ReadAheadCoordinator shared;
+
+    private final ConcurrentHashMap<Path, MMapReadAheadEngine> engines = new ConcurrentHashMap<>();
+
+    // Queue state, guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<Request> queue = new TreeSet<>();
+    private final HashMap<Key, Request> pending = new HashMap<>();
+    private final HashMap<Key, Resident> resident = new HashMap<>();
+    private long residentBytes;
+    private long sequence;
+    private int runningTasks;
+    private volatile boolean closed;
+
+    private final int maxQueued;
+    private final long memoryBudget;
+    private final long residentTtlMillis;
+    private final int maxTasks;
+    private final StorageScheduler scheduler;
+    private final ScheduledFuture<?>[] maintenance;
+
+    // Statistics
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong budgetSkips = new AtomicLong();
+    private final AtomicLong prefetched = new AtomicLong();
+    private final AtomicLong prefetchedBytes = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    /**
+     * @param threads Maximum prefetch tasks running at once
+     * @param maxQueued Maximum queued requests; the farthest are dropped beyond this
+     * @param memoryBudget Maximum bytes prefetched but not yet read
+     * @param residentTtlMillis Time after which an unread prefetch stops counting against the budget
+     */
+    public ReadAheadCoordinator(int threads, int maxQueued, long memoryBudget, long residentTtlMillis) {
+        this.maxQueued = Math.max(1, maxQueued);
+        this.memoryBudget = Math.max(0, memoryBudget);
+        this.residentTtlMillis = Math.max(1000, residentTtlMillis);
+
+        this.maxTasks = Math.max(1, threads);
+        this.scheduler = StorageScheduler.shared();
+
+        StorageScheduler.Lane lane = StorageScheduler.Lane.MAINTENANCE;
+        StorageScheduler.Priority priority = StorageScheduler.Priority.BACKGROUND;
+        this.maintenance = new ScheduledFuture<?>[] {
+            scheduler.scheduleWithFixedDelay(lane, priority, this::expireResident, 1, 1, TimeUnit.SECONDS),
+            scheduler.scheduleWithFixedDelay(lane, priority, this::maintainEngines, 30, 30, TimeUnit.SECONDS),
+            scheduler.scheduleWithFixedDelay(lane, priority, this::logStatistics, 300, 300, TimeUnit.SECONDS)
+        };
+    }
+
+    /**
+     * Get the process-wide coordinator, creating it from config on first use.
+     */
+    public static ReadAheadCoordinator shared() {
+        ReadAheadCoordinator coordinator = shared;
+        if (coordinator == null) {
+            synchronized (ReadAheadCoordinator.class) {
+                coordinator = shared;
+                if (coordinator == null) {
+                    int threads = 2;
+                    int queueSize = 4096;
+                    long memoryMb = 256;
+                    long ttlSeconds = 30;
+                    try {
+                        TurboConfig config = TurboConfig.getInstance();
+                        threads = config.getInt("storage.mmap.prefetch-threads", 2);
+                        queueSize = config.getInt("storage.mmap.prefetch-queue-size", 4096);
+                        memoryMb = config.getLong("storage.mmap.prefetch-memory-mb", 256L);
+                        ttlSeconds = config.getLong("storage.mmap.prefetch-ttl-seconds", 30L);
+                    } catch (Exception ignored) {
+                        // Config not initialized (tools, tests) - keep defaults
+                    }
+                    coordinator = shared = new ReadAheadCoordinator(threads, queueSize,
+                        memoryMb * 1024 * 1024, ttlSeconds * 1000);
+                    System.out.println("[TurboMC][ReadAhead] Coordinator started: " + threads + " concurrent prefetches, queue " +
+                        queueSize + ", budget " + memoryMb + "MB");
+                }
+            }
+        }
+        return coordinator;
+    }
+
+    /**
+     * Stop the process-wide coordinator, if started. A later {@link #shared()} starts a new one.
+     */
+    public static void shutdownShared() {
+        ReadAheadCoordinator coordinator;
+        synchronized (ReadAheadCoordinator.class) {
+            coordinator = shared;
+            shared = null;
+        }
+        if (coordinator != null) {
+            coordinator.close();
+        }
+    }
+
+    void register(MMapReadAheadEngine engine) {
+        engines.put(engine.getRegionPath(), engine);
+    }
+
+    void unregister(MMapReadAheadEngine engine) {
+        Path region = engine.getRegionPath();
+        if (!engines.remove(region, engine)) {
+            return;
+        }
+        lock.lock();
+        try {
+            Iterator<Request> it = queue.iterator();
+            while (it.hasNext()) {
+                Request request = it.next();
+                if (request.key.region.equals(region)) {
+                    it.remove();
+                    pending.remove(request.key);
+                }
+            }
+            Iterator<Map.Entry<Key, Resident>> residents = resident.entrySet().iterator();
+            while (residents.hasNext()) {
+                Map.Entry<Key, Resident> entry = residents.next();
+                if (entry.getKey().region.equals(region)) {
+                    residentBytes -= entry.getValue().bytes;
+                    residents.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queue a chunk for read-ahead.
+     *
+     * @param source Engine whose access triggered the request
+     * @param chunkX Absolute chunk X to prefetch
+     * @param chunkZ Absolute chunk Z to prefetch
+     * @param originX Absolute chunk X of the triggering access
+     * @param originZ Absolute chunk Z of the triggering access
+     * @param velX Observed movement along X in chunks per access (0 if unknown)
+     * @param velZ Observed movement along Z in chunks per access (0 if unknown)
+     */
+    public void submit(MMapReadAheadEngine source, int chunkX, int chunkZ,
+                       int originX, int originZ, int velX, int velZ) {
+        if (closed) {
+            return;
+        }
+        MMapReadAheadEngine engine = route(source, chunkX, chunkZ);
+        if (engine == null) {
+            return;
+        }
+
+        Key key = new Key(engine.getRegionPath(), LRFConstants.getChunkIndex(chunkX, chunkZ));
+        double score = score(chunkX - originX, chunkZ - originZ, velX, velZ);
+        submitted.incrementAndGet();
+
+        lock.lock();
+        try {
+            if (resident.containsKey(key)) {
+                deduplicated.incrementAndGet();
+                return;
+            }
+
+            Request existing = pending.get(key);
+            if (existing != null) {
+                deduplicated.incrementAndGet();
+                if (score < existing.score) {
+                    // Requested again from closer by - move it up
+                    queue.remove(existing);
+                    Request request = new Request(key, engine, chunkX, chunkZ, score, existing.seq);
+                    pending.put(key, request);
+                    queue.add(request);
+                }
+                return;
+            }
+
+            if (queue.size() >= maxQueued) {
+                Request worst = queue.last();
+                if (worst.score <= score) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                queue.pollLast();
+                pending.remove(worst.key);
+                dropped.incrementAndGet();
+            }
+
+            Request request = new Request(key, engine, chunkX, chunkZ, score, sequence++);
+            pending.put(key, request);
+            queue.add(request);
+            if (runningTasks >= maxTasks) {
+                return;
+            }
+            runningTasks++;
+        } finally {
+            lock.unlock();
+        }
+        // More may be queued: continue in a new task, behind whatever else the lane has waiting
+        startTask();
+    }
+
+    private void startTask() {
+        try {
+            scheduler.execute(StorageScheduler.Lane.READ, StorageScheduler.Priority.PREFETCH, this::runPrefetches);
+        } catch (RejectedExecutionException e) {
+            // Read lane full or closed - queued requests wait for the next submit
+            lock.lock();
+            try {
+                runningTasks--;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Note that a chunk was read, releasing its share of the prefetch budget.
+     *
+     * @return True if the read was served by an earlier prefetch
+     */
+    public boolean consume(Path region, int chunkX, int chunkZ) {
+        Key key = new Key(region, LRFConstants.getChunkIndex(chunkX, chunkZ));
+        lock.lock();
+        try {
+            Request queued = pending.remove(key);
+            if (queued != null) {
+                queue.remove(queued); // Read before its prefetch ran
+            }
+            Resident entry = resident.remove(key);
+            if (entry == null) {
+                return false;
+            }
+            residentBytes -= entry.bytes;
+            used.incrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether a chunk was prefetched and has not been read or expired since.
+     */
+    public boolean isResident(Path region, int chunkX, int chunkZ) {
+        Key key = new Key(region, LRFConstants.getChunkIndex(chunkX, chunkZ));
+        lock.lock();
+        try {
+            return resident.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Priority of a request; lower runs first. Chebyshev distance from the triggering access,
+     * reduced for chunks ahead of the direction of travel and increased for those behind.
+     */
+    static double score(int dx, int dz, int velX, int velZ) {
+        double score = Math.max(Math.abs(dx), Math.abs(dz));
+        if (velX != 0 || velZ != 0) {
+            double along = (dx * velX + dz * velZ) / Math.sqrt(velX * velX + velZ * velZ);
+            score -= along * HEADING_WEIGHT;
+        }
+        return score;
+    }
+
+    /**
+     * Find the engine owning a chunk: the source if the chunk is in its region, otherwise the
+     * open engine of the neighbouring region (null if that region is not open).
+     */
+    private MMapReadAheadEngine route(MMapReadAheadEngine source, int chunkX, int chunkZ) {
+        Path region = source.getRegionPath();
+        Path fileName = region.getFileName();
+        Matcher matcher = fileName != null ? REGION_NAME.matcher(fileName.toString()) : null;
+        if (matcher == null || !matcher.matches()) {
+            return source; // Not a standard region name - treat coordinates as region-local
+        }
+
+        int regionX = chunkX >> 5;
+        int regionZ = chunkZ >> 5;
+        if (regionX == Integer.parseInt(matcher.group(1)) && regionZ == Integer.parseInt(matcher.group(2))) {
+            return source;
+        }
+        return engines.get(region.resolveSibling("r." + regionX + "." + regionZ + ".lrf"));
+    }
+
+    /**
+     * Run queued prefetches, closest first, then hand the read worker back to the scheduler.
+     */
+    private void runPrefetches() {
+        for (int done = 0; done < PREFETCHES_PER_TASK; done++) {
+            Request request;
+            lock.lock();
+            try {
+                if (closed || queue.isEmpty()) {
+                    runningTasks--;
+                    return;
+                }
+                request = queue.pollFirst();
+                pending.remove(request.key);
+                if (residentBytes >= memoryBudget) {
+                    budgetSkips.incrementAndGet();
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            long bytes;
+            try {
+                bytes = request.engine.prefetchChunk(request.chunkX, request.chunkZ);
+            } catch (Exception e) {
+                continue; // Prefetch is best-effort
+            }
+            if (bytes <= 0) {
+                continue;
+            }
+
+            prefetched.incrementAndGet();
+            prefetchedBytes.addAndGet(bytes);
+            lock.lock();
+            try {
+                if (engines.get(request.key.region) == request.engine) {
+                    Resident previous = resident.put(request.key, new Resident(bytes, System.currentTimeMillis()));
+                    residentBytes += bytes - (previous != null ? previous.bytes : 0);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        // More may be queued: continue in a new task, behind whatever else the lane has waiting
+        startTask();
+    }
+
+    private void expireResident() {
+        long cutoff = System.currentTimeMillis() - residentTtlMillis;
+        lock.lock();
+        try {
+            Iterator<Resident> it = resident.values().iterator();
+            while (it.hasNext()) {
+                Resident entry = it.next();
+                if (entry.loadedAt < cutoff) {
+                    residentBytes -= entry.bytes;
+                    it.remove();
+                    expired.incrementAndGet();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void maintainEngines() {
+        for (MMapReadAheadEngine engine : engines.values()) {
+            try {
+                engine.cleanupCache();
+            } catch (Exception e) {
+                System.err.println("[TurboMC][ReadAhead] Maintenance error for " + engine.getRegionPath().getFileName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void logStatistics() {
+        System.out.println("[TurboMC][ReadAhead] " + getStats());
+        for (MMapReadAheadEngine engine : engines.values()) {
+            engine.logStatistics();
+        }
+    }
+
+    public Stats getStats() {
+        int queued;
+        int residentChunks;
+        long bytes;
+        lock.lock();
+        try {
+            queued = queue.size();
+            residentChunks = resident.size();
+            bytes = residentBytes;
+        } finally {
+            lock.unlock();
+        }
+        return new Stats(engines.size(), maxTasks, queued, residentChunks, bytes, memoryBudget,
+            submitted.get(), deduplicated.get(), dropped.get(), budgetSkips.get(),
+            prefetched.get(), prefetchedBytes.get(), used.get(), expired.get());
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        lock.lock();
+        try {
+            closed = true;
+            queue.clear();
+            pending.clear();
+            resident.clear();
+            residentBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+        // Running prefetch tasks see closed and stop after their current chunk
+        for (ScheduledFuture<?> task : maintenance) {
+            task.cancel(false);
+        }
+    }
+
+    private record Key(Path region, int chunkIndex) {}
+
+    private record Resident(long bytes, long loadedAt) {}
+
+    private static final class Request implements Comparable<Request> {
+        final Key key;
+        final MMapReadAheadEngine engine;
+        final int chunkX;
+        final int chunkZ;
+        final double score;
+        final long seq;
+
+        Request(Key key, MMapReadAheadEngine engine, int chunkX, int chunkZ, double score, long seq) {
+            this.key = key;
+            this.engine = engine;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.score = score;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Request other) {
+            int cmp = Double.compare(score, other.score);
+            return cmp != 0 ? cmp : Long.compare(seq, other.seq);
+        }
+    }
+
+    public record Stats(int engines, int threads, int queued, int residentChunks, long residentBytes,
+                        long memoryBudget, long submitted, long deduplicated, long dropped, long budgetSkips,
+                        long prefetched, long prefetchedBytes, long used, long expired) {
+        /**
+         * Share of prefetched chunks that were read before expiring.
+         */
+        public double getAccuracy() {
+            return prefetched > 0 ? (double) used / prefetched * 100 : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ReadAheadStats{engines=%d, threads=%d, queued=%d, resident=%d (%.1fMB/%.1fMB), " +
+                    "submitted=%d, dedup=%d, dropped=%d, budgetSkips=%d, prefetched=%d (%.1fMB), used=%d (%.1f%%), expired=%d}",
+                engines, threads, queued, residentChunks, residentBytes / 1024.0 / 1024.0, memoryBudget / 1024.0 / 1024.0,
+                submitted, deduplicated, dropped, budgetSkips, prefetched, prefetchedBytes / 1024.0 / 1024.0,
+                used, getAccuracy(), expired);
+        }
+    }
+}
@@ -106,6 +106,27 @@ public class AnvilRegionReader implements AutoCloseable {
      * @throws IOException if read fails
      */
     public LRFChunkEntry readChunk(int chunkX, int chunkZ) throws IOException {
+        RawChunk raw = readRawChunk(chunkX, chunkZ);
+        if (raw == null) {
+            return null;
+        }
+        
+        // Decompress
+        byte[] decompressedData = decompressChunk(raw.data(), raw.compressionType());
+        
+        return new LRFChunkEntry(chunkX, chunkZ, decompressedData, raw.timestamp());
+    }
+    
+    /**
+     * Read a chunk's stored bytes without decompressing them.
+     * Lets callers move decompression off the reading thread.
+     * 
+     * @param chunkX Chunk X coordinate (local to region, 0-31)
+     * @param chunkZ Chunk Z coordinate (local to region, 0-31)
+     * @return Raw chunk, or null if chunk doesn't exist
+     * @throws IOException if read fails
+     */
+    public RawChunk readRawChunk(int chunkX, int chunkZ) throws IOException {
         int index = LRFConstants.getChunkIndex(chunkX, chunkZ);
         int location = locations[index];
         
@@ -134,19 +155,21 @@ public class AnvilRegionReader implements AutoCloseable {
         byte[] compressedData = new byte[length - 1]; // -1 for compression type byte
         file.readFully(compressedData);
         
-        // Decompress
-        byte[] decompressedData = decompressChunk(compressedData, compressionType);
-        
         // Get timestamp
         long timestamp = timestamps[index] & 0xFFFFFFFFL; // Unsigned int to long
         
-        return new LRFChunkEntry(chunkX, chunkZ, decompressedData, timestamp);
+        return new RawChunk(chunkX, chunkZ, compressionType, compressedData, timestamp);
     }
     
     /**
      * Decompress chunk data based on compression type.
+     * 
+     * @param compressedData Stored chunk bytes
+     * @param compressionType Anvil compression type byte
+     * @return Uncompressed NBT data
+     * @throws IOException if the data cannot be decompressed
      */
-    private byte[] decompressChunk(byte[] compressedData, byte compressionType) throws IOException {
+    public static byte[] decompressChunk(byte[] compressedData, byte compressionType) throws IOException {
         try {
             if (compressionType == COMPRESSION_GZIP) {
                 return readAllBytes(new GZIPInputStream(new ByteArrayInputStream(compressedData)));
@@ -171,7 +194,7 @@ public class AnvilRegionReader implements AutoCloseable {
     /**
      * Read all bytes from an input stream.
      */
-    private byte[] readAllBytes(java.io.InputStream in) throws IOException {
+    private static byte[] readAllBytes(java.io.InputStream in) throws IOException {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         byte[] buffer = new byte[8192];
         int bytesRead;
@@ -256,6 +279,12 @@ public class AnvilRegionReader implements AutoCloseable {
                '}';
     }
     
+    /**
+     * Chunk bytes as stored in the region file (still compressed).
+     */
+    public record RawChunk(int chunkX, int chunkZ, byte compressionType, byte[] data, long timestamp) {
+    }
+    
     /**
      * Helper class for ByteArrayOutputStream (since we can't use Java 9+ readAllBytes).
      */
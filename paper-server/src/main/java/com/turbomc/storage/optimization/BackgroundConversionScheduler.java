@@ -9,8 +9,7 @@ import com.turbomc.storage.lrf.LRFConstants;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -22,6 +21,8 @@ import java.lang.reflect.Method; // Importación agregada
 /**
  * Intelligent background conversion scheduler for MCA to LRF conversion.
  * Converts regions during idle server time to minimize performance impact.
+ * Checks and conversions run as background work on the maintenance lane of the shared
+ * {@link StorageScheduler}, behind any player-blocking storage work.
  * 
  * @author TurboMC
  * @version 1.0.0
@@ -32,7 +33,8 @@ public class BackgroundConversionScheduler implements AutoCloseable {
     
     private final Path regionDirectory;
     private final StorageFormat targetFormat;
-    private final ScheduledExecutorService scheduler;
+    private final StorageScheduler scheduler;
+    private volatile ScheduledFuture<?> idleCheck;
     private final AtomicBoolean isRunning;
     private final AtomicLong convertedRegions;
     private final AtomicLong totalRegions;
@@ -46,11 +48,7 @@ public class BackgroundConversionScheduler implements AutoCloseable {
     public BackgroundConversionScheduler(Path regionDirectory, StorageFormat targetFormat) {
         this.regionDirectory = regionDirectory;
         this.targetFormat = targetFormat;
-        this.scheduler = Executors.newScheduledThreadPool(2, r -> {
-            Thread t = new Thread(r, "Background-Conversion-Scheduler");
-            t.setDaemon(true);
-            return t;
-        });
+        this.scheduler = StorageScheduler.shared();
         this.isRunning = new AtomicBoolean(false);
         this.convertedRegions = new AtomicLong(0);
         this.totalRegions = new AtomicLong(0);
@@ -77,8 +75,8 @@ public class BackgroundConversionScheduler implements AutoCloseable {
             countTotalRegions();
             
             // Schedule periodic checks
-            scheduler.scheduleAtFixedRate(this::performIdleCheck, 
-                1, checkIntervalMinutes, TimeUnit.MINUTES);
+            idleCheck = scheduler.scheduleWithFixedDelay(StorageScheduler.Lane.MAINTENANCE,
+                StorageScheduler.Priority.BACKGROUND, this::performIdleCheck, 1, checkIntervalMinutes, TimeUnit.MINUTES);
             
             LOGGER.info("[TurboMC][Background] Scheduler started. {} regions to convert.", totalRegions.get());
         }
@@ -90,14 +88,10 @@ public class BackgroundConversionScheduler implements AutoCloseable {
     public void stop() {
         if (isRunning.compareAndSet(true, false)) {
             LOGGER.info("[TurboMC][Background] Stopping background conversion scheduler...");
-            scheduler.shutdown();
-            try {
-                if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
-                    scheduler.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                scheduler.shutdownNow();
+            // Conversions already running finish; no new ones start
+            ScheduledFuture<?> check = idleCheck;
+            if (check != null) {
+                check.cancel(false);
             }
             LOGGER.info("[TurboMC][Background] Scheduler stopped. Converted {}/{} regions.",
                 convertedRegions.get(), totalRegions.get());
@@ -305,7 +299,7 @@ public class BackgroundConversionScheduler implements AutoCloseable {
             } catch (Exception e) {
                 LOGGER.error("[TurboMC][Background] Failed to convert region: " + mcaFile.getFileName(), e);
             }
-        }, scheduler);
+        }, scheduler.executor(StorageScheduler.Lane.MAINTENANCE, StorageScheduler.Priority.BACKGROUND));
     }
     
     /**
@@ -0,0 +1,357 @@
+package com.turbomc.storage.optimization;
+
+import com.turbomc.storage.lrf.LRFChunkEntry;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Priority-ordered chunk read requests in front of the scheduler's read lane.
+ *
+ * Requests wait here rather than in the lane, so a request's priority can still be raised,
+ * or the request cancelled, until its read starts. Every submission or bump posts a token
+ * on the read lane at the matching scheduler priority; whichever token runs first reads the
+ * most important request waiting, so player-facing loads overtake prefetches and
+ * conversions already queued. Requests for the same chunk are merged: the merged request
+ * counts its waiters by the priority each asked for, runs at the highest of them, and is
+ * only cancelled once its last waiter is gone.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class ChunkIORequestQueue {
+
+    /**
+     * Chunk load priorities, most urgent first.
+     */
+    public enum Priority {
+        /** Someone is blocked on the chunk. */
+        BLOCKING(StorageScheduler.Priority.URGENT),
+        /** Chunks players are in or about to enter. */
+        HIGHEST(StorageScheduler.Priority.URGENT),
+        /** Regular chunk loading. */
+        NORMAL(StorageScheduler.Priority.URGENT),
+        /** Speculative and bulk loading. */
+        LOW(StorageScheduler.Priority.BACKGROUND);
+
+        private final StorageScheduler.Priority lanePriority;
+
+        Priority(StorageScheduler.Priority lanePriority) {
+            this.lanePriority = lanePriority;
+        }
+
+        public boolean isHigherThan(Priority other) {
+            return ordinal() < other.ordinal();
+        }
+
+        /**
+         * Map a Moonrise chunk system priority onto a load priority.
+         */
+        public static Priority fromMoonrise(ca.spottedleaf.concurrentutil.util.Priority priority) {
+            if (priority.isHigherOrEqualPriority(ca.spottedleaf.concurrentutil.util.Priority.BLOCKING)) {
+                return BLOCKING;
+            }
+            if (priority.isHigherOrEqualPriority(ca.spottedleaf.concurrentutil.util.Priority.HIGHER)) {
+                return HIGHEST;
+            }
+            if (priority.isHigherOrEqualPriority(ca.spottedleaf.concurrentutil.util.Priority.NORMAL)) {
+                return NORMAL;
+            }
+            return LOW;
+        }
+    }
+
+    private static final Priority[] PRIORITY_VALUES = Priority.values();
+    private static final int PRIORITIES = PRIORITY_VALUES.length;
+
+    private static final Comparator<Request> ORDER = Comparator
+        .comparingInt((Request request) -> request.priority.ordinal())
+        .thenComparingLong(request -> request.sequence);
+
+    private final StorageScheduler scheduler;
+
+    // Guarded by this
+    private final PriorityQueue<Request> waiting = new PriorityQueue<>(ORDER);
+    private final Map<Key, Request> requests = new HashMap<>(); // Waiting or reading
+    private long sequence;
+    private long submitted;
+    private long merged;
+    private long raised;
+    private long cancelled;
+    private long completed;
+
+    public ChunkIORequestQueue(StorageScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queue a chunk read, or join the request already made for the chunk, raising it to
+     * {@code priority} if it hasn't started yet.
+     *
+     * @param read Reads the chunk on a read lane worker
+     * @return Future of the chunk; cancelled if every waiter cancels before its read starts
+     */
+    public CompletableFuture<LRFChunkEntry> submit(Path regionPath, int chunkX, int chunkZ, Priority priority,
+                                                   Supplier<LRFChunkEntry> read) {
+        Key key = new Key(regionPath, chunkX, chunkZ);
+        Request request;
+        boolean created = false;
+        synchronized (this) {
+            request = requests.get(key);
+            if (request != null) {
+                merged++;
+                request.waiters[priority.ordinal()]++;
+                if (!reprioritize(request)) {
+                    return request.future;
+                }
+                raised++;
+            } else {
+                request = new Request(key, priority, read, sequence++);
+                request.waiters[priority.ordinal()]++;
+                requests.put(key, request);
+                waiting.add(request);
+                submitted++;
+                created = true;
+            }
+        }
+        if (created) {
+            Request newRequest = request;
+            request.future.whenComplete((chunk, throwable) -> finished(newRequest));
+        }
+        dispatch(priority);
+        return request.future;
+    }
+
+    /**
+     * Raise the least urgent waiter of a request that hasn't started yet to {@code priority}.
+     *
+     * @return true if the request was waiting and that waiter had a lower priority
+     */
+    public boolean raisePriority(Path regionPath, int chunkX, int chunkZ, Priority priority) {
+        synchronized (this) {
+            Request request = requests.get(new Key(regionPath, chunkX, chunkZ));
+            if (request == null || request.started) {
+                return false;
+            }
+            Priority lowest = request.lowestWaiter();
+            if (lowest == null || !priority.isHigherThan(lowest)) {
+                return false;
+            }
+            request.waiters[lowest.ordinal()]--;
+            request.waiters[priority.ordinal()]++;
+            if (reprioritize(request)) {
+                raised++;
+            }
+        }
+        dispatch(priority);
+        return true;
+    }
+
+    /**
+     * Move a waiter of a request that hasn't started yet from one priority to another,
+     * raising or lowering the request with it.
+     *
+     * @return true if the request was waiting and had a waiter at {@code from}
+     */
+    public boolean setPriority(Path regionPath, int chunkX, int chunkZ, Priority from, Priority to) {
+        synchronized (this) {
+            Request request = requests.get(new Key(regionPath, chunkX, chunkZ));
+            if (request == null || request.started || request.waiters[from.ordinal()] == 0) {
+                return false;
+            }
+            request.waiters[from.ordinal()]--;
+            request.waiters[to.ordinal()]++;
+            if (!reprioritize(request)) {
+                return true;
+            }
+            raised++;
+        }
+        dispatch(to);
+        return true;
+    }
+
+    /**
+     * Drop the least urgent waiter of a request whose read hasn't started, e.g. because its
+     * chunk was unloaded meanwhile.
+     *
+     * @return true if the request was waiting; it is cancelled if no waiter is left
+     */
+    public boolean cancel(Path regionPath, int chunkX, int chunkZ) {
+        return cancel(regionPath, chunkX, chunkZ, null);
+    }
+
+    /**
+     * Drop a waiter that asked for {@code priority} from a request whose read hasn't started.
+     * The request keeps running for its other waiters, at the highest priority left.
+     *
+     * @param priority Priority the waiter asked for, or null for the least urgent waiter
+     * @return true if the request was waiting; it is cancelled if no waiter is left
+     */
+    public boolean cancel(Path regionPath, int chunkX, int chunkZ, Priority priority) {
+        Request request;
+        synchronized (this) {
+            request = requests.get(new Key(regionPath, chunkX, chunkZ));
+            if (request == null || request.started) {
+                return false;
+            }
+            Priority waiter = priority != null && request.waiters[priority.ordinal()] > 0 ? priority : request.lowestWaiter();
+            if (waiter != null) {
+                request.waiters[waiter.ordinal()]--;
+            }
+            if (request.highestWaiter() != null) {
+                reprioritize(request);
+                return true;
+            }
+            waiting.remove(request);
+            requests.remove(request.key, request);
+            cancelled++;
+        }
+        request.future.cancel(false);
+        return true;
+    }
+
+    /**
+     * Whether a read for the chunk is waiting or in progress.
+     */
+    public synchronized boolean isQueued(Path regionPath, int chunkX, int chunkZ) {
+        return requests.containsKey(new Key(regionPath, chunkX, chunkZ));
+    }
+
+    /**
+     * Move a waiting request to the priority of its most urgent waiter. Must hold the lock.
+     *
+     * @return true if the request was raised
+     */
+    private boolean reprioritize(Request request) {
+        Priority priority = request.highestWaiter();
+        if (priority == null || priority == request.priority || !waiting.remove(request)) {
+            return false;
+        }
+        boolean raisedUp = priority.isHigherThan(request.priority);
+        request.priority = priority;
+        waiting.add(request);
+        return raisedUp;
+    }
+
+    private void dispatch(Priority priority) {
+        try {
+            scheduler.execute(StorageScheduler.Lane.READ, priority.lanePriority, this::runNext);
+        } catch (RejectedExecutionException e) {
+            // Scheduler closed: read on the caller
+            runNext();
+        }
+    }
+
+    /**
+     * Read the most important waiting request, if any is left.
+     */
+    private void runNext() {
+        Request request;
+        synchronized (this) {
+            request = waiting.poll();
+            if (request != null) {
+                request.started = true;
+            }
+        }
+        if (request == null || request.future.isDone()) {
+            return;
+        }
+        try {
+            request.future.complete(request.read.get());
+        } catch (Throwable t) {
+            request.future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Forget a request once its future is done, including futures cancelled by their callers.
+     */
+    private synchronized void finished(Request request) {
+        if (requests.remove(request.key, request)) {
+            if (waiting.remove(request)) {
+                cancelled++;
+            } else {
+                completed++;
+            }
+        }
+    }
+
+    public synchronized QueueStats getStats() {
+        return new QueueStats(waiting.size(), submitted, merged, raised, cancelled, completed);
+    }
+
+    private record Key(Path regionPath, int chunkX, int chunkZ) {
+    }
+
+    private static final class Request {
+        private final Key key;
+        private final Supplier<LRFChunkEntry> read;
+        private final long sequence;
+        private final CompletableFuture<LRFChunkEntry> future = new CompletableFuture<>();
+        private final int[] waiters = new int[PRIORITIES]; // By priority, guarded by the queue
+        private Priority priority; // Guarded by the queue
+        private boolean started; // Read taken off the queue, guarded by the queue
+
+        private Request(Key key, Priority priority, Supplier<LRFChunkEntry> read, long sequence) {
+            this.key = key;
+            this.priority = priority;
+            this.read = read;
+            this.sequence = sequence;
+        }
+
+        private Priority highestWaiter() {
+            for (int i = 0; i < PRIORITIES; i++) {
+                if (waiters[i] > 0) {
+                    return PRIORITY_VALUES[i];
+                }
+            }
+            return null;
+        }
+
+        private Priority lowestWaiter() {
+            for (int i = PRIORITIES - 1; i >= 0; i--) {
+                if (waiters[i] > 0) {
+                    return PRIORITY_VALUES[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    public static class QueueStats {
+        private final int waiting;
+        private final long submitted;
+        private final long merged;
+        private final long raised;
+        private final long cancelled;
+        private final long completed;
+
+        public QueueStats(int waiting, long submitted, long merged, long raised, long cancelled, long completed) {
+            this.waiting = waiting;
+            this.submitted = submitted;
+            this.merged = merged;
+            this.raised = raised;
+            this.cancelled = cancelled;
+            this.completed = completed;
+        }
+
+        public int getWaiting() { return waiting; }
+        public long getSubmitted() { return submitted; }
+        public long getMerged() { return merged; }
+        public long getRaised() { return raised; }
+        public long getCancelled() { return cancelled; }
+        public long getCompleted() { return completed; }
+
+        @Override
+        public String toString() {
+            return String.format("IORequestStats{waiting=%d, submitted=%d, merged=%d, raised=%d, cancelled=%d, completed=%d}",
+                waiting, submitted, merged, raised, cancelled, completed);
+        }
+    }
+}
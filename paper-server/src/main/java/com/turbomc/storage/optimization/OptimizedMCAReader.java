@@ -6,7 +6,8 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import net.minecraft.nbt.CompoundTag;
@@ -16,6 +17,7 @@ import net.minecraft.world.level.chunk.storage.RegionFile;
 /**
  * Optimized MCA reader with batch loading and caching capabilities.
  * Provides performance improvements over vanilla RegionFile operations.
+ * Asynchronous reads and read-ahead run on the read lane of the shared {@link StorageScheduler}.
  * 
  * @author TurboMC
  * @version 1.0.0
@@ -27,6 +29,9 @@ public class OptimizedMCAReader implements AutoCloseable {
     private final Path mcaPath;
     private final RegionFile regionFile;
     private final ExecutorService readExecutor;
+    private final ExecutorService readAheadExecutor;
+    private volatile CompletableFuture<Void> readAhead = CompletableFuture.completedFuture(null);
+    private volatile boolean closed;
     private final AtomicInteger activeReads;
     
     // Configuration
@@ -43,11 +48,9 @@ public class OptimizedMCAReader implements AutoCloseable {
         this.mcaPath = mcaPath;
         // FIXED: Use proper RegionFile constructor
         this.regionFile = new RegionFile(null, mcaPath, mcaPath.getParent(), true);
-        this.readExecutor = Executors.newFixedThreadPool(4, r -> {
-            Thread t = new Thread(r, "OptimizedMCA-Reader");
-            t.setDaemon(true);
-            return t;
-        });
+        StorageScheduler scheduler = StorageScheduler.shared();
+        this.readExecutor = scheduler.executor(StorageScheduler.Lane.READ, StorageScheduler.Priority.URGENT);
+        this.readAheadExecutor = scheduler.executor(StorageScheduler.Lane.READ, StorageScheduler.Priority.PREFETCH);
         this.activeReads = new AtomicInteger(0);
         
         // Load configuration
@@ -172,40 +175,48 @@ public class OptimizedMCAReader implements AutoCloseable {
      * Trigger read-ahead for nearby chunks.
      */
     private void triggerReadAhead(int centerX, int centerZ) {
-        if (!enableReadAhead) return;
+        // One read-ahead in flight per reader
+        if (!enableReadAhead || closed || !readAhead.isDone()) return;
         
-        CompletableFuture.runAsync(() -> {
-            for (int dx = -readAheadDistance; dx <= readAheadDistance; dx++) {
-                for (int dz = -readAheadDistance; dz <= readAheadDistance; dz++) {
-                    if (dx == 0 && dz == 0) continue; // Skip center chunk
-                    
-                    int chunkX = centerX + dx;
-                    int chunkZ = centerZ + dz;
-                    long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
-                    
-                    // Only read-ahead if not already cached
-                    if (!chunkCache.containsKey(chunkKey)) {
+        try {
+            readAhead = CompletableFuture.runAsync(() -> readAround(centerX, centerZ), readAheadExecutor);
+        } catch (RejectedExecutionException e) {
+            // Read lane busy - read-ahead is optional
+        }
+    }
+    
+    private void readAround(int centerX, int centerZ) {
+        for (int dx = -readAheadDistance; dx <= readAheadDistance; dx++) {
+            for (int dz = -readAheadDistance; dz <= readAheadDistance; dz++) {
+                if (closed) return;
+                if (dx == 0 && dz == 0) continue; // Skip center chunk
+                
+                int chunkX = centerX + dx;
+                int chunkZ = centerZ + dz;
+                long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+                
+                // Only read-ahead if not already cached
+                if (!chunkCache.containsKey(chunkKey)) {
+                    try {
+                        ChunkPos pos = new ChunkPos(chunkX, chunkZ);
+                        CompoundTag data = null;
                         try {
-                            ChunkPos pos = new ChunkPos(chunkX, chunkZ);
-                            CompoundTag data = null;
-                            try {
-                                // Use reflection to access RegionFile's internal read method
-                                java.lang.reflect.Method readMethod = RegionFile.class.getDeclaredMethod("read", ChunkPos.class);
-                                readMethod.setAccessible(true);
-                                data = (CompoundTag) readMethod.invoke(regionFile, pos);
-                            } catch (Exception e) {
-                                continue; // Skip on read failure
-                            }
-                            if (data != null) {
-                                chunkCache.put(chunkKey, new CachedChunk(data));
-                            }
+                            // Use reflection to access RegionFile's internal read method
+                            java.lang.reflect.Method readMethod = RegionFile.class.getDeclaredMethod("read", ChunkPos.class);
+                            readMethod.setAccessible(true);
+                            data = (CompoundTag) readMethod.invoke(regionFile, pos);
                         } catch (Exception e) {
-                            LOGGER.error("[TurboMC][MCAReader] Unexpected error during read-ahead for {},{}", chunkX, chunkZ, e);
+                            continue; // Skip on read failure
+                        }
+                        if (data != null) {
+                            chunkCache.put(chunkKey, new CachedChunk(data));
                         }
+                    } catch (Exception e) {
+                        LOGGER.error("[TurboMC][MCAReader] Unexpected error during read-ahead for {},{}", chunkX, chunkZ, e);
                     }
                 }
             }
-        }, readExecutor);
+        }
     }
     
     /**
@@ -219,14 +230,14 @@ public class OptimizedMCAReader implements AutoCloseable {
     public void close() throws IOException {
         LOGGER.info("[TurboMC][MCAReader] Closing optimized reader for: {}", mcaPath.getFileName());
         
-        readExecutor.shutdown();
+        // Let a running read-ahead notice and stop before the region file closes
+        closed = true;
         try {
-            if (!readExecutor.awaitTermination(5, java.util.concurrent.TimeUnit.SECONDS)) {
-                readExecutor.shutdownNow();
-            }
+            readAhead.get(5, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            readExecutor.shutdownNow();
+        } catch (Exception ignored) {
+            // Timed out or failed - nothing more to wait for
         }
         
         chunkCache.clear();
@@ -0,0 +1,395 @@
+package com.turbomc.storage.optimization;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Bounded LRU of open regions, keeping open files and mapped bytes within a budget.
+ *
+ * Every storage operation on a region pins its handle for as long as it runs; a pin is
+ * also a reference on the region's {@link SharedRegionResource}, so the file stays open for
+ * in-flight work even if the region is closed meanwhile. When more regions are open, or more
+ * bytes are mapped, than allowed, the least recently used unpinned regions are evicted on
+ * the scheduler's maintenance lane at urgent priority, on the worker that lane keeps free of
+ * background work: their components are closed (pending saves are flushed first) and then
+ * the resource itself.
+ *
+ * A region accessed again before its eviction has started is handed back as it is, with
+ * its readers, caches and mapping still warm. Decompressed chunks outlive eviction in the
+ * shared chunk cache either way.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class RegionHandleCache {
+
+    private enum State { OPEN, EVICTING, CLOSING }
+
+    private final int maxOpenRegions;
+    private final long maxMappedBytes;
+    private final StorageScheduler scheduler;
+    private final Consumer<Path> componentCloser;
+
+    // Guarded by this; access-ordered, eldest first
+    private final LinkedHashMap<Path, Handle> handles = new LinkedHashMap<>(64, 0.75f, true);
+    private int leaving; // Handles evicting or closing
+    private long leavingBytes;
+    private long mappedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long revived;
+
+    /**
+     * @param maxOpenRegions Open regions before the least recently used are evicted (0 = unbounded)
+     * @param maxMappedBytes Mapped bytes before the least recently used are evicted (0 = unbounded)
+     * @param scheduler Scheduler running evictions
+     * @param componentCloser Closes everything built on a region's resource, flushing pending saves
+     */
+    public RegionHandleCache(int maxOpenRegions, long maxMappedBytes, StorageScheduler scheduler,
+                             Consumer<Path> componentCloser) {
+        this.maxOpenRegions = maxOpenRegions;
+        this.maxMappedBytes = maxMappedBytes;
+        this.scheduler = scheduler;
+        this.componentCloser = componentCloser;
+    }
+
+    /**
+     * Pin a region, opening it if needed. Waits if the region is being closed.
+     *
+     * @param path Normalized region path
+     * @return Pinned handle; {@link #release(Handle)} it when done
+     * @throws IOException if the region cannot be opened
+     */
+    public Handle acquire(Path path) throws IOException {
+        while (true) {
+            Handle handle;
+            SharedRegionResource resource = null;
+            CompletableFuture<Void> closing = null;
+            synchronized (this) {
+                handle = handles.get(path);
+                if (handle == null) {
+                    handle = new Handle(path);
+                    handles.put(path, handle);
+                    misses++;
+                } else {
+                    hits++;
+                }
+                if (handle.state == State.CLOSING) {
+                    closing = handle.closed;
+                } else {
+                    if (handle.state == State.EVICTING) {
+                        // Eviction not started yet: hand the region back warm
+                        handle.state = State.OPEN;
+                        leaving--;
+                        leavingBytes -= handle.mappedBytes;
+                        revived++;
+                    }
+                    handle.pins++;
+                    // Take the reference with the pin, so a close can't release the file in between
+                    resource = handle.resource;
+                    if (resource != null) {
+                        resource.acquire();
+                    }
+                }
+            }
+            if (closing != null) {
+                closing.join();
+                continue;
+            }
+
+            if (resource == null) {
+                try {
+                    resource = handle.openAndAcquire();
+                } catch (IOException | RuntimeException e) {
+                    synchronized (this) {
+                        handle.pins--;
+                        if (handle.resource == null && handle.pins == 0 && handle.state == State.OPEN) {
+                            handles.remove(path, handle);
+                        }
+                    }
+                    throw e;
+                }
+                if (resource == null) {
+                    // Closed while we were opening it
+                    synchronized (this) {
+                        handle.pins--;
+                    }
+                    handle.closed.join();
+                    continue;
+                }
+            }
+            synchronized (this) {
+                updateMappedBytes(handle);
+            }
+            evictIfNeeded();
+            return handle;
+        }
+    }
+
+    /**
+     * Unpin a region.
+     */
+    public void release(Handle handle) {
+        try {
+            handle.resource.close();
+        } catch (IOException e) {
+            System.err.println("[TurboMC][Storage] Error releasing region " + handle.path.getFileName() + ": " + e.getMessage());
+        }
+        synchronized (this) {
+            handle.pins--;
+            updateMappedBytes(handle);
+        }
+        evictIfNeeded();
+    }
+
+    /**
+     * Close a region now, whether pinned or not. In-flight work keeps the file open until it finishes.
+     */
+    public void close(Path path) {
+        Handle handle;
+        CompletableFuture<Void> closing = null;
+        synchronized (this) {
+            handle = handles.get(path);
+            if (handle == null) {
+                return;
+            }
+            if (handle.state == State.CLOSING) {
+                closing = handle.closed;
+            } else {
+                if (handle.state == State.OPEN) {
+                    leaving++;
+                    leavingBytes += handle.mappedBytes;
+                }
+                handle.state = State.CLOSING;
+            }
+        }
+        if (closing != null) {
+            closing.join();
+        } else {
+            closeHandle(handle);
+        }
+    }
+
+    /**
+     * Close every region, waiting for evictions in progress.
+     */
+    public void closeAll() {
+        List<Path> paths;
+        synchronized (this) {
+            paths = new ArrayList<>(handles.keySet());
+        }
+        for (Path path : paths) {
+            close(path);
+        }
+    }
+
+    /**
+     * Evict least recently used unpinned regions while over budget.
+     */
+    private void evictIfNeeded() {
+        List<Handle> victims = null;
+        synchronized (this) {
+            if (!overBudget()) {
+                return;
+            }
+            for (Handle handle : handles.values()) {
+                if (!overBudget()) {
+                    break;
+                }
+                if (handle.state != State.OPEN || handle.pins > 0 || handle.resource == null) {
+                    continue;
+                }
+                handle.state = State.EVICTING;
+                leaving++;
+                leavingBytes += handle.mappedBytes;
+                if (victims == null) {
+                    victims = new ArrayList<>();
+                }
+                victims.add(handle);
+            }
+        }
+        if (victims == null) {
+            return;
+        }
+        for (Handle victim : victims) {
+            try {
+                // Urgent, so evictions never wait behind conversions, compaction or scrubbing
+                scheduler.execute(StorageScheduler.Lane.MAINTENANCE, StorageScheduler.Priority.URGENT,
+                    () -> evict(victim));
+            } catch (Exception e) {
+                // Scheduler closed: leave the region to closeAll
+                synchronized (this) {
+                    if (victim.state == State.EVICTING) {
+                        victim.state = State.OPEN;
+                        leaving--;
+                        leavingBytes -= victim.mappedBytes;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean overBudget() {
+        return (maxOpenRegions > 0 && handles.size() - leaving > maxOpenRegions)
+            || (maxMappedBytes > 0 && mappedBytes - leavingBytes > maxMappedBytes);
+    }
+
+    private void evict(Handle handle) {
+        synchronized (this) {
+            if (handle.state != State.EVICTING) {
+                return; // Revived or closed meanwhile
+            }
+            if (handle.pins > 0) {
+                handle.state = State.OPEN;
+                leaving--;
+                leavingBytes -= handle.mappedBytes;
+                return;
+            }
+            handle.state = State.CLOSING;
+            evictions++;
+        }
+        closeHandle(handle);
+    }
+
+    /**
+     * Close a handle that is in the CLOSING state.
+     */
+    private void closeHandle(Handle handle) {
+        SharedRegionResource resource = handle.closeForOpen();
+        try {
+            componentCloser.accept(handle.path);
+            if (resource != null) {
+                resource.close(); // The cache's own reference
+            }
+        } catch (Exception e) {
+            System.err.println("[TurboMC][Storage] Error closing region " + handle.path.getFileName() + ": " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                handles.remove(handle.path, handle);
+                leaving--;
+                leavingBytes -= handle.mappedBytes;
+                mappedBytes -= handle.mappedBytes;
+                handle.mappedBytes = 0;
+            }
+            handle.closed.complete(null);
+        }
+    }
+
+    private void updateMappedBytes(Handle handle) {
+        SharedRegionResource resource = handle.resource;
+        if (resource != null && handle.state == State.OPEN) {
+            long now = resource.getMappedBytes();
+            mappedBytes += now - handle.mappedBytes;
+            handle.mappedBytes = now;
+        }
+    }
+
+    /**
+     * Number of regions open or being opened.
+     */
+    public synchronized int size() {
+        return handles.size() - leaving;
+    }
+
+    public synchronized HandleStats getStats() {
+        return new HandleStats(handles.size() - leaving, maxOpenRegions, mappedBytes - leavingBytes, maxMappedBytes,
+            hits, misses, evictions, revived);
+    }
+
+    /**
+     * An open region. Valid while pinned.
+     */
+    public static final class Handle {
+        private final Path path;
+        private final CompletableFuture<Void> closed = new CompletableFuture<>();
+        private volatile SharedRegionResource resource;
+        private boolean closing; // Guarded by this handle; no more references once set
+        private State state = State.OPEN;
+        private int pins;
+        private long mappedBytes;
+
+        private Handle(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Open the resource if needed and take a reference on it.
+         *
+         * @return The resource, or null if the handle is being closed
+         */
+        private synchronized SharedRegionResource openAndAcquire() throws IOException {
+            if (closing) {
+                return null;
+            }
+            SharedRegionResource current = resource;
+            if (current == null) {
+                current = resource = new SharedRegionResource(path);
+            }
+            current.acquire();
+            return current;
+        }
+
+        /**
+         * Stop handing out references.
+         *
+         * @return The resource whose cache reference the caller now releases, null if never opened
+         */
+        private synchronized SharedRegionResource closeForOpen() {
+            closing = true;
+            return resource;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public SharedRegionResource getResource() {
+            return resource;
+        }
+    }
+
+    public static class HandleStats {
+        private final int openRegions;
+        private final int maxOpenRegions;
+        private final long mappedBytes;
+        private final long maxMappedBytes;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long revived;
+
+        public HandleStats(int openRegions, int maxOpenRegions, long mappedBytes, long maxMappedBytes,
+                           long hits, long misses, long evictions, long revived) {
+            this.openRegions = openRegions;
+            this.maxOpenRegions = maxOpenRegions;
+            this.mappedBytes = mappedBytes;
+            this.maxMappedBytes = maxMappedBytes;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.revived = revived;
+        }
+
+        public int getOpenRegions() { return openRegions; }
+        public int getMaxOpenRegions() { return maxOpenRegions; }
+        public long getMappedBytes() { return mappedBytes; }
+        public long getMaxMappedBytes() { return maxMappedBytes; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getRevived() { return revived; }
+
+        @Override
+        public String toString() {
+            return String.format("HandleStats{open=%d/%d, mapped=%.1f/%.1fMB, hits=%d, misses=%d, evictions=%d, revived=%d}",
+                openRegions, maxOpenRegions, mappedBytes / (1024.0 * 1024.0), maxMappedBytes / (1024.0 * 1024.0),
+                hits, misses, evictions, revived);
+        }
+    }
+}
@@ -7,8 +7,11 @@ import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.concurrent.atomic.AtomicInteger;
+import com.turbomc.storage.lrf.LRFChunkMetadata;
 import com.turbomc.storage.lrf.LRFHeader;
 import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFExtentAllocator;
+import com.turbomc.storage.lrf.LRFJournal;
 
 /**
  * Shared resource management for a single region file.
@@ -23,15 +26,21 @@ public class SharedRegionResource implements AutoCloseable {
     private volatile MappedByteBuffer mappedBuffer;
     private final Object mmapLock = new Object();
     
-    // Header caching for performance
+    // Current header: read from disk once, then published by every writer that rewrites it
     private volatile LRFHeader cachedHeader;
-    private volatile long lastHeaderRefresh;
-    private volatile long lastFileModified;
-    private volatile long lastFileSize;
     private final Object headerLock = new Object();
     
+    // Free-space tracking shared by every writer of this region
+    private volatile LRFExtentAllocator extentAllocator;
+    
+    // Write-ahead journal, null until the first writer (or when disabled)
+    private volatile LRFJournal journal;
+    private final Object journalLock = new Object();
+    
     public SharedRegionResource(Path path) throws IOException {
         this.path = path;
+        // Replay an existing journal before anyone reads the header; read-only opens create none
+        this.journal = LRFJournal.acquireIfPresent(path);
         this.file = new RandomAccessFile(path.toFile(), "rw");
         this.channel = file.getChannel();
         this.refCount = new AtomicInteger(1);
@@ -71,29 +80,20 @@ public class SharedRegionResource implements AutoCloseable {
     }
     
     /**
-     * Get the definitively accurate header for this region, with caching.
+     * Get the current header of this region. Read from disk on first use; after that
+     * writers publish each header they write through {@link #publishHeader}, so no call
+     * touches the file.
      */
     public LRFHeader getHeader() throws IOException {
-        long currentModified;
-        try {
-            currentModified = java.nio.file.Files.getLastModifiedTime(path).toMillis();
-        } catch (IOException e) {
-            currentModified = System.currentTimeMillis();
-        }
-        
-        long currentSize = channel.size();
         LRFHeader header = cachedHeader;
-        if (header != null && currentModified <= lastFileModified && 
-            currentSize == lastFileSize && 
-            (System.currentTimeMillis() - lastHeaderRefresh < 2000)) { // Increased TTL to 2s
+        if (header != null) {
             return header;
         }
         
         synchronized (headerLock) {
             // Double-check
             header = cachedHeader;
-            if (header != null && currentModified <= lastFileModified && 
-                (System.currentTimeMillis() - lastHeaderRefresh < 1000)) {
+            if (header != null) {
                 return header;
             }
             
@@ -109,7 +109,7 @@ public class SharedRegionResource implements AutoCloseable {
                     slice.limit(Math.min(LRFConstants.HEADER_SIZE, slice.capacity()));
                     slice.get(headerData);
                 } else if (read <= 0 && channel.size() == 0) {
-                    // New file, create empty header
+                    // New file, create empty header; the first writer publishes the real one
                     return LRFHeader.createEmpty();
                 } else {
                     throw new IOException("Failed to read definitive LRF header from " + path);
@@ -118,20 +118,91 @@ public class SharedRegionResource implements AutoCloseable {
             
             header = LRFHeader.read(ByteBuffer.wrap(headerData));
             cachedHeader = header;
-            lastFileModified = currentModified;
-            lastFileSize = currentSize;
-            lastHeaderRefresh = System.currentTimeMillis();
             return header;
         }
     }
     
     /**
-     * Invalidate the cached header, forcing a re-read on next access.
+     * Make a header just written to the file the one readers see. Call after the write and
+     * before invalidating the cached chunks it replaces.
+     * 
+     * @param header Header as written; must not be modified afterwards
+     */
+    public void publishHeader(LRFHeader header) {
+        synchronized (headerLock) {
+            cachedHeader = header;
+        }
+    }
+    
+    /**
+     * Read a chunk's metadata table entry against the current header, from the mapping if there is one.
+     * 
+     * @return Metadata, or null if the chunk doesn't exist or has no valid entry
+     */
+    public LRFChunkMetadata readChunkMetadata(int chunkX, int chunkZ) throws IOException {
+        return LRFChunkMetadata.readEntry(getHeader(), channel, mappedBuffer, chunkX, chunkZ);
+    }
+    
+    /**
+     * Get the extent allocator for this region, building it from the given header on first use.
+     */
+    public LRFExtentAllocator getExtentAllocator(LRFHeader header) throws IOException {
+        LRFExtentAllocator allocator = extentAllocator;
+        if (allocator != null) {
+            return allocator;
+        }
+        synchronized (headerLock) {
+            if (extentAllocator == null) {
+                allocator = LRFExtentAllocator.fromConfig();
+                allocator.rebuild(header, channel);
+                extentAllocator = allocator;
+            }
+            return extentAllocator;
+        }
+    }
+    
+    /**
+     * Get the write-ahead journal of this region, creating it on first use by a writer.
+     *
+     * @return Journal, or null if journaling is disabled
+     * @throws IOException if the journal cannot be created
+     */
+    public LRFJournal getJournal() throws IOException {
+        LRFJournal current = journal;
+        if (current == null) {
+            synchronized (journalLock) {
+                current = journal;
+                if (current == null) {
+                    current = journal = LRFJournal.acquireIfEnabled(path);
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Whether any reader or engine has mapped this file.
+     * Shrinking a mapped file would fault readers touching the removed tail.
+     */
+    public boolean isMapped() {
+        return mappedBuffer != null;
+    }
+    
+    /**
+     * Bytes of the file currently mapped, 0 if unmapped.
+     */
+    public long getMappedBytes() {
+        MappedByteBuffer buffer = mappedBuffer;
+        return buffer != null ? buffer.capacity() : 0;
+    }
+    
+    /**
+     * Invalidate the cached header, forcing a re-read on next access. Only for changes
+     * made to the file without going through a writer of this resource.
      */
     public void invalidateHeader() {
         synchronized (headerLock) {
             cachedHeader = null;
-            lastHeaderRefresh = 0;
         }
     }
 
@@ -142,8 +213,18 @@ public class SharedRegionResource implements AutoCloseable {
                 // Should ideally unmap, but Java's MappedByteBuffer unmapping is complex
                 mappedBuffer = null;
             }
-            channel.close();
-            file.close();
+            try {
+                LRFJournal current;
+                synchronized (journalLock) {
+                    current = journal;
+                }
+                if (current != null) {
+                    current.release();
+                }
+            } finally {
+                channel.close();
+                file.close();
+            }
         }
     }
     
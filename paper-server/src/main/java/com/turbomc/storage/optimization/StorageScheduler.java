@@ -0,0 +1,553 @@
+package com.turbomc.storage.optimization;
+
+import com.turbomc.config.TurboConfig;
+import com.turbomc.performance.insight.TickProfiler;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Process-wide executor for all storage work, owned by {@link TurboStorageManager}.
+ *
+ * Work is split into lanes (read, decompress, compress, write, fsync, maintenance), each with
+ * a fixed number of workers, so the thread count does not depend on how many regions are
+ * open. Within a lane tasks run by priority: player-blocking loads first, then prefetch,
+ * then background work such as conversion, compaction and saves.
+ *
+ * In lanes with more than one worker, one worker only takes urgent tasks, so an urgent load
+ * never waits for a prefetch to finish. Queues for prefetch and background tasks are bounded:
+ * a full lane rejects prefetch (it is optional) and runs background tasks on the caller
+ * (back-pressure). Urgent tasks are always queued.
+ *
+ * Delayed and periodic tasks are handed to their lane by one timer thread that does no work
+ * itself. I/O lanes can run on virtual threads.
+ *
+ * @author TurboMC
+ * @version 1.0.0
+ */
+public final class StorageScheduler implements AutoCloseable {
+
+    public enum Lane {
+        READ("Read", true),
+        DECOMPRESS("Decompress", false),
+        COMPRESS("Compress", false),
+        WRITE("Write", true),
+        FSYNC("Fsync", true),
+        MAINTENANCE("Maintenance", false);
+
+        private final String name;
+        private final boolean blockingIo;
+
+        Lane(String name, boolean blockingIo) {
+            this.name = name;
+            this.blockingIo = blockingIo;
+        }
+
+        public String getName() { return name; }
+        public boolean isBlockingIo() { return blockingIo; }
+    }
+
+    public enum Priority {
+        /** A player or the server thread is waiting for the result */
+        URGENT,
+        /** Speculative work such as read-ahead */
+        PREFETCH,
+        /** Conversion, compaction, saves and other deferred work */
+        BACKGROUND
+    }
+
+    private static volatile StorageScheduler shared;
+    private static final Function<Object, String> LANE_NAMER = lane -> "storage " + ((Lane) lane).getName();
+
+    private final EnumMap<Lane, LaneQueue> lanes = new EnumMap<>(Lane.class);
+    private final EnumMap<Lane, ExecutorService[]> views = new EnumMap<>(Lane.class);
+    private final ScheduledExecutorService timer;
+    private final int queueCapacity;
+    private volatile boolean closed;
+
+    /**
+     * @param threads Workers per lane; lanes missing from the map get one
+     * @param queueCapacity Maximum queued prefetch and background tasks per lane
+     * @param virtualIoThreads Run the workers of blocking I/O lanes on virtual threads
+     */
+    public StorageScheduler(Map<Lane, Integer> threads, int queueCapacity, boolean virtualIoThreads) {
+        this.queueCapacity = Math.max(1, queueCapacity);
+        for (Lane lane : Lane.values()) {
+            int count = Math.max(1, threads.getOrDefault(lane, 1));
+            lanes.put(lane, new LaneQueue(lane, count, virtualIoThreads && lane.isBlockingIo()));
+
+            ExecutorService[] byPriority = new ExecutorService[Priority.values().length];
+            for (Priority priority : Priority.values()) {
+                byPriority[priority.ordinal()] = new LaneExecutor(lane, priority);
+            }
+            views.put(lane, byPriority);
+        }
+
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Turbo-Storage-Timer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Get the process-wide scheduler, creating it from config on first use.
+     */
+    public static StorageScheduler shared() {
+        StorageScheduler scheduler = shared;
+        if (scheduler == null) {
+            synchronized (StorageScheduler.class) {
+                scheduler = shared;
+                if (scheduler == null) {
+                    int processors = Runtime.getRuntime().availableProcessors();
+                    EnumMap<Lane, Integer> threads = new EnumMap<>(Lane.class);
+                    int queueCapacity = 4096;
+                    boolean virtualIo = false;
+                    TurboConfig config = null;
+                    try {
+                        config = TurboConfig.getInstance();
+                        queueCapacity = config.getInt("storage.scheduler.queue-capacity", 4096);
+                        virtualIo = config.getBoolean("storage.scheduler.virtual-io-threads", false);
+                    } catch (Exception ignored) {
+                        // Config not initialized (tools, tests) - keep defaults
+                    }
+                    // Lane sizes default to those of the former global pools
+                    threads.put(Lane.READ, laneThreads(config, "read-threads", "storage.batch.global-load-threads", processors / 4, 2, 16));
+                    threads.put(Lane.DECOMPRESS, laneThreads(config, "decompress-threads", "storage.batch.global-decompression-threads", processors / 2, 2, 16));
+                    threads.put(Lane.COMPRESS, laneThreads(config, "compress-threads", "storage.batch.global-compression-threads", processors / 2, 2, 16));
+                    threads.put(Lane.WRITE, laneThreads(config, "write-threads", "storage.batch.global-save-threads", processors / 8, 1, 8));
+                    threads.put(Lane.FSYNC, laneThreads(config, "fsync-threads", null, 1, 1, 4));
+                    threads.put(Lane.MAINTENANCE, laneThreads(config, "maintenance-threads", null, 2, 1, 8));
+
+                    scheduler = shared = new StorageScheduler(threads, queueCapacity, virtualIo);
+                    System.out.println("[TurboMC][Scheduler] Storage scheduler started: " + threads +
+                        ", queue " + queueCapacity + (virtualIo ? ", virtual I/O threads" : ""));
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * Stop the process-wide scheduler, if started, after running what is queued.
+     * A later {@link #shared()} starts a new one.
+     */
+    public static void shutdownShared() {
+        StorageScheduler scheduler;
+        synchronized (StorageScheduler.class) {
+            scheduler = shared;
+            shared = null;
+        }
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    private static int laneThreads(TurboConfig config, String key, String legacyKey, int auto, int min, int max) {
+        int value = 0;
+        if (config != null) {
+            value = config.getInt("storage.scheduler." + key, 0);
+            if (value <= 0 && legacyKey != null) {
+                value = config.getInt(legacyKey, 0);
+            }
+        }
+        return Math.max(min, Math.min(value > 0 ? value : auto, max));
+    }
+
+    /**
+     * Run a task on a lane.
+     *
+     * @throws RejectedExecutionException if the scheduler is closed, or a prefetch task
+     *         finds the lane full
+     */
+    public void execute(Lane lane, Priority priority, Runnable task) {
+        lanes.get(lane).submit(priority, task);
+    }
+
+    /**
+     * Executor view of a lane at one priority, for {@code CompletableFuture.*Async} and
+     * components that take an {@link ExecutorService}. Shutting the view down has no effect;
+     * the scheduler's lifecycle belongs to its owner.
+     */
+    public ExecutorService executor(Lane lane, Priority priority) {
+        return views.get(lane)[priority.ordinal()];
+    }
+
+    /**
+     * Hand a task to a lane after a delay.
+     */
+    public ScheduledFuture<?> schedule(Lane lane, Priority priority, Runnable task, long delay, TimeUnit unit) {
+        return timer.schedule(() -> submitQuietly(lane, priority, task), delay, unit);
+    }
+
+    /**
+     * Run a task on a lane periodically. A run is skipped while the previous one is still
+     * queued or running.
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(Lane lane, Priority priority, Runnable task,
+                                                     long initialDelay, long delay, TimeUnit unit) {
+        AtomicBoolean inFlight = new AtomicBoolean();
+        Runnable once = () -> {
+            try {
+                task.run();
+            } finally {
+                inFlight.set(false);
+            }
+        };
+        return timer.scheduleWithFixedDelay(() -> {
+            if (inFlight.compareAndSet(false, true) && !submitQuietly(lane, priority, once)) {
+                inFlight.set(false);
+            }
+        }, initialDelay, delay, unit);
+    }
+
+    private boolean submitQuietly(Lane lane, Priority priority, Runnable task) {
+        try {
+            execute(lane, priority, task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false; // Closed or full; periodic tasks retry on their next run
+        }
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Per-lane statistics.
+     */
+    public Map<Lane, LaneStats> getStats() {
+        EnumMap<Lane, LaneStats> stats = new EnumMap<>(Lane.class);
+        for (LaneQueue lane : lanes.values()) {
+            stats.put(lane.lane, lane.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * Stop accepting work, run what is already queued and stop the workers.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        timer.shutdownNow();
+        for (LaneQueue lane : lanes.values()) {
+            lane.close();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        for (LaneQueue lane : lanes.values()) {
+            lane.awaitWorkers(deadline);
+        }
+        System.out.println("[TurboMC][Scheduler] Storage scheduler stopped");
+    }
+
+    private static final class Task {
+        final Runnable runnable;
+        final Priority priority;
+        final long queuedAt;
+
+        Task(Runnable runnable, Priority priority) {
+            this.runnable = runnable;
+            this.priority = priority;
+            this.queuedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * One lane: per-priority queues and a fixed set of workers.
+     */
+    private final class LaneQueue {
+        final Lane lane;
+        final Thread[] workers;
+        // Workers allowed to run non-urgent tasks at once; the rest wait for urgent work
+        final int nonUrgentLimit;
+
+        // Guarded by lock
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition available = lock.newCondition();
+        @SuppressWarnings("unchecked")
+        final ArrayDeque<Task>[] queues = new ArrayDeque[Priority.values().length];
+        int queuedNonUrgent;
+        int active;
+        int activeNonUrgent;
+        int peakQueued;
+        boolean stopping;
+
+        // Statistics
+        final AtomicLong submitted = new AtomicLong();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong callerRuns = new AtomicLong();
+        final AtomicLong waitNanos = new AtomicLong();
+        final AtomicLong runNanos = new AtomicLong();
+
+        LaneQueue(Lane lane, int threads, boolean virtual) {
+            this.lane = lane;
+            this.nonUrgentLimit = threads > 1 ? threads - 1 : threads;
+            for (int i = 0; i < queues.length; i++) {
+                queues[i] = new ArrayDeque<>();
+            }
+
+            ThreadFactory factory = virtual
+                ? Thread.ofVirtual().name("Turbo-Storage-" + lane.getName() + "-", 0).factory()
+                : Thread.ofPlatform().name("Turbo-Storage-" + lane.getName() + "-", 0).daemon(true).factory();
+            this.workers = new Thread[threads];
+            for (int i = 0; i < threads; i++) {
+                workers[i] = factory.newThread(this::runWorker);
+                if (lane == Lane.MAINTENANCE && !virtual) {
+                    workers[i].setPriority(Thread.MIN_PRIORITY); // Background priority
+                }
+                workers[i].start();
+            }
+        }
+
+        void submit(Priority priority, Runnable runnable) {
+            boolean runHere = false;
+            lock.lock();
+            try {
+                if (stopping) {
+                    rejected.incrementAndGet();
+                    throw new RejectedExecutionException("Storage scheduler is closed");
+                }
+                if (priority != Priority.URGENT && queuedNonUrgent >= queueCapacity) {
+                    if (priority == Priority.PREFETCH) {
+                        rejected.incrementAndGet();
+                        throw new RejectedExecutionException(lane.getName() + " lane is full");
+                    }
+                    runHere = true;
+                } else {
+                    queues[priority.ordinal()].add(new Task(runnable, priority));
+                    if (priority != Priority.URGENT) {
+                        queuedNonUrgent++;
+                    }
+                    peakQueued = Math.max(peakQueued, queued());
+                    submitted.incrementAndGet();
+                    available.signalAll(); // The worker reserved for urgent work may not take it
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (runHere) {
+                callerRuns.incrementAndGet();
+                long start = System.nanoTime();
+                try {
+                    runnable.run();
+                } finally {
+                    profile(start);
+                }
+            }
+        }
+
+        private void profile(long start) {
+            TickProfiler profiler = TickProfiler.getInstance();
+            if (profiler != null) {
+                profiler.record(TickProfiler.Category.CHUNK_TASK, lane, LANE_NAMER, System.nanoTime() - start);
+            }
+        }
+
+        int queued() {
+            int queued = 0;
+            for (ArrayDeque<Task> queue : queues) {
+                queued += queue.size();
+            }
+            return queued;
+        }
+
+        /**
+         * Next task this worker may run; urgent first, non-urgent only within the limit.
+         */
+        Task poll() {
+            Task task = queues[Priority.URGENT.ordinal()].poll();
+            if (task != null) {
+                return task;
+            }
+            if (activeNonUrgent >= nonUrgentLimit && !stopping) {
+                return null;
+            }
+            task = queues[Priority.PREFETCH.ordinal()].poll();
+            if (task == null) {
+                task = queues[Priority.BACKGROUND.ordinal()].poll();
+            }
+            if (task != null) {
+                queuedNonUrgent--;
+            }
+            return task;
+        }
+
+        void runWorker() {
+            while (true) {
+                Task task;
+                lock.lock();
+                try {
+                    while ((task = poll()) == null) {
+                        if (stopping && queued() == 0) {
+                            return;
+                        }
+                        available.await();
+                    }
+                    active++;
+                    if (task.priority != Priority.URGENT) {
+                        activeNonUrgent++;
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+
+                long start = System.nanoTime();
+                waitNanos.addAndGet(start - task.queuedAt);
+                try {
+                    task.runnable.run();
+                    completed.incrementAndGet();
+                } catch (Throwable t) {
+                    failed.incrementAndGet();
+                    System.err.println("[TurboMC][Scheduler] " + lane.getName() + " task failed: " + t);
+                } finally {
+                    runNanos.addAndGet(System.nanoTime() - start);
+                    profile(start);
+                }
+
+                lock.lock();
+                try {
+                    active--;
+                    if (task.priority != Priority.URGENT) {
+                        activeNonUrgent--;
+                    }
+                    if (queued() > 0 || stopping) {
+                        available.signalAll(); // A held-back task may now run
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                stopping = true;
+                available.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void awaitWorkers(long deadline) {
+            for (Thread worker : workers) {
+                try {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining > 0) {
+                        worker.join(remaining);
+                    }
+                    if (worker.isAlive()) {
+                        worker.interrupt();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        LaneStats stats() {
+            int queued;
+            int running;
+            int peak;
+            lock.lock();
+            try {
+                queued = queued();
+                running = active;
+                peak = peakQueued;
+            } finally {
+                lock.unlock();
+            }
+            long done = completed.get() + failed.get();
+            return new LaneStats(lane, workers.length, queued, peak, running, submitted.get(), done,
+                failed.get(), rejected.get(), callerRuns.get(),
+                done > 0 ? waitNanos.get() / done / 1000 : 0,
+                done > 0 ? runNanos.get() / done / 1000 : 0);
+        }
+    }
+
+    /**
+     * {@link ExecutorService} view of a lane at one priority.
+     */
+    private final class LaneExecutor extends AbstractExecutorService {
+        private final Lane lane;
+        private final Priority priority;
+
+        LaneExecutor(Lane lane, Priority priority) {
+            this.lane = lane;
+            this.priority = priority;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            StorageScheduler.this.execute(lane, priority, command);
+        }
+
+        @Override
+        public void shutdown() {
+            // Owned by the scheduler
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return closed;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return closed;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return closed;
+        }
+    }
+
+    public record LaneStats(Lane lane, int threads, int queued, int peakQueued, int active,
+                            long submitted, long completed, long failed, long rejected, long callerRuns,
+                            long avgWaitMicros, long avgRunMicros) {
+        @Override
+        public String toString() {
+            return String.format("%s{threads=%d, queued=%d (peak %d), active=%d, submitted=%d, completed=%d, " +
+                    "failed=%d, rejected=%d, callerRuns=%d, avgWait=%dus, avgRun=%dus}",
+                lane.getName(), threads, queued, peakQueued, active, submitted, completed,
+                failed, rejected, callerRuns, avgWaitMicros, avgRunMicros);
+        }
+    }
+}
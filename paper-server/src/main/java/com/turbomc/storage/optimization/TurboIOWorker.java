@@ -54,6 +54,8 @@ public class TurboIOWorker implements ChunkScanAccess, AutoCloseable {
     private final SequencedMap<ChunkPos, PendingStore> pendingWrites = new LinkedHashMap<>();
     private final Long2ObjectLinkedOpenHashMap<CompletableFuture<BitSet>> regionCacheForBlender = new Long2ObjectLinkedOpenHashMap<>();
     private static final int REGION_CACHE_SIZE = 1024;
+    /** Chunks saved before this data version may need blending with new terrain. */
+    private static final int BLENDING_DATA_VERSION = 3441;
 
     public TurboIOWorker(RegionStorageInfo info, Path folder, boolean sync) {
         // Use TurboRegionFileStorage instead of vanilla RegionFileStorage
@@ -71,8 +73,20 @@ public class TurboIOWorker implements ChunkScanAccess, AutoCloseable {
             for (int regionZ = chunkPos1.getRegionZ(); regionZ <= chunkPos2.getRegionZ(); regionZ++) {
                 try {
                     BitSet bitSet = this.getOrCreateOldDataForRegion(regionX, regionZ).get(5, java.util.concurrent.TimeUnit.SECONDS);
-                    if (!bitSet.isEmpty()) {
-                        return true;
+                    if (bitSet == null || bitSet.isEmpty()) {
+                        continue;
+                    }
+                    // Only chunks inside the radius count
+                    int minX = Math.max(chunkPos1.x - (regionX << 5), 0);
+                    int minZ = Math.max(chunkPos1.z - (regionZ << 5), 0);
+                    int maxX = Math.min(chunkPos2.x - (regionX << 5), 31);
+                    int maxZ = Math.min(chunkPos2.z - (regionZ << 5), 31);
+                    for (int localX = minX; localX <= maxX; localX++) {
+                        for (int localZ = minZ; localZ <= maxZ; localZ++) {
+                            if (bitSet.get(localZ * 32 + localX)) {
+                                return true;
+                            }
+                        }
                     }
                 } catch (Exception e) {
                     LOGGER.warn("Failed to check old chunk region {} {}", regionX, regionZ, e);
@@ -92,7 +106,9 @@ public class TurboIOWorker implements ChunkScanAccess, AutoCloseable {
             for (int regionZ = chunkPos1.getRegionZ(); regionZ <= chunkPos2.getRegionZ(); regionZ++) {
                 try {
                     BitSet bitSet2 = this.getOrCreateOldDataForRegion(regionX, regionZ).get(5, java.util.concurrent.TimeUnit.SECONDS);
-                    bitSet.or(bitSet2);
+                    if (bitSet2 != null) {
+                        bitSet.or(bitSet2);
+                    }
                 } catch (Exception e) {
                     LOGGER.warn("Failed to get old chunks around region {} {}", regionX, regionZ, e);
                 }
@@ -104,24 +120,50 @@ public class TurboIOWorker implements ChunkScanAccess, AutoCloseable {
 
     private CompletableFuture<BitSet> getOrCreateOldDataForRegion(int regionX, int regionZ) {
         long l = ChunkPos.asLong(regionX, regionZ);
-        return this.regionCacheForBlender.computeIfAbsent(l, (m) -> {
-            BitSet bitSet = new BitSet(1024);
-            this.run(Priority.BACKGROUND, () -> {
-                try {
-                    this.storage.scanRegion(regionX, regionZ, (chunkX, chunkZ) -> {
-                        bitSet.set((int) ChunkPos.asLong(chunkX, chunkZ));
-                        return true;
-                    });
-                } catch (Exception var6) {
-                    LOGGER.warn("Failed to scan region {}", new ChunkPos(regionX, regionZ), var6);
+        synchronized (this.regionCacheForBlender) {
+            CompletableFuture<BitSet> future = this.regionCacheForBlender.getAndMoveToFirst(l);
+            if (future == null) {
+                future = this.createOldDataForRegion(regionX, regionZ);
+                this.regionCacheForBlender.putAndMoveToFirst(l, future);
+                if (this.regionCacheForBlender.size() > REGION_CACHE_SIZE) {
+                    this.regionCacheForBlender.removeLast();
                 }
+            }
+            return future;
+        }
+    }
 
-                return Unit.INSTANCE;
-            });
-            return CompletableFuture.completedFuture(bitSet);
+    /**
+     * Bit (localZ * 32 + localX) set for every chunk of the region that needs blending.
+     * Only DataVersion and blending_data are read from each chunk.
+     */
+    private CompletableFuture<BitSet> createOldDataForRegion(int regionX, int regionZ) {
+        return this.run(Priority.BACKGROUND, () -> {
+            BitSet bitSet = new BitSet(1024);
+            for (int localZ = 0; localZ < 32; localZ++) {
+                for (int localX = 0; localX < 32; localX++) {
+                    ChunkPos chunkPos = new ChunkPos((regionX << 5) + localX, (regionZ << 5) + localZ);
+                    CollectFields collectFields = new CollectFields(
+                        new FieldSelector(IntTag.TYPE, "DataVersion"), new FieldSelector(CompoundTag.TYPE, "blending_data"));
+                    try {
+                        this.scanChunkNow(chunkPos, collectFields);
+                    } catch (Exception e) {
+                        LOGGER.warn("Failed to scan chunk {}", chunkPos, e);
+                        continue;
+                    }
+                    if (collectFields.getResult() instanceof CompoundTag compoundTag && isOldChunk(compoundTag)) {
+                        bitSet.set(localZ * 32 + localX);
+                    }
+                }
+            }
+            return bitSet;
         });
     }
 
+    private static boolean isOldChunk(CompoundTag chunkData) {
+        return chunkData.getIntOr("DataVersion", 0) < BLENDING_DATA_VERSION || chunkData.contains("blending_data");
+    }
+
     public CompletableFuture<Void> store(ChunkPos chunkPos, @Nullable CompoundTag chunkData) {
         return this.store(chunkPos, () -> chunkData);
     }
@@ -248,10 +290,7 @@ public class TurboIOWorker implements ChunkScanAccess, AutoCloseable {
     public CompletableFuture<Void> scanChunk(ChunkPos chunkPos, StreamTagVisitor streamTagVisitor) {
         return this.run(Priority.BACKGROUND, () -> {
             try {
-                CompoundTag compoundTag = this.storage.read(chunkPos);
-                if (compoundTag != null) {
-                    compoundTag.accept(streamTagVisitor);
-                }
+                this.scanChunkNow(chunkPos, streamTagVisitor);
                 return null;
             } catch (Exception var4) {
                 LOGGER.error("Failed to scan chunk {}", chunkPos, var4);
@@ -260,8 +299,31 @@ public class TurboIOWorker implements ChunkScanAccess, AutoCloseable {
         });
     }
 
+    /**
+     * Stream a chunk into a visitor: pending writes from memory, stored chunks through
+     * the storage's selective decoder rather than a full read.
+     */
+    private void scanChunkNow(ChunkPos chunkPos, StreamTagVisitor streamTagVisitor) throws IOException {
+        PendingStore pendingStore = this.pendingWrites.get(chunkPos);
+        if (pendingStore != null) {
+            if (pendingStore.data != null) {
+                pendingStore.data.acceptAsRoot(streamTagVisitor);
+            }
+        } else {
+            this.storage.scanChunk(chunkPos, streamTagVisitor);
+        }
+    }
+
+    /**
+     * Whether a chunk has data, answered from pending writes and the region header
+     * rather than by reading and decoding the chunk.
+     */
     public boolean doesChunkExist(ChunkPos chunkPos) throws IOException {
-        return this.storage.read(chunkPos) != null;
+        PendingStore pendingStore = this.pendingWrites.get(chunkPos);
+        if (pendingStore != null) {
+            return pendingStore.data != null;
+        }
+        return this.storage.chunkExists(chunkPos);
     }
 
     // Enhanced methods for TurboMC features
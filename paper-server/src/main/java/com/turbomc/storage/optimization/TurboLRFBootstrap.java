@@ -13,6 +13,13 @@ import com.turbomc.performance.entity.TurboHopperOptimizer;
 import com.turbomc.performance.entity.TurboMobSpawningOptimizer;
 import com.turbomc.performance.chunk.TurboChunkTickingOptimizer;
 import com.turbomc.performance.render.TurboParticleOptimizer;
+import com.turbomc.performance.entities.TurboEntityStacker;
+import com.turbomc.performance.lighting.TurboLightEngine;
+import com.turbomc.performance.pathfinding.TurboPathfinderEngine;
+import com.turbomc.performance.redstone.TurboRedstoneEngine;
+import com.turbomc.performance.threading.TurboThreadingManager;
+import com.turbomc.performance.tick.TurboModuleRuntime;
+import com.turbomc.security.ratelimiter.TurboRateLimiter;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.server.MinecraftServer;
 
@@ -223,6 +230,30 @@ public final class TurboLRFBootstrap {
             TurboChunkLoadingOptimizer chunkOptimizer = TurboChunkLoadingOptimizer.getInstance();
             chunkOptimizer.initialize();
             
+            // Drive the optimizer modules from the server tick
+            System.out.println("[TurboMC][Perf] Registering optimizer modules with the tick runtime...");
+            TurboModuleRuntime runtime = TurboModuleRuntime.getInstance();
+            runtime.register(chunkTickOptimizer, TurboModuleRuntime.Phase.PRE_TICK);
+            runtime.register(mobOptimizer, TurboModuleRuntime.Phase.PRE_TICK);
+            runtime.register(fpsOptimizer, TurboModuleRuntime.Phase.PRE_TICK, fpsOptimizer.getOptimizationIntervalTicks());
+            runtime.register(hopperOptimizer, TurboModuleRuntime.Phase.POST_BLOCK_ENTITY);
+            runtime.register(redstoneOptimizer, TurboModuleRuntime.Phase.POST_BLOCK_ENTITY);
+            runtime.register(particleOptimizer, TurboModuleRuntime.Phase.POST_BLOCK_ENTITY);
+            // Skipped while disabled; these run once initialized
+            runtime.register(TurboEntityStacker.getInstance(), TurboModuleRuntime.Phase.POST_ENTITY);
+            runtime.register(TurboPathfinderEngine.getInstance(), TurboModuleRuntime.Phase.POST_ENTITY);
+            runtime.register(TurboRedstoneEngine.getInstance(), TurboModuleRuntime.Phase.POST_BLOCK_ENTITY);
+            runtime.register(TurboLightEngine.getInstance(), TurboModuleRuntime.Phase.POST_BLOCK_ENTITY);
+            runtime.register(TurboThreadingManager.getInstance(), TurboModuleRuntime.Phase.ASYNC);
+            runtime.register(TurboRateLimiter.getInstance(), TurboModuleRuntime.Phase.ASYNC);
+            
+            fpsOptimizer.start();
+            redstoneOptimizer.start();
+            hopperOptimizer.start();
+            mobOptimizer.start();
+            chunkTickOptimizer.start();
+            particleOptimizer.start();
+            
             System.out.println("[TurboMC][Perf] All performance optimization systems initialized successfully!");
             
         } catch (Exception e) {
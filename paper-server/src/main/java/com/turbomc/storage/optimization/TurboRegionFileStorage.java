@@ -4,17 +4,19 @@ import com.turbomc.config.TurboConfig;
 import com.turbomc.compression.TurboCompressionService;
 import com.turbomc.storage.optimization.SharedRegionResource;
 import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFChunkBuffer;
 import com.turbomc.storage.lrf.LRFChunkEntry;
+import com.turbomc.storage.lrf.LRFChunkMetadata;
 import com.turbomc.storage.lrf.LRFRegionReader;
 import com.turbomc.storage.lrf.LRFRegionWriter;
 import com.turbomc.storage.converter.ConversionMode;
 import com.turbomc.storage.integrity.ChunkIntegrityValidator;
+import com.turbomc.storage.integrity.LRFScrubber;
 import com.turbomc.storage.integrity.ValidationUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.DataInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
@@ -27,6 +29,7 @@ import javax.annotation.Nullable;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtAccounter;
 import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.StreamTagVisitor;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.storage.RegionFile;
 import net.minecraft.world.level.chunk.storage.RegionFileStorage;
@@ -47,6 +50,7 @@ public class TurboRegionFileStorage extends RegionFileStorage {
     private final boolean verbose;
     private final boolean useTurboFeatures;
     private final Set<Long> recompressedChunks = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final ConcurrentHashMap<Long, QueuedRead> queuedReads = new ConcurrentHashMap<>();
     
     public TurboRegionFileStorage(RegionStorageInfo info, Path folder, boolean sync) {
         super(info, folder, sync); // Call parent constructor
@@ -62,6 +66,10 @@ public class TurboRegionFileStorage extends RegionFileStorage {
         
         if (useTurboFeatures) {
             System.out.println("[TurboMC][RegionStorage] Turbo features enabled for: " + folder.getFileName());
+            if (config.getBoolean("storage.integrity.enabled", true)
+                && config.getBoolean("storage.integrity.scrub-enabled", true)) {
+                LRFScrubber.shared().registerFolder(folder);
+            }
         }
     }
     
@@ -101,8 +109,9 @@ public class TurboRegionFileStorage extends RegionFileStorage {
                 // OPTIMIZATION: Trigger re-compression if enabled and not already done this session
                 if (nbt != null && config.isRecompressOnLoadEnabled() && !recompressedChunks.contains(pos.toLong())) {
                     recompressedChunks.add(pos.toLong());
-                    // Since writeToLRF is non-blocking (async handoff), we can just call it
-                    write(pos, nbt);
+                    // Since writeToLRF is non-blocking (async handoff), we can just call it.
+                    // Marked as archive so adaptive compression may spend more CPU on it when idle.
+                    writeToLRF(lrfRegionPath, pos, nbt, true);
                     if (verbose) {
                         System.out.println("[TurboMC][RegionStorage] Triggered lazy re-compression for " + pos);
                     }
@@ -179,8 +188,9 @@ public class TurboRegionFileStorage extends RegionFileStorage {
         ValidationUtils.validateChunkCoordinates(pos);
         
         try {
+            // The caller waits for the chunk
             CompletableFuture<LRFChunkEntry> future = TurboStorageManager.getInstance().loadChunk(
-                regionPath, pos.x, pos.z);
+                regionPath, pos.x, pos.z, ChunkIORequestQueue.Priority.BLOCKING);
             
             // FIXED: Use configurable timeout with proper exception handling
             int timeoutSeconds = TurboConfig.getInstance().getInt("storage.lrf.timeout-seconds", 5);
@@ -203,27 +213,7 @@ public class TurboRegionFileStorage extends RegionFileStorage {
                 return null;
             }
             
-            // NEW: Support for PackedBinaryNBT (TNBT magic)
-            if (data.length > 5 && data[0] == 'T' && data[1] == 'N' && data[2] == 'B' && data[3] == 'T') {
-                return com.turbomc.nbt.NBTConverter.fromPackedBinary(
-                    com.turbomc.nbt.PackedBinaryNBT.fromBytes(data)
-                );
-            }
-            
-            // LEGACY: Check for timestamp at the end of standard NBT data
-            if (data.length >= 8) {
-                // Check if last 8 bytes look like a timestamp (reasonable range)
-                long potentialTimestamp = java.nio.ByteBuffer.wrap(data, data.length - 8, 8).getLong();
-                long currentTime = System.currentTimeMillis();
-                if (potentialTimestamp > 0 && potentialTimestamp < currentTime + 86400000L * 365 * 130) {
-                    byte[] nbtData = new byte[data.length - 8];
-                    System.arraycopy(data, 0, nbtData, 0, nbtData.length);
-                    data = nbtData;
-                }
-            }
-            
-            return NbtIo.read(new DataInputStream(new java.io.ByteArrayInputStream(data)), 
-                           NbtAccounter.unlimitedHeap());
+            return parseChunkTag(ByteBuffer.wrap(data), regionFolder);
             
         } catch (Exception e) {
             TurboExceptionHandler.handleException("readFromLRF", 
@@ -232,21 +222,115 @@ public class TurboRegionFileStorage extends RegionFileStorage {
         }
     }
     
+    /**
+     * Parse a chunk tag from decompressed LRF data without copying it to the heap.
+     * Handles PackedBinaryNBT (TNBT magic) and standard NBT; bytes after the root tag (such as
+     * the save timestamp older versions appended) are never read.
+     * Key dictionaries referenced by TNBT records are loaded from {@code regionFolder}.
+     */
+    private static CompoundTag parseChunkTag(ByteBuffer data, Path regionFolder) throws IOException {
+        int start = data.position();
+        int length = data.remaining();
+        
+        // NEW: Support for PackedBinaryNBT (TNBT magic)
+        if (length > 5 && data.get(start) == 'T' && data.get(start + 1) == 'N' 
+                && data.get(start + 2) == 'B' && data.get(start + 3) == 'T') {
+            return com.turbomc.nbt.NBTConverter.fromBuffer(data, regionFolder);
+        }
+        
+        return NbtIo.read(new DataInputStream(new com.turbomc.nbt.ByteBufferInputStream(data.duplicate())), 
+                       NbtAccounter.unlimitedHeap());
+    }
+    
+    /**
+     * Stream selected fields of a chunk into a visitor without building the full tag tree.
+     * LRF chunks are scanned in place (TNBT subtrees the visitor skips are jumped over);
+     * chunks still in MCA files use the vanilla scanner.
+     */
+    @Override
+    public void scanChunk(ChunkPos pos, StreamTagVisitor visitor) throws IOException {
+        if (!useTurboFeatures) {
+            super.scanChunk(pos, visitor);
+            return;
+        }
+        
+        Path lrfRegionPath = regionFolder.resolve(String.format("r.%d.%d.lrf", pos.x >> 5, pos.z >> 5));
+        if (!java.nio.file.Files.exists(lrfRegionPath)) {
+            super.scanChunk(pos, visitor);
+            return;
+        }
+        
+        try (LRFChunkBuffer chunk = TurboStorageManager.getInstance().readChunkBuffer(lrfRegionPath, pos.x, pos.z)) {
+            if (chunk != null && chunk.size() > 0) {
+                scanChunkTag(chunk.getData(), visitor, regionFolder);
+            }
+        }
+    }
+    
+    /**
+     * Check whether a chunk has been saved. LRF regions answer from pending writes and the
+     * header; chunks still in MCA files are read.
+     */
+    public boolean chunkExists(ChunkPos pos) throws IOException {
+        if (useTurboFeatures) {
+            Path lrfRegionPath = regionFolder.resolve(String.format("r.%d.%d.lrf", pos.x >> 5, pos.z >> 5));
+            if (java.nio.file.Files.exists(lrfRegionPath)) {
+                return TurboStorageManager.getInstance().chunkExists(lrfRegionPath, pos.x, pos.z);
+            }
+        }
+        return read(pos) != null;
+    }
+    
+    /**
+     * Get a stored chunk's metadata (status, DataVersion, last save tick, size, checksum)
+     * from the LRF metadata table, without reading the chunk.
+     * 
+     * @return Metadata, or null if the chunk is not in an LRF region or has no entry
+     */
+    @Nullable
+    public LRFChunkMetadata getChunkMetadata(ChunkPos pos) throws IOException {
+        if (!useTurboFeatures) {
+            return null;
+        }
+        Path lrfRegionPath = regionFolder.resolve(String.format("r.%d.%d.lrf", pos.x >> 5, pos.z >> 5));
+        return TurboStorageManager.getInstance().getChunkMetadata(lrfRegionPath, pos.x, pos.z);
+    }
+    
+    /**
+     * Scan counterpart of {@link #parseChunkTag}.
+     */
+    private static void scanChunkTag(ByteBuffer data, StreamTagVisitor visitor, Path regionFolder) throws IOException {
+        int start = data.position();
+        if (data.remaining() > 5 && data.get(start) == 'T' && data.get(start + 1) == 'N'
+                && data.get(start + 2) == 'B' && data.get(start + 3) == 'T') {
+            com.turbomc.nbt.PackedNBTCodec.scan(data, visitor, regionFolder);
+            return;
+        }
+        NbtIo.parse(new DataInputStream(new com.turbomc.nbt.ByteBufferInputStream(data)), visitor,
+                    NbtAccounter.unlimitedHeap());
+    }
+    
     /**
      * Write chunk to LRF format with performance tracking.
      */
     private void writeToLRF(Path regionPath, ChunkPos pos, CompoundTag nbt) throws IOException {
+        writeToLRF(regionPath, pos, nbt, false);
+    }
+    
+    private void writeToLRF(Path regionPath, ChunkPos pos, CompoundTag nbt, boolean archive) throws IOException {
         long startTime = System.nanoTime();
         
         try {
             // OPTIMIZATION: Use PackedBinaryNBT for LRF storage instead of standard NBT
-            // This is significantly faster and smaller for chunk data
-            byte[] dataToWrite = com.turbomc.nbt.NBTConverter.toPackedBinary(nbt).toBytes();
+            // This is significantly faster and smaller for chunk data.
+            // Payload left uncompressed: the LRF frame compresses the chunk once.
+            byte[] dataToWrite = com.turbomc.nbt.NBTConverter.toUncompressedBytes(nbt, regionPath.getParent());
             
             // Hand off to Storage Manager (NON-BLOCKING)
             // We do NOT call future.get() here. The Storage Manager handles the write in its own pool.
             // Consistency is maintained via the inflightChunks cache in BatchSaver.
-            TurboStorageManager.getInstance().saveChunk(regionPath, pos.x, pos.z, dataToWrite);
+            TurboStorageManager.getInstance().saveChunk(regionPath, pos.x, pos.z, dataToWrite,
+                LRFChunkMetadata.forChunk(nbt, dataToWrite), archive);
             
             long elapsed = System.nanoTime() - startTime;
             if (verbose && elapsed > 500_000) { // Log if > 0.5ms (non-blocking should be nearly zero)
@@ -580,6 +664,91 @@ public class TurboRegionFileStorage extends RegionFileStorage {
         }
     }
     
+    /**
+     * Queue an LRF chunk load at a Moonrise chunk system priority, ahead of the chunk being read.
+     * Called by Moonrise's region I/O when it schedules a read; {@link #moonrise$readData} then
+     * joins the load instead of reading the chunk again.
+     *
+     * @return true if the chunk is stored in LRF and its load was queued
+     */
+    public boolean queueRead(int chunkX, int chunkZ, ca.spottedleaf.concurrentutil.util.Priority priority) {
+        Path lrfRegionPath = getLRFRegionPath(chunkX, chunkZ);
+        if (!useTurboFeatures || !java.nio.file.Files.exists(lrfRegionPath)) {
+            return false;
+        }
+        ChunkIORequestQueue.Priority loadPriority = ChunkIORequestQueue.Priority.fromMoonrise(priority);
+        try {
+            QueuedRead read = new QueuedRead(TurboStorageManager.getInstance().loadChunk(lrfRegionPath, chunkX, chunkZ, loadPriority), loadPriority);
+            QueuedRead previous = queuedReads.put(ChunkPos.asLong(chunkX, chunkZ), read);
+            if (previous != null) {
+                // Superseded before it was read, drop its waiter
+                TurboStorageManager.getInstance().cancelLoad(lrfRegionPath, chunkX, chunkZ, previous.priority);
+            }
+            return true;
+        } catch (Exception e) {
+            if (verbose) {
+                System.err.println("[TurboMC][RegionStorage] Failed to queue read of chunk " + chunkX + "," + chunkZ + ": " + e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Move a load queued by {@link #queueRead} to a new Moonrise chunk system priority, higher or lower.
+     *
+     * @return true if the load hadn't started and was moved
+     */
+    public boolean setReadPriority(int chunkX, int chunkZ, ca.spottedleaf.concurrentutil.util.Priority priority) {
+        QueuedRead read = queuedReads.get(ChunkPos.asLong(chunkX, chunkZ));
+        if (read == null) {
+            return false;
+        }
+        ChunkIORequestQueue.Priority loadPriority = ChunkIORequestQueue.Priority.fromMoonrise(priority);
+        synchronized (read) {
+            if (read.priority == loadPriority) {
+                return false;
+            }
+            boolean moved = TurboStorageManager.getInstance().setLoadPriority(
+                getLRFRegionPath(chunkX, chunkZ), chunkX, chunkZ, read.priority, loadPriority);
+            read.priority = loadPriority;
+            return moved;
+        }
+    }
+
+    /**
+     * Withdraw a load queued by {@link #queueRead}, for chunks nobody waits on any more.
+     * The load is only cancelled if no one else joined it.
+     *
+     * @return true if the load hadn't started
+     */
+    public boolean cancelRead(int chunkX, int chunkZ) {
+        QueuedRead read = queuedReads.remove(ChunkPos.asLong(chunkX, chunkZ));
+        if (read == null) {
+            return false;
+        }
+        synchronized (read) {
+            return TurboStorageManager.getInstance().cancelLoad(
+                getLRFRegionPath(chunkX, chunkZ), chunkX, chunkZ, read.priority);
+        }
+    }
+
+    /**
+     * A load queued for Moonrise and the priority its waiter currently holds.
+     */
+    private static final class QueuedRead {
+        private final CompletableFuture<LRFChunkEntry> future;
+        private ChunkIORequestQueue.Priority priority; // Guarded by this
+
+        private QueuedRead(CompletableFuture<LRFChunkEntry> future, ChunkIORequestQueue.Priority priority) {
+            this.future = future;
+            this.priority = priority;
+        }
+    }
+
+    private Path getLRFRegionPath(int chunkX, int chunkZ) {
+        return regionFolder.resolve(String.format("r.%d.%d.lrf", chunkX >> 5, chunkZ >> 5));
+    }
+
     /**
      * Add scanRegion method for compatibility.
      */
@@ -657,20 +826,25 @@ public class TurboRegionFileStorage extends RegionFileStorage {
         Path lrfRegionPath = regionFolder.resolve(String.format("r.%d.%d.lrf", chunkX >> 5, chunkZ >> 5));
 
         // If it's an LRF file, use the optimized Turbo motor
-        // Optimization v2.1: Use TurboStorageManager to check for in-flight or cached data BEFORE file check
+        // Optimization v2.1: Use TurboStorageManager to check for in-flight or cached data BEFORE file check.
+        // A load already queued for the chunk is joined and raised rather than read twice.
         TurboStorageManager manager = TurboStorageManager.getInstance();
-        if (manager.hasDataFor(lrfRegionPath, chunkX, chunkZ)) {
-            CompletableFuture<LRFChunkEntry> future = manager.loadChunk(lrfRegionPath, chunkX, chunkZ);
+        CompletableFuture<LRFChunkEntry> future = null;
+        QueuedRead queued = queuedReads.remove(pos.toLong());
+        if (queued != null) {
+            // Queued when Moonrise scheduled this read; the I/O thread now waits on it
+            synchronized (queued) {
+                manager.setLoadPriority(lrfRegionPath, chunkX, chunkZ, queued.priority, ChunkIORequestQueue.Priority.BLOCKING);
+            }
+            future = queued.future;
+        } else if (manager.hasDataFor(lrfRegionPath, chunkX, chunkZ) || manager.isLoadQueued(lrfRegionPath, chunkX, chunkZ)) {
+            future = manager.loadChunk(lrfRegionPath, chunkX, chunkZ, ChunkIORequestQueue.Priority.BLOCKING);
+        }
+        if (future != null) {
             try {
                 LRFChunkEntry chunk = future.get(5, java.util.concurrent.TimeUnit.SECONDS);
                 if (chunk != null) {
-                    CompoundTag tag;
-                    byte[] data = chunk.getData();
-                    if (data.length > 5 && data[0] == 'T' && data[1] == 'N' && data[2] == 'B' && data[3] == 'T') {
-                        tag = com.turbomc.nbt.NBTConverter.fromPackedBinary(com.turbomc.nbt.PackedBinaryNBT.fromBytes(data));
-                    } else {
-                        tag = NbtIo.read(new DataInputStream(new ByteArrayInputStream(data)), NbtAccounter.unlimitedHeap());
-                    }
+                    CompoundTag tag = parseChunkTag(ByteBuffer.wrap(chunk.getData()), regionFolder);
                     return new ca.spottedleaf.moonrise.patches.chunk_system.io.MoonriseRegionFileIO.RegionDataController.ReadData(
                         ca.spottedleaf.moonrise.patches.chunk_system.io.MoonriseRegionFileIO.RegionDataController.ReadData.ReadResult.SYNC_READ, null, tag, 0
                     );
@@ -681,25 +855,17 @@ public class TurboRegionFileStorage extends RegionFileStorage {
         }
 
         if (java.nio.file.Files.exists(lrfRegionPath)) {
-            // Read from LRF via StorageManager
-            CompletableFuture<LRFChunkEntry> future = TurboStorageManager.getInstance().loadChunk(lrfRegionPath, chunkX, chunkZ);
-            
-            try {
-                LRFChunkEntry chunk = future.get(5, java.util.concurrent.TimeUnit.SECONDS);
-                if (chunk == null || chunk.getData().length == 0) {
+            // Read from LRF via StorageManager: zero-copy from the region mapping, this is
+            // already a synchronous read on the I/O thread
+            try (LRFChunkBuffer chunk = manager.readChunkBuffer(lrfRegionPath, chunkX, chunkZ)) {
+                if (chunk == null || chunk.size() == 0) {
                     return new ca.spottedleaf.moonrise.patches.chunk_system.io.MoonriseRegionFileIO.RegionDataController.ReadData(
                         ca.spottedleaf.moonrise.patches.chunk_system.io.MoonriseRegionFileIO.RegionDataController.ReadData.ReadResult.NO_DATA, null, null, 0
                     );
                 }
 
                 // Convert data to CompoundTag (Fast path)
-                CompoundTag tag;
-                byte[] data = chunk.getData();
-                if (data.length > 5 && data[0] == 'T' && data[1] == 'N' && data[2] == 'B' && data[3] == 'T') {
-                    tag = com.turbomc.nbt.NBTConverter.fromPackedBinary(com.turbomc.nbt.PackedBinaryNBT.fromBytes(data));
-                } else {
-                    tag = NbtIo.read(new DataInputStream(new ByteArrayInputStream(data)), NbtAccounter.unlimitedHeap());
-                }
+                CompoundTag tag = parseChunkTag(chunk.getData(), regionFolder);
 
                 return new ca.spottedleaf.moonrise.patches.chunk_system.io.MoonriseRegionFileIO.RegionDataController.ReadData(
                     ca.spottedleaf.moonrise.patches.chunk_system.io.MoonriseRegionFileIO.RegionDataController.ReadData.ReadResult.SYNC_READ, null, tag, 0
@@ -757,8 +923,9 @@ public class TurboRegionFileStorage extends RegionFileStorage {
         Path regionPath = regionFolder.resolve(String.format("r.%d.%d.lrf", chunkX >> 5, chunkZ >> 5));
         
         if (writeData.input() != null) {
-            byte[] data = com.turbomc.nbt.NBTConverter.toPackedBinary(writeData.input()).toBytes();
-            TurboStorageManager.getInstance().saveChunk(regionPath, chunkX, chunkZ, data);
+            byte[] data = com.turbomc.nbt.NBTConverter.toUncompressedBytes(writeData.input(), regionFolder);
+            TurboStorageManager.getInstance().saveChunk(regionPath, chunkX, chunkZ, data,
+                LRFChunkMetadata.forChunk(writeData.input(), data), false);
             
             if (verbose) {
                 System.out.println("[TurboMC][RegionStorage] Hijacked Moonrise finishWrite for LRF: " + pos);
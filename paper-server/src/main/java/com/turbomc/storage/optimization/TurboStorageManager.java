@@ -1,21 +1,26 @@
 package com.turbomc.storage.optimization;
 
 import com.turbomc.config.TurboConfig;
-import com.turbomc.storage.integrity.ChunkIntegrityValidator.ChecksumAlgorithm;
 import com.turbomc.storage.batch.ChunkBatchLoader;
 import com.turbomc.storage.batch.ChunkBatchSaver;
 import com.turbomc.storage.mmap.MMapReadAheadEngine;
+import com.turbomc.storage.mmap.ReadAheadCoordinator;
 import com.turbomc.storage.integrity.ChunkIntegrityValidator;
+import com.turbomc.storage.integrity.LRFScrubber;
+import com.turbomc.storage.lrf.LRFChunkBuffer;
 import com.turbomc.storage.lrf.LRFChunkEntry;
+import com.turbomc.storage.lrf.LRFChunkMetadata;
 import com.turbomc.storage.lrf.LRFConstants;
 import com.turbomc.storage.lrf.LRFRegionReader;
 import com.turbomc.storage.lrf.LRFRegionWriter;
+import com.turbomc.storage.lrf.LRFRegionCompactor;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
@@ -41,7 +46,10 @@ public class TurboStorageManager implements AutoCloseable {
     private final ConcurrentHashMap<Path, MMapReadAheadEngine> readAheadEngines;
     private final ConcurrentHashMap<Path, LRFRegionReader> regionReaders;
     private final ConcurrentHashMap<Path, ChunkIntegrityValidator> integrityValidators;
-    private final ConcurrentHashMap<Path, SharedRegionResource> sharedResources;
+    
+    // Open regions, bounded by open files and mapped bytes; components of evicted regions are closed
+    private final RegionHandleCache handles;
+    private final ChunkIORequestQueue ioRequests;
     
     // Configuration
     private final TurboConfig config;
@@ -53,12 +61,9 @@ public class TurboStorageManager implements AutoCloseable {
     private final boolean mmapEnabled;
     private final boolean integrityEnabled;
     
-    // Global shared executors to prevent thread explosion per region
-    private ExecutorService globalLoadExecutor;
-    private ExecutorService globalWriteExecutor;
-    private ExecutorService globalCompressionExecutor;
-    private ExecutorService globalDecompressionExecutor;
-    private ExecutorService globalPrefetchExecutor; // Dedicated pool for prefetching
+    // All storage work runs on the shared scheduler's lanes; thread count is independent of open regions
+    private final StorageScheduler scheduler;
+    private java.util.concurrent.ScheduledFuture<?> compactionTask; // Online LRF compaction
     
     private TurboStorageManager(TurboConfig config) {
         this.config = config;
@@ -67,64 +72,26 @@ public class TurboStorageManager implements AutoCloseable {
         this.readAheadEngines = new ConcurrentHashMap<>();
         this.regionReaders = new ConcurrentHashMap<>();
         this.integrityValidators = new ConcurrentHashMap<>();
-        this.sharedResources = new ConcurrentHashMap<>();
         this.isInitialized = new AtomicBoolean(false);
         this.isClosed = new AtomicBoolean(false);
         
-        // Initialize global executors if batching is enabled
+        this.scheduler = StorageScheduler.shared();
+        this.handles = new RegionHandleCache(
+            config.getInt("storage.regions.max-open", 512),
+            config.getLong("storage.regions.max-mapped-mb", 4096L) * 1024 * 1024,
+            scheduler, this::closeComponents);
+        this.ioRequests = new ChunkIORequestQueue(scheduler);
+        
         if (config.getBoolean("storage.batch.enabled", true)) {
             // Set LRF verbosity
             LRFRegionWriter.setVerbose(config.getBoolean("storage.lrf.verbose", false));
             
-            int processors = Runtime.getRuntime().availableProcessors();
-            
-            // FIX: Cap thread counts to prevent explosion on high-core systems
-            final int MAX_LOAD_THREADS = 16;
-            final int MAX_WRITE_THREADS = 8;
-            final int MAX_COMPRESSION_THREADS = 16;
-            final int MAX_DECOMPRESSION_THREADS = 32;
-            
-            // Scalable thread pool sizes with caps
-            int loadThreads = Math.max(2, Math.min(config.getInt("storage.batch.global-load-threads", processors / 4), MAX_LOAD_THREADS));
-            int writeThreads = Math.max(1, Math.min(config.getInt("storage.batch.global-save-threads", processors / 8), MAX_WRITE_THREADS));
-            int compressionThreads = Math.max(2, Math.min(config.getInt("storage.batch.global-compression-threads", processors / 2), MAX_COMPRESSION_THREADS));
-            int decompressionThreads = Math.max(2, Math.min(config.getInt("storage.batch.global-decompression-threads", processors / 2), MAX_COMPRESSION_THREADS));
-            
-            // FIX: Create daemon threads to allow JVM shutdown
-            this.globalLoadExecutor = java.util.concurrent.Executors.newFixedThreadPool(loadThreads, r -> {
-                Thread t = new Thread(r, "Turbo-Global-LoadPool");
-                t.setDaemon(true);  // CRITICAL: Allow JVM to shutdown
-                return t;
-            });
-            
-            this.globalWriteExecutor = java.util.concurrent.Executors.newFixedThreadPool(writeThreads, r -> {
-                Thread t = new Thread(r, "Turbo-Global-WritePool");
-                t.setDaemon(true);
-                return t;
-            });
-            
-            this.globalCompressionExecutor = java.util.concurrent.Executors.newFixedThreadPool(compressionThreads, r -> {
-                Thread t = new Thread(r, "Turbo-Global-CompressionPool");
-                t.setDaemon(true);
-                return t;
-            });
-            
-            this.globalDecompressionExecutor = java.util.concurrent.Executors.newFixedThreadPool(decompressionThreads, r -> {
-                Thread t = new Thread(r, "Turbo-Global-DecompressionPool");
-                t.setDaemon(true);
-                return t;
-            });
-            
-            // Dedicated prefetch pool - lower priority
-            this.globalPrefetchExecutor = java.util.concurrent.Executors.newFixedThreadPool(Math.max(2, loadThreads), r -> {
-                Thread t = new Thread(r, "Turbo-Global-PrefetchPool");
-                t.setDaemon(true);
-                t.setPriority(Thread.MIN_PRIORITY); // Background priority
-                return t;
-            });
-                
-            System.out.println("[TurboMC][Storage] Global thread pools initialized (" + 
-                loadThreads + "L, " + writeThreads + "W, " + compressionThreads + "C, " + decompressionThreads + "D, " + Math.max(2, loadThreads) + "P)");
+            // Online compaction of fragmented regions (moves themselves run on the write lane)
+            if (config.getBoolean("storage.lrf.compaction-enabled", true)) {
+                long interval = Math.max(10, config.getLong("storage.lrf.compaction-interval-seconds", 300L));
+                this.compactionTask = scheduler.scheduleWithFixedDelay(StorageScheduler.Lane.MAINTENANCE,
+                    StorageScheduler.Priority.BACKGROUND, this::compactRegions, interval, interval, TimeUnit.SECONDS);
+            }
         }
         
         // Load feature flags from configuration
@@ -197,7 +164,7 @@ public class TurboStorageManager implements AutoCloseable {
         // Check MMap cache
         if (mmapEnabled) {
             MMapReadAheadEngine engine = readAheadEngines.get(finalPath);
-            if (engine != null && engine.isCached(chunkX, chunkZ)) {
+            if (engine != null && (engine.isCached(chunkX, chunkZ) || engine.isReadAheadResident(chunkX, chunkZ))) {
                 return true;
             }
         }
@@ -213,6 +180,63 @@ public class TurboStorageManager implements AutoCloseable {
         return false;
     }
 
+    /**
+     * Check whether a chunk has been saved, from pending writes and the region header only.
+     */
+    public boolean chunkExists(Path regionPath, int chunkX, int chunkZ) throws IOException {
+        if (isClosed.get()) return false;
+        Path finalPath = normalizePath(regionPath);
+        
+        if (batchEnabled) {
+            ChunkBatchSaver saver = batchSavers.get(finalPath);
+            if (saver != null && saver.hasPendingChunk(chunkX, chunkZ)) {
+                return true;
+            }
+        }
+        
+        if (!Files.exists(finalPath)) {
+            return false;
+        }
+        RegionHandleCache.Handle handle = handles.acquire(finalPath);
+        try {
+            return handle.getResource().getHeader().hasChunk(chunkX, chunkZ);
+        } finally {
+            handles.release(handle);
+        }
+    }
+    
+    /**
+     * Get a chunk's metadata (status, DataVersion, last save, size, checksum) without reading its data.
+     * Pending writes report the metadata they will be saved with.
+     * 
+     * @return Metadata, or null if the chunk doesn't exist or its region has no entry for it
+     */
+    public LRFChunkMetadata getChunkMetadata(Path regionPath, int chunkX, int chunkZ) throws IOException {
+        if (isClosed.get()) return null;
+        Path finalPath = normalizePath(regionPath);
+        
+        if (batchEnabled) {
+            ChunkBatchSaver saver = batchSavers.get(finalPath);
+            if (saver != null) {
+                LRFChunkEntry pendingChunk = saver.getPendingChunk(chunkX, chunkZ);
+                if (pendingChunk != null) {
+                    return pendingChunk.getMetadata() != null
+                        ? pendingChunk.getMetadata() : LRFChunkMetadata.forData(pendingChunk.getData());
+                }
+            }
+        }
+        
+        if (!Files.exists(finalPath)) {
+            return null;
+        }
+        RegionHandleCache.Handle handle = handles.acquire(finalPath);
+        try {
+            return handle.getResource().readChunkMetadata(chunkX, chunkZ);
+        } finally {
+            handles.release(handle);
+        }
+    }
+
     /**
      * Load a chunk using all available optimizations.
      * This is the main entry point for chunk loading.
@@ -223,12 +247,164 @@ public class TurboStorageManager implements AutoCloseable {
      * @return CompletableFuture that completes with the chunk data
      */
     public CompletableFuture<LRFChunkEntry> loadChunk(Path regionPath, int chunkX, int chunkZ) {
+        return loadChunk(regionPath, chunkX, chunkZ, ChunkIORequestQueue.Priority.NORMAL);
+    }
+    
+    /**
+     * Load a chunk at a given priority.
+     * Chunks in memory (pending writes, read-ahead cache) are served right away; disk reads
+     * wait in the I/O request queue, where they can still be raised or cancelled.
+     * 
+     * @param regionPath Path to the region file
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @param priority Load priority
+     * @return CompletableFuture that completes with the chunk data; cancelled if the load is cancelled before its read starts
+     */
+    public CompletableFuture<LRFChunkEntry> loadChunk(Path regionPath, int chunkX, int chunkZ,
+                                                      ChunkIORequestQueue.Priority priority) {
         if (isClosed.get()) {
             throw new IllegalStateException("Storage manager is closed");
         }
         
         final Path finalPath = normalizePath(regionPath);
+        if (hasDataFor(finalPath, chunkX, chunkZ)) {
+            return loadChunkNow(finalPath, chunkX, chunkZ);
+        }
         
+        CompletableFuture<LRFChunkEntry> future = ioRequests.submit(finalPath, chunkX, chunkZ, priority,
+            () -> readChunkQueued(finalPath, chunkX, chunkZ));
+        if (!integrityEnabled) {
+            return future;
+        }
+        return future.thenCompose(chunk -> {
+            if (chunk == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return validateChunk(finalPath, chunkX, chunkZ, chunk.getData())
+                .thenApply(report -> {
+                    if (report.isCorrupted()) {
+                        System.err.println("[TurboMC][Storage] Chunk corruption detected: " + 
+                                         report.getMessage());
+                    }
+                    return chunk;
+                });
+        });
+    }
+    
+    /**
+     * Raise the priority of a queued chunk load that hasn't started reading yet.
+     * 
+     * @return true if the load was waiting at a lower priority
+     */
+    public boolean raiseLoadPriority(Path regionPath, int chunkX, int chunkZ, ChunkIORequestQueue.Priority priority) {
+        return ioRequests.raisePriority(normalizePath(regionPath), chunkX, chunkZ, priority);
+    }
+    
+    /**
+     * Move one waiter of a queued chunk load that hasn't started reading from one priority to another.
+     * 
+     * @return true if the load was waiting with a waiter at {@code from}
+     */
+    public boolean setLoadPriority(Path regionPath, int chunkX, int chunkZ,
+                                   ChunkIORequestQueue.Priority from, ChunkIORequestQueue.Priority to) {
+        return ioRequests.setPriority(normalizePath(regionPath), chunkX, chunkZ, from, to);
+    }
+    
+    /**
+     * Withdraw the least urgent waiter of a queued chunk load that hasn't started reading yet,
+     * e.g. because the chunk was unloaded. The load is cancelled once no waiter is left.
+     * 
+     * @return true if the load was waiting
+     */
+    public boolean cancelLoad(Path regionPath, int chunkX, int chunkZ) {
+        return ioRequests.cancel(normalizePath(regionPath), chunkX, chunkZ);
+    }
+    
+    /**
+     * Withdraw a waiter that loaded the chunk at {@code priority}. The load is cancelled once
+     * no waiter is left, otherwise it continues at the highest priority still asked for.
+     * 
+     * @return true if the load was waiting
+     */
+    public boolean cancelLoad(Path regionPath, int chunkX, int chunkZ, ChunkIORequestQueue.Priority priority) {
+        return ioRequests.cancel(normalizePath(regionPath), chunkX, chunkZ, priority);
+    }
+    
+    /**
+     * Check whether a load for the chunk is queued or reading.
+     */
+    public boolean isLoadQueued(Path regionPath, int chunkX, int chunkZ) {
+        return ioRequests.isQueued(normalizePath(regionPath), chunkX, chunkZ);
+    }
+    
+    /**
+     * Read a queued chunk on the read lane worker running the request.
+     */
+    private LRFChunkEntry readChunkQueued(Path finalPath, int chunkX, int chunkZ) {
+        RegionHandleCache.Handle handle;
+        try {
+            handle = handles.acquire(finalPath);
+        } catch (IOException e) {
+            System.err.println("[TurboMC][Storage] Failed to open region " + finalPath.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+        try {
+            if (mmapEnabled) {
+                MMapReadAheadEngine mmapEngine = getReadAheadEngine(finalPath);
+                if (mmapEngine != null) {
+                    try {
+                        byte[] data = mmapEngine.readChunk(chunkX, chunkZ);
+                        if (data != null) {
+                            return new LRFChunkEntry(chunkX, chunkZ, data);
+                        }
+                    } catch (IOException e) {
+                        System.err.println("[TurboMC][Storage] MMap read failed, falling back to batch loader: " + e.getMessage());
+                    }
+                }
+            }
+            
+            if (batchEnabled) {
+                // Saved while the request was waiting
+                ChunkBatchSaver saver = batchSavers.get(finalPath);
+                if (saver != null) {
+                    LRFChunkEntry pendingChunk = saver.getPendingChunk(chunkX, chunkZ);
+                    if (pendingChunk != null) {
+                        return pendingChunk;
+                    }
+                }
+                
+                ChunkBatchLoader loader = getBatchLoader(finalPath);
+                if (loader != null) {
+                    return loader.readChunkNow(chunkX, chunkZ);
+                }
+            }
+            
+            LRFRegionReader reader = getRegionReader(finalPath);
+            return reader != null ? reader.readChunk(chunkX, chunkZ) : null;
+        } catch (IOException e) {
+            System.err.println("[TurboMC][Storage] Failed to load chunk " + chunkX + "," + chunkZ + ": " + e.getMessage());
+            return null;
+        } finally {
+            handles.release(handle);
+        }
+    }
+    
+    /**
+     * Load a chunk without going through the I/O request queue.
+     */
+    private CompletableFuture<LRFChunkEntry> loadChunkNow(final Path finalPath, int chunkX, int chunkZ) {
+        RegionHandleCache.Handle handle;
+        try {
+            handle = handles.acquire(finalPath);
+        } catch (IOException e) {
+            System.err.println("[TurboMC][Storage] Failed to open region " + finalPath.getFileName() + ": " + e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        return releaseWhenDone(handle, () -> loadChunkPinned(finalPath, chunkX, chunkZ));
+    }
+    
+    private CompletableFuture<LRFChunkEntry> loadChunkPinned(final Path finalPath, int chunkX, int chunkZ) {
         // Try memory-mapped read-ahead first (fastest)
         if (mmapEnabled) {
             MMapReadAheadEngine mmapEngine = getReadAheadEngine(finalPath);
@@ -300,19 +476,98 @@ public class TurboStorageManager implements AutoCloseable {
         // Final fallback to direct LRF reader
         return CompletableFuture.supplyAsync(() -> {
             try {
-                SharedRegionResource resource = getSharedResource(finalPath);
-                LRFRegionReader reader = getRegionReader(finalPath);
-                if (reader != null) {
-                    return reader.readChunk(chunkX, chunkZ);
+                RegionHandleCache.Handle pinned = pinRegion(finalPath);
+                try {
+                    LRFRegionReader reader = getRegionReader(finalPath);
+                    if (reader != null) {
+                        return reader.readChunk(chunkX, chunkZ);
+                    }
+                    return null;
+                } finally {
+                    handles.release(pinned);
                 }
-                return null;
             } catch (IOException e) {
                 System.err.println("[TurboMC][Storage] Failed to load chunk " + chunkX + "," + chunkZ + ": " + e.getMessage());
                 return null;
             }
-        }, globalLoadExecutor);
+        }, scheduler.executor(StorageScheduler.Lane.READ, StorageScheduler.Priority.URGENT));
     }
     
+    /**
+     * Read a chunk on the calling thread without intermediate copies.
+     * Pending writes and read-ahead cached chunks are served from memory; otherwise the
+     * chunk is decompressed straight from the region mapping into a pooled direct buffer.
+     *
+     * @param regionPath Path to the region file
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return Borrowed chunk data that the caller must close, or null if the chunk doesn't exist
+     * @throws IOException if the read fails
+     */
+    public LRFChunkBuffer readChunkBuffer(Path regionPath, int chunkX, int chunkZ) throws IOException {
+        if (isClosed.get()) {
+            throw new IllegalStateException("Storage manager is closed");
+        }
+
+        final Path finalPath = normalizePath(regionPath);
+        RegionHandleCache.Handle handle = handles.acquire(finalPath);
+        try {
+            return readChunkBufferPinned(finalPath, chunkX, chunkZ);
+        } finally {
+            handles.release(handle);
+        }
+    }
+
+    private LRFChunkBuffer readChunkBufferPinned(final Path finalPath, int chunkX, int chunkZ) throws IOException {
+        // Read-your-writes: pending saves win over anything on disk
+        if (batchEnabled) {
+            ChunkBatchSaver saver = batchSavers.get(finalPath);
+            if (saver != null) {
+                LRFChunkEntry pendingChunk = saver.getPendingChunk(chunkX, chunkZ);
+                if (pendingChunk != null) {
+                    return LRFChunkBuffer.wrap(chunkX, chunkZ, pendingChunk.getData());
+                }
+            }
+        }
+
+        if (mmapEnabled) {
+            MMapReadAheadEngine mmapEngine = readAheadEngines.get(finalPath);
+            if (mmapEngine != null && mmapEngine.isCached(chunkX, chunkZ)) {
+                byte[] data = mmapEngine.readChunk(chunkX, chunkZ);
+                if (data != null) {
+                    return LRFChunkBuffer.wrap(chunkX, chunkZ, data);
+                }
+            }
+        }
+
+        LRFRegionReader reader = getRegionReader(finalPath);
+        if (reader == null) {
+            return null;
+        }
+
+        LRFChunkBuffer chunk = reader.readChunkBuffer(chunkX, chunkZ);
+        if (mmapEnabled) {
+            // Let read-ahead follow reads that bypass the engine
+            MMapReadAheadEngine mmapEngine = getReadAheadEngine(finalPath);
+            if (mmapEngine != null) {
+                mmapEngine.recordAccess(chunkX, chunkZ);
+            }
+        }
+        if (chunk != null && integrityEnabled) {
+            // The buffer is borrowed, so validate before handing it out rather than asynchronously
+            ChunkIntegrityValidator validator = getIntegrityValidator(finalPath);
+            if (validator != null) {
+                // Entry read with the reader's header, so it describes the frame that was just read
+                ChunkIntegrityValidator.IntegrityReport report = validator.validateChunkNow(chunkX, chunkZ, chunk.getData(),
+                    reader.readMetadata(chunkX, chunkZ));
+                if (report.isCorrupted()) {
+                    System.err.println("[TurboMC][Storage] Chunk corruption detected: " + report.getMessage());
+                }
+            }
+        }
+        return chunk;
+    }
+
     /**
      * Save a chunk using all available optimizations.
      * This is the main entry point for chunk saving.
@@ -324,6 +579,23 @@ public class TurboStorageManager implements AutoCloseable {
      * @return CompletableFuture that completes when the chunk is saved
      */
     public CompletableFuture<Void> saveChunk(Path regionPath, int chunkX, int chunkZ, byte[] data) {
+        return saveChunk(regionPath, chunkX, chunkZ, data, false);
+    }
+    
+    /**
+     * Save a chunk, optionally as an archive write (a rewrite that only improves compression).
+     */
+    public CompletableFuture<Void> saveChunk(Path regionPath, int chunkX, int chunkZ, byte[] data, boolean archive) {
+        return saveChunk(regionPath, chunkX, chunkZ, data, null, archive);
+    }
+    
+    /**
+     * Save a chunk together with the entry for the region's metadata table.
+     * 
+     * @param metadata Metadata of {@code data}, or null to record only size and checksum
+     */
+    public CompletableFuture<Void> saveChunk(Path regionPath, int chunkX, int chunkZ, byte[] data,
+                                             LRFChunkMetadata metadata, boolean archive) {
         if (isClosed.get()) {
             throw new IllegalStateException("Storage manager is closed");
         }
@@ -334,25 +606,33 @@ public class TurboStorageManager implements AutoCloseable {
         byte[] dataCopy = new byte[data.length];
         System.arraycopy(data, 0, dataCopy, 0, data.length);
         
-        LRFChunkEntry chunk = new LRFChunkEntry(chunkX, chunkZ, dataCopy);
-        return saveChunkInternal(finalPath, chunk);
+        LRFChunkEntry chunk = new LRFChunkEntry(chunkX, chunkZ, dataCopy, metadata);
+        RegionHandleCache.Handle handle;
+        try {
+            handle = handles.acquire(finalPath);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        // Pinned until written, so the region is never evicted with the save pending
+        return releaseWhenDone(handle, () -> saveChunkInternal(finalPath, chunk, archive));
     }
     
     /**
      * Internal chunk saving method.
      */
-    private CompletableFuture<Void> saveChunkInternal(final Path finalPath, LRFChunkEntry chunk) {
+    private CompletableFuture<Void> saveChunkInternal(final Path finalPath, LRFChunkEntry chunk, boolean archive) {
         if (batchEnabled) {
             ChunkBatchSaver saver = getBatchSaver(finalPath);
             if (saver != null) {
-                return saver.saveChunk(chunk);
+                return saver.saveChunk(chunk, archive);
             }
         }
         
         // Fallback to direct LRF writer
         return CompletableFuture.runAsync(() -> {
             try {
-                SharedRegionResource resource = getSharedResource(finalPath);
+                RegionHandleCache.Handle pinned = pinRegion(finalPath);
+                SharedRegionResource resource = pinned.getResource();
                 try (LRFRegionWriter writer = new LRFRegionWriter(resource, chunk.getData() != null ? LRFConstants.COMPRESSION_LZ4 : LRFConstants.COMPRESSION_NONE)) {
                     writer.addChunk(chunk);
                     writer.flush();
@@ -363,16 +643,15 @@ public class TurboStorageManager implements AutoCloseable {
                             validator.updateChecksum(chunk.getChunkX(), chunk.getChunkZ(), chunk.getData());
                         }
                     }
-                    
-                    // Invalidate header cache
-                    resource.invalidateHeader();
+                } finally {
+                    handles.release(pinned);
                 }
             } catch (IOException e) {
                 System.err.println("[TurboMC][Storage] Failed to save chunk " + 
                                  chunk.getChunkX() + "," + chunk.getChunkZ() + ": " + e.getMessage());
                 throw new RuntimeException(e);
             }
-        }, globalWriteExecutor);
+        }, scheduler.executor(StorageScheduler.Lane.WRITE, StorageScheduler.Priority.BACKGROUND));
     }
     
     /**
@@ -400,9 +679,19 @@ public class TurboStorageManager implements AutoCloseable {
     public CompletableFuture<java.util.List<LRFChunkEntry>> loadChunks(Path regionPath, java.util.List<int[]> chunkCoords) {
         regionPath = normalizePath(regionPath);
         if (batchEnabled) {
-            ChunkBatchLoader loader = getBatchLoader(regionPath);
-            if (loader != null) {
-                return loader.loadChunks(chunkCoords);
+            RegionHandleCache.Handle handle;
+            try {
+                handle = handles.acquire(regionPath);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            Path finalPath = regionPath;
+            CompletableFuture<java.util.List<LRFChunkEntry>> batch = releaseWhenDone(handle, () -> {
+                ChunkBatchLoader loader = getBatchLoader(finalPath);
+                return loader != null ? loader.loadChunks(chunkCoords) : null;
+            });
+            if (batch != null) {
+                return batch;
             }
         }
         
@@ -459,13 +748,20 @@ public class TurboStorageManager implements AutoCloseable {
         Path finalPath = normalizePath(regionPath);
         return batchLoaders.computeIfAbsent(finalPath, path -> {
             try {
-                SharedRegionResource resource = getSharedResource(path);
-                int batchSize = config.getInt("storage.batch.batch-size", 32);
-                int maxConcurrentLoads = config.getInt("storage.batch.max-concurrent-loads", 64);
+                RegionHandleCache.Handle pinned = pinRegion(path);
+                try {
+                    SharedRegionResource resource = pinned.getResource();
+                    int batchSize = config.getInt("storage.batch.batch-size", 32);
+                    int maxConcurrentLoads = config.getInt("storage.batch.max-concurrent-loads", 64);
                 
-                // Use global shared executors
-                return new ChunkBatchLoader(resource, globalLoadExecutor, globalDecompressionExecutor,
-                                           batchSize, maxConcurrentLoads);
+                    // Chunk loads block their requester
+                    return new ChunkBatchLoader(resource,
+                                               scheduler.executor(StorageScheduler.Lane.READ, StorageScheduler.Priority.URGENT),
+                                               scheduler.executor(StorageScheduler.Lane.DECOMPRESS, StorageScheduler.Priority.URGENT),
+                                               batchSize, maxConcurrentLoads);
+                } finally {
+                    handles.release(pinned);
+                }
             } catch (IOException e) {
                 System.err.println("[TurboMC][Storage] Failed to create batch loader for " + path + ": " + e.getMessage());
                 return null;
@@ -482,32 +778,35 @@ public class TurboStorageManager implements AutoCloseable {
         Path finalPath = normalizePath(regionPath);
         return batchSavers.computeIfAbsent(finalPath, path -> {
             try {
-                SharedRegionResource resource = getSharedResource(path);
-                int batchSize = config.getInt("storage.batch.batch-size", 32);
-                long autoFlushDelay = config.getLong("storage.batch.auto-flush-delay", 500);
-                int compressionType = LRFConstants.COMPRESSION_LZ4; // Default to LZ4
+                RegionHandleCache.Handle pinned = pinRegion(path);
+                try {
+                    SharedRegionResource resource = pinned.getResource();
+                    int batchSize = config.getInt("storage.batch.batch-size", 32);
+                    long autoFlushDelay = config.getLong("storage.batch.auto-flush-delay", 500);
+                    int compressionType = LRFConstants.COMPRESSION_LZ4; // Default to LZ4
                 
-                // Use global shared executors
-                ChunkBatchSaver saver = new ChunkBatchSaver(resource, compressionType, globalCompressionExecutor, 
-                                         globalWriteExecutor, batchSize, autoFlushDelay);
+                    ChunkBatchSaver saver = new ChunkBatchSaver(resource, compressionType,
+                                             scheduler.executor(StorageScheduler.Lane.COMPRESS, StorageScheduler.Priority.BACKGROUND),
+                                             scheduler.executor(StorageScheduler.Lane.WRITE, StorageScheduler.Priority.BACKGROUND),
+                                             batchSize, autoFlushDelay);
                 
-                // Unified post-flush action for extreme efficiency
-                saver.setPostFlushAction((chunks) -> {
-                    // Update integrity checksums for all chunks in batch AT ONCE
-                    if (integrityEnabled) {
-                        ChunkIntegrityValidator validator = getIntegrityValidator(path);
-                        if (validator != null) {
-                            for (LRFChunkEntry chunk : chunks) {
-                                validator.updateChecksum(chunk.getChunkX(), chunk.getChunkZ(), chunk.getData());
+                    // Unified post-flush action for extreme efficiency
+                    saver.setPostFlushAction((chunks) -> {
+                        // Update integrity checksums for all chunks in batch AT ONCE
+                        if (integrityEnabled) {
+                            ChunkIntegrityValidator validator = getIntegrityValidator(path);
+                            if (validator != null) {
+                                for (LRFChunkEntry chunk : chunks) {
+                                    validator.updateChecksum(chunk.getChunkX(), chunk.getChunkZ(), chunk.getData());
+                                }
                             }
                         }
-                    }
-                    
-                    // Invalidate header cache ONCE per batch flush
-                    resource.invalidateHeader();
-                });
+                    });
                 
-                return saver;
+                    return saver;
+                } finally {
+                    handles.release(pinned);
+                }
             } catch (IOException e) {
                 System.err.println("[TurboMC][Storage] Failed to create batch saver for " + path + ": " + e.getMessage());
                 return null;
@@ -524,18 +823,23 @@ public class TurboStorageManager implements AutoCloseable {
         Path finalPath = normalizePath(regionPath);
         return readAheadEngines.computeIfAbsent(finalPath, path -> {
             try {
-                SharedRegionResource resource = getSharedResource(path);
-                int maxCacheSize = config.getInt("storage.mmap.max-cache-size", 512);
-                int prefetchDistance = config.getInt("storage.mmap.prefetch-distance", 8);
-                int prefetchBatchSize = config.getInt("storage.mmap.prefetch-batch-size", 32);
-                long maxMemoryUsage = config.getLong("storage.mmap.max-memory-usage", 256) * 1024 * 1024; // MB to bytes
+                RegionHandleCache.Handle pinned = pinRegion(path);
+                try {
+                    SharedRegionResource resource = pinned.getResource();
+                    int maxCacheSize = config.getInt("storage.mmap.max-cache-size", 512);
+                    int prefetchDistance = config.getInt("storage.mmap.prefetch-distance", 8);
+                    int prefetchBatchSize = config.getInt("storage.mmap.prefetch-batch-size", 32);
+                    long maxMemoryUsage = config.getLong("storage.mmap.max-memory-usage", 256) * 1024 * 1024; // MB to bytes
                 
-                boolean predictive = config.getBoolean("storage.mmap.predictive-enabled", true);
-                int predictionScale = config.getInt("storage.mmap.prediction-scale", 12);
+                    boolean predictive = config.getBoolean("storage.mmap.predictive-enabled", true);
+                    int predictionScale = config.getInt("storage.mmap.prediction-scale", 12);
                 
-                return new MMapReadAheadEngine(resource, maxCacheSize, prefetchDistance, 
-                                             prefetchBatchSize, maxMemoryUsage, predictive, predictionScale,
-                                             globalPrefetchExecutor);
+                    return new MMapReadAheadEngine(resource, maxCacheSize, prefetchDistance, 
+                                                 prefetchBatchSize, maxMemoryUsage, predictive, predictionScale,
+                                                 ReadAheadCoordinator.shared());
+                } finally {
+                    handles.release(pinned);
+                }
             } catch (IOException e) {
                 System.err.println("[TurboMC][Storage] Failed to create MMap engine for " + path + ": " + e.getMessage());
                 return null;
@@ -550,8 +854,13 @@ public class TurboStorageManager implements AutoCloseable {
         Path finalPath = normalizePath(regionPath);
         return regionReaders.computeIfAbsent(finalPath, path -> {
             try {
-                SharedRegionResource resource = getSharedResource(path);
-                return new LRFRegionReader(resource);
+                RegionHandleCache.Handle pinned = pinRegion(path);
+                try {
+                    SharedRegionResource resource = pinned.getResource();
+                    return new LRFRegionReader(resource);
+                } finally {
+                    handles.release(pinned);
+                }
             } catch (IOException e) {
                 System.err.println("[TurboMC][Storage] Failed to create region reader for " + path + ": " + e.getMessage());
                 return null;
@@ -567,36 +876,16 @@ public class TurboStorageManager implements AutoCloseable {
         
         Path finalPath = normalizePath(regionPath);
         return integrityValidators.computeIfAbsent(finalPath, path -> {
-            String primaryAlgorithmName = config.getString("storage.integrity.primary-algorithm", "crc32c");
-            String backupAlgorithmName = config.getString("storage.integrity.backup-algorithm", "sha256");
+            boolean persistentChecksums = config.getBoolean("storage.integrity.persistent-checksums", true);
             boolean autoRepair = config.getBoolean("storage.integrity.auto-repair", true);
             int validationThreads = config.getInt("storage.integrity.validation-threads", 2);
             long validationInterval = config.getLong("storage.integrity.validation-interval", 300000);
             
-            ChecksumAlgorithm primaryAlgorithm = parseChecksumAlgorithm(primaryAlgorithmName);
-            ChecksumAlgorithm backupAlgorithm = parseChecksumAlgorithm(backupAlgorithmName);
-            
-            return new ChunkIntegrityValidator(path, primaryAlgorithm, backupAlgorithm, 
-                                             autoRepair, validationThreads, validationInterval);
+            return new ChunkIntegrityValidator(path, persistentChecksums, autoRepair, 
+                                             validationThreads, validationInterval);
         });
     }
     
-    /**
-     * Parse checksum algorithm name.
-     */
-    private ChecksumAlgorithm parseChecksumAlgorithm(String name) {
-        if (name == null || name.equalsIgnoreCase("null") || name.equalsIgnoreCase("none")) {
-            return null;
-        }
-        
-        try {
-            return ChecksumAlgorithm.valueOf(name.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            System.err.println("[TurboMC][Storage] Unknown checksum algorithm: " + name + ", using CRC32C");
-            return ChecksumAlgorithm.CRC32C;
-        }
-    }
-    
     /**
      * Get comprehensive statistics from all components.
      */
@@ -649,8 +938,17 @@ public class TurboStorageManager implements AutoCloseable {
      * Call this when a world is unloaded.
      */
     public void closeRegion(Path regionPath) {
+        regionPath = normalizePath(regionPath);
+        handles.close(regionPath);
+        System.out.println("[TurboMC][Storage] Closed storage components for: " + regionPath.getFileName());
+    }
+    
+    /**
+     * Close the components built on a region's resource; pending saves are flushed first.
+     * Called by the handle cache when the region is closed or evicted.
+     */
+    private void closeComponents(Path regionPath) {
         try {
-            regionPath = normalizePath(regionPath);
             ChunkBatchLoader loader = batchLoaders.remove(regionPath);
             if (loader != null) {
                 loader.close();
@@ -675,33 +973,59 @@ public class TurboStorageManager implements AutoCloseable {
             if (validator != null) {
                 validator.close();
             }
-            
-            SharedRegionResource resource = sharedResources.remove(regionPath);
-            if (resource != null) {
-                resource.close();
-            }
-            
-            System.out.println("[TurboMC][Storage] Closed storage components for: " + regionPath.getFileName());
         } catch (IOException e) {
             System.err.println("[TurboMC][Storage] Error closing region " + regionPath + ": " + e.getMessage());
         }
     }
     
     /**
-     * Get or create a shared resource for a region.
+     * Pin a region, opening it if needed. The handle's resource stays open until the
+     * caller {@link RegionHandleCache#release(RegionHandleCache.Handle) releases} it,
+     * so release it only after the I/O on the resource is done.
      */
-    private SharedRegionResource getSharedResource(Path regionPath) throws IOException {
-        Path finalPath = normalizePath(regionPath);
-        SharedRegionResource resource = sharedResources.get(finalPath);
-        if (resource == null) {
-            resource = new SharedRegionResource(finalPath);
-            SharedRegionResource existing = sharedResources.putIfAbsent(finalPath, resource);
-            if (existing != null) {
-                resource.close(); // Not needed
-                resource = existing;
+    private RegionHandleCache.Handle pinRegion(Path regionPath) throws IOException {
+        return handles.acquire(normalizePath(regionPath));
+    }
+    
+    /**
+     * Run an asynchronous operation on a pinned region and unpin it once the operation completes.
+     */
+    private <T> CompletableFuture<T> releaseWhenDone(RegionHandleCache.Handle handle,
+                                                     java.util.function.Supplier<CompletableFuture<T>> operation) {
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException e) {
+            handles.release(handle);
+            throw e;
+        }
+        if (future == null) {
+            handles.release(handle);
+            return null;
+        }
+        return future.whenComplete((result, error) -> handles.release(handle));
+    }
+    
+    /**
+     * Compact fragmented regions that are open for writing.
+     * Each region is compacted on the write pool, so saves to it keep their ordering.
+     */
+    private void compactRegions() {
+        if (isClosed.get()) return;
+        
+        double minFragmentation = config.getDouble("storage.lrf.compaction-min-fragmentation", 0.25);
+        int maxMoves = config.getInt("storage.lrf.compaction-max-moves", 256);
+        
+        for (ChunkBatchSaver saver : batchSavers.values()) {
+            try {
+                LRFRegionCompactor.CompactionResult result = saver.compact(minFragmentation, maxMoves).get(60, TimeUnit.SECONDS);
+                if (result != null && result.chunksMoved > 0 && LRFRegionWriter.isVerbose()) {
+                    System.out.println("[TurboMC][Storage] Compacted region: " + result);
+                }
+            } catch (Exception e) {
+                System.err.println("[TurboMC][Storage] Region compaction failed: " + e.getMessage());
             }
         }
-        return resource;
     }
     
     /**
@@ -717,6 +1041,10 @@ public class TurboStorageManager implements AutoCloseable {
         if (isClosed.compareAndSet(false, true)) {
             System.out.println("[TurboMC][Storage] Shutting down storage manager...");
             
+            // Close every open region, flushing pending saves
+            handles.closeAll();
+            System.out.println("[TurboMC][Storage] Region handles: " + handles.getStats());
+            
             // FIXED: Add exception handling for resource cleanup
             for (ChunkBatchLoader loader : batchLoaders.values()) {
                 try {
@@ -765,55 +1093,47 @@ public class TurboStorageManager implements AutoCloseable {
             regionReaders.clear();
             integrityValidators.clear();
             
-            // Shut down global executors
-            shutdownExecutor(globalLoadExecutor, "LoadPool");
-            shutdownExecutor(globalWriteExecutor, "WritePool");
-            shutdownExecutor(globalCompressionExecutor, "CompressionPool");
-            shutdownExecutor(globalDecompressionExecutor, "DecompressionPool");
-            shutdownExecutor(globalPrefetchExecutor, "PrefetchPool");
+            // Stop background work, then the scheduler once queued writes have run
+            if (compactionTask != null) {
+                compactionTask.cancel(false);
+            }
+            ReadAheadCoordinator.shutdownShared();
+            LRFScrubber.shutdownShared();
+            System.out.println("[TurboMC][Storage] Load requests: " + ioRequests.getStats());
+            System.out.println("[TurboMC][Storage] Scheduler lanes: " + scheduler.getStats().values());
+            StorageScheduler.shutdownShared();
             
             System.out.println("[TurboMC][Storage] Final stats: " + getStats());
             System.out.println("[TurboMC][Storage] Storage manager shutdown complete.");
         }
     }
     
-    private void shutdownExecutor(ExecutorService executor, String name) {
-        if (executor == null) return;
-        
-        try {
-            System.out.println("[TurboMC][Storage] Shutting down " + name + "...");
-            executor.shutdown();
-            
-            // FIX: Use longer timeout for write operations, shorter for others
-            int timeoutSeconds = name.contains("Write") ? 30 : 10;
-            
-            if (!executor.awaitTermination(timeoutSeconds, java.util.concurrent.TimeUnit.SECONDS)) {
-                System.err.println("[TurboMC][Storage][WARN] " + name + " didn't terminate in " + timeoutSeconds + "s, forcing shutdown...");
-                java.util.List<Runnable> remainingTasks = executor.shutdownNow();
-                
-                if (!remainingTasks.isEmpty()) {
-                    System.err.println("[TurboMC][Storage][WARN] " + name + " had " + remainingTasks.size() + " pending tasks");
-                }
-                
-                // Give 5 more seconds for forced shutdown
-                if (!executor.awaitTermination(5, java.util.concurrent.TimeUnit.SECONDS)) {
-                    System.err.println("[TurboMC][Storage][ERROR] " + name + " still has running tasks after forced shutdown!");
-                }
-            } else {
-                System.out.println("[TurboMC][Storage] " + name + " shutdown cleanly");
-            }
-        } catch (InterruptedException e) {
-            System.err.println("[TurboMC][Storage][ERROR] Interrupted while shutting down " + name);
-            executor.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+    /**
+     * Get the scheduler all storage work runs on.
+     */
+    public StorageScheduler getScheduler() {
+        return scheduler;
     }
     
     /**
      * Get count of active regions.
      */
     public int getActiveRegionCount() {
-        return sharedResources.size();
+        return handles.size();
+    }
+    
+    /**
+     * Get open-region budget and eviction statistics.
+     */
+    public RegionHandleCache.HandleStats getRegionHandleStats() {
+        return handles.getStats();
+    }
+    
+    /**
+     * Get chunk load queue statistics.
+     */
+    public ChunkIORequestQueue.QueueStats getIORequestStats() {
+        return ioRequests.getStats();
     }
     
     /**
@@ -50,8 +50,10 @@ class PaperEventManager {
                 continue;
             }
 
+            final long turboProfileStart = com.turbomc.performance.insight.TurboInsight.start(); // TurboMC - tick profiler
             try {
                 registration.callEvent(event);
+                com.turbomc.performance.insight.TurboInsight.recordListener(registration, event, turboProfileStart); // TurboMC - tick profiler
             } catch (AuthorNagException ex) {
                 Plugin plugin = registration.getPlugin();
 
@@ -293,6 +293,8 @@ class PaperPluginInstanceManager {
                 + pluginName + " (Is it up to date?)", ex, plugin); // Paper
         }
 
+        com.turbomc.performance.insight.TurboInsight.releasePlugin(plugin); // TurboMC - tick profiler; drop references to the plugin's classes
+
         // Paper start - lifecycle event system
         try {
             io.papermc.paper.plugin.lifecycle.event.LifecycleEventRunner.INSTANCE.unregisterAllEventHandlersFor(plugin);
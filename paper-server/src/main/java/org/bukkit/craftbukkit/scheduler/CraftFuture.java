@@ -19,6 +19,13 @@ class CraftFuture<T> extends CraftTask implements Future<T> {
         this.callable = callable;
     }
 
+    // TurboMC start - tick profiler
+    @Override
+    Class<?> getTaskClass() {
+        return this.callable.getClass();
+    }
+    // TurboMC end - tick profiler
+
     @Override
     public synchronized boolean cancel(final boolean mayInterruptIfRunning) {
         if (this.getPeriod() != CraftTask.NO_REPEATING) {
@@ -470,6 +470,7 @@ public class CraftScheduler implements BukkitScheduler {
             }
             if (task.isSync()) {
                 this.currentTask = task;
+                final long turboProfileStart = com.turbomc.performance.insight.TurboInsight.start(); // TurboMC - tick profiler
                 try {
                     task.run();
                 } catch (final Throwable throwable) {
@@ -487,6 +488,7 @@ public class CraftScheduler implements BukkitScheduler {
                     // Paper end
                 } finally {
                     this.currentTask = null;
+                    com.turbomc.performance.insight.TurboInsight.recordSchedulerTask(task.getOwner(), task.getTaskClass(), turboProfileStart); // TurboMC - tick profiler
                 }
                 this.parsePending();
             } else {
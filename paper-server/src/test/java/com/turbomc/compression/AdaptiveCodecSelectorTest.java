@@ -0,0 +1,125 @@
+package com.turbomc.compression;
+
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.lrf.LRFConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tests for AdaptiveCodecSelector - per-chunk codec choice.
+ */
+public class AdaptiveCodecSelectorTest {
+
+    private Path testDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_adaptive_test");
+
+        // Generous idle budget so the outcome does not depend on how fast this machine compresses
+        Files.writeString(testDir.resolve("turbo.toml"), """
+            [compression]
+              algorithm = "zstd"
+            [compression.adaptive]
+              enabled = true
+              idle-ns-per-byte = 10000.0
+              peak-ns-per-byte = 2.0
+            """);
+
+        TurboConfig.resetInstance();
+        TurboConfig config = TurboConfig.getInstance(testDir.toFile());
+        TurboCompressionService.resetInstance();
+        TurboCompressionService.initialize(config);
+        AdaptiveCodecSelector.resetInstance();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        AdaptiveCodecSelector.resetInstance();
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testSelectionsRoundTrip() throws Exception {
+        AdaptiveCodecSelector selector = AdaptiveCodecSelector.getInstance();
+        selector.setMsptSource(() -> 10.0);
+        Random random = new Random(3);
+
+        for (int i = 0; i < 200; i++) {
+            byte[] data = chunk(random, 2_000 + random.nextInt(80_000));
+            AdaptiveCodecSelector.Selection selection = selector.compress(data, false);
+            byte[] restored = selection.compressionType() == LRFConstants.COMPRESSION_NONE
+                ? selection.data()
+                : TurboCompressionService.getInstance().decompress(selection.data());
+            assertArrayEquals(data, restored, "chunk " + i + " via " + selection.codec());
+        }
+
+        // Repetitive chunk data always compresses, so "none" never wins while idle
+        for (AdaptiveCodecSelector.ChunkClass chunkClass : AdaptiveCodecSelector.ChunkClass.values()) {
+            assertNotEquals("none", selector.preferredCodec(chunkClass), chunkClass.name());
+        }
+    }
+
+    @Test
+    void testArchiveWritesOnlyWhenIdle() throws Exception {
+        AdaptiveCodecSelector selector = AdaptiveCodecSelector.getInstance();
+        byte[] data = chunk(new Random(8), 20_000);
+
+        selector.setMsptSource(() -> 5.0);
+        AdaptiveCodecSelector.Selection idle = selector.compress(data, true);
+        assertEquals("zstd-19", idle.codec());
+        assertEquals(LRFConstants.COMPRESSION_ZSTD, idle.compressionType());
+        assertArrayEquals(data, TurboCompressionService.getInstance().decompress(idle.data()));
+
+        selector.setMsptSource(() -> 48.0);
+        assertNotEquals("zstd-19", selector.compress(data, true).codec());
+    }
+
+    @Test
+    void testBudgetFollowsLoad() {
+        AdaptiveCodecSelector selector = AdaptiveCodecSelector.getInstance();
+        assertTrue(AdaptiveCodecSelector.isEnabled());
+        assertEquals(10000.0, selector.budget(0.0), 1e-9);
+        assertEquals(2.0, selector.budget(1.0), 1e-9);
+
+        selector.setMsptSource(() -> 100.0);
+        assertEquals(1.0, selector.currentLoad(), 1e-9);
+        selector.setMsptSource(() -> 25.0);
+        assertEquals(0.5, selector.currentLoad(), 1e-9);
+    }
+
+    @Test
+    void testClassify() {
+        AdaptiveCodecSelector selector = AdaptiveCodecSelector.getInstance();
+        assertEquals(AdaptiveCodecSelector.ChunkClass.SPARSE, selector.classify(new byte[1_000]));
+        assertEquals(AdaptiveCodecSelector.ChunkClass.HEAVY, selector.classify(new byte[100_000]));
+        assertEquals(AdaptiveCodecSelector.ChunkClass.BUILT, selector.classify(new byte[20_000]));
+
+        byte[] ocean = new byte[20_000];
+        byte[] biome = "minecraft:deep_ocean".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(biome, 0, ocean, 100, biome.length);
+        assertEquals(AdaptiveCodecSelector.ChunkClass.SPARSE, selector.classify(ocean));
+    }
+
+    private static byte[] chunk(Random random, int size) {
+        byte[] data = new byte[size];
+        byte[] palette = "minecraft:stone,minecraft:dirt,minecraft:grass_block;".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < size; i++) {
+            data[i] = random.nextInt(8) == 0 ? (byte) random.nextInt(256) : palette[i % palette.length];
+        }
+        Arrays.fill(data, 0, Math.min(size, 64), (byte) 0);
+        return data;
+    }
+}
@@ -0,0 +1,170 @@
+package com.turbomc.nbt;
+
+import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.config.TurboConfig;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests for the shared NBT key dictionary.
+ */
+public class NBTKeyDictionaryTest {
+
+    private Path testDir;
+    private Path regionDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_key_dictionary_test");
+        regionDir = Files.createDirectories(testDir.resolve("world").resolve("region"));
+
+        Files.writeString(testDir.resolve("turbo.toml"), """
+            [storage.nbt-dictionary]
+              update-interval = 10
+              min-frequency = 0.5
+            """);
+
+        TurboConfig.resetInstance();
+        TurboConfig config = TurboConfig.getInstance(testDir.toFile());
+        TurboCompressionService.resetInstance();
+        TurboCompressionService.initialize(config);
+        NBTKeyDictionaryManager.resetInstance();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        NBTKeyDictionaryManager.resetInstance();
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testSerializationAndExtend() throws IOException {
+        NBTKeyDictionary builtIn = NBTKeyDictionary.builtIn();
+        assertEquals(0, builtIn.getVersion());
+        assertTrue(builtIn.indexOf("block_states") >= 0);
+        assertEquals(-1, builtIn.indexOf("mymod:custom_block"));
+
+        NBTKeyDictionary next = builtIn.extend(List.of("mymod:custom_block", "block_states"));
+        assertEquals(1, next.getVersion());
+        assertEquals(builtIn.size() + 1, next.size());
+        assertEquals(builtIn.indexOf("palette"), next.indexOf("palette"), "existing IDs are kept");
+        assertNotEquals(builtIn.getId(), next.getId());
+
+        NBTKeyDictionary restored = NBTKeyDictionary.fromBytes(next.toBytes());
+        assertEquals(next.getId(), restored.getId());
+        // Interned, so decoded keys are the same instance every time
+        assertSame("mymod:custom_block", restored.get(restored.indexOf("mymod:custom_block")));
+
+        List<String> pool = next.withOverflow(List.of("rare"));
+        assertEquals(next.size() + 1, pool.size());
+        assertEquals("rare", pool.get(next.size()));
+    }
+
+    @Test
+    void testLearnsAndPersistsFrequentStrings() {
+        NBTKeyDictionaryManager.Folder folder = NBTKeyDictionaryManager.getInstance().folder(regionDir);
+        int builtInId = folder.current().getId();
+
+        for (int i = 0; i < 10; i++) {
+            folder.recordOverflow(List.of("mymod:custom_block", "rare_" + i));
+        }
+
+        NBTKeyDictionary learned = folder.current();
+        assertEquals(1, learned.getVersion());
+        assertTrue(learned.indexOf("mymod:custom_block") >= 0);
+        assertEquals(-1, learned.indexOf("rare_3"));
+        assertTrue(Files.exists(regionDir.resolve("nbt_keys.v1.tkd")));
+
+        // A restarted server picks up the newest version and still resolves the old one
+        NBTKeyDictionaryManager.resetInstance();
+        NBTKeyDictionaryManager reloaded = NBTKeyDictionaryManager.getInstance();
+        assertEquals(learned.getId(), reloaded.folder(regionDir).current().getId());
+        assertNotNull(reloaded.getById(builtInId));
+    }
+
+    @Test
+    void testRecordsUseDictionary() {
+        CompoundTag root = new CompoundTag();
+        root.putString("Status", "minecraft:full");
+        ListTag sections = new ListTag();
+        for (int y = 0; y < 4; y++) {
+            CompoundTag section = new CompoundTag();
+            section.putByte("Y", (byte) y);
+            CompoundTag blockStates = new CompoundTag();
+            ListTag palette = new ListTag();
+            CompoundTag stone = new CompoundTag();
+            stone.putString("Name", "minecraft:stone");
+            palette.add(stone);
+            CompoundTag custom = new CompoundTag();
+            custom.putString("Name", "mymod:custom_block");
+            palette.add(custom);
+            blockStates.put("palette", palette);
+            section.put("block_states", blockStates);
+            sections.add(section);
+        }
+        root.put("sections", sections);
+
+        byte[] shared = NBTConverter.toUncompressedBytes(root, regionDir);
+        byte[] selfContained = NBTConverter.toUncompressedBytes(root);
+        assertEquals(3, shared[4]);
+        assertTrue(shared.length < selfContained.length, shared.length + " vs " + selfContained.length);
+
+        NBTKeyDictionaryManager.resetInstance();
+        assertEquals(root, NBTConverter.fromBytes(shared, regionDir));
+        assertEquals(root, NBTConverter.fromPackedBinary(PackedBinaryNBT.fromBytes(shared)));
+    }
+
+    @Test
+    void testCollidingIdsResolvePerFolder() throws IOException {
+        // Two different one-string dictionaries whose checksum IDs collide
+        NBTKeyDictionary first = dictionary(1, "key_2289854");
+        NBTKeyDictionary second = dictionary(1, "key_8022000");
+        assertEquals(first.getId(), second.getId());
+        assertFalse(first.sameStrings(second));
+
+        Path otherDir = Files.createDirectories(testDir.resolve("world_nether").resolve("DIM-1").resolve("region"));
+        Files.write(regionDir.resolve("nbt_keys.v1.tkd"), first.toBytes());
+        Files.write(otherDir.resolve("nbt_keys.v1.tkd"), second.toBytes());
+
+        CompoundTag root = new CompoundTag();
+        root.putInt("key_2289854", 7);
+        byte[] shared = NBTConverter.toUncompressedBytes(root, regionDir);
+        assertEquals(3, shared[4]);
+
+        NBTKeyDictionaryManager.resetInstance();
+        NBTKeyDictionaryManager manager = NBTKeyDictionaryManager.getInstance();
+        manager.folder(otherDir);
+        assertEquals(root, NBTConverter.fromBytes(shared, regionDir), "the record's own folder decides");
+        assertTrue(manager.getById(first.getId(), otherDir).sameStrings(second));
+        // Without a folder the ID no longer names one dictionary, so decoding must fail
+        assertThrows(IllegalStateException.class, () -> NBTConverter.fromBytes(shared));
+        assertThrows(IllegalStateException.class, () -> PackedBinaryNBT.fromBytes(shared));
+    }
+
+    private static NBTKeyDictionary dictionary(int version, String... strings) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write("TKEY".getBytes(StandardCharsets.US_ASCII));
+        out.writeInt(version);
+        out.writeInt(strings.length);
+        for (String value : strings) {
+            out.writeUTF(value);
+        }
+        return NBTKeyDictionary.fromBytes(bytes.toByteArray());
+    }
+}
@@ -1,6 +1,9 @@
 package com.turbomc.nbt;
 
 import net.minecraft.nbt.*;
+import net.minecraft.nbt.visitors.CollectFields;
+import net.minecraft.nbt.visitors.CollectToTag;
+import net.minecraft.nbt.visitors.FieldSelector;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -11,6 +14,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.io.TempDir;
 import java.nio.file.Path;
 
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 public class PackedBinaryNBTTest {
@@ -110,4 +115,100 @@ public class PackedBinaryNBTTest {
         long count = packed.getStringPool().stream().filter(s -> s.equals("DuplicateValue")).count();
         Assertions.assertEquals(1, count, "Duplicate strings should be deduplicated");
     }
+
+    @Test
+    public void testUncompressedPayloadRoundTrip() {
+        PackedBinaryNBT.Builder builder = new PackedBinaryNBT.Builder();
+        builder.getStringId("Level");
+        builder.getStringId("Inventory");
+        byte[] payload = new byte[4096];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i % 13);
+        }
+        PackedBinaryNBT packed = builder.build(payload);
+
+        byte[] raw = packed.toUncompressedBytes();
+        byte[] compressed = packed.toBytes();
+        Assertions.assertFalse(PackedBinaryNBT.hasCompressedPayload(raw));
+        Assertions.assertTrue(PackedBinaryNBT.hasCompressedPayload(compressed));
+
+        for (PackedBinaryNBT restored : new PackedBinaryNBT[] {
+                PackedBinaryNBT.fromBytes(raw),
+                PackedBinaryNBT.fromBuffer(ByteBuffer.wrap(raw)),
+                PackedBinaryNBT.fromBytes(compressed)}) {
+            Assertions.assertEquals(packed.getStringPool(), restored.getStringPool());
+            Assertions.assertArrayEquals(payload,
+                restored.getPayload().toArray(ValueLayout.JAVA_BYTE));
+        }
+    }
+
+    @Test
+    public void testDirectEncodingMatchesPackedBinary() {
+        CompoundTag root = new CompoundTag();
+        root.putString("Status", "minecraft:full");
+        root.putString("CustomName", "Caf\u00e9 \u2603");
+        long[] blockStates = new long[256];
+        for (int i = 0; i < blockStates.length; i++) {
+            blockStates[i] = 0x0123456789ABCDEFL * (i + 1);
+        }
+        int[] heightmap = new int[37];
+        for (int i = 0; i < heightmap.length; i++) {
+            heightmap[i] = -i * 1000;
+        }
+        ListTag sections = new ListTag();
+        for (int y = -4; y < 4; y++) {
+            CompoundTag section = new CompoundTag();
+            section.putByte("Y", (byte) y);
+            section.putLongArray("data", blockStates);
+            sections.add(section);
+        }
+        root.put("sections", sections);
+        root.putIntArray("Heightmap", heightmap);
+        root.putByteArray("SkyLight", new byte[] {1, 2, 3});
+
+        byte[] direct = NBTConverter.toUncompressedBytes(root);
+        Assertions.assertArrayEquals(NBTConverter.toPackedBinary(root).toUncompressedBytes(), direct);
+
+        CompoundTag fromBytes = NBTConverter.fromBytes(direct);
+        Assertions.assertEquals(root, fromBytes);
+        Assertions.assertEquals(root, NBTConverter.fromBuffer(ByteBuffer.wrap(direct)));
+        Assertions.assertEquals(root, NBTConverter.fromBytes(NBTConverter.toPackedBinary(root).toBytes()));
+    }
+
+    @Test
+    public void testSelectiveScan() {
+        CompoundTag root = new CompoundTag();
+        root.putInt("DataVersion", 3000);
+        ListTag sections = new ListTag();
+        for (int y = -4; y < 20; y++) {
+            CompoundTag section = new CompoundTag();
+            section.putByte("Y", (byte) y);
+            section.putLongArray("data", new long[256]);
+            sections.add(section);
+        }
+        root.put("sections", sections);
+        CompoundTag blending = new CompoundTag();
+        blending.putInt("min_section", -4);
+        root.put("blending_data", blending);
+        root.putString("Status", "minecraft:full");
+
+        byte[] record = NBTConverter.toUncompressedBytes(root);
+        CollectFields fields = new CollectFields(
+            new FieldSelector(IntTag.TYPE, "DataVersion"), new FieldSelector(CompoundTag.TYPE, "blending_data"));
+        PackedNBTCodec.scan(ByteBuffer.wrap(record), fields, null);
+
+        CompoundTag expected = new CompoundTag();
+        expected.putInt("DataVersion", 3000);
+        expected.put("blending_data", blending);
+        Assertions.assertEquals(expected, fields.getResult());
+
+        // Visiting everything rebuilds the tag, with and without the subtree index
+        CollectToTag all = new CollectToTag();
+        PackedNBTCodec.scan(ByteBuffer.wrap(record), all, null);
+        Assertions.assertEquals(root, all.getResult());
+
+        CollectFields legacy = new CollectFields(new FieldSelector(StringTag.TYPE, "Status"));
+        PackedNBTCodec.scan(ByteBuffer.wrap(NBTConverter.toPackedBinary(root).toBytes()), legacy, null);
+        Assertions.assertEquals("minecraft:full", ((CompoundTag) legacy.getResult()).getStringOr("Status", ""));
+    }
 }
@@ -0,0 +1,143 @@
+package com.turbomc.performance.insight;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Tests for the continuous tick profiler.
+ */
+public class TickProfilerTest {
+
+    private static final Function<Object, String> NAMER = String::valueOf;
+
+    @Test
+    void testSourcesAreRankedByTotalTime() {
+        TickProfiler profiler = new TickProfiler(true, 16);
+        for (int i = 0; i < 10; i++) {
+            profiler.record(TickProfiler.Category.ENTITY, "minecraft:zombie", NAMER, "world", chunk(0, 0), 100_000);
+        }
+        profiler.record(TickProfiler.Category.ENTITY, "minecraft:cow", NAMER, "world", chunk(0, 0), 50_000);
+        profiler.record(TickProfiler.Category.PLUGIN_EVENT, "SomePlugin", NAMER, 5_000_000);
+
+        List<TickProfiler.Source> entities = profiler.getTopSources(TickProfiler.Category.ENTITY, 10);
+        assertEquals("minecraft:zombie", entities.get(0).getName());
+        assertEquals(10, entities.get(0).getTimes().getCount());
+        assertEquals(1_000_000, entities.get(0).getTotalNs());
+        assertEquals("minecraft:cow", entities.get(1).getName());
+
+        TickProfiler.Source top = profiler.getTopSources(1).get(0);
+        assertEquals(TickProfiler.Category.PLUGIN_EVENT, top.getCategory());
+    }
+
+    @Test
+    void testTimeIsTotalledPerWorldAndChunk() {
+        TickProfiler profiler = new TickProfiler(true, 16);
+        profiler.record(TickProfiler.Category.ENTITY, "minecraft:zombie", NAMER, "world", chunk(3, -7), 300);
+        profiler.record(TickProfiler.Category.BLOCK_ENTITY, "minecraft:hopper", NAMER, "world", chunk(3, -7), 700);
+        profiler.record(TickProfiler.Category.BLOCK_ENTITY, "minecraft:hopper", NAMER, "world_nether", chunk(0, 0), 50);
+
+        TickProfiler.WorldTimes world = profiler.getWorlds().get(0);
+        assertEquals("world", world.getName());
+        assertEquals(1000, world.getTotalNs());
+        assertEquals(1, world.getCount(TickProfiler.Category.ENTITY));
+
+        TickProfiler.ChunkTimes chunk = profiler.getTopChunks(1).get(0);
+        assertEquals(3, chunk.getChunkX());
+        assertEquals(-7, chunk.getChunkZ());
+        assertEquals(700, chunk.getTotalNs(TickProfiler.Category.BLOCK_ENTITY));
+    }
+
+    @Test
+    void testChunksBeyondLimitStillCountTowardsWorld() {
+        TickProfiler profiler = new TickProfiler(true, 2);
+        for (int x = 0; x < 5; x++) {
+            profiler.record(TickProfiler.Category.ENTITY, "minecraft:cow", NAMER, "world", chunk(x, 0), 10);
+        }
+
+        assertEquals(2, profiler.getWorlds().get(0).getTrackedChunks());
+        assertEquals(3, profiler.getDroppedChunkRecords());
+        assertEquals(50, profiler.getWorlds().get(0).getTotalNs());
+    }
+
+    @Test
+    void testNamerRunsOncePerSource() {
+        TickProfiler profiler = new TickProfiler(false, 16);
+        int[] calls = new int[1];
+        Function<Object, String> namer = key -> {
+            calls[0]++;
+            return "task " + key;
+        };
+        Object key = new Object();
+        for (int i = 0; i < 5; i++) {
+            profiler.record(TickProfiler.Category.SCHEDULER_TASK, key, namer, 1_000);
+        }
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    void testContextNamerRunsOncePerSource() {
+        TickProfiler profiler = new TickProfiler(false, 16);
+        int[] calls = new int[1];
+        BiFunction<Object, Object, String> namer = (key, owner) -> {
+            calls[0]++;
+            return owner + " " + key;
+        };
+        for (int i = 0; i < 5; i++) {
+            profiler.record(TickProfiler.Category.SCHEDULER_TASK, String.class, "plugin", namer, 1_000);
+        }
+        assertEquals(1, calls[0]);
+        assertEquals("plugin class java.lang.String", profiler.getTopSources(TickProfiler.Category.SCHEDULER_TASK, 1).get(0).getName());
+        assertEquals(5, profiler.getTopSources(TickProfiler.Category.SCHEDULER_TASK, 1).get(0).getTimes().getCount());
+    }
+
+    @Test
+    void testReportAndReset() throws Exception {
+        TickProfiler profiler = new TickProfiler(true, 16);
+        profiler.record(TickProfiler.Category.BLOCK_ENTITY, "minecraft:hopper", NAMER, "world", chunk(1, 2), 2_000_000);
+        profiler.record(TickProfiler.Category.CHUNK_TASK, "storage read", NAMER, 1_000_000);
+
+        StringWriter out = new StringWriter();
+        profiler.writeReport(out);
+        String report = out.toString();
+        assertTrue(report.contains("== Block Entity =="));
+        assertTrue(report.contains("minecraft:hopper"));
+        assertTrue(report.contains("storage read"));
+        assertTrue(report.contains("world 1,2"));
+
+        profiler.reset();
+        assertTrue(profiler.getTopSources(10).isEmpty());
+        assertTrue(profiler.getWorlds().isEmpty());
+    }
+
+    @Test
+    void testDetachedSourcesKeepTheirTimes() {
+        TickProfiler profiler = new TickProfiler(false, 16);
+        BiFunction<Object, Object, String> namer = (key, owner) -> owner + " task";
+        Object firstLoad = new Object();
+        Object secondLoad = new Object();
+        Object otherPlugin = new Object();
+
+        profiler.record(TickProfiler.Category.SCHEDULER_TASK, firstLoad, "plugin", namer, 1_000);
+        profiler.record(TickProfiler.Category.SCHEDULER_TASK, otherPlugin, "other", namer, 5_000);
+        profiler.detachSources(TickProfiler.Category.SCHEDULER_TASK, key -> key == firstLoad);
+
+        // Same name after the plugin is loaded again: merged on the next detach
+        profiler.record(TickProfiler.Category.SCHEDULER_TASK, secondLoad, "plugin", namer, 2_000);
+        profiler.detachSources(TickProfiler.Category.SCHEDULER_TASK, key -> key == secondLoad);
+
+        List<TickProfiler.Source> sources = profiler.getTopSources(TickProfiler.Category.SCHEDULER_TASK, 10);
+        assertEquals(2, sources.size());
+        assertEquals("other task", sources.get(0).getName());
+        assertEquals("plugin task", sources.get(1).getName());
+        assertEquals(3_000, sources.get(1).getTotalNs());
+        assertEquals(2, sources.get(1).getTimes().getCount());
+    }
+
+    private static long chunk(int x, int z) {
+        return (x & 0xFFFFFFFFL) | ((z & 0xFFFFFFFFL) << 32);
+    }
+}
@@ -0,0 +1,41 @@
+package com.turbomc.performance.tick;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the log-linear timing histogram.
+ */
+public class TimingHistogramTest {
+
+    @Test
+    void testBucketsCoverEveryValue() {
+        long[] values = { 0, 1, 7, 8, 9, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE / 3, Long.MAX_VALUE };
+        for (long value : values) {
+            int bucket = TimingHistogram.bucketOf(value);
+            assertTrue(TimingHistogram.upperBoundOf(bucket) >= value, "upper bound of " + value);
+            if (bucket > 0) {
+                assertTrue(TimingHistogram.upperBoundOf(bucket - 1) < value, "lower bound of " + value);
+            }
+        }
+    }
+
+    @Test
+    void testPercentilesWithinBucketPrecision() {
+        TimingHistogram histogram = new TimingHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxNs());
+        long p50 = histogram.getPercentileNs(50);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50 " + p50);
+        long p99 = histogram.getPercentileNs(99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNs(99));
+    }
+}
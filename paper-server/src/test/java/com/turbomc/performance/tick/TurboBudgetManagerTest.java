@@ -0,0 +1,229 @@
+package com.turbomc.performance.tick;
+
+import com.turbomc.config.TurboConfig;
+import com.turbomc.performance.tick.TurboBudgetManager.Subsystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for per-level tick budgets, carry-over and resumable work.
+ */
+public class TurboBudgetManagerTest {
+
+    private Path testDir;
+    private TurboBudgetManager manager;
+    private LevelBudget level;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_budget_test");
+        TurboConfig.resetInstance();
+        TurboConfig.getInstance(testDir.toFile());
+        manager = TurboBudgetManager.getInstance();
+        level = manager.level("test:" + UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testAllocationsSplitTheWholeBudget() {
+        double total = 0;
+        for (Subsystem subsystem : Subsystem.values()) {
+            if (subsystem != Subsystem.GLOBAL) {
+                total += subsystem.getAllocation();
+            }
+        }
+        assertEquals(1.0, total, 1e-9);
+    }
+
+    @Test
+    void testSubsystemsThatAreNotRunningLendTheirBudget() {
+        long budget = TimeUnit.MILLISECONDS.toNanos(10);
+        startTick(budget);
+        long allocated = (long) (budget * Subsystem.BLOCK_ENTITY.getAllocation());
+        long entityShare = (long) (budget * Subsystem.ENTITY.getAllocation());
+
+        // Entities are not timed on an idle tick, so their share is spare
+        assertTrue(level.getAllowanceNs(Subsystem.BLOCK_ENTITY) >= allocated + entityShare);
+        assertTrue(level.getAllowanceNs(Subsystem.BLOCK_ENTITY) <= budget);
+
+        level.enter(Subsystem.ENTITY);
+        assertTrue(level.getAllowanceNs(Subsystem.BLOCK_ENTITY) < allocated + entityShare);
+        level.exit(Subsystem.ENTITY);
+
+        // Almost all of the entity share is left for block entities
+        assertTrue(level.getAllowanceNs(Subsystem.BLOCK_ENTITY) > allocated + entityShare / 2);
+    }
+
+    @Test
+    void testIdleTickDoesNotDefer() {
+        List<Integer> tickers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tickers.add(i);
+        }
+        // Block entities alone need more than their own allocation, but nothing else ran
+        startTick(TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(tickers.size(), pass(level.getBlockEntityCursor(), tickers).size());
+        assertEquals(0, level.getStats(Subsystem.BLOCK_ENTITY).getDeferred());
+    }
+
+    @Test
+    void testOverrunIsCountedOncePerTick() {
+        startTick(TimeUnit.MILLISECONDS.toNanos(1));
+
+        level.enter(Subsystem.BLOCK_ENTITY);
+        spin(TimeUnit.MILLISECONDS.toNanos(2));
+        assertTrue(level.shouldYield(Subsystem.BLOCK_ENTITY));
+        level.exit(Subsystem.BLOCK_ENTITY);
+        level.enter(Subsystem.BLOCK_ENTITY);
+        level.exit(Subsystem.BLOCK_ENTITY);
+
+        LevelBudget.SubsystemStats stats = level.getStats(Subsystem.BLOCK_ENTITY);
+        assertEquals(1, stats.getOverruns());
+        assertTrue(stats.getMaxOverrunNs() > 0);
+        assertEquals(0, level.getStats(Subsystem.ENTITY).getOverruns());
+    }
+
+    @Test
+    void testCursorResumesWhereBudgetRanOut() {
+        List<Integer> tickers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tickers.add(i);
+        }
+        ResumableCursor cursor = level.getBlockEntityCursor();
+
+        startTick(1_000);
+        List<Integer> first = pass(cursor, tickers);
+        assertTrue(first.size() < tickers.size());
+        assertEquals(0, (int) first.get(0));
+
+        startTick(1_000);
+        List<Integer> second = pass(cursor, tickers);
+        assertEquals(first.size(), (int) second.get(0));
+        assertEquals(2, cursor.getDeferredTicks());
+        assertTrue(level.getStats(Subsystem.BLOCK_ENTITY).getDeferred() > 0);
+    }
+
+    @Test
+    void testCursorResumesAfterEarlierElementsAreRemoved() {
+        List<Integer> tickers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tickers.add(i);
+        }
+        ResumableCursor cursor = level.getBlockEntityCursor();
+
+        startTick(1_000);
+        List<Integer> first = pass(cursor, tickers);
+        assertTrue(first.size() >= 2 && first.size() < tickers.size());
+        tickers.remove(first.get(0));
+        tickers.remove(first.get(1));
+
+        startTick(1_000);
+        assertEquals(first.size(), (int) pass(cursor, tickers).get(0));
+    }
+
+    @Test
+    void testCursorRunsFullPassAfterTooManyDeferrals() {
+        List<Integer> tickers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tickers.add(i);
+        }
+        ResumableCursor cursor = level.getBlockEntityCursor();
+
+        int passes = 0;
+        List<Integer> ticked;
+        do {
+            startTick(1_000);
+            ticked = pass(cursor, tickers);
+            passes++;
+        } while (ticked.size() < tickers.size() && passes < 100);
+
+        assertEquals(tickers.size(), ticked.size());
+        assertEquals(21, passes);
+        assertEquals(0, cursor.getDeferredTicks());
+    }
+
+    @Test
+    void testQueueRunsOldestFirstAndResumes() {
+        ResumableQueue<Integer> queue = new ResumableQueue<>(Subsystem.LIGHTING, 1000);
+        for (int i = 0; i < 10; i++) {
+            queue.add(i);
+        }
+        List<Integer> done = new ArrayList<>();
+
+        startTick(1_000);
+        int first = queue.drain(level, item -> {
+            done.add(item);
+            spin(TimeUnit.MICROSECONDS.toNanos(50));
+        });
+        assertTrue(first >= 1 && first < 10);
+        assertEquals(10 - first, queue.size());
+
+        while (!queue.isEmpty()) {
+            startTick(1_000);
+            assertTrue(queue.drain(level, done::add) >= 1);
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), done);
+        assertEquals(10, queue.getProcessed());
+        assertTrue(queue.getDeferred() > 0);
+    }
+
+    @Test
+    void testAgedWorkRunsOverBudget() {
+        ResumableQueue<Integer> queue = new ResumableQueue<>(Subsystem.LIGHTING, 1);
+        for (int i = 0; i < 5; i++) {
+            queue.add(i);
+        }
+
+        startTick(1_000);
+        assertEquals(5, queue.drain(level, item -> spin(TimeUnit.MICROSECONDS.toNanos(50))));
+        assertEquals(5, queue.getAged());
+        assertEquals(0, queue.getDeferred());
+    }
+
+    /**
+     * Start a server tick, then give the test level a budget of its own.
+     */
+    private void startTick(long levelBudgetNs) {
+        manager.startTick();
+        level.startTick(levelBudgetNs);
+    }
+
+    private static List<Integer> pass(ResumableCursor cursor, List<Integer> tickers) {
+        List<Integer> ticked = new ArrayList<>();
+        int start = cursor.start(tickers);
+        for (int i = 0; i < tickers.size(); i++) {
+            Integer ticker = tickers.get((start + i) % tickers.size());
+            if (cursor.shouldDefer(ticker, tickers.size() - i)) {
+                break;
+            }
+            ticked.add(ticker);
+            spin(TimeUnit.MICROSECONDS.toNanos(10));
+        }
+        cursor.finish();
+        return ticked;
+    }
+
+    private static void spin(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.turbomc.performance.tick;
+
+import com.turbomc.config.TurboConfig;
+import com.turbomc.performance.TurboOptimizerModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the tick-driven optimizer module runtime.
+ */
+public class TurboModuleRuntimeTest {
+
+    private Path testDir;
+    private TurboModuleRuntime runtime;
+    private final List<String> runs = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_module_runtime_test");
+        TurboConfig.resetInstance();
+        TurboConfig.getInstance(testDir.toFile());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (runtime != null) {
+            runtime.shutdown();
+        }
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testModulesRunAtTheirInterval() {
+        runtime = newRuntime(0);
+        runtime.register(new TestModule("hopper", 0), TurboModuleRuntime.Phase.POST_BLOCK_ENTITY, 2);
+
+        for (int tick = 1; tick <= 6; tick++) {
+            runtime.startTick(tick);
+            runtime.runPhase(TurboModuleRuntime.Phase.POST_ENTITY);
+            runtime.runPhase(TurboModuleRuntime.Phase.POST_BLOCK_ENTITY);
+        }
+
+        assertEquals(3, runs.size());
+        TurboModuleRuntime.ModuleStats stats = runtime.getModuleStats().get(0);
+        assertEquals("hopper", stats.getModuleName());
+        assertEquals(3, stats.getRuns());
+    }
+
+    @Test
+    void testPhaseRunsOncePerTick() {
+        runtime = newRuntime(0);
+        runtime.register(new TestModule("stacker", 0), TurboModuleRuntime.Phase.POST_ENTITY, 1);
+
+        runtime.startTick(1);
+        // Every level reaches the phase
+        runtime.runPhase(TurboModuleRuntime.Phase.POST_ENTITY);
+        runtime.runPhase(TurboModuleRuntime.Phase.POST_ENTITY);
+        runtime.runPhase(TurboModuleRuntime.Phase.POST_ENTITY);
+
+        assertEquals(List.of("stacker"), runs);
+    }
+
+    @Test
+    void testOverBudgetModulesResumeNextTick() {
+        runtime = newRuntime(0.5);
+        runtime.register(new TestModule("a", 2), TurboModuleRuntime.Phase.PRE_TICK, 1);
+        runtime.register(new TestModule("b", 2), TurboModuleRuntime.Phase.PRE_TICK, 1);
+        runtime.register(new TestModule("c", 2), TurboModuleRuntime.Phase.PRE_TICK, 1);
+
+        for (int tick = 1; tick <= 3; tick++) {
+            runtime.startTick(tick);
+        }
+
+        // One module per tick fits the budget; the deferred ones go first next tick
+        assertEquals(List.of("a", "b", "c"), runs);
+        assertEquals(3, runtime.getPhaseOverruns(TurboModuleRuntime.Phase.PRE_TICK));
+        assertTrue(runtime.getModuleStats().stream().allMatch(stats -> stats.getDeferrals() > 0));
+    }
+
+    @Test
+    void testAsyncPhaseRunsOffTheTickThread() throws InterruptedException {
+        runtime = newRuntime(0);
+        CountDownLatch ran = new CountDownLatch(1);
+        Thread tickThread = Thread.currentThread();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        runtime.register(new TestModule("limiter", 0) {
+            @Override
+            public void performOptimization() {
+                threads.add(Thread.currentThread());
+                ran.countDown();
+            }
+        }, TurboModuleRuntime.Phase.ASYNC, 1);
+
+        runtime.startTick(1);
+        runtime.endTick();
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertNotSame(tickThread, threads.get(0));
+    }
+
+    @Test
+    void testFailingModuleIsCountedAndOthersStillRun() {
+        runtime = newRuntime(0);
+        runtime.register(new TestModule("broken", 0) {
+            @Override
+            public void performOptimization() {
+                throw new IllegalStateException("boom");
+            }
+        }, TurboModuleRuntime.Phase.PRE_TICK, 1);
+        runtime.register(new TestModule("ok", 0), TurboModuleRuntime.Phase.PRE_TICK, 1);
+
+        runtime.startTick(1);
+
+        assertEquals(List.of("ok"), runs);
+        assertEquals(1, runtime.getModuleStats().get(0).getErrors());
+    }
+
+    private TurboModuleRuntime newRuntime(double budgetMs) {
+        Map<TurboModuleRuntime.Phase, Double> budgets = new EnumMap<>(TurboModuleRuntime.Phase.class);
+        for (TurboModuleRuntime.Phase phase : TurboModuleRuntime.Phase.values()) {
+            budgets.put(phase, budgetMs);
+        }
+        return new TurboModuleRuntime(true, 1, budgets);
+    }
+
+    private class TestModule implements TurboOptimizerModule {
+        private final String name;
+        private final long workMs;
+
+        TestModule(String name, long workMs) {
+            this.name = name;
+            this.workMs = workMs;
+        }
+
+        @Override public void initialize() {}
+        @Override public void start() {}
+        @Override public void stop() {}
+        @Override public boolean isEnabled() { return true; }
+        @Override public String getModuleName() { return name; }
+        @Override public String getPerformanceStats() { return name; }
+        @Override public void loadConfiguration(TurboConfig config) {}
+        @Override public boolean shouldOptimize() { return true; }
+
+        @Override
+        public void performOptimization() {
+            runs.add(name);
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(workMs);
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -2,11 +2,15 @@ package com.turbomc.storage;
 
 import com.turbomc.config.TurboConfig;
 import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.storage.lrf.LRFChunkBuffer;
 import com.turbomc.storage.lrf.LRFChunkEntry;
 import com.turbomc.storage.lrf.LRFConstants;
 import com.turbomc.storage.lrf.LRFHeader;
+import com.turbomc.storage.lrf.LRFJournal;
+import com.turbomc.storage.lrf.LRFRegionCompactor;
 import com.turbomc.storage.lrf.LRFRegionReader;
 import com.turbomc.storage.lrf.LRFRegionWriter;
+import com.turbomc.storage.optimization.SharedRegionResource;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
@@ -133,6 +137,282 @@ public class LRFStorageTest {
         System.out.println("✓ Corruption detection verified");
     }
     
+    @Test
+    void testFreedSpaceIsReused() throws IOException {
+        System.out.println("=== FREE SPACE REUSE TEST ===");
+        useImmediateReuse();
+        
+        Path testRegion = testDir.resolve("reuse.lrf");
+        byte[][] latest = new byte[16][];
+        long sizeAfterSecondRound = 0;
+        
+        for (int round = 0; round < 6; round++) {
+            try (LRFRegionWriter writer = new LRFRegionWriter(testRegion)) {
+                for (int i = 0; i < latest.length; i++) {
+                    latest[i] = new byte[3000];
+                    random.nextBytes(latest[i]);
+                    writer.addChunk(new LRFChunkEntry(i, 0, latest[i]));
+                }
+            }
+            if (round == 1) {
+                sizeAfterSecondRound = Files.size(testRegion);
+            }
+        }
+        
+        assertTrue(Files.size(testRegion) <= sizeAfterSecondRound,
+            "Rewriting chunks should reuse freed extents instead of growing the file");
+        
+        try (LRFRegionReader reader = new LRFRegionReader(testRegion)) {
+            for (int i = 0; i < latest.length; i++) {
+                LRFChunkEntry entry = reader.readChunk(i, 0);
+                assertNotNull(entry, "Chunk " + i + " should be readable");
+                assertArrayEquals(latest[i], entry.getData(), "Chunk " + i + " data mismatch after reuse");
+            }
+        }
+        
+        System.out.println("✓ Free space reuse verified");
+    }
+    
+    @Test
+    void testOnlineCompactionShrinksRegion() throws IOException {
+        System.out.println("=== ONLINE COMPACTION TEST ===");
+        useImmediateReuse();
+        
+        Path testRegion = testDir.resolve("compact.lrf");
+        byte[][] latest = new byte[32][];
+        
+        try (LRFRegionWriter writer = new LRFRegionWriter(testRegion)) {
+            for (int i = 0; i < latest.length; i++) {
+                latest[i] = new byte[4000];
+                random.nextBytes(latest[i]);
+                writer.addChunk(new LRFChunkEntry(i, 1, latest[i]));
+            }
+        }
+        
+        // Shrink the first half so their old extents become holes at the front of the file
+        try (LRFRegionWriter writer = new LRFRegionWriter(testRegion)) {
+            for (int i = 0; i < 16; i++) {
+                latest[i] = new byte[100];
+                random.nextBytes(latest[i]);
+                writer.addChunk(new LRFChunkEntry(i, 1, latest[i]));
+            }
+        }
+        
+        long sizeBefore = Files.size(testRegion);
+        try (LRFRegionWriter writer = new LRFRegionWriter(testRegion)) {
+            LRFRegionCompactor.CompactionResult result = new LRFRegionCompactor(writer, 0.1, 256).compact();
+            assertTrue(result.chunksMoved > 0, "Compaction should move tail chunks into holes");
+            assertTrue(result.after.getFragmentation() < result.before.getFragmentation());
+        }
+        assertTrue(Files.size(testRegion) < sizeBefore, "Compaction should shrink the region file");
+        
+        try (LRFRegionReader reader = new LRFRegionReader(testRegion)) {
+            for (int i = 0; i < latest.length; i++) {
+                LRFChunkEntry entry = reader.readChunk(i, 1);
+                assertNotNull(entry, "Chunk " + i + " should be readable after compaction");
+                assertArrayEquals(latest[i], entry.getData(), "Chunk " + i + " data mismatch after compaction");
+            }
+        }
+        
+        System.out.println("✓ Online compaction verified");
+    }
+    
+    @Test
+    void testJournalRecoversTornHeader() throws IOException {
+        System.out.println("=== JOURNAL RECOVERY TEST ===");
+        
+        Path testRegion = testDir.resolve("journal.lrf");
+        Path crashImage = testDir.resolve("crash.lrf");
+        byte[][] latest = new byte[8][];
+        
+        try (LRFRegionWriter writer = new LRFRegionWriter(testRegion)) {
+            for (int i = 0; i < latest.length; i++) {
+                latest[i] = new byte[2000];
+                random.nextBytes(latest[i]);
+                writer.addChunk(new LRFChunkEntry(i, 2, latest[i]));
+            }
+            writer.flush(true);
+            for (int i = 0; i < 4; i++) {
+                latest[i] = new byte[1500];
+                random.nextBytes(latest[i]);
+                writer.addChunk(new LRFChunkEntry(i, 2, latest[i]));
+            }
+            writer.sync();
+            
+            // Snapshot the files as a crash would leave them: journal committed, no clean close
+            Files.copy(testRegion, crashImage);
+            Files.copy(LRFJournal.journalPathFor(testRegion), LRFJournal.journalPathFor(crashImage));
+        }
+        
+        // Tear the header of the crash image
+        try (RandomAccessFile raf = new RandomAccessFile(crashImage.toFile(), "rw")) {
+            raf.seek(0);
+            raf.write(new byte[4096]);
+        }
+        
+        // Opening the region replays the journal
+        new LRFRegionWriter(crashImage).close();
+        
+        try (LRFRegionReader reader = new LRFRegionReader(crashImage)) {
+            for (int i = 0; i < latest.length; i++) {
+                LRFChunkEntry entry = reader.readChunk(i, 2);
+                assertNotNull(entry, "Chunk " + i + " should be recovered from the journal");
+                assertArrayEquals(latest[i], entry.getData(), "Chunk " + i + " should be the last committed version");
+            }
+        }
+        
+        System.out.println("✓ Journal recovery verified");
+    }
+    
+    @Test
+    void testJournalGroupCommitsAcrossFlushes() throws IOException {
+        System.out.println("=== JOURNAL GROUP COMMIT TEST ===");
+        
+        Path testRegion = testDir.resolve("groupcommit.lrf");
+        int chunks = 64;
+        byte[][] data = new byte[chunks][];
+        
+        try (LRFRegionWriter writer = new LRFRegionWriter(testRegion)) {
+            LRFJournal journal = LRFJournal.acquire(testRegion);
+            try {
+                long fsyncsBefore = journal.getFsyncCount();
+                for (int i = 0; i < chunks; i++) {
+                    data[i] = new byte[1000];
+                    random.nextBytes(data[i]);
+                    writer.addChunk(new LRFChunkEntry(i % 32, i / 32, data[i]));
+                    writer.flush(); // One save per flush, as the chunk saver does under light load
+                }
+                long flushFsyncs = journal.getFsyncCount() - fsyncsBefore;
+                System.out.println("Fsyncs for " + chunks + " flushed chunks: " + flushFsyncs);
+                assertTrue(flushFsyncs * 8 <= chunks, "Flushes should share group commits, got " + flushFsyncs + " fsyncs");
+                
+                long commitsBefore = journal.getCommitCount();
+                writer.sync();
+                assertEquals(commitsBefore + 1, journal.getCommitCount(), "sync() should commit pending records at once");
+            } finally {
+                journal.release();
+            }
+        }
+        
+        try (LRFRegionReader reader = new LRFRegionReader(testRegion)) {
+            for (int i = 0; i < chunks; i++) {
+                LRFChunkEntry entry = reader.readChunk(i % 32, i / 32);
+                assertNotNull(entry, "Chunk " + i + " should exist");
+                assertArrayEquals(data[i], entry.getData(), "Chunk " + i + " data mismatch");
+            }
+        }
+        
+        System.out.println("✓ Group commit verified");
+    }
+    
+    @Test
+    void testReadOnlyOpenLeavesJournalUntouched() throws IOException {
+        System.out.println("=== READ-ONLY JOURNAL TEST ===");
+        
+        Path testRegion = testDir.resolve("readonly.lrf");
+        Path journal = LRFJournal.journalPathFor(testRegion);
+        byte[] data = new byte[2000];
+        random.nextBytes(data);
+        try (LRFRegionWriter writer = new LRFRegionWriter(testRegion)) {
+            writer.addChunk(new LRFChunkEntry(3, 4, data));
+        }
+        
+        // No journal yet: reading must not create one
+        Files.delete(journal);
+        readThroughSharedResource(testRegion, data);
+        assertFalse(Files.exists(journal), "Read-only open should not create a journal");
+        
+        // Clean journal: reading must not rewrite it
+        new LRFRegionWriter(testRegion).close();
+        byte[] cleanJournal = Files.readAllBytes(journal);
+        readThroughSharedResource(testRegion, data);
+        assertArrayEquals(cleanJournal, Files.readAllBytes(journal), "Read-only open should not write the journal");
+        
+        System.out.println("✓ Read-only opens leave the journal alone");
+    }
+    
+    @Test
+    void testWriterPublishesHeaderToSharedResource() throws IOException {
+        System.out.println("=== HEADER PUBLICATION TEST ===");
+        
+        Path testRegion = testDir.resolve("publish.lrf");
+        byte[] data = new byte[2000];
+        random.nextBytes(data);
+        try (LRFRegionWriter writer = new LRFRegionWriter(testRegion)) {
+            writer.addChunk(new LRFChunkEntry(1, 1, data));
+        }
+        
+        SharedRegionResource resource = new SharedRegionResource(testRegion);
+        try (LRFRegionReader reader = new LRFRegionReader(resource)) {
+            assertNull(reader.readChunk(5, 6));
+            
+            try (LRFRegionWriter writer = new LRFRegionWriter(resource, LRFConstants.COMPRESSION_LZ4)) {
+                writer.addChunk(new LRFChunkEntry(5, 6, data));
+                writer.flush(false);
+                
+                // Seen at once, without an invalidation or a re-read of the file
+                LRFHeader published = resource.getHeader();
+                assertTrue(published.hasChunk(5, 6), "Flushed header should be published");
+                assertArrayEquals(data, reader.readChunk(5, 6).getData());
+                
+                // Later calls don't touch the file: a scribbled header on disk goes unnoticed
+                resource.getChannel().write(java.nio.ByteBuffer.allocate(64), 0);
+                assertSame(published, resource.getHeader());
+            }
+        } finally {
+            resource.close();
+        }
+        
+        System.out.println("✓ Header publication verified");
+    }
+    
+    private void readThroughSharedResource(Path region, byte[] expected) throws IOException {
+        SharedRegionResource resource = new SharedRegionResource(region);
+        try (LRFRegionReader reader = new LRFRegionReader(resource)) {
+            assertArrayEquals(expected, reader.readChunk(3, 4).getData());
+        } finally {
+            resource.close();
+        }
+    }
+    
+    @Test
+    void testBufferReadMatchesArrayRead() throws IOException {
+        System.out.println("=== ZERO-COPY READ TEST ===");
+        
+        Path testRegion = testDir.resolve("buffer.lrf");
+        byte[][] chunks = new byte[8][];
+        try (LRFRegionWriter writer = new LRFRegionWriter(testRegion)) {
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = new byte[2000 + i * 5000];
+                for (int j = 0; j < chunks[i].length; j++) {
+                    chunks[i][j] = (byte) random.nextInt(16);
+                }
+                writer.addChunk(new LRFChunkEntry(i, 0, chunks[i]));
+            }
+        }
+        
+        try (LRFRegionReader reader = new LRFRegionReader(testRegion)) {
+            for (int i = 0; i < chunks.length; i++) {
+                try (LRFChunkBuffer buffer = reader.readChunkBuffer(i, 0)) {
+                    assertNotNull(buffer, "Chunk " + i + " should be readable");
+                    assertEquals(chunks[i].length, buffer.size());
+                    assertArrayEquals(chunks[i], buffer.toByteArray(), "Chunk " + i + " buffer mismatch");
+                }
+                assertArrayEquals(chunks[i], reader.readChunk(i, 0).getData(), "Chunk " + i + " array mismatch");
+            }
+            assertNull(reader.readChunkBuffer(31, 31), "Missing chunk should return null");
+        }
+        
+        System.out.println("✓ Buffer reads match array reads");
+    }
+    
+    private void useImmediateReuse() throws IOException {
+        Files.writeString(testDir.resolve("turbo.toml"),
+            "[storage.mmap]\nenabled = false\n[storage.lrf]\nfree-space-reuse-delay-ms = 0");
+        TurboConfig.resetInstance();
+        TurboConfig.getInstance(testDir.toFile());
+    }
+    
     @Test
     void testFormatConstants() {
         // Basic verification of constants to ensure they don't change accidentally
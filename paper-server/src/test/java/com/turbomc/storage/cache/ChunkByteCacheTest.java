@@ -0,0 +1,236 @@
+package com.turbomc.storage.cache;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for ChunkByteCache - sharded CLOCK/TinyLFU chunk cache.
+ */
+public class ChunkByteCacheTest {
+
+    private final Path region = Path.of("r.0.0.lrf").toAbsolutePath();
+
+    @Test
+    void testPutGetAndInvalidate() {
+        ChunkByteCache cache = new ChunkByteCache(1024 * 1024, 4, 0);
+        byte[] value = new byte[1024];
+        new Random(1).nextBytes(value);
+
+        assertTrue(cache.put(region, 7, value));
+        assertArrayEquals(value, cache.get(region, 7));
+        assertNull(cache.get(region, 8));
+
+        cache.invalidate(region, 7);
+        assertNull(cache.get(region, 7));
+    }
+
+    @Test
+    void testInvalidateRegion() {
+        ChunkByteCache cache = new ChunkByteCache(1024 * 1024, 4, 0);
+        Path other = Path.of("r.1.0.lrf").toAbsolutePath();
+        for (int i = 0; i < 32; i++) {
+            cache.put(region, i, new byte[256]);
+            cache.put(other, i, new byte[256]);
+        }
+
+        assertEquals(32, cache.invalidateRegion(region));
+        assertNull(cache.get(region, 0));
+        assertNotNull(cache.get(other, 0));
+        assertEquals(32, cache.getStats().getEntries());
+    }
+
+    @Test
+    void testStaysWithinByteBudget() {
+        ChunkByteCache cache = new ChunkByteCache(256 * 1024, 2, 0);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(region, i, new byte[4096]);
+        }
+
+        ChunkByteCache.CacheStats stats = cache.getStats();
+        assertTrue(stats.getWeightBytes() <= cache.getCapacityBytes());
+        assertTrue(stats.getEvictions() > 0);
+        for (ChunkByteCache.ShardStats shard : stats.shards()) {
+            assertTrue(shard.weightBytes() <= shard.capacityBytes());
+        }
+    }
+
+    @Test
+    void testHotSetSurvivesScan() {
+        ChunkByteCache cache = new ChunkByteCache(512 * 1024, 1, 0);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 16; i++) {
+                if (cache.get(region, i) == null) {
+                    cache.put(region, i, new byte[8192]);
+                }
+            }
+        }
+
+        // One-off scan of four times the cache size
+        for (int i = 1000; i < 1256; i++) {
+            if (cache.get(region, i) == null) {
+                cache.put(region, i, new byte[8192]);
+            }
+        }
+
+        for (int i = 0; i < 16; i++) {
+            assertNotNull(cache.get(region, i), "Hot chunk " + i + " was evicted by scan");
+        }
+    }
+
+    @Test
+    void testEvictionListener() {
+        List<Long> evicted = new ArrayList<>();
+        ChunkByteCache cache = new ChunkByteCache(64 * 1024, 1, 0, (r, chunk, data) -> evicted.add(chunk));
+        for (int i = 0; i < 32; i++) {
+            cache.put(region, i, new byte[4096]);
+        }
+
+        assertFalse(evicted.isEmpty());
+        for (long chunk : evicted) {
+            assertNull(cache.get(region, chunk));
+        }
+    }
+
+    @Test
+    void testOversizedEntryRejected() {
+        ChunkByteCache cache = new ChunkByteCache(64 * 1024, 4, 0);
+        assertFalse(cache.put(region, 0, new byte[32 * 1024]));
+        assertNull(cache.get(region, 0));
+    }
+
+    @Test
+    void testPutAfterInvalidationIsDropped() {
+        ChunkByteCache cache = new ChunkByteCache(1024 * 1024, 4, 0);
+        byte[] stale = new byte[512];
+        byte[] fresh = new byte[512];
+        fresh[0] = 1;
+
+        // Reader takes the generation and reads the old header, then the writer publishes and invalidates
+        long generation = cache.generation(region, 5);
+        cache.invalidate(region, 5);
+        assertFalse(cache.putIfGeneration(region, 5, stale, generation), "Stale read must not be cached");
+        assertNull(cache.get(region, 5));
+
+        // A read started after the invalidation is cached
+        assertTrue(cache.putIfGeneration(region, 5, fresh, cache.generation(region, 5)));
+        assertArrayEquals(fresh, cache.get(region, 5));
+
+        // Region-wide invalidation and clear() count as well
+        generation = cache.generation(region, 6);
+        cache.invalidateRegion(region);
+        assertFalse(cache.putIfGeneration(region, 6, stale, generation));
+        generation = cache.generation(region, 6);
+        cache.clear();
+        assertFalse(cache.putIfGeneration(region, 6, stale, generation));
+    }
+
+    @Test
+    void testConcurrentReadInvalidatePut() throws InterruptedException {
+        ChunkByteCache cache = new ChunkByteCache(1024 * 1024, 0, 0);
+        int chunks = 16;
+        int[] versions = new int[chunks]; // Stands in for the header, guarded by itself
+        List<Throwable> failures = new ArrayList<>();
+
+        Thread writer = new Thread(() -> {
+            Random random = new Random(1);
+            for (int i = 0; i < 50000; i++) {
+                int chunk = random.nextInt(chunks);
+                synchronized (versions) {
+                    versions[chunk]++;
+                }
+                cache.invalidate(region, chunk);
+            }
+        });
+
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            final int seed = t + 2;
+            readers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                try {
+                    while (writer.isAlive()) {
+                        int chunk = random.nextInt(chunks);
+                        long generation = cache.generation(region, chunk);
+                        int version;
+                        synchronized (versions) {
+                            version = versions[chunk];
+                        }
+                        Thread.yield(); // Widen the window between the read and the insert
+                        byte[] data = new byte[64];
+                        java.nio.ByteBuffer.wrap(data).putInt(version);
+                        cache.putIfGeneration(region, chunk, data, generation);
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+        }
+
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> "Concurrent access failed: " + failures);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            byte[] data = cache.get(region, chunk);
+            if (data != null) {
+                assertEquals(versions[chunk], java.nio.ByteBuffer.wrap(data).getInt(),
+                    "Chunk " + chunk + " cached from a header replaced since");
+            }
+        }
+    }
+
+    @Test
+    void testConcurrentAccess() throws InterruptedException {
+        ChunkByteCache cache = new ChunkByteCache(1024 * 1024, 0, 0);
+        int threadCount = 8;
+        Thread[] threads = new Thread[threadCount];
+        List<Throwable> failures = new ArrayList<>();
+
+        for (int t = 0; t < threadCount; t++) {
+            final int seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                try {
+                    for (int i = 0; i < 20000; i++) {
+                        int chunk = random.nextInt(512);
+                        byte[] data = cache.get(region, chunk);
+                        if (data == null) {
+                            byte[] value = new byte[1000 + chunk];
+                            value[0] = (byte) chunk;
+                            cache.put(region, chunk, value);
+                        } else {
+                            assertEquals(1000 + chunk, data.length);
+                            assertEquals((byte) chunk, data[0]);
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> "Concurrent access failed: " + failures);
+        assertTrue(cache.getStats().getWeightBytes() <= cache.getCapacityBytes());
+    }
+}
@@ -0,0 +1,115 @@
+package com.turbomc.storage.cache;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests for OffHeapSlabStore - off-heap slab allocator of the warm cache tier.
+ */
+public class OffHeapSlabStoreTest {
+
+    @Test
+    void testWriteReadRoundTrip() {
+        try (OffHeapSlabStore store = new OffHeapSlabStore(32 * OffHeapSlabStore.PAGE_SIZE)) {
+            Random random = new Random(42);
+            List<long[]> handles = new ArrayList<>();
+            List<byte[]> values = new ArrayList<>();
+
+            for (int i = 0; i < 200; i++) {
+                byte[] value = new byte[100 + random.nextInt(6000)];
+                random.nextBytes(value);
+                long handle = store.allocate(value.length);
+                assertTrue(handle >= 0);
+                store.write(handle, value, 0, value.length);
+                handles.add(new long[] {handle, value.length});
+                values.add(value);
+            }
+
+            // Later writes must not have clobbered earlier slots
+            for (int i = 0; i < values.size(); i++) {
+                long[] handle = handles.get(i);
+                assertArrayEquals(values.get(i), store.read(handle[0], (int) handle[1]));
+                assertEquals(values.get(i).length, store.view(handle[0], (int) handle[1]).remaining());
+            }
+        }
+    }
+
+    @Test
+    void testByteAccounting() {
+        // One page per size class in use
+        try (OffHeapSlabStore store = new OffHeapSlabStore(2 * OffHeapSlabStore.PAGE_SIZE)) {
+            long a = store.allocate(1000);
+            long b = store.allocate(3000);
+
+            assertEquals(4000, store.getPayloadBytes());
+            assertEquals(OffHeapSlabStore.slotSize(1000) + OffHeapSlabStore.slotSize(3000), store.getUsedBytes());
+            assertEquals(1024, OffHeapSlabStore.slotSize(1000));
+            assertEquals(3072, OffHeapSlabStore.slotSize(3000));
+
+            store.free(a, 1000);
+            store.free(b, 3000);
+            assertEquals(0, store.getPayloadBytes());
+            assertEquals(0, store.getUsedBytes());
+        }
+    }
+
+    @Test
+    void testCapacityExhaustion() {
+        try (OffHeapSlabStore store = new OffHeapSlabStore(2 * OffHeapSlabStore.PAGE_SIZE)) {
+            int slots = 2 * OffHeapSlabStore.PAGE_SIZE / 4096;
+            Set<Long> handles = new HashSet<>();
+            for (int i = 0; i < slots; i++) {
+                long handle = store.allocate(4096);
+                assertTrue(handle >= 0, "Allocation " + i + " failed");
+                assertTrue(handles.add(handle), "Duplicate handle");
+            }
+
+            assertEquals(-1, store.allocate(4096));
+            assertEquals(2L * OffHeapSlabStore.PAGE_SIZE, store.getReservedBytes());
+
+            long freed = handles.iterator().next();
+            store.free(freed, 4096);
+            assertEquals(freed, store.allocate(4096));
+        }
+    }
+
+    @Test
+    void testEmptyPagesMoveBetweenClasses() {
+        try (OffHeapSlabStore store = new OffHeapSlabStore(OffHeapSlabStore.PAGE_SIZE)) {
+            List<Long> small = new ArrayList<>();
+            for (int i = 0; i < OffHeapSlabStore.PAGE_SIZE / 512; i++) {
+                small.add(store.allocate(512));
+            }
+            assertEquals(-1, store.allocate(8192));
+
+            for (long handle : small) {
+                store.free(handle, 512);
+            }
+            assertEquals(1, store.getStats().freePages());
+
+            // The released page is now usable by a different size class
+            assertTrue(store.allocate(8192) >= 0);
+        }
+    }
+
+    @Test
+    void testOversizedAllocation() {
+        try (OffHeapSlabStore store = new OffHeapSlabStore(OffHeapSlabStore.PAGE_SIZE)) {
+            assertThrows(IllegalArgumentException.class, () -> store.allocate(OffHeapSlabStore.MAX_SLOT_SIZE + 1));
+            assertTrue(store.allocate(OffHeapSlabStore.MAX_SLOT_SIZE) >= 0);
+        }
+    }
+
+    @Test
+    void testClosedStoreRejectsAccess() {
+        OffHeapSlabStore store = new OffHeapSlabStore(OffHeapSlabStore.PAGE_SIZE);
+        long handle = store.allocate(100);
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.read(handle, 100));
+    }
+}
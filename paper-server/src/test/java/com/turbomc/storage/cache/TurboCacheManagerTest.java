@@ -1,5 +1,6 @@
 package com.turbomc.storage.cache;
 
+import com.turbomc.storage.lrf.LRFConstants;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
@@ -47,6 +48,22 @@ public class TurboCacheManagerTest {
         assertNotNull(TurboCacheManager.getInstance()); // Should return same instance
     }
     
+    @Test
+    void testSharesEntriesWithRegionReaders() {
+        TurboCacheManager manager = new TurboCacheManager(ChunkByteCache.shared());
+        Path regionPath = testDir.resolve("r.1.-1.lrf");
+        Path regionKey = ChunkByteCache.regionKey(regionPath);
+        byte[] value = new byte[512];
+        random.nextBytes(value);
+        
+        // Readers key chunks by normalized region path and index within the region
+        manager.put(regionPath, 33, -2, value);
+        assertArrayEquals(value, ChunkByteCache.shared().get(regionKey, LRFConstants.getChunkIndex(33, -2)));
+        
+        manager.clearRegion(regionPath);
+        assertNull(ChunkByteCache.shared().get(regionKey, LRFConstants.getChunkIndex(33, -2)));
+    }
+    
     @Test
     void testBasicCacheOperations() {
         // Test basic put/get operations
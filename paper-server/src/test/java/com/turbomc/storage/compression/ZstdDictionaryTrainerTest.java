@@ -0,0 +1,151 @@
+package com.turbomc.storage.compression;
+
+import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.compression.ZstdDictionaryCompressor;
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.lrf.LRFChunkEntry;
+import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFRegionReader;
+import com.turbomc.storage.lrf.LRFRegionWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for ZSTD dictionary training, selection and dictionary-compressed chunk frames.
+ */
+public class ZstdDictionaryTrainerTest {
+
+    private Path testDir;
+    private Path regionDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_dictionary_test");
+        regionDir = Files.createDirectories(testDir.resolve("world").resolve("region"));
+
+        TurboConfig.resetInstance();
+        TurboConfig config = TurboConfig.getInstance(testDir.toFile());
+        TurboCompressionService.resetInstance();
+        TurboCompressionService.initialize(config);
+        ZstdDictionaryManager.resetInstance();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ZstdDictionaryManager.resetInstance();
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testTrainSelectAndRoundTrip() throws Exception {
+        Random random = new Random(5);
+        for (int regionX = 0; regionX < 3; regionX++) {
+            try (LRFRegionWriter writer = new LRFRegionWriter(regionDir.resolve("r." + regionX + ".0.lrf"),
+                                                              LRFConstants.COMPRESSION_ZSTD)) {
+                for (int i = 0; i < 40; i++) {
+                    writer.addChunk(new LRFChunkEntry(regionX * 32 + (i & 31), i >> 5,
+                                                      chunk(random, i % 2 == 0 ? "ocean" : "plains")));
+                }
+            }
+        }
+        // Nothing trained yet: plain zstd
+        assertNull(ZstdDictionaryManager.getInstance().select(regionDir.resolve("r.0.0.lrf"), new byte[16]));
+
+        ZstdDictionaryTrainer trainer = new ZstdDictionaryTrainer(16 * 1024, 100, 64L * 1024 * 1024, new Random(1));
+        List<ZstdDictionaryTrainer.TrainingResult> results = trainer.trainDimension(regionDir, true);
+
+        assertEquals(3, results.size());
+        assertEquals("overworld", results.get(0).name());
+        assertEquals(100, results.get(0).samples());
+        assertTrue(Files.exists(testDir.resolve("turbo_data/dictionaries/overworld.dict")));
+        assertTrue(Files.exists(testDir.resolve("turbo_data/dictionaries/overworld-ocean.dict")));
+        assertTrue(Files.exists(testDir.resolve("turbo_data/dictionaries/overworld-plains.dict")));
+
+        byte[] data = chunk(random, "ocean");
+        Path newRegion = regionDir.resolve("r.5.5.lrf");
+        ZstdDictionaryManager.Dictionary selected = ZstdDictionaryManager.getInstance().select(newRegion, data);
+        assertNotNull(selected);
+        // Biome clusters are off by default, so the dimension dictionary wins
+        assertEquals("overworld", selected.getName());
+
+        try (LRFRegionWriter writer = new LRFRegionWriter(newRegion, LRFConstants.COMPRESSION_ZSTD)) {
+            writer.addChunk(160, 160, data);
+        }
+
+        // A fresh manager finds the dictionary by the ID stored in the frame
+        ZstdDictionaryManager.resetInstance();
+        try (LRFRegionReader reader = new LRFRegionReader(newRegion)) {
+            LRFChunkEntry entry = reader.readChunk(160, 160);
+            assertNotNull(entry);
+            assertArrayEquals(data, entry.getData());
+        }
+
+        byte[] compressed = LRFRegionWriter.compressForRegion(newRegion, data);
+        assertEquals(ZstdDictionaryCompressor.MAGIC, compressed[0]);
+        assertEquals(selected.getId(), ZstdDictionaryCompressor.dictionaryIdOf(compressed));
+        assertEquals(LRFConstants.COMPRESSION_ZSTD_DICT,
+                     LRFRegionWriter.frameCompressionType(LRFConstants.COMPRESSION_ZSTD, compressed));
+    }
+
+    @Test
+    void testTooFewSamplesTrainsNothing() throws Exception {
+        try (LRFRegionWriter writer = new LRFRegionWriter(regionDir.resolve("r.0.0.lrf"), LRFConstants.COMPRESSION_ZSTD)) {
+            for (int i = 0; i < ZstdDictionaryTrainer.MIN_SAMPLES - 1; i++) {
+                writer.addChunk(new LRFChunkEntry(i, 0, chunk(new Random(i), "desert")));
+            }
+        }
+
+        List<ZstdDictionaryTrainer.TrainingResult> results =
+            new ZstdDictionaryTrainer(16 * 1024, 100, 64L * 1024 * 1024, new Random(1)).trainDimension(regionDir, false);
+
+        assertTrue(results.isEmpty());
+        assertFalse(ZstdDictionaryManager.getInstance().hasDictionary("overworld"));
+    }
+
+    @Test
+    void testDimensionNames() {
+        assertEquals("overworld", ZstdDictionaryManager.dimensionOf(Path.of("world", "region", "r.0.0.lrf")));
+        assertEquals("the_nether", ZstdDictionaryManager.dimensionOf(Path.of("world", "DIM-1", "region", "r.0.0.lrf")));
+        assertEquals("the_end", ZstdDictionaryManager.dimensionOf(Path.of("world", "DIM1", "region", "r.0.0.lrf")));
+        assertEquals("mining", ZstdDictionaryManager.dimensionOf(
+            Path.of("world", "dimensions", "custom", "mining", "region", "r.0.0.lrf")));
+    }
+
+    @Test
+    void testBiomeClusters() {
+        byte[] oceanChunk = ("biomes:minecraft:ocean,minecraft:deep_ocean,minecraft:plains,minecraft:lush_caves")
+            .getBytes(StandardCharsets.US_ASCII);
+        assertEquals("ocean", BiomeClusters.classify(oceanChunk));
+        assertEquals("end", BiomeClusters.classify("minecraft:end_highlands".getBytes(StandardCharsets.US_ASCII)));
+        assertNull(BiomeClusters.classify("minecraft:dripstone_caves minecraft:stone".getBytes(StandardCharsets.US_ASCII)));
+        assertNull(BiomeClusters.classify(new byte[0]));
+    }
+
+    /**
+     * Chunk-like payload: shared structure (what a dictionary learns) plus random block data.
+     */
+    private static byte[] chunk(Random random, String biome) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int section = 0; section < 8; section++) {
+            out.write(("{Y:" + section + ",block_states:{palette:[minecraft:stone,minecraft:dirt,minecraft:grass_block]}," +
+                       "biomes:{palette:[minecraft:" + biome + "]},BlockLight:[]}").getBytes(StandardCharsets.US_ASCII));
+            byte[] blocks = new byte[96];
+            random.nextBytes(blocks);
+            out.write(blocks);
+        }
+        return out.toByteArray();
+    }
+}
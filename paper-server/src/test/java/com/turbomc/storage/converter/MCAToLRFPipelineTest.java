@@ -0,0 +1,175 @@
+package com.turbomc.storage.converter;
+
+import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.lrf.LRFChunkEntry;
+import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFRegionReader;
+import com.turbomc.storage.lrf.LRFRegionWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Tests for MCAToLRFPipeline - staged whole-directory conversion.
+ */
+public class MCAToLRFPipelineTest {
+
+    private Path testDir;
+    private Path sourceDir;
+    private Path targetDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_pipeline_test");
+        sourceDir = Files.createDirectories(testDir.resolve("region"));
+        targetDir = Files.createDirectories(testDir.resolve("lrf"));
+
+        TurboConfig.resetInstance();
+        TurboConfig config = TurboConfig.getInstance(testDir.toFile());
+        TurboCompressionService.resetInstance();
+        TurboCompressionService.initialize(config);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testConvertsDirectoryThroughSmallQueues() throws Exception {
+        Random random = new Random(11);
+        Map<String, Map<Integer, byte[]>> regions = new HashMap<>();
+        for (int regionX = 0; regionX < 4; regionX++) {
+            String name = "r." + regionX + ".0.mca";
+            regions.put(name, writeMca(sourceDir.resolve(name), 60, random, regionX == 3));
+        }
+
+        // Tiny queues and few open regions so every stage runs into back-pressure
+        MCAToLRFPipeline pipeline = new MCAToLRFPipeline(LRFConstants.COMPRESSION_LZ4, false, 2, 2, 2, 2, 16, 2);
+        MCAToLRFConverter.BatchConversionResult result = pipeline.convertDirectory(sourceDir, targetDir);
+
+        assertEquals(4, result.successCount);
+        assertEquals(0, result.failedCount);
+        // The corrupt chunk in the last region is skipped, the rest converts
+        assertEquals(4 * 60 - 1, result.totalChunks);
+        assertFalse(Files.exists(targetDir.resolve(ConversionRecoveryManager.PROGRESS_FILE)));
+
+        for (Map.Entry<String, Map<Integer, byte[]>> region : regions.entrySet()) {
+            assertFalse(Files.exists(sourceDir.resolve(region.getKey())), "source should be retired");
+            Path lrfPath = targetDir.resolve(region.getKey().replace(".mca", ".lrf"));
+            try (LRFRegionReader reader = new LRFRegionReader(lrfPath)) {
+                for (Map.Entry<Integer, byte[]> chunk : region.getValue().entrySet()) {
+                    int index = chunk.getKey();
+                    LRFChunkEntry entry = reader.readChunk(index & 31, index >> 5);
+                    if (chunk.getValue() == null) {
+                        assertNull(entry);
+                    } else {
+                        assertNotNull(entry, "missing chunk " + index + " in " + region.getKey());
+                        assertArrayEquals(chunk.getValue(), entry.getData());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testResumesFromRecordedProgress() throws Exception {
+        Random random = new Random(5);
+        writeMca(sourceDir.resolve("r.0.0.mca"), 10, random, false);
+        Map<Integer, byte[]> pending = writeMca(sourceDir.resolve("r.1.0.mca"), 10, random, false);
+
+        // r.0.0 finished before the interruption, r.1.0 was half written
+        byte[] marker = new byte[300];
+        random.nextBytes(marker);
+        try (LRFRegionWriter writer = new LRFRegionWriter(targetDir.resolve("r.0.0.lrf"))) {
+            writer.addChunk(new LRFChunkEntry(0, 0, marker));
+        }
+        new ConversionRecoveryManager(true, false).markConverted(targetDir, "r.0.0.mca");
+        Files.write(targetDir.resolve("r.1.0.lrf"), new byte[100]);
+
+        MCAToLRFPipeline pipeline = new MCAToLRFPipeline(LRFConstants.COMPRESSION_LZ4, false, 1, 1, 1, 1, 16, 1);
+        MCAToLRFConverter.BatchConversionResult result = pipeline.convertDirectory(sourceDir, targetDir);
+
+        assertEquals(2, result.successCount);
+        assertEquals(10, result.totalChunks);
+        assertFalse(Files.exists(sourceDir.resolve("r.0.0.mca")));
+        assertFalse(Files.exists(sourceDir.resolve("r.1.0.mca")));
+        assertFalse(Files.exists(targetDir.resolve(ConversionRecoveryManager.PROGRESS_FILE)));
+
+        // The finished region was not converted again
+        try (LRFRegionReader reader = new LRFRegionReader(targetDir.resolve("r.0.0.lrf"))) {
+            assertArrayEquals(marker, reader.readChunk(0, 0).getData());
+        }
+        try (LRFRegionReader reader = new LRFRegionReader(targetDir.resolve("r.1.0.lrf"))) {
+            for (Map.Entry<Integer, byte[]> chunk : pending.entrySet()) {
+                if (chunk.getValue() != null) {
+                    assertArrayEquals(chunk.getValue(), reader.readChunk(chunk.getKey() & 31, chunk.getKey() >> 5).getData());
+                }
+            }
+        }
+    }
+
+    /**
+     * Write an Anvil region with {@code count} zlib chunks; optionally the first one is corrupt.
+     *
+     * @return Chunk index to data (null for the corrupt chunk)
+     */
+    private static Map<Integer, byte[]> writeMca(Path path, int count, Random random, boolean corruptFirst) throws IOException {
+        Map<Integer, byte[]> chunks = new HashMap<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ByteBuffer header = ByteBuffer.allocate(8192);
+        int sector = 2;
+
+        for (int i = 0; i < count; i++) {
+            int index = i * 7 % LRFConstants.CHUNKS_PER_REGION;
+            byte[] data = new byte[1000 + random.nextInt(6000)];
+            for (int j = 0; j < data.length; j++) {
+                data[j] = (byte) (random.nextInt(16) + j % 7);
+            }
+
+            byte[] compressed;
+            if (corruptFirst && i == 0) {
+                compressed = new byte[] {1, 2, 3, 4, 5, 6, 7, 8};
+                chunks.put(index, null);
+            } else {
+                ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+                try (DeflaterOutputStream out = new DeflaterOutputStream(deflated)) {
+                    out.write(data);
+                }
+                compressed = deflated.toByteArray();
+                chunks.put(index, data);
+            }
+
+            int frameLength = 5 + compressed.length;
+            int sectors = (frameLength + 4095) / 4096;
+            ByteBuffer frame = ByteBuffer.allocate(sectors * 4096);
+            frame.putInt(compressed.length + 1).put((byte) 2).put(compressed);
+            body.write(frame.array());
+
+            header.putInt(index * 4, (sector << 8) | sectors);
+            header.putInt(4096 + index * 4, 1_700_000_000);
+            sector += sectors;
+        }
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.write(header.array());
+        file.write(body.toByteArray());
+        Files.write(path, file.toByteArray());
+        return chunks;
+    }
+}
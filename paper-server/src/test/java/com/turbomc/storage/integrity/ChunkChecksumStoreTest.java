@@ -0,0 +1,138 @@
+package com.turbomc.storage.integrity;
+
+import com.turbomc.storage.lrf.LRFConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Tests for the persistent checksum sidecar and the validator on top of it.
+ */
+public class ChunkChecksumStoreTest {
+
+    private Path testDir;
+    private Path regionPath;
+    private Random random;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_checksum_store_test");
+        regionPath = testDir.resolve("r.0.0.lrf");
+        random = new Random(16);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testVerify() throws IOException {
+        byte[] data = randomData(4096);
+        try (ChunkChecksumStore store = ChunkChecksumStore.open(regionPath, true)) {
+            assertTrue(store.isPersistent());
+            assertEquals(ChunkChecksumStore.Match.UNKNOWN, store.verify(5, ByteBuffer.wrap(data)));
+
+            store.put(5, ByteBuffer.wrap(data));
+            assertEquals(ChunkChecksumStore.Match.VALID, store.verify(5, ByteBuffer.wrap(data)));
+            assertEquals(1, store.count());
+
+            byte[] corrupted = data.clone();
+            corrupted[1000] ^= 0x10;
+            assertEquals(ChunkChecksumStore.Match.MISMATCH, store.verify(5, ByteBuffer.wrap(corrupted)));
+            assertEquals(ChunkChecksumStore.Match.MISMATCH, store.verify(5, ByteBuffer.wrap(data, 0, 4000)));
+
+            // Buffers are not consumed
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            store.verify(5, buffer);
+            assertEquals(data.length, buffer.remaining());
+        }
+    }
+
+    @Test
+    void testChecksumsSurviveRestart() throws IOException {
+        byte[] data = randomData(2048);
+        try (ChunkChecksumStore store = ChunkChecksumStore.open(regionPath, true)) {
+            store.put(LRFConstants.getChunkIndex(7, 9), ByteBuffer.wrap(data));
+        }
+        assertTrue(Files.exists(ChunkChecksumStore.pathFor(regionPath)));
+
+        try (ChunkChecksumStore store = ChunkChecksumStore.open(regionPath, true)) {
+            assertEquals(ChunkChecksumStore.Match.VALID,
+                store.verify(LRFConstants.getChunkIndex(7, 9), ByteBuffer.wrap(data)));
+        }
+    }
+
+    @Test
+    void testUncleanSidecarIsDiscarded() throws IOException {
+        byte[] data = randomData(2048);
+        try (ChunkChecksumStore store = ChunkChecksumStore.open(regionPath, true)) {
+            store.put(3, ByteBuffer.wrap(data));
+        }
+
+        // Clear the clean flag, as a crash while the store was open would have left it
+        try (RandomAccessFile file = new RandomAccessFile(ChunkChecksumStore.pathFor(regionPath).toFile(), "rw")) {
+            file.seek(8);
+            file.writeInt(0);
+        }
+
+        try (ChunkChecksumStore store = ChunkChecksumStore.open(regionPath, true)) {
+            assertEquals(ChunkChecksumStore.Match.UNKNOWN, store.verify(3, ByteBuffer.wrap(data)));
+            assertEquals(0, store.count());
+        }
+    }
+
+    @Test
+    void testStoreIsShared() throws IOException {
+        byte[] data = randomData(1024);
+        ChunkChecksumStore first = ChunkChecksumStore.open(regionPath, true);
+        try (ChunkChecksumStore second = ChunkChecksumStore.open(regionPath, true)) {
+            assertSame(first, second);
+            second.put(1, ByteBuffer.wrap(data));
+        }
+        // Still open for the first owner
+        assertEquals(ChunkChecksumStore.Match.VALID, first.verify(1, ByteBuffer.wrap(data)));
+        first.close();
+
+        try (ChunkChecksumStore store = ChunkChecksumStore.open(regionPath, true)) {
+            assertNotSame(first, store);
+            assertEquals(ChunkChecksumStore.Match.VALID, store.verify(1, ByteBuffer.wrap(data)));
+        }
+    }
+
+    @Test
+    void testValidatorUsesStoredChecksums() throws IOException {
+        byte[] data = randomData(8192);
+        try (ChunkIntegrityValidator validator = new ChunkIntegrityValidator(regionPath, true, false, 1, 300000)) {
+            validator.updateChecksum(2, 3, data);
+            assertNotNull(validator.getChecksum(2, 3));
+            assertEquals(data.length, validator.getChecksum(2, 3).getSize());
+        }
+
+        try (ChunkIntegrityValidator validator = new ChunkIntegrityValidator(regionPath, true, false, 1, 300000)) {
+            assertTrue(validator.validateChunkNow(2, 3, ByteBuffer.wrap(data)).isValid());
+
+            byte[] corrupted = data.clone();
+            corrupted[0] ^= 1;
+            assertTrue(validator.validateChunkNow(2, 3, ByteBuffer.wrap(corrupted)).isCorrupted());
+            assertEquals(1, validator.getStats().getChunksCorrupted());
+        }
+    }
+
+    private byte[] randomData(int length) {
+        byte[] data = new byte[length];
+        random.nextBytes(data);
+        return data;
+    }
+}
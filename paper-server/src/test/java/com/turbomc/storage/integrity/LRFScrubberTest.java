@@ -0,0 +1,145 @@
+package com.turbomc.storage.integrity;
+
+import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.cache.ChunkByteCache;
+import com.turbomc.storage.lrf.AdvancedLRFCorruptionFixer;
+import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFRegionReader;
+import com.turbomc.storage.lrf.LRFRegionWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the background region scrubber.
+ */
+public class LRFScrubberTest {
+
+    private Path testDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_scrubber_test");
+
+        TurboConfig.resetInstance();
+        TurboConfig config = TurboConfig.getInstance(testDir.toFile());
+        TurboCompressionService.resetInstance();
+        TurboCompressionService.initialize(config);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testReportsCorruptedChunk() throws IOException {
+        Path regionPath = writeRegion("r.0.0.lrf", 4);
+
+        // Flip a payload byte of chunk (1,0) on disk
+        int offset;
+        try (LRFRegionReader reader = new LRFRegionReader(regionPath)) {
+            offset = reader.getHeader().getChunkOffset(1, 0);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(regionPath.toFile(), "rw")) {
+            file.seek(offset + 100);
+            int value = file.read();
+            file.seek(offset + 100);
+            file.write(value ^ 0x55);
+        }
+        ChunkByteCache.shared().invalidateRegion(ChunkByteCache.regionKey(regionPath));
+
+        AdvancedLRFCorruptionFixer fixer = new AdvancedLRFCorruptionFixer();
+        try (LRFScrubber scrubber = newScrubber(fixer)) {
+            runPass(scrubber);
+            assertEquals(4, scrubber.getStats().getChunksScrubbed());
+            assertEquals(1, scrubber.getStats().getSuspectsFound());
+        }
+
+        assertEquals(Set.of(LRFConstants.getChunkIndex(1, 0)), fixer.getSuspectChunks(regionPath));
+        assertTrue(fixer.detectCorruption(regionPath).getIssues().stream()
+            .anyMatch(issue -> issue.contains("SUSPECT_CHUNK")));
+    }
+
+    @Test
+    void testResumesAfterRestart() throws IOException {
+        writeRegion("r.0.0.lrf", 5);
+        writeRegion("r.0.1.lrf", 5);
+
+        long first;
+        try (LRFScrubber scrubber = newScrubber(new AdvancedLRFCorruptionFixer())) {
+            for (int i = 0; i < 7; i++) {
+                scrubber.step();
+            }
+            first = scrubber.getStats().getChunksScrubbed();
+            assertTrue(first > 0 && first < 10);
+        }
+        assertTrue(Files.exists(testDir.resolve(LRFScrubber.PROGRESS_FILE)));
+
+        try (LRFScrubber scrubber = newScrubber(new AdvancedLRFCorruptionFixer())) {
+            runPass(scrubber);
+            // Nothing scrubbed twice, nothing skipped
+            assertEquals(10, first + scrubber.getStats().getChunksScrubbed());
+            assertEquals(0, scrubber.getStats().getSuspectsFound());
+        }
+    }
+
+    @Test
+    void testPausesUnderLoad() throws IOException {
+        writeRegion("r.0.0.lrf", 2);
+
+        try (LRFScrubber scrubber = newScrubber(new AdvancedLRFCorruptionFixer())) {
+            scrubber.setMsptSource(() -> 80.0);
+            assertEquals(TimeUnit.SECONDS.toNanos(1), scrubber.step());
+            assertEquals(0, scrubber.getStats().getChunksScrubbed());
+            assertEquals(1, scrubber.getStats().getPauses());
+
+            scrubber.setMsptSource(() -> 10.0);
+            scrubber.step();
+            assertEquals(1, scrubber.getStats().getChunksScrubbed());
+        }
+    }
+
+    private LRFScrubber newScrubber(AdvancedLRFCorruptionFixer fixer) {
+        LRFScrubber scrubber = new LRFScrubber(fixer, Long.MAX_VALUE / 2_000_000_000L, 1_000_000, 50.0,
+            TimeUnit.HOURS.toMillis(1), true);
+        scrubber.setMsptSource(() -> 0.0);
+        scrubber.registerFolder(testDir);
+        return scrubber;
+    }
+
+    private static void runPass(LRFScrubber scrubber) throws IOException {
+        for (int i = 0; i < 10_000 && scrubber.getStats().getPassesCompleted() == 0; i++) {
+            scrubber.step();
+        }
+        assertEquals(1, scrubber.getStats().getPassesCompleted());
+    }
+
+    private Path writeRegion(String name, int chunks) throws IOException {
+        Path regionPath = testDir.resolve(name);
+        Random random = new Random(name.hashCode());
+        try (LRFRegionWriter writer = new LRFRegionWriter(regionPath, LRFConstants.COMPRESSION_NONE)) {
+            for (int i = 0; i < chunks; i++) {
+                byte[] data = new byte[3000 + i * 500];
+                for (int j = 0; j < data.length; j++) {
+                    data[j] = (byte) (random.nextInt(4) == 0 ? random.nextInt(256) : j % 13);
+                }
+                writer.addChunk(i, 0, data);
+            }
+        }
+        return regionPath;
+    }
+}
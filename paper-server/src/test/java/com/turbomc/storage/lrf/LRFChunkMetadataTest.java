@@ -0,0 +1,131 @@
+package com.turbomc.storage.lrf;
+
+import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.cache.ChunkByteCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tests for the per-chunk metadata table of LRF regions.
+ */
+public class LRFChunkMetadataTest {
+
+    private Path testDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_chunk_metadata_test");
+
+        TurboConfig.resetInstance();
+        TurboConfig config = TurboConfig.getInstance(testDir.toFile());
+        TurboCompressionService.resetInstance();
+        TurboCompressionService.initialize(config);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testEntryRoundTrip() {
+        byte[] data = sample(3000, 1);
+        LRFChunkMetadata metadata = new LRFChunkMetadata(3955, "minecraft:full", 123_456L, 789L, data);
+
+        ByteBuffer table = ByteBuffer.allocate(LRFConstants.METADATA_TABLE_SIZE);
+        metadata.write(table, 37, 40_960);
+
+        LRFChunkMetadata read = LRFChunkMetadata.read(table, 37, 40_960);
+        assertNotNull(read);
+        assertEquals(3955, read.getDataVersion());
+        assertEquals("minecraft:full", read.getStatus());
+        assertTrue(read.isFullyGenerated());
+        assertEquals(123_456L, read.getLastSaveTick());
+        assertEquals(789L, read.getInhabitedTime());
+        assertEquals(data.length, read.getUncompressedSize());
+        assertTrue(read.matches(ByteBuffer.wrap(data)));
+
+        // Entry written for another frame, or never written
+        assertNull(LRFChunkMetadata.read(table, 37, 45_056));
+        assertNull(LRFChunkMetadata.read(table, 38, 40_960));
+
+        byte[] corrupted = data.clone();
+        corrupted[100] ^= 1;
+        assertFalse(read.matches(ByteBuffer.wrap(corrupted)));
+        assertFalse(read.matches(ByteBuffer.wrap(data, 0, data.length - 1)));
+    }
+
+    @Test
+    void testWriterMaintainsTable() throws IOException {
+        Path regionPath = testDir.resolve("r.0.0.lrf");
+        byte[] first = sample(2000, 2);
+        byte[] second = sample(1500, 3);
+
+        try (LRFRegionWriter writer = new LRFRegionWriter(regionPath, LRFConstants.COMPRESSION_LZ4)) {
+            writer.addChunk(new LRFChunkEntry(3, 4, first,
+                new LRFChunkMetadata(3955, "minecraft:features", 100L, 0L, first)));
+            writer.addChunk(5, 6, second);
+        }
+
+        try (LRFRegionReader reader = new LRFRegionReader(regionPath)) {
+            assertTrue(reader.getHeader().hasMetadataTable());
+            LRFChunkMetadata metadata = reader.readMetadata(3, 4);
+            assertNotNull(metadata);
+            assertEquals("minecraft:features", metadata.getStatus());
+            assertFalse(metadata.isFullyGenerated());
+            assertEquals(100L, metadata.getLastSaveTick());
+            assertTrue(metadata.matches(ByteBuffer.wrap(first)));
+
+            // Chunks saved without NBT at hand still get size and checksum
+            LRFChunkMetadata raw = reader.readMetadata(5, 6);
+            assertNotNull(raw);
+            assertNull(raw.getStatus());
+            assertTrue(raw.matches(ByteBuffer.wrap(second)));
+
+            assertNull(reader.readMetadata(0, 0));
+            assertEquals(2, Arrays.stream(reader.readAllMetadata()).filter(m -> m != null).count());
+        }
+
+        // Growing the chunk moves its frame; the entry follows it
+        byte[] grown = sample(20_000, 4);
+        try (LRFRegionWriter writer = new LRFRegionWriter(regionPath, LRFConstants.COMPRESSION_LZ4)) {
+            writer.addChunk(new LRFChunkEntry(3, 4, grown,
+                new LRFChunkMetadata(3955, "minecraft:full", 200L, 20L, grown)));
+        }
+        ChunkByteCache.shared().invalidateRegion(ChunkByteCache.regionKey(regionPath));
+
+        try (LRFRegionReader reader = new LRFRegionReader(regionPath)) {
+            LRFChunkMetadata metadata = reader.readMetadata(3, 4);
+            assertNotNull(metadata);
+            assertTrue(metadata.isFullyGenerated());
+            assertEquals(200L, metadata.getLastSaveTick());
+            assertTrue(metadata.matches(ByteBuffer.wrap(grown)));
+            assertArrayEquals(grown, reader.readChunk(3, 4).getData());
+        }
+    }
+
+    /**
+     * Compressible data with some noise.
+     */
+    private static byte[] sample(int length, int seed) {
+        Random random = new Random(seed);
+        byte[] data = new byte[length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (random.nextInt(4) == 0 ? random.nextInt(256) : i % 13);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,179 @@
+package com.turbomc.storage.lrf;
+
+import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.batch.ChunkBatchLoader;
+import com.turbomc.storage.cache.ChunkByteCache;
+import com.turbomc.storage.optimization.SharedRegionResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for LRFReadPlanner and the coalesced multi-chunk read path.
+ */
+public class LRFReadPlannerTest {
+
+    private Path testDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_read_planner_test");
+
+        // Without mmap every chunk goes through positional reads
+        Files.writeString(testDir.resolve("turbo.toml"), """
+            [storage.mmap]
+              enabled = false
+            """);
+
+        TurboConfig.resetInstance();
+        TurboConfig config = TurboConfig.getInstance(testDir.toFile());
+        TurboCompressionService.resetInstance();
+        TurboCompressionService.initialize(config);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testPlanMergesNeighbours() {
+        LRFReadPlanner planner = new LRFReadPlanner(1024, 64 * 1024);
+        List<LRFReadPlanner.Extent> extents = List.of(
+            new LRFReadPlanner.Extent(0, 0, 0, 20_480, 4096),
+            new LRFReadPlanner.Extent(1, 1, 0, 8192, 4096),
+            new LRFReadPlanner.Extent(2, 2, 0, 12_288, 4096),
+            // 512-byte gap: read through
+            new LRFReadPlanner.Extent(3, 3, 0, 16_896, 3584),
+            // 100 KB further on: separate read
+            new LRFReadPlanner.Extent(4, 4, 0, 122_880, 4096));
+
+        List<LRFReadPlanner.Read> reads = planner.plan(extents);
+
+        assertEquals(2, reads.size());
+        assertEquals(8192, reads.get(0).offset());
+        assertEquals(24_576, reads.get(0).end());
+        assertEquals(4, reads.get(0).extents().size());
+        assertEquals(1, reads.get(0).extents().get(0).slot(), "extents come in file order");
+        assertEquals(122_880, reads.get(1).offset());
+    }
+
+    @Test
+    void testPlanRespectsReadLimit() {
+        LRFReadPlanner planner = new LRFReadPlanner(1024, 16 * 1024);
+        List<LRFReadPlanner.Extent> extents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            extents.add(new LRFReadPlanner.Extent(i, i, 0, 8192 + i * 4096L, 4096));
+        }
+        // A single chunk larger than the limit still gets its own read
+        extents.add(new LRFReadPlanner.Extent(10, 10, 0, 8192 + 10 * 4096L, 40 * 1024));
+
+        List<LRFReadPlanner.Read> reads = planner.plan(extents);
+
+        assertEquals(4, reads.size());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(reads.get(i).length() <= 16 * 1024);
+        }
+        assertEquals(40 * 1024, reads.get(3).length());
+    }
+
+    @Test
+    void testCoalescedReadsMatchSingleReads() throws Exception {
+        Path regionPath = testDir.resolve("r.0.0.lrf");
+        Map<Integer, byte[]> written = writeRegion(regionPath, new Random(21));
+
+        List<int[]> coords = new ArrayList<>();
+        for (int index = 0; index < LRFConstants.CHUNKS_PER_REGION; index += 3) {
+            coords.add(new int[]{index & 31, index >> 5});
+        }
+        Collections.shuffle(coords, new Random(4));
+
+        for (LRFReadPlanner planner : new LRFReadPlanner[] {
+                new LRFReadPlanner(32 * 1024, 1024 * 1024),
+                new LRFReadPlanner(0, 8 * 1024),
+                new LRFReadPlanner(0, 1)}) {
+            ChunkByteCache.shared().invalidateRegion(ChunkByteCache.regionKey(regionPath));
+            try (LRFRegionReader reader = new LRFRegionReader(regionPath)) {
+                LRFChunkEntry[] chunks = reader.readChunks(coords, planner);
+                assertEquals(coords.size(), chunks.length);
+                for (int i = 0; i < coords.size(); i++) {
+                    int index = LRFConstants.getChunkIndex(coords.get(i)[0], coords.get(i)[1]);
+                    byte[] expected = written.get(index);
+                    if (expected == null) {
+                        assertNull(chunks[i]);
+                    } else {
+                        assertNotNull(chunks[i], "chunk " + index);
+                        assertArrayEquals(expected, chunks[i].getData(), "chunk " + index);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBatchLoaderLoadsRegion() throws Exception {
+        Path regionPath = testDir.resolve("r.0.0.lrf");
+        Map<Integer, byte[]> written = writeRegion(regionPath, new Random(22));
+        ChunkByteCache.shared().invalidateRegion(ChunkByteCache.regionKey(regionPath));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (ChunkBatchLoader loader = new ChunkBatchLoader(new SharedRegionResource(regionPath), executor, executor, 16, 64)) {
+            List<LRFChunkEntry> chunks = loader.loadRegion(10, 10, 5).get(10, TimeUnit.SECONDS);
+
+            int expected = 0;
+            for (int x = 5; x <= 15; x++) {
+                for (int z = 5; z <= 15; z++) {
+                    if (written.containsKey(LRFConstants.getChunkIndex(x, z))) {
+                        expected++;
+                    }
+                }
+            }
+            assertEquals(expected, chunks.size());
+            for (LRFChunkEntry chunk : chunks) {
+                assertArrayEquals(written.get(chunk.getIndex()), chunk.getData());
+            }
+            assertEquals(0, loader.getLoadingCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Region with most chunks present (every 7th missing) and varied sizes.
+     */
+    private static Map<Integer, byte[]> writeRegion(Path regionPath, Random random) throws IOException {
+        Map<Integer, byte[]> written = new HashMap<>();
+        try (LRFRegionWriter writer = new LRFRegionWriter(regionPath, LRFConstants.COMPRESSION_LZ4)) {
+            for (int index = 0; index < LRFConstants.CHUNKS_PER_REGION; index++) {
+                if (index % 7 == 0) {
+                    continue;
+                }
+                byte[] data = new byte[500 + random.nextInt(9000)];
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = (byte) (random.nextInt(4) == 0 ? random.nextInt(256) : i % 17);
+                }
+                writer.addChunk(index & 31, index >> 5, data);
+                written.put(index, data);
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,101 @@
+package com.turbomc.storage.mmap;
+
+import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.lrf.LRFChunkEntry;
+import com.turbomc.storage.lrf.LRFRegionWriter;
+import com.turbomc.storage.optimization.SharedRegionResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests for ReadAheadCoordinator - shared read-ahead across region engines.
+ */
+public class ReadAheadCoordinatorTest {
+
+    private Path testDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_readahead_test");
+
+        TurboConfig.resetInstance();
+        TurboConfig config = TurboConfig.getInstance(testDir.toFile());
+        TurboCompressionService.resetInstance();
+        TurboCompressionService.initialize(config);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testScoreFavoursHeading() {
+        // Moving east: the chunk ahead beats the one behind at the same distance
+        assertTrue(ReadAheadCoordinator.score(3, 0, 1, 0) < ReadAheadCoordinator.score(-3, 0, 1, 0));
+        // Nearer beats farther when standing still
+        assertTrue(ReadAheadCoordinator.score(1, 1, 0, 0) < ReadAheadCoordinator.score(2, 0, 0, 0));
+        assertEquals(2.0, ReadAheadCoordinator.score(2, -2, 0, 0), 0.0001);
+    }
+
+    @Test
+    void testPrefetchFollowsWalkAcrossRegions() throws Exception {
+        Random random = new Random(7);
+        Map<Long, byte[]> written = new HashMap<>();
+        for (int regionX = 0; regionX < 2; regionX++) {
+            try (LRFRegionWriter writer = new LRFRegionWriter(testDir.resolve("r." + regionX + ".0.lrf"))) {
+                for (int i = 0; i < 1024; i++) {
+                    int x = regionX * 32 + (i & 31);
+                    int z = i >> 5;
+                    byte[] data = new byte[2000 + random.nextInt(2000)];
+                    random.nextBytes(data);
+                    written.put(((long) x << 32) | z, data);
+                    writer.addChunk(new LRFChunkEntry(x, z, data));
+                }
+            }
+        }
+
+        try (ReadAheadCoordinator coordinator = new ReadAheadCoordinator(2, 256, 4 * 1024 * 1024, 30000)) {
+            MMapReadAheadEngine west = new MMapReadAheadEngine(new SharedRegionResource(testDir.resolve("r.0.0.lrf")),
+                64, 2, 16, 8 * 1024 * 1024, true, 4, coordinator);
+            MMapReadAheadEngine east = new MMapReadAheadEngine(new SharedRegionResource(testDir.resolve("r.1.0.lrf")),
+                64, 2, 16, 8 * 1024 * 1024, true, 4, coordinator);
+
+            try {
+                for (int x = 20; x < 50; x++) {
+                    MMapReadAheadEngine engine = x < 32 ? west : east;
+                    byte[] data = engine.readChunk(x, 10);
+                    assertArrayEquals(written.get(((long) x << 32) | 10), data, "Chunk " + x + ",10");
+                    Thread.sleep(20); // Give the workers time to run ahead
+                }
+
+                ReadAheadCoordinator.Stats stats = coordinator.getStats();
+                assertEquals(2, stats.engines());
+                assertTrue(stats.prefetched() > 0);
+                assertTrue(stats.used() > 0, "No read was served by read-ahead: " + stats);
+                assertTrue(stats.deduplicated() > 0);
+                assertTrue(stats.residentBytes() <= 4 * 1024 * 1024 + 8192);
+            } finally {
+                west.close();
+                east.close();
+            }
+
+            assertEquals(0, coordinator.getStats().engines());
+            assertEquals(0, coordinator.getStats().residentChunks());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.turbomc.storage.optimization;
+
+import com.turbomc.storage.lrf.LRFChunkEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Tests for the prioritized chunk load queue.
+ */
+public class ChunkIORequestQueueTest {
+
+    private static final Path REGION = Path.of("r.0.0.lrf").toAbsolutePath();
+
+    private StorageScheduler scheduler;
+    private ChunkIORequestQueue queue;
+    private final List<Integer> reads = new CopyOnWriteArrayList<>();
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        Map<StorageScheduler.Lane, Integer> threads = new EnumMap<>(StorageScheduler.Lane.class);
+        for (StorageScheduler.Lane lane : StorageScheduler.Lane.values()) {
+            threads.put(lane, 1);
+        }
+        scheduler = new StorageScheduler(threads, 64, false);
+        queue = new ChunkIORequestQueue(scheduler);
+
+        // Hold the only read worker so requests pile up in the queue
+        release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.execute(StorageScheduler.Lane.READ, StorageScheduler.Priority.URGENT, () -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduler.close();
+    }
+
+    @Test
+    void testHigherPriorityReadsFirst() throws Exception {
+        CompletableFuture<LRFChunkEntry> low = submit(0, ChunkIORequestQueue.Priority.LOW);
+        CompletableFuture<LRFChunkEntry> normal = submit(1, ChunkIORequestQueue.Priority.NORMAL);
+        CompletableFuture<LRFChunkEntry> blocking = submit(2, ChunkIORequestQueue.Priority.BLOCKING);
+
+        release.countDown();
+        CompletableFuture.allOf(low, normal, blocking).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(2, 1, 0), reads);
+        assertEquals(2, blocking.get().getChunkX());
+    }
+
+    @Test
+    void testRaisePriorityOfWaitingRequest() throws Exception {
+        CompletableFuture<LRFChunkEntry> first = submit(0, ChunkIORequestQueue.Priority.LOW);
+        CompletableFuture<LRFChunkEntry> second = submit(1, ChunkIORequestQueue.Priority.LOW);
+
+        assertTrue(queue.raisePriority(REGION, 1, 0, ChunkIORequestQueue.Priority.HIGHEST));
+        assertFalse(queue.raisePriority(REGION, 1, 0, ChunkIORequestQueue.Priority.NORMAL));
+        assertFalse(queue.raisePriority(REGION, 5, 0, ChunkIORequestQueue.Priority.BLOCKING));
+
+        release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(1, 0), reads);
+        assertEquals(1, queue.getStats().getRaised());
+    }
+
+    @Test
+    void testCancelBeforeReadStarts() throws Exception {
+        CompletableFuture<LRFChunkEntry> cancelled = submit(0, ChunkIORequestQueue.Priority.NORMAL);
+        CompletableFuture<LRFChunkEntry> kept = submit(1, ChunkIORequestQueue.Priority.NORMAL);
+
+        assertTrue(queue.cancel(REGION, 0, 0));
+        assertTrue(cancelled.isCancelled());
+        assertFalse(queue.isQueued(REGION, 0, 0));
+
+        release.countDown();
+        kept.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(1), reads);
+        // Too late once read
+        assertFalse(queue.cancel(REGION, 1, 0));
+
+        ChunkIORequestQueue.QueueStats stats = queue.getStats();
+        assertEquals(1, stats.getCancelled());
+        assertEquals(1, stats.getCompleted());
+        assertEquals(0, stats.getWaiting());
+    }
+
+    @Test
+    void testRequestsForSameChunkAreMerged() throws Exception {
+        CompletableFuture<LRFChunkEntry> prefetch = submit(0, ChunkIORequestQueue.Priority.LOW);
+        CompletableFuture<LRFChunkEntry> other = submit(1, ChunkIORequestQueue.Priority.NORMAL);
+        CompletableFuture<LRFChunkEntry> load = submit(0, ChunkIORequestQueue.Priority.BLOCKING);
+        assertSame(prefetch, load);
+
+        release.countDown();
+        CompletableFuture.allOf(load, other).get(5, TimeUnit.SECONDS);
+        // Read once, ahead of the normal request
+        assertEquals(List.of(0, 1), reads);
+        assertEquals(1, queue.getStats().getMerged());
+    }
+
+    @Test
+    void testCancelKeepsMergedRequestForOtherWaiters() throws Exception {
+        CompletableFuture<LRFChunkEntry> prefetch = submit(0, ChunkIORequestQueue.Priority.HIGHEST);
+        submit(0, ChunkIORequestQueue.Priority.LOW);
+        CompletableFuture<LRFChunkEntry> other = submit(1, ChunkIORequestQueue.Priority.NORMAL);
+
+        // The HIGHEST waiter leaves; the read stays for the LOW one and drops behind the NORMAL request
+        assertTrue(queue.cancel(REGION, 0, 0, ChunkIORequestQueue.Priority.HIGHEST));
+        assertFalse(prefetch.isCancelled());
+        assertTrue(queue.isQueued(REGION, 0, 0));
+
+        release.countDown();
+        CompletableFuture.allOf(prefetch, other).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(1, 0), reads);
+        assertEquals(0, queue.getStats().getCancelled());
+    }
+
+    @Test
+    void testSetPriorityMovesWaiter() throws Exception {
+        CompletableFuture<LRFChunkEntry> first = submit(0, ChunkIORequestQueue.Priority.HIGHEST);
+        CompletableFuture<LRFChunkEntry> second = submit(1, ChunkIORequestQueue.Priority.NORMAL);
+
+        assertFalse(queue.setPriority(REGION, 0, 0, ChunkIORequestQueue.Priority.LOW, ChunkIORequestQueue.Priority.LOW));
+        assertTrue(queue.setPriority(REGION, 0, 0, ChunkIORequestQueue.Priority.HIGHEST, ChunkIORequestQueue.Priority.LOW));
+
+        release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(1, 0), reads);
+    }
+
+    @Test
+    void testMoonrisePriorityMapping() {
+        assertEquals(ChunkIORequestQueue.Priority.BLOCKING,
+            ChunkIORequestQueue.Priority.fromMoonrise(ca.spottedleaf.concurrentutil.util.Priority.BLOCKING));
+        assertEquals(ChunkIORequestQueue.Priority.HIGHEST,
+            ChunkIORequestQueue.Priority.fromMoonrise(ca.spottedleaf.concurrentutil.util.Priority.HIGHEST));
+        assertEquals(ChunkIORequestQueue.Priority.NORMAL,
+            ChunkIORequestQueue.Priority.fromMoonrise(ca.spottedleaf.concurrentutil.util.Priority.HIGH));
+        assertEquals(ChunkIORequestQueue.Priority.LOW,
+            ChunkIORequestQueue.Priority.fromMoonrise(ca.spottedleaf.concurrentutil.util.Priority.LOW));
+    }
+
+    private CompletableFuture<LRFChunkEntry> submit(int chunkX, ChunkIORequestQueue.Priority priority) {
+        Supplier<LRFChunkEntry> read = () -> {
+            reads.add(chunkX);
+            return new LRFChunkEntry(chunkX, 0, new byte[] { (byte) chunkX });
+        };
+        return queue.submit(REGION, chunkX, 0, priority, read);
+    }
+}
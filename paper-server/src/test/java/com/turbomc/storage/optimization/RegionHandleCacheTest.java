@@ -0,0 +1,229 @@
+package com.turbomc.storage.optimization;
+
+import com.turbomc.compression.TurboCompressionService;
+import com.turbomc.config.TurboConfig;
+import com.turbomc.storage.lrf.LRFConstants;
+import com.turbomc.storage.lrf.LRFRegionWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the bounded cache of open regions.
+ */
+public class RegionHandleCacheTest {
+
+    private Path testDir;
+    private StorageScheduler scheduler;
+    private final List<Path> closed = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testDir = Files.createTempDirectory("turbomc_handle_cache_test");
+
+        TurboConfig.resetInstance();
+        TurboConfig config = TurboConfig.getInstance(testDir.toFile());
+        TurboCompressionService.resetInstance();
+        TurboCompressionService.initialize(config);
+
+        Map<StorageScheduler.Lane, Integer> threads = new EnumMap<>(StorageScheduler.Lane.class);
+        for (StorageScheduler.Lane lane : StorageScheduler.Lane.values()) {
+            threads.put(lane, 1);
+        }
+        scheduler = new StorageScheduler(threads, 64, false);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        scheduler.close();
+        if (Files.exists(testDir)) {
+            Files.walk(testDir).sorted((a, b) -> b.compareTo(a)).forEach(p -> {
+                try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            });
+        }
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() throws Exception {
+        RegionHandleCache cache = new RegionHandleCache(2, 0, scheduler, closed::add);
+        Path a = region("r.0.0.lrf");
+        Path b = region("r.0.1.lrf");
+        Path c = region("r.0.2.lrf");
+
+        touch(cache, a);
+        SharedRegionResource resourceB = touch(cache, b);
+        touch(cache, a);
+        touch(cache, c);
+        drain();
+
+        assertEquals(List.of(b), closed);
+        assertTrue(resourceB.isClosed());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void testPinnedRegionIsNotEvicted() throws Exception {
+        RegionHandleCache cache = new RegionHandleCache(1, 0, scheduler, closed::add);
+        Path a = region("r.0.0.lrf");
+        Path b = region("r.0.1.lrf");
+
+        RegionHandleCache.Handle pinned = cache.acquire(a);
+        touch(cache, b);
+        drain();
+        assertEquals(List.of(b), closed);
+        assertFalse(pinned.getResource().isClosed());
+
+        // Evicted once the pin is gone and another region opens
+        cache.release(pinned);
+        touch(cache, b);
+        drain();
+        assertEquals(List.of(b, a), closed);
+    }
+
+    @Test
+    void testReaccessBeforeEvictionKeepsHandle() throws Exception {
+        RegionHandleCache cache = new RegionHandleCache(1, 0, scheduler, closed::add);
+        Path a = region("r.0.0.lrf");
+        Path b = region("r.0.1.lrf");
+
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.execute(StorageScheduler.Lane.MAINTENANCE, StorageScheduler.Priority.URGENT, () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        SharedRegionResource first = touch(cache, a);
+        touch(cache, b); // Queues the eviction of a
+        assertSame(first, touch(cache, a));
+        assertEquals(1, cache.getStats().getRevived());
+
+        release.countDown();
+        drain();
+        assertEquals(List.of(b), closed);
+        assertFalse(first.isClosed());
+    }
+
+    @Test
+    void testEvictionDoesNotWaitBehindBackgroundMaintenance() throws Exception {
+        Map<StorageScheduler.Lane, Integer> threads = new EnumMap<>(StorageScheduler.Lane.class);
+        for (StorageScheduler.Lane lane : StorageScheduler.Lane.values()) {
+            threads.put(lane, 2);
+        }
+        StorageScheduler busy = new StorageScheduler(threads, 64, false);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // A long compaction or scrub holds every background worker
+            for (int i = 0; i < 4; i++) {
+                busy.execute(StorageScheduler.Lane.MAINTENANCE, StorageScheduler.Priority.BACKGROUND, () -> {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            RegionHandleCache cache = new RegionHandleCache(1, 0, busy, closed::add);
+            Path a = region("r.0.0.lrf");
+            SharedRegionResource first = touch(cache, a);
+            touch(cache, region("r.0.1.lrf"));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!first.isClosed() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertTrue(first.isClosed());
+            assertEquals(List.of(a), closed);
+        } finally {
+            release.countDown();
+            busy.close();
+        }
+    }
+
+    @Test
+    void testMappedBytesBudget() throws Exception {
+        RegionHandleCache cache = new RegionHandleCache(0, 3 * 1024 * 1024, scheduler, closed::add);
+        Path a = region("r.0.0.lrf");
+        Path b = region("r.0.1.lrf");
+
+        map(cache, a, 2 * 1024 * 1024);
+        assertEquals(2 * 1024 * 1024, cache.getStats().getMappedBytes());
+        map(cache, b, 2 * 1024 * 1024);
+        drain();
+
+        assertEquals(List.of(a), closed);
+        assertEquals(2 * 1024 * 1024, cache.getStats().getMappedBytes());
+    }
+
+    @Test
+    void testCloseWaitsForPins() throws Exception {
+        RegionHandleCache cache = new RegionHandleCache(0, 0, scheduler, closed::add);
+        Path a = region("r.0.0.lrf");
+
+        RegionHandleCache.Handle handle = cache.acquire(a);
+        cache.close(a);
+        assertEquals(List.of(a), closed);
+        assertEquals(0, cache.size());
+        // The file stays open for the operation in flight
+        assertFalse(handle.getResource().isClosed());
+        assertTrue(handle.getResource().getChannel().isOpen());
+
+        cache.release(handle);
+        assertTrue(handle.getResource().isClosed());
+
+        // Reopened on next access
+        SharedRegionResource reopened = touch(cache, a);
+        assertNotSame(handle.getResource(), reopened);
+        cache.closeAll();
+        assertTrue(reopened.isClosed());
+    }
+
+    private SharedRegionResource touch(RegionHandleCache cache, Path path) throws IOException {
+        RegionHandleCache.Handle handle = cache.acquire(path);
+        try {
+            return handle.getResource();
+        } finally {
+            cache.release(handle);
+        }
+    }
+
+    private void map(RegionHandleCache cache, Path path, long size) throws IOException {
+        RegionHandleCache.Handle handle = cache.acquire(path);
+        try {
+            handle.getResource().getOrCreateMappedBuffer(size);
+        } finally {
+            cache.release(handle);
+        }
+    }
+
+    /**
+     * Wait for queued evictions to run.
+     */
+    private void drain() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        scheduler.execute(StorageScheduler.Lane.MAINTENANCE, StorageScheduler.Priority.BACKGROUND, done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    private Path region(String name) throws IOException {
+        Path regionPath = testDir.resolve(name).toAbsolutePath().normalize();
+        try (LRFRegionWriter writer = new LRFRegionWriter(regionPath, LRFConstants.COMPRESSION_NONE)) {
+            writer.addChunk(0, 0, new byte[1000]);
+        }
+        return regionPath;
+    }
+}
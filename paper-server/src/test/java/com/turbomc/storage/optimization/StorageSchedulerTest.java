@@ -0,0 +1,134 @@
+package com.turbomc.storage.optimization;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the lane-based storage scheduler.
+ */
+public class StorageSchedulerTest {
+
+    private StorageScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        Map<StorageScheduler.Lane, Integer> threads = new EnumMap<>(StorageScheduler.Lane.class);
+        for (StorageScheduler.Lane lane : StorageScheduler.Lane.values()) {
+            threads.put(lane, 1);
+        }
+        threads.put(StorageScheduler.Lane.READ, 2);
+        scheduler = new StorageScheduler(threads, 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    void testUrgentDoesNotWaitForPrefetch() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch urgentDone = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        // Occupies the only worker allowed to run non-urgent work
+        scheduler.execute(StorageScheduler.Lane.READ, StorageScheduler.Priority.PREFETCH, () -> await(release));
+        scheduler.execute(StorageScheduler.Lane.READ, StorageScheduler.Priority.PREFETCH, () -> order.add("prefetch"));
+        scheduler.execute(StorageScheduler.Lane.READ, StorageScheduler.Priority.URGENT, () -> {
+            order.add("urgent");
+            urgentDone.countDown();
+        });
+
+        assertTrue(urgentDone.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("urgent"), order);
+
+        release.countDown();
+        scheduler.close();
+        assertEquals(List.of("urgent", "prefetch"), order);
+    }
+
+    @Test
+    void testFullLaneRejectsPrefetchAndRunsBackgroundOnCaller() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.execute(StorageScheduler.Lane.WRITE, StorageScheduler.Priority.BACKGROUND, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Fill the queue
+        scheduler.execute(StorageScheduler.Lane.WRITE, StorageScheduler.Priority.BACKGROUND, () -> {});
+        scheduler.execute(StorageScheduler.Lane.WRITE, StorageScheduler.Priority.BACKGROUND, () -> {});
+
+        assertThrows(RejectedExecutionException.class, () ->
+            scheduler.execute(StorageScheduler.Lane.WRITE, StorageScheduler.Priority.PREFETCH, () -> {}));
+
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        scheduler.execute(StorageScheduler.Lane.WRITE, StorageScheduler.Priority.BACKGROUND, () -> {
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+        });
+        assertEquals(1, ranOnCaller.get());
+
+        // Urgent work is never refused
+        scheduler.execute(StorageScheduler.Lane.WRITE, StorageScheduler.Priority.URGENT, () -> {});
+
+        StorageScheduler.LaneStats stats = scheduler.getStats().get(StorageScheduler.Lane.WRITE);
+        assertEquals(1, stats.rejected());
+        assertEquals(1, stats.callerRuns());
+        assertEquals(3, stats.queued());
+        release.countDown();
+    }
+
+    @Test
+    void testCloseRunsQueuedTasks() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+        scheduler.execute(StorageScheduler.Lane.MAINTENANCE, StorageScheduler.Priority.BACKGROUND, () -> await(release));
+        for (int i = 0; i < 5; i++) {
+            scheduler.execute(StorageScheduler.Lane.MAINTENANCE, StorageScheduler.Priority.URGENT, ran::incrementAndGet);
+        }
+
+        release.countDown();
+        scheduler.close();
+        assertEquals(5, ran.get());
+        assertTrue(scheduler.isClosed());
+
+        StorageScheduler.LaneStats stats = scheduler.getStats().get(StorageScheduler.Lane.MAINTENANCE);
+        assertEquals(6, stats.submitted());
+        assertEquals(6, stats.completed());
+        assertEquals(0, stats.queued());
+
+        assertThrows(RejectedExecutionException.class, () ->
+            scheduler.execute(StorageScheduler.Lane.MAINTENANCE, StorageScheduler.Priority.URGENT, () -> {}));
+    }
+
+    @Test
+    void testExecutorViewIgnoresShutdown() throws Exception {
+        var executor = scheduler.executor(StorageScheduler.Lane.COMPRESS, StorageScheduler.Priority.BACKGROUND);
+        executor.shutdown();
+        assertFalse(executor.isShutdown());
+        assertEquals(Integer.valueOf(42), executor.submit(() -> 42).get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package net.minecraft.world.phys;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.world.entity.Entity;
+import org.bukkit.support.environment.AllFeatures;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the per-section structure-of-arrays entity bounds index.
+ */
+@AllFeatures
+public class EntityBoundsIndexTest {
+
+    private static final AABB EVERYWHERE = new AABB(-1000, -1000, -1000, 1000, 1000, 1000);
+
+    @Test
+    public void testQueriesFollowListOrderAcrossAddAndRemove() {
+        final EntityBoundsIndex index = new EntityBoundsIndex();
+        // Mirrors the section's BasicEntityList, which appends and shifts on removal
+        final List<Entity> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Entity entity = entity(i * 2, 0, 0);
+            index.add(entity);
+            list.add(entity);
+        }
+        assertMatchesList(index, list);
+
+        for (final int position : new int[] {0, 3, 7, 2}) {
+            final Entity removed = list.remove(position);
+            assertTrue(index.remove(removed));
+            assertMatchesList(index, list);
+        }
+        final Entity last = list.remove(list.size() - 1);
+        assertTrue(index.remove(last));
+        assertFalse(index.remove(last), "An entity is removed once");
+        assertMatchesList(index, list);
+
+        for (int i = 0; i < 6; i++) {
+            final Entity entity = entity(100 + i * 2, 0, 0);
+            index.add(entity);
+            list.add(entity);
+        }
+        assertMatchesList(index, list);
+    }
+
+    @Test
+    public void testSetBoundingBoxMovesStoredBounds() {
+        final EntityBoundsIndex index = new EntityBoundsIndex();
+        final Entity moving = entity(0, 0, 0);
+        final Entity still = entity(4, 0, 0);
+        index.add(moving);
+        index.add(still);
+
+        final AABB origin = new AABB(-0.5, -0.5, -0.5, 0.5, 0.5, 0.5);
+        final AABB target = new AABB(50, 0, 50, 51, 1, 51);
+        assertEquals(List.of(moving), query(index, origin));
+        assertTrue(query(index, target).isEmpty());
+
+        moving.setBoundingBox(new AABB(50.25, 0.25, 50.25, 50.75, 0.75, 50.75));
+
+        assertTrue(query(index, origin).isEmpty(), "Old bounds should be gone");
+        assertEquals(List.of(moving), query(index, target), "New bounds should be indexed");
+        assertEquals(1, index.countIntersecting(target));
+        assertEquals(List.of(moving, still), query(index, EVERYWHERE), "Updating bounds keeps the slot");
+    }
+
+    @Test
+    public void testMovingBetweenSectionsHandsOverSlot() {
+        final EntityBoundsIndex from = new EntityBoundsIndex();
+        final EntityBoundsIndex to = new EntityBoundsIndex();
+        final Entity neighbour = entity(10, 0, 0);
+        final Entity entity = entity(0, 0, 0);
+        from.add(neighbour);
+        from.add(entity);
+        to.add(entity(20, 0, 0));
+
+        // Removed from the old section, then added to the new one
+        assertTrue(from.remove(entity));
+        assertNull(entity.turboBoundsIndex);
+        assertEquals(-1, entity.turboBoundsSlot);
+        to.add(entity);
+        assertSame(to, entity.turboBoundsIndex);
+        assertEquals(1, entity.turboBoundsSlot);
+
+        // Later bounding box changes only reach the new section
+        entity.setBoundingBox(new AABB(30, 0, 0, 31, 1, 1));
+        assertTrue(query(from, new AABB(29.5, 0, 0, 31.5, 1, 1)).isEmpty());
+        assertEquals(List.of(entity), query(to, new AABB(29.5, 0, 0, 31.5, 1, 1)));
+        assertEquals(List.of(neighbour), query(from, EVERYWHERE));
+
+        // Added to the new section before leaving the old one: the new slot must survive
+        final EntityBoundsIndex next = new EntityBoundsIndex();
+        next.add(entity);
+        assertTrue(to.remove(entity));
+        assertSame(next, entity.turboBoundsIndex);
+        assertEquals(0, entity.turboBoundsSlot);
+        assertEquals(1, to.size());
+        assertEquals(List.of(entity), query(next, EVERYWHERE));
+    }
+
+    @Test
+    public void testLimitedQueryStopsAtMaxCount() {
+        final EntityBoundsIndex index = new EntityBoundsIndex();
+        final List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Entity entity = entity(i * 2, 0, 0);
+            index.add(entity);
+            entities.add(entity);
+        }
+
+        final int[] tested = new int[1];
+        final List<Entity> into = new ArrayList<>();
+        assertTrue(index.getEntities(entities.get(0), EVERYWHERE, into, e -> {
+            tested[0]++;
+            return true;
+        }, 3));
+        assertEquals(entities.subList(1, 4), into, "First matches in list order, except skipped");
+        assertEquals(3, tested[0], "No entity is tested after the limit is reached");
+
+        // The limit counts what the list already holds
+        final List<Entity> partial = new ArrayList<>(entities.subList(0, 2));
+        assertTrue(index.getEntities(null, EVERYWHERE, partial, null, 3));
+        assertEquals(3, partial.size());
+
+        final List<Entity> all = new ArrayList<>();
+        assertFalse(index.getEntities(null, EVERYWHERE, all, null, 20));
+        assertEquals(entities, all);
+    }
+
+    @Test
+    public void testPredicateMayMutateIndex() {
+        final EntityBoundsIndex index = new EntityBoundsIndex();
+        final List<Entity> known = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Entity entity = entity(i * 2, 0, 0);
+            index.add(entity);
+            known.add(entity);
+        }
+
+        // Each tested entity leaves the section and a new one arrives, growing the arrays
+        final List<Entity> into = new ArrayList<>();
+        index.getEntities(null, EVERYWHERE, into, e -> {
+            index.remove(e);
+            final Entity arrival = entity(200 + known.size() * 2, 0, 0);
+            known.add(arrival);
+            index.add(arrival);
+            return true;
+        });
+        assertFalse(into.isEmpty());
+        for (final Entity entity : into) {
+            assertNotNull(entity);
+            assertTrue(known.contains(entity));
+        }
+        assertSlotsConsistent(index);
+
+        // A predicate that empties the section ends the scan
+        final List<Entity> drained = new ArrayList<>();
+        index.getEntities(null, EVERYWHERE, drained, e -> {
+            for (final Entity entity : query(index, EVERYWHERE)) {
+                index.remove(entity);
+            }
+            return true;
+        });
+        assertEquals(1, drained.size());
+        assertTrue(index.isEmpty());
+        assertTrue(query(index, EVERYWHERE).isEmpty());
+    }
+
+    private static Entity entity(final double x, final double y, final double z) {
+        final Entity entity = Mockito.mock(Entity.class, Mockito.withSettings().defaultAnswer(Mockito.CALLS_REAL_METHODS));
+        entity.turboBoundsSlot = -1; // Mocks skip field initializers
+        entity.setBoundingBox(new AABB(x, y, z, x + 1, y + 1, z + 1));
+        return entity;
+    }
+
+    private static List<Entity> query(final EntityBoundsIndex index, final AABB box) {
+        final List<Entity> into = new ArrayList<>();
+        index.getEntities(null, box, into, null);
+        return into;
+    }
+
+    private static void assertMatchesList(final EntityBoundsIndex index, final List<Entity> list) {
+        assertEquals(list.size(), index.size());
+        assertEquals(list, query(index, EVERYWHERE), "Query order should match the entity list");
+        assertSlotsConsistent(index);
+    }
+
+    private static void assertSlotsConsistent(final EntityBoundsIndex index) {
+        final List<Entity> entities = query(index, EVERYWHERE);
+        for (int i = 0; i < entities.size(); i++) {
+            assertSame(index, entities.get(i).turboBoundsIndex);
+            assertEquals(i, entities.get(i).turboBoundsSlot);
+        }
+    }
+}